@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 the original author or authors.
+ * Copyright 2017-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -141,6 +141,39 @@ public class JobExecutionsDocumentation extends BaseDocumentation {
 				)));
 	}
 
+	@Test
+	public void listFilteredThinJobExecutions() throws Exception {
+		this.mockMvc.perform(
+				get("/jobs/thinexecutions")
+						.param("status", "STARTED,STOPPED")
+						.param("startedAfter", "2019-01-01T00:00:00")
+						.param("jobNamePrefix", JOB_NAME)
+						.param("taskExecutionId", "1")
+						.param("page", "0")
+						.param("size", "10"))
+				.andDo(print())
+				.andExpect(status().isOk()).andDo(this.documentationHandler.document(
+				requestParameters(
+						parameterWithName("page")
+								.description("The zero-based page number (optional)"),
+						parameterWithName("size")
+								.description("The requested page size (optional)"),
+						parameterWithName("status")
+								.description("The batch statuses the job execution may have (optional)"),
+						parameterWithName("startedAfter")
+								.description("The earliest start time, in ISO-8601 format and UTC (optional)"),
+						parameterWithName("jobNamePrefix")
+								.description("The prefix of the name of the job (optional)"),
+						parameterWithName("taskExecutionId")
+								.description("The id of the task execution that launched the job (optional)")),
+				responseFields(
+						subsectionWithPath("_embedded.jobExecutionThinResourceList")
+								.description("Contains a collection of Job Executions without step executions included/"),
+						subsectionWithPath("_links.self").description("Link to the job execution resource"),
+						subsectionWithPath("page").description("Pagination properties")
+				)));
+	}
+
 	@Test
 	public void listJobExecutionsByName() throws Exception {
 		this.mockMvc.perform(
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.core;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The modification counter of a collection of resources, such as the stream definitions
+ * or the app registrations. The counter is incremented whenever an element of the
+ * collection is saved or deleted, so that clients can tell whether the collection changed
+ * without reading it.
+ */
+@Entity
+@Table(name = "ResourceVersion")
+public class ResourceVersion {
+
+	@Id
+	@Column(name = "resource_name")
+	private String name;
+
+	@Column(name = "resource_version", nullable = false)
+	private long version;
+
+	public ResourceVersion() {
+	}
+
+	public ResourceVersion(String name, long version) {
+		this.name = name;
+		this.version = version;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public String toString() {
+		return "ResourceVersion{name='" + name + "', version=" + version + '}';
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.core;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+
+import org.hibernate.annotations.Type;
+
+/**
+ * A schedule known to the platform scheduler, as recorded in the local schedule index.
+ * The index is updated when schedules are created or deleted through Data Flow and is
+ * periodically reconciled with the platform, so that schedules can be paged, filtered
+ * and counted without listing every schedule of the platform.
+ */
+@Entity
+@Table(name = "ScheduleIndex")
+public class ScheduleIndexEntry extends AbstractEntity {
+
+	@NotNull
+	@Column(name = "schedule_name", unique = true)
+	private String scheduleName;
+
+	@NotNull
+	@Column(name = "task_definition_name")
+	private String taskDefinitionName;
+
+	/**
+	 * The properties of the schedule reported by the scheduler, as a JSON object.
+	 */
+	@Lob
+	@Type(type = "org.hibernate.type.TextType")
+	@Column(name = "schedule_properties")
+	private String scheduleProperties;
+
+	@NotNull
+	@Column(name = "created_on")
+	private Instant createdOn;
+
+	public ScheduleIndexEntry() {
+	}
+
+	public String getScheduleName() {
+		return scheduleName;
+	}
+
+	public void setScheduleName(String scheduleName) {
+		this.scheduleName = scheduleName;
+	}
+
+	public String getTaskDefinitionName() {
+		return taskDefinitionName;
+	}
+
+	public void setTaskDefinitionName(String taskDefinitionName) {
+		this.taskDefinitionName = taskDefinitionName;
+	}
+
+	public String getScheduleProperties() {
+		return scheduleProperties;
+	}
+
+	public void setScheduleProperties(String scheduleProperties) {
+		this.scheduleProperties = scheduleProperties;
+	}
+
+	public Instant getCreatedOn() {
+		return createdOn;
+	}
+
+	public void setCreatedOn(Instant createdOn) {
+		this.createdOn = createdOn;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuffer sb = new StringBuffer("ScheduleIndexEntry{");
+		sb.append("scheduleName='").append(scheduleName).append('\'');
+		sb.append(", taskDefinitionName='").append(taskDefinitionName).append('\'');
+		sb.append(", createdOn=").append(createdOn);
+		sb.append('}');
+		return sb.toString();
+	}
+}
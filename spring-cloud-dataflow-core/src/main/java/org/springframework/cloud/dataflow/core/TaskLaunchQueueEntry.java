@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.core;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+
+import org.hibernate.annotations.Type;
+
+/**
+ * A task launch waiting in the launch queue for a free slot. Entries are ordered by
+ * descending priority, then by the time they were enqueued. An entry being launched is
+ * marked as dispatched and leased until its launch completes, and removed from the queue
+ * once launched.
+ */
+@Entity
+@Table(name = "TaskLaunchQueue")
+public class TaskLaunchQueueEntry extends AbstractEntity {
+
+	@NotNull
+	@Column(name = "task_name")
+	private String taskName;
+
+	@NotNull
+	@Column(name = "platform_name")
+	private String platformName;
+
+	@Column(name = "priority")
+	private int priority;
+
+	/**
+	 * The deployment properties of the launch, as a JSON object.
+	 */
+	@Lob
+	@Type(type = "org.hibernate.type.TextType")
+	@Column(name = "deployment_properties")
+	private String deploymentProperties;
+
+	/**
+	 * The command line arguments of the launch, as a JSON array.
+	 */
+	@Lob
+	@Type(type = "org.hibernate.type.TextType")
+	@Column(name = "command_line_args")
+	private String commandLineArgs;
+
+	@NotNull
+	@Column(name = "created_on")
+	private Instant createdOn;
+
+	/**
+	 * Number of launches of the entry that failed for another reason than the
+	 * concurrency limits.
+	 */
+	@Column(name = "attempts")
+	private int attempts;
+
+	/**
+	 * End of the lease of the server launching the entry, {@code null} if the entry is
+	 * not being launched.
+	 */
+	@Column(name = "lease_expires_on")
+	private Instant leaseExpiresOn;
+
+	/**
+	 * Time a server started launching the entry, {@code null} if the entry is waiting in
+	 * the queue. A dispatched entry is never launched again.
+	 */
+	@Column(name = "dispatched_on")
+	private Instant dispatchedOn;
+
+	public TaskLaunchQueueEntry() {
+	}
+
+	public String getTaskName() {
+		return taskName;
+	}
+
+	public void setTaskName(String taskName) {
+		this.taskName = taskName;
+	}
+
+	public String getPlatformName() {
+		return platformName;
+	}
+
+	public void setPlatformName(String platformName) {
+		this.platformName = platformName;
+	}
+
+	public int getPriority() {
+		return priority;
+	}
+
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	public String getDeploymentProperties() {
+		return deploymentProperties;
+	}
+
+	public void setDeploymentProperties(String deploymentProperties) {
+		this.deploymentProperties = deploymentProperties;
+	}
+
+	public String getCommandLineArgs() {
+		return commandLineArgs;
+	}
+
+	public void setCommandLineArgs(String commandLineArgs) {
+		this.commandLineArgs = commandLineArgs;
+	}
+
+	public Instant getCreatedOn() {
+		return createdOn;
+	}
+
+	public void setCreatedOn(Instant createdOn) {
+		this.createdOn = createdOn;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public Instant getLeaseExpiresOn() {
+		return leaseExpiresOn;
+	}
+
+	public void setLeaseExpiresOn(Instant leaseExpiresOn) {
+		this.leaseExpiresOn = leaseExpiresOn;
+	}
+
+	public Instant getDispatchedOn() {
+		return dispatchedOn;
+	}
+
+	public void setDispatchedOn(Instant dispatchedOn) {
+		this.dispatchedOn = dispatchedOn;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuffer sb = new StringBuffer("TaskLaunchQueueEntry{");
+		sb.append("taskName='").append(taskName).append('\'');
+		sb.append(", platformName='").append(platformName).append('\'');
+		sb.append(", priority=").append(priority);
+		sb.append(", createdOn=").append(createdOn);
+		sb.append(", attempts=").append(attempts);
+		sb.append('}');
+		return sb.toString();
+	}
+}
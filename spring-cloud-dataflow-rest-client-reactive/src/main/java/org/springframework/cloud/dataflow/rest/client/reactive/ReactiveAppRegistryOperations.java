@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.core.ApplicationType;
+import org.springframework.cloud.dataflow.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.dataflow.rest.resource.DetailedAppRegistrationResource;
+
+/**
+ * Interface defining non-blocking operations available for application registrations.
+ */
+public interface ReactiveAppRegistryOperations {
+
+	/**
+	 * Return all the application registrations for the given {@link ApplicationType}, the
+	 * pages of the application list being requested as the elements are consumed.
+	 *
+	 * @param type application type for which to return the registrations, null for all
+	 * @param pageSize the number of registrations requested per page
+	 * @return the application registrations for the given application type
+	 */
+	Flux<AppRegistrationResource> listAll(ApplicationType type, int pageSize);
+
+	/**
+	 * Retrieve information about an application registration.
+	 *
+	 * @param name name of application
+	 * @param type type of application
+	 * @param exhaustive if set to true all properties are returned
+	 * @return detailed information about an application registration
+	 */
+	Mono<DetailedAppRegistrationResource> info(String name, ApplicationType type, boolean exhaustive);
+
+	/**
+	 * Register an application name and type with its Maven coordinates.
+	 *
+	 * @param name application name
+	 * @param type application type
+	 * @param uri URI for the application artifact
+	 * @param metadataUri URI for the application metadata artifact
+	 * @param force if {@code true}, overwrites a pre-existing registration
+	 * @return the new app registration
+	 */
+	Mono<AppRegistrationResource> register(String name, ApplicationType type, String uri, String metadataUri,
+			boolean force);
+
+	/**
+	 * Unregister an application name and type.
+	 *
+	 * @param name application name
+	 * @param type application type
+	 * @return completes once the application is unregistered
+	 */
+	Mono<Void> unregister(String name, ApplicationType type);
+}
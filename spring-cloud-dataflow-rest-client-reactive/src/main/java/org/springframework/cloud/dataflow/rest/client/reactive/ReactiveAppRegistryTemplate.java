@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.net.URI;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.core.ApplicationType;
+import org.springframework.cloud.dataflow.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.dataflow.rest.resource.DetailedAppRegistrationResource;
+import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Implementation of {@link ReactiveAppRegistryOperations}.
+ */
+public class ReactiveAppRegistryTemplate implements ReactiveAppRegistryOperations {
+
+	private static final String APPS_REL = "apps";
+
+	private final WebClient webClient;
+
+	private final Mono<RootResource> resources;
+
+	ReactiveAppRegistryTemplate(WebClient webClient, Mono<RootResource> resources) {
+		this.webClient = webClient;
+		this.resources = resources;
+	}
+
+	@Override
+	public Flux<AppRegistrationResource> listAll(ApplicationType type, int pageSize) {
+		return this.resources.flatMapMany(root -> {
+			UriComponentsBuilder builder = UriComponentsBuilder.fromUri(ReactiveDataFlowTemplate.href(root, APPS_REL));
+			if (type != null) {
+				builder.queryParam("type", type.name());
+			}
+			return ReactivePages.all(this.webClient, builder.build(true).toUri(), pageSize,
+					AppRegistrationResource.Page.class);
+		});
+	}
+
+	@Override
+	public Mono<DetailedAppRegistrationResource> info(String name, ApplicationType type, boolean exhaustive) {
+		return this.resources.flatMap(root -> this.webClient.get()
+				.uri(app(root, type, name).queryParam("exhaustive", exhaustive).build().encode().toUri())
+				.retrieve().bodyToMono(DetailedAppRegistrationResource.class));
+	}
+
+	@Override
+	public Mono<AppRegistrationResource> register(String name, ApplicationType type, String uri, String metadataUri,
+			boolean force) {
+		MultiValueMap<String, String> values = new LinkedMultiValueMap<>();
+		values.add("uri", uri);
+		if (metadataUri != null) {
+			values.add("metadata-uri", metadataUri);
+		}
+		values.add("force", Boolean.toString(force));
+		return this.resources.flatMap(root -> this.webClient.post().uri(app(root, type, name).build().encode().toUri())
+				.body(BodyInserters.fromFormData(values)).retrieve().bodyToMono(AppRegistrationResource.class));
+	}
+
+	@Override
+	public Mono<Void> unregister(String name, ApplicationType type) {
+		return this.resources.flatMap(root -> this.webClient.delete().uri(app(root, type, name).build().encode().toUri())
+				.retrieve().bodyToMono(Void.class));
+	}
+
+	private static UriComponentsBuilder app(RootResource root, ApplicationType type, String name) {
+		URI apps = ReactiveDataFlowTemplate.href(root, APPS_REL);
+		return UriComponentsBuilder.fromUri(apps).pathSegment(type.name(), name);
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+/**
+ * Interface the non-blocking REST clients of the Data Flow server are obtained from. It
+ * mirrors {@link org.springframework.cloud.dataflow.rest.client.DataFlowOperations}, the
+ * operations returning a {@link reactor.core.publisher.Mono} or a
+ * {@link reactor.core.publisher.Flux} that issues its requests when subscribed to.
+ */
+public interface ReactiveDataFlowOperations {
+
+	/**
+	 * @return stream related operations.
+	 */
+	ReactiveStreamOperations streamOperations();
+
+	/**
+	 * @return task related operations.
+	 */
+	ReactiveTaskOperations taskOperations();
+
+	/**
+	 * @return job related operations.
+	 */
+	ReactiveJobOperations jobOperations();
+
+	/**
+	 * @return runtime related operations.
+	 */
+	ReactiveRuntimeOperations runtimeOperations();
+
+	/**
+	 * @return app registry related operations.
+	 */
+	ReactiveAppRegistryOperations appRegistryOperations();
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.Version;
+import org.springframework.cloud.dataflow.rest.client.DataFlowServerException;
+import org.springframework.cloud.dataflow.rest.client.DataFlowTemplate;
+import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Implementation of {@link ReactiveDataFlowOperations} built on {@link WebClient},
+ * delegating to sub-templates discovered via REST relations. The root resource of the
+ * server is requested on first use of any of the sub-templates and is then reused, the
+ * requests never blocking the calling thread.
+ * <p>
+ * Unlike with {@link DataFlowTemplate}, the sub-templates are always available: the
+ * operations of a feature disabled on the server complete with a
+ * {@link DataFlowServerException}.
+ */
+public class ReactiveDataFlowTemplate implements ReactiveDataFlowOperations {
+
+	private final URI baseURI;
+
+	private final WebClient webClient;
+
+	private final AtomicReference<Mono<RootResource>> root = new AtomicReference<>();
+
+	private final ReactiveStreamOperations streamOperations;
+
+	private final ReactiveTaskOperations taskOperations;
+
+	private final ReactiveJobOperations jobOperations;
+
+	private final ReactiveRuntimeOperations runtimeOperations;
+
+	private final ReactiveAppRegistryOperations appRegistryOperations;
+
+	/**
+	 * Setup a {@link ReactiveDataFlowTemplate} using the provided baseURI and a default
+	 * {@link WebClient}.
+	 *
+	 * @param baseURI Must not be null
+	 */
+	public ReactiveDataFlowTemplate(URI baseURI) {
+		this(baseURI, WebClient.builder());
+	}
+
+	/**
+	 * Setup a {@link ReactiveDataFlowTemplate} using the provided {@link WebClient.Builder},
+	 * for instance to configure the HTTP connector or authentication filters. The builder is
+	 * not modified. For more information, please see
+	 * {@link #prepareWebClientBuilder(WebClient.Builder)}.
+	 *
+	 * @param baseURI Must not be null
+	 * @param webClientBuilder Must not be null
+	 */
+	public ReactiveDataFlowTemplate(URI baseURI, WebClient.Builder webClientBuilder) {
+		Assert.notNull(baseURI, "The provided baseURI must not be null.");
+		Assert.notNull(webClientBuilder, "The provided webClientBuilder must not be null.");
+
+		this.baseURI = baseURI;
+		this.webClient = prepareWebClientBuilder(webClientBuilder.clone()).build();
+
+		Mono<RootResource> resources = Mono.defer(this::getRoot);
+		this.streamOperations = new ReactiveStreamTemplate(this.webClient, resources);
+		this.taskOperations = new ReactiveTaskTemplate(this.webClient, resources);
+		this.jobOperations = new ReactiveJobTemplate(this.webClient, resources);
+		this.runtimeOperations = new ReactiveRuntimeTemplate(this.webClient, resources);
+		this.appRegistryOperations = new ReactiveAppRegistryTemplate(this.webClient, resources);
+	}
+
+	/**
+	 * Will augment the provided {@link WebClient.Builder} so that the built clients read
+	 * and write the Data Flow resources: the Jackson MixIns and HAL module registered by
+	 * {@link DataFlowTemplate#prepareObjectMapper(ObjectMapper)}, and the mapping of error
+	 * responses to a {@link org.springframework.cloud.dataflow.rest.client.DataFlowClientException}.
+	 *
+	 * @param webClientBuilder Must not be null
+	 * @return the provided builder
+	 */
+	public static WebClient.Builder prepareWebClientBuilder(WebClient.Builder webClientBuilder) {
+		Assert.notNull(webClientBuilder, "The webClientBuilder must not be null.");
+		ObjectMapper objectMapper = DataFlowTemplate.prepareObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+		ExchangeStrategies strategies = ExchangeStrategies.builder().codecs(configurer -> {
+			configurer.defaultCodecs().jackson2JsonDecoder(
+					new Jackson2JsonDecoder(objectMapper, MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON));
+			configurer.defaultCodecs().jackson2JsonEncoder(
+					new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON));
+		}).build();
+		return webClientBuilder.exchangeStrategies(strategies)
+				.defaultHeader(HttpHeaders.ACCEPT, MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE)
+				.filter(new VndErrorExchangeFilterFunction());
+	}
+
+	/**
+	 * Discover the links of the server again on next use.
+	 */
+	public void refresh() {
+		this.root.set(null);
+	}
+
+	@Override
+	public ReactiveStreamOperations streamOperations() {
+		return this.streamOperations;
+	}
+
+	@Override
+	public ReactiveTaskOperations taskOperations() {
+		return this.taskOperations;
+	}
+
+	@Override
+	public ReactiveJobOperations jobOperations() {
+		return this.jobOperations;
+	}
+
+	@Override
+	public ReactiveRuntimeOperations runtimeOperations() {
+		return this.runtimeOperations;
+	}
+
+	@Override
+	public ReactiveAppRegistryOperations appRegistryOperations() {
+		return this.appRegistryOperations;
+	}
+
+	/**
+	 * @return The underlying WebClient
+	 */
+	public WebClient getWebClient() {
+		return this.webClient;
+	}
+
+	private Mono<RootResource> getRoot() {
+		return this.root.updateAndGet(current -> current != null ? current : discoverRoot());
+	}
+
+	private Mono<RootResource> discoverRoot() {
+		return this.webClient.get().uri(this.baseURI).retrieve().bodyToMono(RootResource.class)
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new DataFlowServerException(
+						"Server did not return a root resource at '" + this.baseURI + "'"))))
+				.map(ReactiveDataFlowTemplate::checkApiRevision)
+				.doOnError(e -> this.root.set(null))
+				.cache();
+	}
+
+	private static RootResource checkApiRevision(RootResource resources) {
+		Integer serverRevision = resources.getApiRevision();
+		if (serverRevision == null || Version.REVISION != serverRevision) {
+			throw new IllegalStateException(String.format("Incompatible version of Data Flow server detected.\n"
+					+ "Trying to use a client which supports revision %s, while server revision is %s. Both "
+					+ "revisions should be aligned.", Version.REVISION, serverRevision));
+		}
+		return resources;
+	}
+
+	/**
+	 * Return the expanded URI of a link of the server.
+	 *
+	 * @param resources the resource holding the link
+	 * @param rel the relation of the link
+	 * @param parameters the values of the template variables of the link
+	 * @return the URI of the link
+	 */
+	static URI href(ResourceSupport resources, String rel, Object... parameters) {
+		Link link = resources.getLink(rel);
+		if (link == null) {
+			throw new DataFlowServerException(
+					"Server did not return a link for '" + rel + "', links: '" + resources + "'");
+		}
+		return URI.create(link.expand(parameters).getHref());
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+import org.springframework.cloud.dataflow.rest.resource.JobExecutionResource;
+import org.springframework.cloud.dataflow.rest.resource.JobExecutionThinResource;
+import org.springframework.cloud.dataflow.rest.resource.JobInstanceResource;
+import org.springframework.cloud.dataflow.rest.resource.StepExecutionProgressInfoResource;
+
+/**
+ * Interface defining non-blocking operations available against jobs.
+ */
+public interface ReactiveJobOperations {
+
+	/**
+	 * Return all the job executions known to the system, the pages of the job execution
+	 * list being requested as the elements are consumed.
+	 *
+	 * @param pageSize the number of job executions requested per page
+	 * @return the job executions known to the system
+	 */
+	Flux<JobExecutionResource> executionListAll(int pageSize);
+
+	/**
+	 * Return all the job executions without step executions matching a query, the pages of
+	 * the job execution list being requested as the elements are consumed.
+	 *
+	 * @param query the criteria the job executions must match
+	 * @param pageSize the number of job executions requested per page
+	 * @return the job executions matching the query
+	 */
+	Flux<JobExecutionThinResource> executionThinListAll(JobExecutionQuery query, int pageSize);
+
+	/**
+	 * @param id identifier of the job execution
+	 * @return the job execution
+	 */
+	Mono<JobExecutionResource> jobExecution(long id);
+
+	/**
+	 * @param id identifier of the job instance
+	 * @return the job instance
+	 */
+	Mono<JobInstanceResource> jobInstance(long id);
+
+	/**
+	 * @param jobExecutionId the id of the job execution
+	 * @param stepExecutionId the id of the step execution
+	 * @return the progress of the step execution
+	 */
+	Mono<StepExecutionProgressInfoResource> stepExecutionProgress(long jobExecutionId, long stepExecutionId);
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+import org.springframework.cloud.dataflow.rest.resource.JobExecutionResource;
+import org.springframework.cloud.dataflow.rest.resource.JobExecutionThinResource;
+import org.springframework.cloud.dataflow.rest.resource.JobInstanceResource;
+import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.cloud.dataflow.rest.resource.StepExecutionProgressInfoResource;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Implementation of {@link ReactiveJobOperations}.
+ */
+public class ReactiveJobTemplate implements ReactiveJobOperations {
+
+	private static final String EXECUTIONS_RELATION = "jobs/executions";
+
+	private static final String THIN_EXECUTIONS_RELATION = "jobs/thinexecutions";
+
+	private static final String EXECUTION_RELATION = "jobs/executions/execution";
+
+	private static final String INSTANCE_RELATION = "jobs/instances/instance";
+
+	private static final String STEP_EXECUTION_PROGRESS_RELATION_BY_ID = "jobs/executions/execution/steps/step/progress";
+
+	private final WebClient webClient;
+
+	private final Mono<RootResource> resources;
+
+	ReactiveJobTemplate(WebClient webClient, Mono<RootResource> resources) {
+		this.webClient = webClient;
+		this.resources = resources;
+	}
+
+	@Override
+	public Flux<JobExecutionResource> executionListAll(int pageSize) {
+		return this.resources.flatMapMany(root ->
+				ReactivePages.all(this.webClient, ReactiveDataFlowTemplate.href(root, EXECUTIONS_RELATION),
+						pageSize, JobExecutionResource.Page.class));
+	}
+
+	@Override
+	public Flux<JobExecutionThinResource> executionThinListAll(JobExecutionQuery query, int pageSize) {
+		Assert.notNull(query, "query must not be null");
+		return this.resources.flatMapMany(root -> {
+			URI uri = queryUri(ReactiveDataFlowTemplate.href(root, THIN_EXECUTIONS_RELATION), query);
+			return ReactivePages.all(this.webClient, uri, pageSize, JobExecutionThinResource.Page.class);
+		});
+	}
+
+	@Override
+	public Mono<JobExecutionResource> jobExecution(long id) {
+		return this.resources.flatMap(root ->
+				this.webClient.get().uri(ReactiveDataFlowTemplate.href(root, EXECUTION_RELATION, id))
+				.retrieve().bodyToMono(JobExecutionResource.class));
+	}
+
+	@Override
+	public Mono<JobInstanceResource> jobInstance(long id) {
+		return this.resources.flatMap(root ->
+				this.webClient.get().uri(ReactiveDataFlowTemplate.href(root, INSTANCE_RELATION, id))
+				.retrieve().bodyToMono(JobInstanceResource.class));
+	}
+
+	@Override
+	public Mono<StepExecutionProgressInfoResource> stepExecutionProgress(long jobExecutionId, long stepExecutionId) {
+		return this.resources.flatMap(root -> this.webClient.get()
+				.uri(ReactiveDataFlowTemplate.href(root, STEP_EXECUTION_PROGRESS_RELATION_BY_ID, jobExecutionId,
+						stepExecutionId))
+				.retrieve().bodyToMono(StepExecutionProgressInfoResource.class));
+	}
+
+	/**
+	 * @param uri the URI of a job execution list resource
+	 * @param query the criteria the job executions must match
+	 * @return the URI of the job executions matching the query, with the same request
+	 * parameters as built by the blocking client
+	 */
+	private static URI queryUri(URI uri, JobExecutionQuery query) {
+		UriComponentsBuilder builder = UriComponentsBuilder.fromUri(uri);
+		for (BatchStatus status : query.getStatuses()) {
+			builder.queryParam("status", status);
+		}
+		addQueryParam(builder, "exitCode", query.getExitCode());
+		addQueryParam(builder, "startedAfter", query.getStartedAfter());
+		addQueryParam(builder, "startedBefore", query.getStartedBefore());
+		addQueryParam(builder, "endedAfter", query.getEndedAfter());
+		addQueryParam(builder, "endedBefore", query.getEndedBefore());
+		addQueryParam(builder, "name", query.getJobName());
+		addQueryParam(builder, "jobNamePrefix", query.getJobNamePrefix());
+		addQueryParam(builder, "taskExecutionId", query.getTaskExecutionId());
+		return builder.build().encode().toUri();
+	}
+
+	private static void addQueryParam(UriComponentsBuilder builder, String name, Object value) {
+		if (value != null) {
+			builder.queryParam(name, value);
+		}
+	}
+
+	private static void addQueryParam(UriComponentsBuilder builder, String name, Date value) {
+		if (value != null) {
+			builder.queryParam(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME
+					.format(LocalDateTime.ofInstant(value.toInstant(), ZoneOffset.UTC)));
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.net.URI;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Reads all the elements of a paged collection resource. The first page is requested with
+ * the chosen page size and the following pages are discovered from the {@code next} link
+ * of each page, the next page being requested as soon as the current one is received.
+ */
+final class ReactivePages {
+
+	private ReactivePages() {
+	}
+
+	static <T> Flux<T> all(WebClient webClient, URI firstPage, int pageSize,
+			Class<? extends PagedResources<T>> pageType) {
+		Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+		URI uri = UriComponentsBuilder.fromUri(firstPage).replaceQueryParam("size", pageSize).build(true).toUri();
+		return page(webClient, uri, pageType)
+				.expand(page -> {
+					Link next = page.getNextLink();
+					return next != null ? page(webClient, URI.create(next.expand().getHref()), pageType)
+							: Mono.empty();
+				})
+				.flatMapIterable(PagedResources::getContent);
+	}
+
+	private static <T> Mono<PagedResources<T>> page(WebClient webClient, URI uri,
+			Class<? extends PagedResources<T>> pageType) {
+		return webClient.get().uri(uri).retrieve().bodyToMono(pageType).map(page -> page);
+	}
+}
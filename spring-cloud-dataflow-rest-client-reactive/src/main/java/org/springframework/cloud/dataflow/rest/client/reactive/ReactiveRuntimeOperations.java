@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
+
+/**
+ * Interface defining non-blocking operations for obtaining information about deployed
+ * apps.
+ */
+public interface ReactiveRuntimeOperations {
+
+	/**
+	 * Return the runtime information about all deployed apps, the pages of the app status
+	 * list being requested as the elements are consumed.
+	 *
+	 * @param pageSize the number of apps requested per page
+	 * @return the runtime information about all deployed apps
+	 */
+	Flux<AppStatusResource> statusAll(int pageSize);
+
+	/**
+	 * @param deploymentId the deployment id
+	 * @return the runtime information about a single app deployment
+	 */
+	Mono<AppStatusResource> status(String deploymentId);
+}
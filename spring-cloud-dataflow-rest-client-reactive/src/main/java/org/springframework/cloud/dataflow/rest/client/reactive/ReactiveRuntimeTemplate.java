@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.net.URI;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Implementation of {@link ReactiveRuntimeOperations}.
+ */
+public class ReactiveRuntimeTemplate implements ReactiveRuntimeOperations {
+
+	private static final String APPS_RELATION = "runtime/apps";
+
+	private final WebClient webClient;
+
+	private final Mono<RootResource> resources;
+
+	ReactiveRuntimeTemplate(WebClient webClient, Mono<RootResource> resources) {
+		this.webClient = webClient;
+		this.resources = resources;
+	}
+
+	@Override
+	public Flux<AppStatusResource> statusAll(int pageSize) {
+		return this.resources.flatMapMany(root ->
+				ReactivePages.all(this.webClient, ReactiveDataFlowTemplate.href(root, APPS_RELATION),
+						pageSize, AppStatusResource.Page.class));
+	}
+
+	@Override
+	public Mono<AppStatusResource> status(String deploymentId) {
+		return this.resources.flatMap(root -> {
+			URI uri = UriComponentsBuilder.fromUri(ReactiveDataFlowTemplate.href(root, APPS_RELATION))
+					.pathSegment(deploymentId).build().encode().toUri();
+			return this.webClient.get().uri(uri).retrieve().bodyToMono(AppStatusResource.class);
+		});
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentResource;
+
+/**
+ * Interface defining non-blocking operations available against streams.
+ */
+public interface ReactiveStreamOperations {
+
+	/**
+	 * Return all the streams known to the system, the pages of the stream list being
+	 * requested as the elements are consumed.
+	 *
+	 * @param pageSize the number of streams requested per page
+	 * @return the streams known to the system
+	 */
+	Flux<StreamDefinitionResource> listAll(int pageSize);
+
+	/**
+	 * @param name the name of the stream
+	 * @return the stream info
+	 */
+	Mono<StreamDeploymentResource> info(String name);
+
+	/**
+	 * @param name the name of the stream
+	 * @return the stream definition
+	 */
+	Mono<StreamDefinitionResource> getStreamDefinition(String name);
+
+	/**
+	 * Create a new stream, optionally deploying it.
+	 *
+	 * @param name the name of the stream
+	 * @param definition the stream definition DSL
+	 * @param deploy whether to deploy the stream after creating its definition
+	 * @return the new stream definition
+	 */
+	Mono<StreamDefinitionResource> createStream(String name, String definition, boolean deploy);
+
+	/**
+	 * Deploy an already created stream.
+	 *
+	 * @param name the name of the stream
+	 * @param properties the deployment properties
+	 * @return completes once the server accepted the deployment
+	 */
+	Mono<Void> deploy(String name, Map<String, String> properties);
+
+	/**
+	 * Undeploy a deployed stream, retaining its definition.
+	 *
+	 * @param name the name of the stream
+	 * @return completes once the stream is undeployed
+	 */
+	Mono<Void> undeploy(String name);
+
+	/**
+	 * Destroy an existing stream.
+	 *
+	 * @param name the name of the stream
+	 * @return completes once the stream is destroyed
+	 */
+	Mono<Void> destroy(String name);
+}
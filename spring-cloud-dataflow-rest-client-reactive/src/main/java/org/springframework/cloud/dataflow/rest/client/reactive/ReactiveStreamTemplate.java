@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentResource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Implementation of {@link ReactiveStreamOperations}.
+ */
+public class ReactiveStreamTemplate implements ReactiveStreamOperations {
+
+	private static final String DEFINITIONS_REL = "streams/definitions";
+
+	private static final String DEFINITION_REL = "streams/definitions/definition";
+
+	private static final String DEPLOYMENT_REL = "streams/deployments/deployment";
+
+	private final WebClient webClient;
+
+	private final Mono<RootResource> resources;
+
+	ReactiveStreamTemplate(WebClient webClient, Mono<RootResource> resources) {
+		this.webClient = webClient;
+		this.resources = resources;
+	}
+
+	@Override
+	public Flux<StreamDefinitionResource> listAll(int pageSize) {
+		return this.resources.flatMapMany(root ->
+				ReactivePages.all(this.webClient, ReactiveDataFlowTemplate.href(root, DEFINITIONS_REL),
+						pageSize, StreamDefinitionResource.Page.class));
+	}
+
+	@Override
+	public Mono<StreamDeploymentResource> info(String name) {
+		return this.resources.flatMap(root ->
+				this.webClient.get().uri(ReactiveDataFlowTemplate.href(root, DEPLOYMENT_REL, name))
+				.retrieve().bodyToMono(StreamDeploymentResource.class));
+	}
+
+	@Override
+	public Mono<StreamDefinitionResource> getStreamDefinition(String name) {
+		return this.resources.flatMap(root ->
+				this.webClient.get().uri(ReactiveDataFlowTemplate.href(root, DEFINITION_REL, name))
+				.retrieve().bodyToMono(StreamDefinitionResource.class));
+	}
+
+	@Override
+	public Mono<StreamDefinitionResource> createStream(String name, String definition, boolean deploy) {
+		MultiValueMap<String, String> values = new LinkedMultiValueMap<>();
+		values.add("name", name);
+		values.add("definition", definition);
+		values.add("deploy", Boolean.toString(deploy));
+		return this.resources.flatMap(root ->
+				this.webClient.post().uri(ReactiveDataFlowTemplate.href(root, DEFINITIONS_REL))
+				.body(BodyInserters.fromFormData(values)).retrieve().bodyToMono(StreamDefinitionResource.class));
+	}
+
+	@Override
+	public Mono<Void> deploy(String name, Map<String, String> properties) {
+		return this.resources.flatMap(root ->
+				this.webClient.post().uri(ReactiveDataFlowTemplate.href(root, DEPLOYMENT_REL, name))
+				.syncBody(properties).retrieve().bodyToMono(Void.class));
+	}
+
+	@Override
+	public Mono<Void> undeploy(String name) {
+		return this.resources.flatMap(root ->
+				this.webClient.delete().uri(ReactiveDataFlowTemplate.href(root, DEPLOYMENT_REL, name))
+				.retrieve().bodyToMono(Void.class));
+	}
+
+	@Override
+	public Mono<Void> destroy(String name) {
+		return this.resources.flatMap(root ->
+				this.webClient.delete().uri(ReactiveDataFlowTemplate.href(root, DEFINITION_REL, name))
+				.retrieve().bodyToMono(Void.class));
+	}
+}
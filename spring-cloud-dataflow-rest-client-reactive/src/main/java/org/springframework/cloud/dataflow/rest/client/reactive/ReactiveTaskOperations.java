@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.util.List;
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.resource.CurrentTaskExecutionsResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskExecutionResource;
+
+/**
+ * Interface defining non-blocking operations available against tasks.
+ */
+public interface ReactiveTaskOperations {
+
+	/**
+	 * Return all the tasks known to the system, the pages of the task list being requested
+	 * as the elements are consumed.
+	 *
+	 * @param pageSize the number of tasks requested per page
+	 * @return the tasks known to the system
+	 */
+	Flux<TaskDefinitionResource> listAll(int pageSize);
+
+	/**
+	 * Create a new task definition.
+	 *
+	 * @param name the name of the task
+	 * @param definition the task definition DSL
+	 * @return the task definition
+	 */
+	Mono<TaskDefinitionResource> create(String name, String definition);
+
+	/**
+	 * Launch an already created task.
+	 *
+	 * @param name the name of the task
+	 * @param properties the deployment properties
+	 * @param arguments the command line arguments
+	 * @return the id of the task execution
+	 */
+	Mono<Long> launch(String name, Map<String, String> properties, List<String> arguments);
+
+	/**
+	 * Destroy an existing task.
+	 *
+	 * @param name the name of the task
+	 * @return completes once the task is destroyed
+	 */
+	Mono<Void> destroy(String name);
+
+	/**
+	 * Return all the task executions known to the system, the pages of the task execution
+	 * list being requested as the elements are consumed.
+	 *
+	 * @param pageSize the number of task executions requested per page
+	 * @return the task executions known to the system
+	 */
+	Flux<TaskExecutionResource> executionListAll(int pageSize);
+
+	/**
+	 * Return all the task executions of a task, the pages of the task execution list being
+	 * requested as the elements are consumed.
+	 *
+	 * @param taskName of the executions
+	 * @param pageSize the number of task executions requested per page
+	 * @return the task executions for the given task name
+	 */
+	Flux<TaskExecutionResource> executionListAllByTaskName(String taskName, int pageSize);
+
+	/**
+	 * @param id identifier of the task execution
+	 * @return the task execution
+	 */
+	Mono<TaskExecutionResource> taskExecutionStatus(long id);
+
+	/**
+	 * @return the number of running task executions and the maximum allowed
+	 */
+	Mono<CurrentTaskExecutionsResource> currentTaskExecutions();
+
+	/**
+	 * Cleanup any resources associated with the execution for the id specified.
+	 *
+	 * @param id identifier of the task execution
+	 * @return completes once the resources are cleaned up
+	 */
+	Mono<Void> cleanup(long id);
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.util.List;
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.resource.CurrentTaskExecutionsResource;
+import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskExecutionResource;
+import org.springframework.cloud.dataflow.rest.util.DeploymentPropertiesUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Implementation of {@link ReactiveTaskOperations}.
+ */
+public class ReactiveTaskTemplate implements ReactiveTaskOperations {
+
+	private static final String DEFINITIONS_RELATION = "tasks/definitions";
+
+	private static final String DEFINITION_RELATION = "tasks/definitions/definition";
+
+	private static final String EXECUTIONS_RELATION = "tasks/executions";
+
+	private static final String EXECUTIONS_CURRENT_RELATION = "tasks/executions/current";
+
+	private static final String EXECUTION_RELATION = "tasks/executions/execution";
+
+	private static final String EXECUTION_RELATION_BY_NAME = "tasks/executions/name";
+
+	private final WebClient webClient;
+
+	private final Mono<RootResource> resources;
+
+	ReactiveTaskTemplate(WebClient webClient, Mono<RootResource> resources) {
+		this.webClient = webClient;
+		this.resources = resources;
+	}
+
+	@Override
+	public Flux<TaskDefinitionResource> listAll(int pageSize) {
+		return this.resources.flatMapMany(root ->
+				ReactivePages.all(this.webClient, ReactiveDataFlowTemplate.href(root, DEFINITIONS_RELATION),
+						pageSize, TaskDefinitionResource.Page.class));
+	}
+
+	@Override
+	public Mono<TaskDefinitionResource> create(String name, String definition) {
+		MultiValueMap<String, String> values = new LinkedMultiValueMap<>();
+		values.add("name", name);
+		values.add("definition", definition);
+		return this.resources.flatMap(root ->
+				this.webClient.post().uri(ReactiveDataFlowTemplate.href(root, DEFINITIONS_RELATION))
+				.body(BodyInserters.fromFormData(values)).retrieve().bodyToMono(TaskDefinitionResource.class));
+	}
+
+	@Override
+	public Mono<Long> launch(String name, Map<String, String> properties, List<String> arguments) {
+		MultiValueMap<String, String> values = new LinkedMultiValueMap<>();
+		values.add("properties", DeploymentPropertiesUtils.format(properties));
+		values.add("arguments", StringUtils.collectionToDelimitedString(arguments, " "));
+		return this.resources.flatMap(root ->
+				this.webClient.post().uri(ReactiveDataFlowTemplate.href(root, EXECUTION_RELATION_BY_NAME, name))
+				.body(BodyInserters.fromFormData(values)).retrieve().bodyToMono(Long.class));
+	}
+
+	@Override
+	public Mono<Void> destroy(String name) {
+		return this.resources.flatMap(root ->
+				this.webClient.delete().uri(ReactiveDataFlowTemplate.href(root, DEFINITION_RELATION, name))
+				.retrieve().bodyToMono(Void.class));
+	}
+
+	@Override
+	public Flux<TaskExecutionResource> executionListAll(int pageSize) {
+		return this.resources.flatMapMany(root ->
+				ReactivePages.all(this.webClient, ReactiveDataFlowTemplate.href(root, EXECUTIONS_RELATION),
+						pageSize, TaskExecutionResource.Page.class));
+	}
+
+	@Override
+	public Flux<TaskExecutionResource> executionListAllByTaskName(String taskName, int pageSize) {
+		return this.resources.flatMapMany(root -> ReactivePages.all(this.webClient,
+				ReactiveDataFlowTemplate.href(root, EXECUTION_RELATION_BY_NAME, taskName),
+				pageSize, TaskExecutionResource.Page.class));
+	}
+
+	@Override
+	public Mono<TaskExecutionResource> taskExecutionStatus(long id) {
+		return this.resources.flatMap(root ->
+				this.webClient.get().uri(ReactiveDataFlowTemplate.href(root, EXECUTION_RELATION, id))
+				.retrieve().bodyToMono(TaskExecutionResource.class));
+	}
+
+	@Override
+	public Mono<CurrentTaskExecutionsResource> currentTaskExecutions() {
+		return this.resources.flatMap(root ->
+				this.webClient.get().uri(ReactiveDataFlowTemplate.href(root, EXECUTIONS_CURRENT_RELATION))
+				.retrieve().bodyToMono(CurrentTaskExecutionsResource.class));
+	}
+
+	@Override
+	public Mono<Void> cleanup(long id) {
+		return this.resources.flatMap(root ->
+				this.webClient.delete().uri(ReactiveDataFlowTemplate.href(root, EXECUTION_RELATION, id))
+				.retrieve().bodyToMono(Void.class));
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.dataflow.rest.client.DataFlowClientException;
+import org.springframework.hateoas.VndErrors;
+import org.springframework.hateoas.VndErrors.VndError;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+/**
+ * {@link ExchangeFilterFunction} that turns the error responses of the Data Flow server
+ * into a {@link DataFlowClientException} holding the {@link VndError} structure of the
+ * response, as {@link org.springframework.cloud.dataflow.rest.client.VndErrorResponseErrorHandler}
+ * does for the blocking client.
+ */
+public class VndErrorExchangeFilterFunction implements ExchangeFilterFunction {
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return next.exchange(request).flatMap(response -> response.statusCode().isError()
+				? toException(response).flatMap(Mono::error)
+				: Mono.just(response));
+	}
+
+	private static Mono<DataFlowClientException> toException(ClientResponse response) {
+		HttpStatus status = response.statusCode();
+		Mono<VndErrors> vndErrors = HttpStatus.FORBIDDEN.equals(status)
+				? response.bodyToMono(VndError.class).map(error -> new VndErrors(error))
+				: response.bodyToMono(VndErrors.class);
+		return vndErrors.onErrorResume(e -> Mono.empty())
+				.defaultIfEmpty(new VndErrors(String.valueOf(status), status.getReasonPhrase()))
+				.map(DataFlowClientException::new);
+	}
+}
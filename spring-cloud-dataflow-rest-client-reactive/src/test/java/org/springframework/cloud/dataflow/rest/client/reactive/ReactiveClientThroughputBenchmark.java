@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.dataflow.rest.Version;
+import org.springframework.cloud.dataflow.rest.client.DataFlowServerDocumentCache;
+import org.springframework.cloud.dataflow.rest.client.DataFlowTemplate;
+import org.springframework.cloud.dataflow.rest.client.StreamOperations;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Compares the throughput of the blocking {@link DataFlowTemplate} and of the
+ * {@link ReactiveDataFlowTemplate} against a local stub server answering each stream
+ * definition request after a fixed latency, and logs the results. Not run as part of the
+ * build, run it with
+ * {@code mvn test -pl spring-cloud-dataflow-rest-client-reactive -Dtest=ReactiveClientThroughputBenchmark}.
+ * The system properties {@code benchmark.requests}, {@code benchmark.latency},
+ * {@code benchmark.blockingThreads} and {@code benchmark.reactiveConcurrency} change the
+ * defaults of 2000 requests answered after 20 ms each, 8 blocking threads and 256
+ * concurrent reactive requests.
+ */
+public class ReactiveClientThroughputBenchmark {
+
+	private static final Log logger = LogFactory.getLog(ReactiveClientThroughputBenchmark.class);
+
+	private final int requests = Integer.getInteger("benchmark.requests", 2000);
+
+	private final long latency = Long.getLong("benchmark.latency", 20);
+
+	private final int blockingThreads = Integer.getInteger("benchmark.blockingThreads", 8);
+
+	private final int reactiveConcurrency = Integer.getInteger("benchmark.reactiveConcurrency", 256);
+
+	private HttpServer server;
+
+	@Before
+	public void setup() throws IOException {
+		this.server = stubServer(this.latency);
+	}
+
+	@After
+	public void tearDown() {
+		this.server.stop(0);
+	}
+
+	@Test
+	public void benchmarkGetStreamDefinition() throws Exception {
+		URI baseURI = URI.create("http://localhost:" + this.server.getAddress().getPort());
+		// with a document cache, only the operations used are created, the stub not serving the others
+		StreamOperations blocking = new DataFlowTemplate(baseURI, new RestTemplate(),
+				new DataFlowServerDocumentCache(Duration.ofHours(1))).streamOperations();
+		ReactiveStreamOperations reactive = new ReactiveDataFlowTemplate(baseURI).streamOperations();
+
+		// warm up both clients before measuring
+		runBlocking(blocking, this.requests / 10, this.blockingThreads);
+		runReactive(reactive, this.requests / 10, this.reactiveConcurrency);
+
+		report("blocking (" + this.blockingThreads + " threads)", this.requests,
+				runBlocking(blocking, this.requests, this.blockingThreads));
+		report("reactive (concurrency " + this.reactiveConcurrency + ")", this.requests,
+				runReactive(reactive, this.requests, this.reactiveConcurrency));
+	}
+
+	private static long runBlocking(StreamOperations streams, int requests, int threads) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			long start = System.nanoTime();
+			List<Future<?>> results = new ArrayList<>(requests);
+			for (int i = 0; i < requests; i++) {
+				String name = "stream-" + i;
+				results.add(executor.submit(() -> streams.getStreamDefinition(name)));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+			return System.nanoTime() - start;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static long runReactive(ReactiveStreamOperations streams, int requests, int concurrency) {
+		long start = System.nanoTime();
+		Flux.range(0, requests).flatMap(i -> streams.getStreamDefinition("stream-" + i), concurrency).blockLast();
+		return System.nanoTime() - start;
+	}
+
+	private static void report(String client, int requests, long nanos) {
+		double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(1);
+		logger.info(String.format("%-30s %6d requests in %7.3f s, %8.1f requests/s", client, requests,
+				seconds, requests / seconds));
+	}
+
+	private static HttpServer stubServer(long latency) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+		String base = "http://localhost:" + server.getAddress().getPort();
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			if (path.equals("/")) {
+				respond(exchange, "{\"" + Version.REVISION_KEY + "\":" + Version.REVISION + ",\"_links\":{"
+						+ link(base, "about", "/about") + ","
+						+ link(base, "streams/definitions", "/streams/definitions") + ","
+						+ link(base, "streams/definitions/definition", "/streams/definitions/{name}") + ","
+						+ link(base, "streams/deployments", "/streams/deployments") + ","
+						+ link(base, "streams/deployments/deployment", "/streams/deployments/{name}") + ","
+						+ link(base, "streams/validation", "/streams/validation/{name}") + "}}");
+			}
+			else if (path.equals("/about")) {
+				respond(exchange, "{\"versionInfo\":{\"core\":{\"name\":\"stub\",\"version\":\"2.1.0\"}}}");
+			}
+			else {
+				try {
+					Thread.sleep(latency);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				String name = path.substring(path.lastIndexOf('/') + 1);
+				respond(exchange, "{\"name\":\"" + name + "\",\"dslText\":\"time | log\",\"status\":\"deployed\"}");
+			}
+		});
+		server.start();
+		return server;
+	}
+
+	private static String link(String base, String rel, String path) {
+		return "\"" + rel + "\":{\"href\":\"" + base + path + "\"" + (path.contains("{") ? ",\"templated\":true" : "")
+				+ "}";
+	}
+
+	private static void respond(HttpExchange exchange, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(bytes);
+		}
+	}
+}
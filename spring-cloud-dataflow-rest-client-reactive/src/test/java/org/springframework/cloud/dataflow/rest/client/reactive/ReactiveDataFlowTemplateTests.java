@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.reactive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.cloud.dataflow.rest.Version;
+import org.springframework.cloud.dataflow.rest.client.DataFlowClientException;
+import org.springframework.cloud.dataflow.rest.client.DataFlowServerException;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the {@link ReactiveDataFlowTemplate} against a local stub server.
+ */
+public class ReactiveDataFlowTemplateTests {
+
+	private HttpServer server;
+
+	private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+	private final Map<String, String> queries = new ConcurrentHashMap<>();
+
+	private ReactiveDataFlowTemplate template;
+
+	@Before
+	public void setup() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			String query = exchange.getRequestURI().getQuery();
+			this.requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+			this.queries.put(path, query == null ? "" : query);
+			if (path.equals("/")) {
+				respond(exchange, 200, "{\"" + Version.REVISION_KEY + "\":" + Version.REVISION + ",\"_links\":{"
+						+ "\"streams/definitions\":{\"href\":\"" + baseUrl() + "/streams/definitions\"},"
+						+ "\"streams/definitions/definition\":{\"href\":\"" + baseUrl()
+						+ "/streams/definitions/{name}\",\"templated\":true},"
+						+ "\"jobs/thinexecutions\":{\"href\":\"" + baseUrl() + "/jobs/thinexecutions\"}}}");
+			}
+			else if (path.equals("/streams/definitions") && "size=2".equals(query)) {
+				respond(exchange, 200, streams("\"" + baseUrl() + "/streams/definitions?page=1&size=2\"", "a", "b"));
+			}
+			else if (path.equals("/streams/definitions") && "page=1&size=2".equals(query)) {
+				respond(exchange, 200, streams(null, "c"));
+			}
+			else if (path.equals("/jobs/thinexecutions")) {
+				respond(exchange, 200, "{\"_links\":{},\"page\":{\"size\":10,\"totalElements\":0,"
+						+ "\"totalPages\":0,\"number\":0}}");
+			}
+			else if (path.equals("/streams/definitions/missing")) {
+				respond(exchange, 404, "[{\"logref\":\"NoSuchStreamDefinitionException\","
+						+ "\"message\":\"Could not find stream definition named missing\"}]");
+			}
+			else {
+				respond(exchange, 500, "[]");
+			}
+		});
+		this.server.start();
+		this.template = new ReactiveDataFlowTemplate(URI.create(baseUrl()));
+	}
+
+	@After
+	public void tearDown() {
+		this.server.stop(0);
+	}
+
+	@Test
+	public void testRootIsDiscoveredOnceOnFirstUse() {
+		assertThat(this.requests).isEmpty();
+
+		List<StreamDefinitionResource> streams = this.template.streamOperations().listAll(2).collectList().block();
+		this.template.streamOperations().listAll(2).collectList().block();
+
+		assertThat(streams).extracting(StreamDefinitionResource::getName).containsExactly("a", "b", "c");
+		assertThat(this.requests.get("/").get()).isEqualTo(1);
+		assertThat(this.requests.get("/streams/definitions").get()).isEqualTo(4);
+	}
+
+	@Test
+	public void testRefreshDiscoversTheRootAgain() {
+		this.template.streamOperations().listAll(2).blockLast();
+		this.template.refresh();
+		this.template.streamOperations().listAll(2).blockLast();
+
+		assertThat(this.requests.get("/").get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testJobExecutionQueryIsSentAsRequestParameters() {
+		JobExecutionQuery query = new JobExecutionQuery().withStatus(BatchStatus.FAILED)
+				.withJobNamePrefix("ev").withStartTimeBetween(new Date(1546300800000L), null);
+		assertThat(this.template.jobOperations().executionThinListAll(query, 10).collectList().block()).isEmpty();
+
+		assertThat(this.queries.get("/jobs/thinexecutions")).isEqualTo("status=FAILED"
+				+ "&startedAfter=2019-01-01T00:00:00&jobNamePrefix=ev&size=10");
+	}
+
+	@Test
+	public void testErrorsAreMappedToClientExceptions() {
+		assertThatThrownBy(() -> this.template.streamOperations().getStreamDefinition("missing").block())
+				.isInstanceOf(DataFlowClientException.class)
+				.hasMessageContaining("Could not find stream definition named missing");
+	}
+
+	@Test
+	public void testMissingLinkOfADisabledFeature() {
+		assertThatThrownBy(() -> this.template.taskOperations().listAll(10).blockLast())
+				.isInstanceOf(DataFlowServerException.class).hasMessageContaining("tasks/definitions");
+	}
+
+	private String baseUrl() {
+		return "http://localhost:" + this.server.getAddress().getPort();
+	}
+
+	private static String streams(String next, String... names) {
+		StringBuilder body = new StringBuilder("{\"_embedded\":{\"streamDefinitionResourceList\":[");
+		for (int i = 0; i < names.length; i++) {
+			body.append(i > 0 ? "," : "").append("{\"name\":\"").append(names[i])
+					.append("\",\"dslText\":\"time | log\",\"status\":\"undeployed\"}");
+		}
+		body.append("]},\"_links\":{");
+		if (next != null) {
+			body.append("\"next\":{\"href\":").append(next).append("}");
+		}
+		return body.append("},\"page\":{\"size\":2,\"totalElements\":3,\"totalPages\":2,\"number\":0}}")
+				.toString();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(bytes);
+		}
+	}
+}
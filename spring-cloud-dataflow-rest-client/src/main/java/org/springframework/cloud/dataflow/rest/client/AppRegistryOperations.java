@@ -17,6 +17,7 @@
 package org.springframework.cloud.dataflow.rest.client;
 
 import java.util.Properties;
+import java.util.stream.Stream;
 
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.rest.resource.AppRegistrationResource;
@@ -51,6 +52,18 @@ public interface AppRegistryOperations {
 	 */
 	PagedResources<AppRegistrationResource> list(ApplicationType type);
 
+	/**
+	 * Return all the application registrations for the given {@link ApplicationType},
+	 * following the pages of the application list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param type application type for which to return the registrations, null for all
+	 * @param pageSize the number of registrations requested per page
+	 * @return the application registrations for the given application type
+	 */
+	Stream<AppRegistrationResource> listAll(ApplicationType type, int pageSize);
+
 	/**
 	 * Retrieve information about an application registration.
 	 *
@@ -16,9 +16,12 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.net.URI;
 import java.util.Properties;
+import java.util.stream.Stream;
 
 import org.springframework.cloud.dataflow.core.ApplicationType;
+import org.springframework.cloud.dataflow.rest.client.support.PagedResourcesIterator;
 import org.springframework.cloud.dataflow.rest.resource.AppRegistrationResource;
 import org.springframework.cloud.dataflow.rest.resource.DetailedAppRegistrationResource;
 import org.springframework.hateoas.Link;
@@ -82,6 +85,13 @@ public class AppRegistryTemplate implements AppRegistryOperations {
 		return restTemplate.getForObject(uri, AppRegistrationResource.Page.class);
 	}
 
+	@Override
+	public Stream<AppRegistrationResource> listAll(ApplicationType type, int pageSize) {
+		String uri = appsLink.getHref() + ((type == null) ? "" : "?type=" + type.name());
+		return PagedResourcesIterator.stream(restTemplate, URI.create(uri), pageSize,
+				AppRegistrationResource.Page.class);
+	}
+
 	@Override
 	public void unregister(String name, ApplicationType applicationType) {
 		String uri = appsLink.getHref() + "/{type}/{name}";
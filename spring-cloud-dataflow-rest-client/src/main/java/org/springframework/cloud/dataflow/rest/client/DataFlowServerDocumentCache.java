@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.util.Assert;
+
+/**
+ * Cache of the documents a {@link DataFlowTemplate} discovers the Data Flow server API
+ * from: the root resource holding the links of the API and the server version reported
+ * by the about resource. A cache is meant to be shared by the clients of the same server,
+ * so that creating a client does not cost a round-trip to the server. Entries are keyed
+ * by the base URI of the server and are reloaded once their time to live has elapsed or
+ * after an explicit {@link #refresh(URI)}.
+ */
+public class DataFlowServerDocumentCache {
+
+	/**
+	 * Time to live of the entries of the {@link #getDefault() default cache}.
+	 */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private static final DataFlowServerDocumentCache DEFAULT = new DataFlowServerDocumentCache(DEFAULT_TIME_TO_LIVE);
+
+	private final ConcurrentMap<URI, Entry> entries = new ConcurrentHashMap<>();
+
+	private final Duration timeToLive;
+
+	private final Clock clock;
+
+	/**
+	 * @param timeToLive how long the documents of a server are reused, must not be null
+	 */
+	public DataFlowServerDocumentCache(Duration timeToLive) {
+		this(timeToLive, Clock.systemUTC());
+	}
+
+	DataFlowServerDocumentCache(Duration timeToLive, Clock clock) {
+		Assert.notNull(timeToLive, "The timeToLive must not be null.");
+		Assert.isTrue(!timeToLive.isNegative(), "The timeToLive must not be negative.");
+		Assert.notNull(clock, "The clock must not be null.");
+		this.timeToLive = timeToLive;
+		this.clock = clock;
+	}
+
+	/**
+	 * @return the cache shared by the clients that do not provide their own
+	 */
+	public static DataFlowServerDocumentCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Return the documents of the server at the provided base URI, loading them if they
+	 * are not cached or have expired.
+	 *
+	 * @param baseUri the base URI of the server
+	 * @param loader loads the documents of the server, may return null if the server did
+	 * not return a root resource, in which case nothing is cached
+	 * @return the documents of the server, or null
+	 */
+	public Documents get(URI baseUri, Function<URI, Documents> loader) {
+		Assert.notNull(baseUri, "The baseUri must not be null.");
+		long now = this.clock.millis();
+		Entry entry = this.entries.get(baseUri);
+		if (entry == null || now - entry.loadedAt >= this.timeToLive.toMillis()) {
+			Documents documents = loader.apply(baseUri);
+			if (documents == null) {
+				this.entries.remove(baseUri);
+				return null;
+			}
+			entry = new Entry(documents, now);
+			this.entries.put(baseUri, entry);
+		}
+		return entry.documents;
+	}
+
+	/**
+	 * Drop the cached documents of the server at the provided base URI, they are loaded
+	 * again on next use.
+	 *
+	 * @param baseUri the base URI of the server
+	 */
+	public void refresh(URI baseUri) {
+		this.entries.remove(baseUri);
+	}
+
+	/**
+	 * Drop the cached documents of all servers.
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * The documents discovered from a Data Flow server. The root resource is loaded with
+	 * the documents while the server version, which costs another round-trip, is only
+	 * loaded when first needed.
+	 */
+	public static final class Documents {
+
+		private final RootResource root;
+
+		private final Supplier<String> serverVersionLoader;
+
+		private volatile String serverVersion;
+
+		/**
+		 * @param root the root resource of the server, must not be null
+		 * @param serverVersionLoader loads the version of the server on first use
+		 */
+		public Documents(RootResource root, Supplier<String> serverVersionLoader) {
+			Assert.notNull(root, "The root must not be null.");
+			Assert.notNull(serverVersionLoader, "The serverVersionLoader must not be null.");
+			this.root = root;
+			this.serverVersionLoader = serverVersionLoader;
+		}
+
+		/**
+		 * @return the root resource holding the links of the API
+		 */
+		public RootResource getRoot() {
+			return this.root;
+		}
+
+		/**
+		 * @return the core version of the server, empty if the server did not report it
+		 */
+		public String getServerVersion() {
+			String version = this.serverVersion;
+			if (version == null) {
+				version = this.serverVersionLoader.get();
+				this.serverVersion = version;
+			}
+			return version;
+		}
+	}
+
+	private static final class Entry {
+
+		private final Documents documents;
+
+		private final long loadedAt;
+
+		private Entry(Documents documents, long loadedAt) {
+			this.documents = documents;
+			this.loadedAt = loadedAt;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2017 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,10 @@ package org.springframework.cloud.dataflow.rest.client;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -30,6 +34,7 @@ import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.cloud.dataflow.rest.Version;
+import org.springframework.cloud.dataflow.rest.client.support.ConditionalGetInterceptor;
 import org.springframework.cloud.dataflow.rest.client.support.ExitStatusJacksonMixIn;
 import org.springframework.cloud.dataflow.rest.client.support.JobExecutionJacksonMixIn;
 import org.springframework.cloud.dataflow.rest.client.support.JobInstanceJacksonMixIn;
@@ -75,46 +80,24 @@ public class DataFlowTemplate implements DataFlowOperations {
 	protected final Map<String, UriTemplate> resources = new HashMap<String, UriTemplate>();
 
 	/**
-	 * REST client for stream operations.
+	 * The base URI of the Data Flow server.
 	 */
-	private final StreamOperations streamOperations;
+	private final URI baseURI;
 
 	/**
-	 * REST client for task operations.
+	 * Shared documents of the server, null when the links are discovered eagerly.
 	 */
-	private final TaskOperations taskOperations;
+	private final DataFlowServerDocumentCache documentCache;
 
 	/**
-	 * REST client for job operations.
+	 * Documents of the server discovered eagerly, null when they are shared.
 	 */
-	private final JobOperations jobOperations;
+	private volatile DataFlowServerDocumentCache.Documents documents;
 
 	/**
-	 * REST client for app registry operations.
+	 * REST clients for the various operations, created on first use.
 	 */
-	private final AppRegistryOperations appRegistryOperations;
-
-	/**
-	 * REST client for completion operations.
-	 */
-	private final CompletionOperations completionOperations;
-
-	/**
-	 * REST Client for runtime operations.
-	 */
-	private final RuntimeOperations runtimeOperations;
-
-	/**
-	 * REST Client for "about" operations.
-	 */
-	private final AboutOperations aboutOperations;
-
-
-	/**
-	 * REST Client for "scheduler" operations.
-	 */
-	private final SchedulerOperations schedulerOperations;
-
+	private final ConcurrentMap<Class<?>, Optional<Object>> operations = new ConcurrentHashMap<>();
 
 	/**
 	 * Setup a {@link DataFlowTemplate} using the provided baseURI. Will build a
@@ -146,82 +129,105 @@ public class DataFlowTemplate implements DataFlowOperations {
 	 * @param restTemplate Must not be null
 	 */
 	public DataFlowTemplate(URI baseURI, RestTemplate restTemplate) {
+		this(baseURI, restTemplate, null);
+	}
+
+	/**
+	 * Setup a {@link DataFlowTemplate} that does not contact the server when created. The
+	 * root resource of the server is taken from the provided cache, shared with the other
+	 * templates of the same server, and each of the REST clients is created on first use.
+	 * An incompatible server is therefore only reported on first use of the template.
+	 *
+	 * @param baseURI Must not be null
+	 * @param restTemplate Must not be null
+	 * @param documentCache the cache of server documents, if null the links are
+	 * discovered eagerly when the template is created
+	 */
+	public DataFlowTemplate(URI baseURI, RestTemplate restTemplate, DataFlowServerDocumentCache documentCache) {
 
 		Assert.notNull(baseURI, "The provided baseURI must not be null.");
 		Assert.notNull(restTemplate, "The provided restTemplate must not be null.");
 
+		this.baseURI = baseURI;
 		this.restTemplate = prepareRestTemplate(restTemplate);
+		this.documentCache = documentCache;
+
+		if (documentCache == null) {
+			this.documents = loadDocuments(baseURI);
+			streamOperations();
+			runtimeOperations();
+			taskOperations();
+			jobOperations();
+			schedulerOperations();
+			appRegistryOperations();
+			completionOperations();
+			aboutOperation();
+		}
+	}
 
-		final RootResource resourceSupport = restTemplate.getForObject(baseURI, RootResource.class);
-
-		if (resourceSupport != null) {
-			if (resourceSupport.getApiRevision() == null) {
-				throw new IllegalStateException("Incompatible version of Data Flow server detected.\n"
-						+ "Follow instructions in the documentation for the version of the server you are "
-						+ "using to download a compatible version of the shell.\n"
-						+ "Documentation can be accessed at http://cloud.spring.io/spring-cloud-dataflow/");
-			}
-			String serverRevision = resourceSupport.getApiRevision().toString();
-			if (!String.valueOf(Version.REVISION).equals(serverRevision)) {
-				String downloadURL = getLink(resourceSupport, "dashboard").getHref() + "#about";
-				throw new IllegalStateException(String.format(
-						"Incompatible version of Data Flow server detected.\n"
-								+ "Trying to use shell which supports revision %s, while server revision is %s. Both "
-								+ "revisions should be aligned.\n"
-								+ "Follow instructions at %s to download a compatible version of the shell.",
-						Version.REVISION, serverRevision, downloadURL));
-			}
-
-			this.aboutOperations = new AboutTemplate(restTemplate, resourceSupport.getLink(AboutTemplate.ABOUT_REL));
-
-			if (resourceSupport.hasLink(StreamTemplate.DEFINITIONS_REL)) {
-				this.streamOperations = new StreamTemplate(restTemplate, resourceSupport, getVersion());
-				this.runtimeOperations = new RuntimeTemplate(restTemplate, resourceSupport);
-			}
-			else {
-				this.streamOperations = null;
-				this.runtimeOperations = null;
-			}
-			if (resourceSupport.hasLink(TaskTemplate.DEFINITIONS_RELATION)) {
-				this.taskOperations = new TaskTemplate(restTemplate, resourceSupport, getVersion());
-				this.jobOperations = new JobTemplate(restTemplate, resourceSupport);
-				if(resourceSupport.hasLink(SchedulerTemplate.SCHEDULES_RELATION)) {
-					this.schedulerOperations = new SchedulerTemplate(restTemplate, resourceSupport);
-				}
-				else {
-					schedulerOperations = null;
-				}
-			}
-			else {
-				this.taskOperations = null;
-				this.jobOperations = null;
-				this.schedulerOperations = null;
-			}
-			this.appRegistryOperations = new AppRegistryTemplate(restTemplate, resourceSupport);
-			this.completionOperations = new CompletionTemplate(restTemplate,
-					resourceSupport.getLink("completions/stream"), resourceSupport.getLink("completions/task"));
+	private DataFlowServerDocumentCache.Documents loadDocuments(URI baseURI) {
+		final RootResource resourceSupport = this.restTemplate.getForObject(baseURI, RootResource.class);
+		if (resourceSupport == null) {
+			return null;
 		}
-		else {
-			this.aboutOperations = null;
-			this.streamOperations = null;
-			this.runtimeOperations = null;
-			this.taskOperations = null;
-			this.jobOperations = null;
-			this.appRegistryOperations = null;
-			this.completionOperations = null;
-			this.schedulerOperations = null;
+		if (resourceSupport.getApiRevision() == null) {
+			throw new IllegalStateException("Incompatible version of Data Flow server detected.\n"
+					+ "Follow instructions in the documentation for the version of the server you are "
+					+ "using to download a compatible version of the shell.\n"
+					+ "Documentation can be accessed at http://cloud.spring.io/spring-cloud-dataflow/");
 		}
+		String serverRevision = resourceSupport.getApiRevision().toString();
+		if (!String.valueOf(Version.REVISION).equals(serverRevision)) {
+			String downloadURL = getLink(resourceSupport, "dashboard").getHref() + "#about";
+			throw new IllegalStateException(String.format(
+					"Incompatible version of Data Flow server detected.\n"
+							+ "Trying to use shell which supports revision %s, while server revision is %s. Both "
+							+ "revisions should be aligned.\n"
+							+ "Follow instructions at %s to download a compatible version of the shell.",
+					Version.REVISION, serverRevision, downloadURL));
+		}
+		AboutOperations about = new AboutTemplate(this.restTemplate, resourceSupport.getLink(AboutTemplate.ABOUT_REL));
+		return new DataFlowServerDocumentCache.Documents(resourceSupport, () -> getVersion(about));
 	}
 
-	private String getVersion() {
+	private static String getVersion(AboutOperations aboutOperations) {
 		String version = "";
-		AboutResource aboutResource = this.aboutOperations.get();
+		AboutResource aboutResource = aboutOperations.get();
 		if(aboutResource != null) {
 			version = aboutResource.getVersionInfo().getCore().getVersion();
 		}
 		return version;
 	}
 
+	private DataFlowServerDocumentCache.Documents getDocuments() {
+		if (this.documentCache != null) {
+			return this.documentCache.get(this.baseURI, this::loadDocuments);
+		}
+		return this.documents;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T getOperations(Class<T> type, Function<DataFlowServerDocumentCache.Documents, T> factory) {
+		return (T) this.operations.computeIfAbsent(type, key -> {
+			DataFlowServerDocumentCache.Documents documents = getDocuments();
+			return Optional.ofNullable(documents != null ? factory.apply(documents) : null);
+		}).orElse(null);
+	}
+
+	/**
+	 * Discover the links of the server again. The REST clients obtained before are left
+	 * untouched, new ones are created on next use.
+	 */
+	public void refresh() {
+		if (this.documentCache != null) {
+			this.documentCache.refresh(this.baseURI);
+		}
+		else {
+			this.documents = loadDocuments(this.baseURI);
+		}
+		this.operations.clear();
+	}
+
 	/**
 	 * Will augment the provided {@link RestTemplate} with the Jackson Mixins required by
 	 * Spring Cloud Data Flow, specifically:
@@ -236,7 +242,9 @@ public class DataFlowTemplate implements DataFlowOperations {
 	 * <li>{@link StepExecutionHistoryJacksonMixIn}
 	 * </ul>
 	 *
-	 * Furthermore, this method will also register the {@link Jackson2HalModule}
+	 * Furthermore, this method will also register the {@link Jackson2HalModule} and a
+	 * {@link ConditionalGetInterceptor}, so that repeated reads of the definitions, app
+	 * registrations and runtime apps are revalidated with the entity tags of the server.
 	 *
 	 * @param restTemplate Can be null. Instantiates a new {@link RestTemplate} if null
 	 * @return RestTemplate with the required Jackson Mixins
@@ -262,6 +270,10 @@ public class DataFlowTemplate implements DataFlowOperations {
 			throw new IllegalArgumentException(
 					"The RestTemplate does not contain a required " + "MappingJackson2HttpMessageConverter.");
 		}
+
+		if (restTemplate.getInterceptors().stream().noneMatch(ConditionalGetInterceptor.class::isInstance)) {
+			restTemplate.getInterceptors().add(new ConditionalGetInterceptor());
+		}
 		return restTemplate;
 	}
 
@@ -306,42 +318,63 @@ public class DataFlowTemplate implements DataFlowOperations {
 
 	@Override
 	public StreamOperations streamOperations() {
-		return streamOperations;
+		return getOperations(StreamOperations.class, documents ->
+				documents.getRoot().hasLink(StreamTemplate.DEFINITIONS_REL)
+						? new StreamTemplate(this.restTemplate, documents.getRoot(), documents.getServerVersion())
+						: null);
 	}
 
 	@Override
 	public TaskOperations taskOperations() {
-		return taskOperations;
+		return getOperations(TaskOperations.class, documents ->
+				documents.getRoot().hasLink(TaskTemplate.DEFINITIONS_RELATION)
+						? new TaskTemplate(this.restTemplate, documents.getRoot(), documents.getServerVersion())
+						: null);
 	}
 
 	@Override
 	public JobOperations jobOperations() {
-		return jobOperations;
+		return getOperations(JobOperations.class, documents ->
+				documents.getRoot().hasLink(TaskTemplate.DEFINITIONS_RELATION)
+						? new JobTemplate(this.restTemplate, documents.getRoot())
+						: null);
 	}
 
 	@Override
 	public AppRegistryOperations appRegistryOperations() {
-		return appRegistryOperations;
+		return getOperations(AppRegistryOperations.class,
+				documents -> new AppRegistryTemplate(this.restTemplate, documents.getRoot()));
 	}
 
 	@Override
 	public CompletionOperations completionOperations() {
-		return completionOperations;
+		return getOperations(CompletionOperations.class,
+				documents -> new CompletionTemplate(this.restTemplate,
+						documents.getRoot().getLink("completions/stream"),
+						documents.getRoot().getLink("completions/task")));
 	}
 
 	@Override
 	public RuntimeOperations runtimeOperations() {
-		return runtimeOperations;
+		return getOperations(RuntimeOperations.class, documents ->
+				documents.getRoot().hasLink(StreamTemplate.DEFINITIONS_REL)
+						? new RuntimeTemplate(this.restTemplate, documents.getRoot())
+						: null);
 	}
 
 	@Override
 	public AboutOperations aboutOperation() {
-		return aboutOperations;
+		return getOperations(AboutOperations.class,
+				documents -> new AboutTemplate(this.restTemplate, documents.getRoot().getLink(AboutTemplate.ABOUT_REL)));
 	}
 
 	@Override
 	public SchedulerOperations schedulerOperations() {
-		return schedulerOperations;
+		return getOperations(SchedulerOperations.class, documents ->
+				documents.getRoot().hasLink(TaskTemplate.DEFINITIONS_RELATION)
+						&& documents.getRoot().hasLink(SchedulerTemplate.SCHEDULES_RELATION)
+						? new SchedulerTemplate(this.restTemplate, documents.getRoot())
+						: null);
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.util.stream.Stream;
+
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 import org.springframework.cloud.dataflow.rest.resource.JobExecutionResource;
 import org.springframework.cloud.dataflow.rest.resource.JobExecutionThinResource;
 import org.springframework.cloud.dataflow.rest.resource.JobInstanceResource;
@@ -40,6 +43,38 @@ public interface JobOperations {
 	 */
 	PagedResources<JobExecutionThinResource> executionThinList();
 
+	/**
+	 * List job executions without step executions matching a query, the filtering being
+	 * done by the server.
+	 *
+	 * @param query the criteria the job executions must match
+	 * @return the list of job executions
+	 */
+	PagedResources<JobExecutionThinResource> executionThinList(JobExecutionQuery query);
+
+	/**
+	 * Return all the job executions known to the system, following the pages of the job
+	 * execution list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param pageSize the number of job executions requested per page
+	 * @return the job executions known to the system
+	 */
+	Stream<JobExecutionResource> executionListAll(int pageSize);
+
+	/**
+	 * Return all the job executions without step executions matching a query, following
+	 * the pages of the job execution list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param query the criteria the job executions must match
+	 * @param pageSize the number of job executions requested per page
+	 * @return the job executions matching the query
+	 */
+	Stream<JobExecutionThinResource> executionThinListAll(JobExecutionQuery query, int pageSize);
+
 	/**
 	 * @param jobName the name of the job
 	 * @return the list job instances for the specified jobName.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,16 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.cloud.dataflow.rest.client.support.PagedResourcesIterator;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 import org.springframework.cloud.dataflow.rest.resource.JobExecutionResource;
 import org.springframework.cloud.dataflow.rest.resource.JobExecutionThinResource;
 import org.springframework.cloud.dataflow.rest.resource.JobInstanceResource;
@@ -26,6 +36,7 @@ import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.util.Assert;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Implementation for {@link JobOperations}.
@@ -108,6 +119,40 @@ public class JobTemplate implements JobOperations {
 		return restTemplate.getForObject(uriTemplate, JobExecutionThinResource.Page.class);
 	}
 
+	@Override
+	public PagedResources<JobExecutionThinResource> executionThinList(JobExecutionQuery query) {
+		URI uri = queryUri(UriComponentsBuilder.fromUriString(executionsLink.getHref()).queryParam("size", 2000), query);
+		return restTemplate.getForObject(uri, JobExecutionThinResource.Page.class);
+	}
+
+	@Override
+	public Stream<JobExecutionResource> executionListAll(int pageSize) {
+		return PagedResourcesIterator.stream(restTemplate, URI.create(executionsLink.expand().getHref()), pageSize,
+				JobExecutionResource.Page.class);
+	}
+
+	@Override
+	public Stream<JobExecutionThinResource> executionThinListAll(JobExecutionQuery query, int pageSize) {
+		URI uri = queryUri(UriComponentsBuilder.fromUriString(executionsLink.getHref()), query);
+		return PagedResourcesIterator.stream(restTemplate, uri, pageSize, JobExecutionThinResource.Page.class);
+	}
+
+	private URI queryUri(UriComponentsBuilder builder, JobExecutionQuery query) {
+		Assert.notNull(query, "query must not be null");
+		for (BatchStatus status : query.getStatuses()) {
+			builder.queryParam("status", status);
+		}
+		addQueryParam(builder, "exitCode", query.getExitCode());
+		addQueryParam(builder, "startedAfter", query.getStartedAfter());
+		addQueryParam(builder, "startedBefore", query.getStartedBefore());
+		addQueryParam(builder, "endedAfter", query.getEndedAfter());
+		addQueryParam(builder, "endedBefore", query.getEndedBefore());
+		addQueryParam(builder, "name", query.getJobName());
+		addQueryParam(builder, "jobNamePrefix", query.getJobNamePrefix());
+		addQueryParam(builder, "taskExecutionId", query.getTaskExecutionId());
+		return builder.build().encode().toUri();
+	}
+
 	@Override
 	public PagedResources<JobInstanceResource> instanceList(String jobName) {
 		return restTemplate.getForObject(instanceByNameLink.expand(jobName).getHref(), JobInstanceResource.Page.class);
@@ -147,4 +192,16 @@ public class JobTemplate implements JobOperations {
 				StepExecutionProgressInfoResource.class);
 	}
 
+	private static void addQueryParam(UriComponentsBuilder builder, String name, Object value) {
+		if (value != null) {
+			builder.queryParam(name, value);
+		}
+	}
+
+	private static void addQueryParam(UriComponentsBuilder builder, String name, Date value) {
+		if (value != null) {
+			builder.queryParam(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME
+					.format(LocalDateTime.ofInstant(value.toInstant(), ZoneOffset.UTC)));
+		}
+	}
 }
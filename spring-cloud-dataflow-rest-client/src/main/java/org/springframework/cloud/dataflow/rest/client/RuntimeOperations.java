@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,11 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.util.Collection;
+import java.util.stream.Stream;
+
 import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamRuntimeStatusResource;
 import org.springframework.hateoas.PagedResources;
 
 /**
@@ -32,9 +36,32 @@ public interface RuntimeOperations {
 	 */
 	PagedResources<AppStatusResource> status();
 
+	/**
+	 * Return the runtime information about all deployed apps, following the pages of the
+	 * app status list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param pageSize the number of apps requested per page
+	 * @return the runtime information about all deployed apps
+	 */
+	Stream<AppStatusResource> statusAll(int pageSize);
+
 	/**
 	 * @param deploymentId the deployment id
 	 * @return the runtime information about a single app deployment.
 	 */
 	AppStatusResource status(String deploymentId);
+
+	/**
+	 * Return the runtime information about the deployed apps of the given streams only,
+	 * resolved by the server in a single request. A stream whose status cannot be retrieved
+	 * is reported with the reason.
+	 *
+	 * @param streamNames the names of the streams
+	 * @param appNames the names of the apps to include, as labelled in the stream
+	 * definitions, or {@code null} for all the apps of the streams
+	 * @return the runtime information about every stream, in the order of the names
+	 */
+	StreamRuntimeStatusResource streamStatus(Collection<String> streamNames, Collection<String> appNames);
 }
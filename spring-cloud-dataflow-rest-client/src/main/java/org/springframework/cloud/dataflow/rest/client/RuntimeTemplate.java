@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2017 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,18 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.net.URI;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.springframework.cloud.dataflow.rest.client.support.PagedResourcesIterator;
 import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamRuntimeStatusResource;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -42,10 +50,16 @@ public class RuntimeTemplate implements RuntimeOperations {
 	 */
 	private final Link appStatusUriTemplate;
 
+	/**
+	 * Uri template for accessing the runtime status of streams.
+	 */
+	private final Link streamStatusUriTemplate;
+
 	RuntimeTemplate(RestTemplate restTemplate, ResourceSupport resources) {
 		this.restTemplate = restTemplate;
 		this.appStatusesUriTemplate = resources.getLink("runtime/apps");
 		this.appStatusUriTemplate = resources.getLink("runtime/apps/app");
+		this.streamStatusUriTemplate = resources.getLink("runtime/streams");
 	}
 
 	@Override
@@ -55,8 +69,28 @@ public class RuntimeTemplate implements RuntimeOperations {
 		return restTemplate.getForObject(uriTemplate, AppStatusResource.Page.class);
 	}
 
+	@Override
+	public Stream<AppStatusResource> statusAll(int pageSize) {
+		return PagedResourcesIterator.stream(restTemplate, URI.create(appStatusesUriTemplate.expand().getHref()),
+				pageSize, AppStatusResource.Page.class);
+	}
+
 	@Override
 	public AppStatusResource status(String deploymentId) {
 		return restTemplate.getForObject(appStatusUriTemplate.expand(deploymentId).getHref(), AppStatusResource.class);
 	}
+
+	@Override
+	public StreamRuntimeStatusResource streamStatus(Collection<String> streamNames, Collection<String> appNames) {
+		Assert.notEmpty(streamNames, "streamNames must not be empty");
+		Assert.notNull(this.streamStatusUriTemplate, "The server does not expose the runtime status of streams");
+		String href = this.streamStatusUriTemplate.getHref();
+		String uriTemplate = (href.contains("?") ? href.substring(0, href.indexOf('?')) : href) + "/apps?names={names}";
+		String names = StringUtils.collectionToCommaDelimitedString(streamNames);
+		if (appNames == null || appNames.isEmpty()) {
+			return this.restTemplate.getForObject(uriTemplate, StreamRuntimeStatusResource.class, names);
+		}
+		return this.restTemplate.getForObject(uriTemplate + "&apps={apps}", StreamRuntimeStatusResource.class, names,
+				StringUtils.collectionToCommaDelimitedString(appNames));
+	}
 }
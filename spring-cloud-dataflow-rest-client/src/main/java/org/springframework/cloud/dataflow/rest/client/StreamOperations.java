@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2018 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,13 @@ package org.springframework.cloud.dataflow.rest.client;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.naming.OperationNotSupportedException;
 
 import org.springframework.cloud.dataflow.rest.resource.StreamAppStatusResource;
 import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentOperationResource;
 import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentResource;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.PackageIdentifier;
@@ -44,6 +46,16 @@ public interface StreamOperations {
 	 */
 	PagedResources<StreamDefinitionResource> list();
 
+	/**
+	 * Return all the streams known to the system, following the pages of the stream list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param pageSize the number of streams requested per page
+	 * @return the streams known to the system
+	 */
+	Stream<StreamDefinitionResource> listAll(int pageSize);
+
 	/**
 	 * @param name the name of the stream
 	 * @return retrieve the stream info.
@@ -68,6 +80,23 @@ public interface StreamOperations {
 	 */
 	void deploy(String name, Map<String, String> properties);
 
+	/**
+	 * Deploy an already created stream in the background.
+	 *
+	 * @param name the name of the stream
+	 * @param properties the deployment properties
+	 * @return the accepted deployment, to be polled with {@link #deploymentOperation(String)}
+	 */
+	StreamDeploymentOperationResource deployAsync(String name, Map<String, String> properties);
+
+	/**
+	 * Get the progress of a deployment started with {@link #deployAsync(String, Map)}.
+	 *
+	 * @param operationId the id of the deployment operation
+	 * @return the deployment operation
+	 */
+	StreamDeploymentOperationResource deploymentOperation(String operationId);
+
 	/**
 	 * Undeploy a deployed stream, retaining its definition.
 	 *
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2018 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,17 +16,21 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.net.URI;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.naming.OperationNotSupportedException;
 
 import org.springframework.cloud.dataflow.rest.UpdateStreamRequest;
+import org.springframework.cloud.dataflow.rest.client.support.PagedResourcesIterator;
 import org.springframework.cloud.dataflow.rest.client.support.VersionUtils;
 import org.springframework.cloud.dataflow.rest.resource.StreamAppStatusResource;
 import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentOperationResource;
 import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentResource;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.PackageIdentifier;
@@ -39,6 +43,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Implementation for {@link StreamOperations}.
@@ -105,6 +110,12 @@ public class StreamTemplate implements StreamOperations {
 		return restTemplate.getForObject(uriTemplate, StreamDefinitionResource.Page.class);
 	}
 
+	@Override
+	public Stream<StreamDefinitionResource> listAll(int pageSize) {
+		return PagedResourcesIterator.stream(restTemplate, URI.create(definitionsLink.expand().getHref()), pageSize,
+				StreamDefinitionResource.Page.class);
+	}
+
 	@Override
 	public StreamDeploymentResource info(String name) {
 		String uriTemplate = deploymentLink.expand(name).getHref();
@@ -127,6 +138,20 @@ public class StreamTemplate implements StreamOperations {
 		restTemplate.postForObject(deploymentLink.expand(name).getHref(), properties, Object.class);
 	}
 
+	@Override
+	public StreamDeploymentOperationResource deployAsync(String name, Map<String, String> properties) {
+		String url = UriComponentsBuilder.fromUriString(deploymentLink.expand(name).getHref())
+				.queryParam("async", true).toUriString();
+		return restTemplate.postForObject(url, properties, StreamDeploymentOperationResource.class);
+	}
+
+	@Override
+	public StreamDeploymentOperationResource deploymentOperation(String operationId) {
+		URI uri = UriComponentsBuilder.fromUriString(deploymentsLink.getHref()).pathSegment("operations", "{id}")
+				.buildAndExpand(operationId).encode().toUri();
+		return restTemplate.getForObject(uri, StreamDeploymentOperationResource.class);
+	}
+
 	@Override
 	public void undeploy(String name) {
 		restTemplate.delete(deploymentLink.expand(name).getHref());
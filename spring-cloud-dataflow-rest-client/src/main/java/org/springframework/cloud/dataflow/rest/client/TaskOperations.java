@@ -18,12 +18,15 @@ package org.springframework.cloud.dataflow.rest.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.naming.OperationNotSupportedException;
 
 import org.springframework.cloud.dataflow.rest.resource.CurrentTaskExecutionsResource;
 import org.springframework.cloud.dataflow.rest.resource.LauncherResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskAppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkDeleteResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkLaunchResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskDefinitionResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskExecutionResource;
 import org.springframework.hateoas.PagedResources;
@@ -43,6 +46,16 @@ public interface TaskOperations {
 	 */
 	PagedResources<TaskDefinitionResource> list();
 
+	/**
+	 * Return all the tasks known to the system, following the pages of the task list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param pageSize the number of tasks requested per page
+	 * @return the tasks known to the system
+	 */
+	Stream<TaskDefinitionResource> listAll(int pageSize);
+
 
 	/**
 	 * @return the list of platform accounts for tasks.
@@ -68,6 +81,16 @@ public interface TaskOperations {
 	 */
 	long launch(String name, Map<String, String> properties, List<String> arguments);
 
+	/**
+	 * Launch an already created task once per set of command line arguments.
+	 *
+	 * @param name the name of the task
+	 * @param properties the deployment properties shared by all the launches
+	 * @param arguments the command line arguments of every launch
+	 * @return the outcome of every launch, in the order of the arguments
+	 */
+	TaskBulkLaunchResource launchBulk(String name, Map<String, String> properties, List<List<String>> arguments);
+
 	/**
 	 * Destroy an existing task.
 	 *
@@ -75,6 +98,14 @@ public interface TaskOperations {
 	 */
 	void destroy(String name);
 
+	/**
+	 * Destroy the given existing tasks, along with the child tasks of the composed tasks.
+	 *
+	 * @param names the names of the tasks
+	 * @return the outcome for every destroyed task
+	 */
+	TaskBulkDeleteResource destroy(List<String> names);
+
 	/**
 	 * @return the list task executions known to the system.
 	 */
@@ -88,6 +119,29 @@ public interface TaskOperations {
 	 */
 	PagedResources<TaskExecutionResource> executionListByTaskName(String taskName);
 
+	/**
+	 * Return all the task executions known to the system, following the pages of the task
+	 * execution list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param pageSize the number of task executions requested per page
+	 * @return the task executions known to the system
+	 */
+	Stream<TaskExecutionResource> executionListAll(int pageSize);
+
+	/**
+	 * Return all the task executions of a task, following the pages of the task execution
+	 * list.
+	 * The pages are requested one at a time while the elements are consumed and the returned
+	 * stream should be closed if it is not consumed to the end.
+	 *
+	 * @param taskName of the executions
+	 * @param pageSize the number of task executions requested per page
+	 * @return the task executions for the given task name
+	 */
+	Stream<TaskExecutionResource> executionListAllByTaskName(String taskName, int pageSize);
+
 	/**
 	 * Return the {@link TaskExecutionResource} for the id specified.
 	 *
@@ -110,6 +164,14 @@ public interface TaskOperations {
 	 */
 	void cleanup(long id);
 
+	/**
+	 * Cleanup any resources associated with the executions for the ids specified.
+	 *
+	 * @param ids identifiers of the task executions
+	 * @return the outcome for every task execution
+	 */
+	TaskBulkDeleteResource cleanup(List<Long> ids);
+
 	/**
 	 * Return the validation status for the tasks in an definition.
 	 * @param taskDefinitionName The name of the task definition to be validated.
@@ -16,21 +16,28 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.naming.OperationNotSupportedException;
 
+import org.springframework.cloud.dataflow.rest.client.support.PagedResourcesIterator;
 import org.springframework.cloud.dataflow.rest.client.support.VersionUtils;
 import org.springframework.cloud.dataflow.rest.resource.CurrentTaskExecutionsResource;
 import org.springframework.cloud.dataflow.rest.resource.LauncherResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskAppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkDeleteResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkLaunchResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskDefinitionResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskExecutionResource;
 import org.springframework.cloud.dataflow.rest.util.DeploymentPropertiesUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpMethod;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -131,6 +138,12 @@ public class TaskTemplate implements TaskOperations {
 		return restTemplate.getForObject(uriTemplate, TaskDefinitionResource.Page.class);
 	}
 
+	@Override
+	public Stream<TaskDefinitionResource> listAll(int pageSize) {
+		return PagedResourcesIterator.stream(restTemplate, URI.create(definitionsLink.expand().getHref()), pageSize,
+				TaskDefinitionResource.Page.class);
+	}
+
 	@Override
 	public LauncherResource.Page listPlatforms() {
 		String uriTemplate = this.platformListLink.getHref();
@@ -156,11 +169,28 @@ public class TaskTemplate implements TaskOperations {
 		return restTemplate.postForObject(executionByNameLink.expand(name).getHref(), values, Long.class, name);
 	}
 
+	@Override
+	public TaskBulkLaunchResource launchBulk(String name, Map<String, String> properties,
+			List<List<String>> arguments) {
+		List<String> values = new ArrayList<>(arguments.size());
+		for (List<String> launchArguments : arguments) {
+			values.add(StringUtils.collectionToDelimitedString(launchArguments, " "));
+		}
+		return restTemplate.postForObject(executionsLink.getHref() + "/bulk?name={name}&properties={properties}",
+				values, TaskBulkLaunchResource.class, name, DeploymentPropertiesUtils.format(properties));
+	}
+
 	@Override
 	public void destroy(String name) {
 		restTemplate.delete(definitionLink.expand(name).getHref(), Collections.singletonMap("name", name));
 	}
 
+	@Override
+	public TaskBulkDeleteResource destroy(List<String> names) {
+		return restTemplate.exchange(definitionsLink.getHref() + "?names={names}", HttpMethod.DELETE, null,
+				TaskBulkDeleteResource.class, StringUtils.collectionToCommaDelimitedString(names)).getBody();
+	}
+
 	@Override
 	public void destroyAll() {
 		restTemplate.delete(definitionsLink.getHref());
@@ -177,6 +207,18 @@ public class TaskTemplate implements TaskOperations {
 				TaskExecutionResource.Page.class);
 	}
 
+	@Override
+	public Stream<TaskExecutionResource> executionListAll(int pageSize) {
+		return PagedResourcesIterator.stream(restTemplate, URI.create(executionsLink.expand().getHref()), pageSize,
+				TaskExecutionResource.Page.class);
+	}
+
+	@Override
+	public Stream<TaskExecutionResource> executionListAllByTaskName(String taskName, int pageSize) {
+		return PagedResourcesIterator.stream(restTemplate, URI.create(executionByNameLink.expand(taskName).getHref()),
+				pageSize, TaskExecutionResource.Page.class);
+	}
+
 	@Override
 	public TaskExecutionResource taskExecutionStatus(long id) {
 		return restTemplate.getForObject(executionLink.expand(id).getHref(), TaskExecutionResource.class);
@@ -192,6 +234,12 @@ public class TaskTemplate implements TaskOperations {
 		restTemplate.delete(executionLink.expand(id).getHref());
 	}
 
+	@Override
+	public TaskBulkDeleteResource cleanup(List<Long> ids) {
+		return restTemplate.exchange(executionsLink.getHref() + "?ids={ids}", HttpMethod.DELETE, null,
+				TaskBulkDeleteResource.class, StringUtils.collectionToCommaDelimitedString(ids)).getBody();
+	}
+
 	@Override
 	public TaskAppStatusResource validateTaskDefinition(String taskDefinitionName)
 			throws OperationNotSupportedException {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,13 @@
 package org.springframework.cloud.dataflow.rest.client.config;
 
 import java.net.URI;
+import java.time.Duration;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.dataflow.rest.client.DataFlowOperations;
+import org.springframework.cloud.dataflow.rest.client.DataFlowServerDocumentCache;
 import org.springframework.cloud.dataflow.rest.client.DataFlowTemplate;
 import org.springframework.cloud.dataflow.rest.client.dsl.Stream;
 import org.springframework.cloud.dataflow.rest.client.dsl.StreamBuilder;
@@ -45,9 +47,15 @@ public class DataFlowClientAutoConfiguration {
 	@Autowired(required = false)
 	private RestTemplate restTemplate;
 
+	@Bean
+	@ConditionalOnMissingBean(DataFlowServerDocumentCache.class)
+	public DataFlowServerDocumentCache dataFlowServerDocumentCache() {
+		return new DataFlowServerDocumentCache(Duration.ofSeconds(properties.getServerDocumentTimeToLiveInSeconds()));
+	}
+
 	@Bean
 	@ConditionalOnMissingBean(DataFlowOperations.class)
-	public DataFlowOperations dataFlowOperations() throws Exception{
+	public DataFlowOperations dataFlowOperations(DataFlowServerDocumentCache documentCache) throws Exception{
 		RestTemplate template = DataFlowTemplate.prepareRestTemplate(restTemplate);
 		final HttpClientConfigurer httpClientConfigurer = HttpClientConfigurer.create(new URI(properties.getServerUri()))
 				.skipTlsCertificateVerification(properties.isSkipSslValidation());
@@ -56,7 +64,8 @@ public class DataFlowClientAutoConfiguration {
 			httpClientConfigurer.basicAuthCredentials(properties.getAuthentication().getBasic().getUsername(), properties.getAuthentication().getBasic().getPassword());
 			template.setRequestFactory(httpClientConfigurer.buildClientHttpRequestFactory());
 		}
-		return new DataFlowTemplate(new URI(properties.getServerUri()), template);
+		return new DataFlowTemplate(new URI(properties.getServerUri()), template,
+				properties.isLazyLinkDiscovery() ? documentCache : null);
 	}
 
 	@Bean
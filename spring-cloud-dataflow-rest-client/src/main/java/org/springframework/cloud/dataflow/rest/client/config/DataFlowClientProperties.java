@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,34 @@ public class DataFlowClientProperties {
 	 */
 	private boolean enableDsl = false;
 
+	/**
+	 * Discover the links of the server on first use of the client instead of when it is
+	 * created.
+	 */
+	private boolean lazyLinkDiscovery = false;
+
+	/**
+	 * How long the root resource and version of the server are shared by the clients
+	 * discovering links lazily.
+	 */
+	private long serverDocumentTimeToLiveInSeconds = 300;
+
+	public boolean isLazyLinkDiscovery() {
+		return lazyLinkDiscovery;
+	}
+
+	public void setLazyLinkDiscovery(boolean lazyLinkDiscovery) {
+		this.lazyLinkDiscovery = lazyLinkDiscovery;
+	}
+
+	public long getServerDocumentTimeToLiveInSeconds() {
+		return serverDocumentTimeToLiveInSeconds;
+	}
+
+	public void setServerDocumentTimeToLiveInSeconds(long serverDocumentTimeToLiveInSeconds) {
+		this.serverDocumentTimeToLiveInSeconds = serverDocumentTimeToLiveInSeconds;
+	}
+
 	public boolean isEnableDsl() {
 		return enableDsl;
 	}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link ClientHttpRequestInterceptor} revalidating the responses of GET requests with
+ * the entity tag (ETag) the server returned for them. The body of the last response with
+ * an entity tag is kept for each URI and the next GET of the URI is sent with an
+ * {@code If-None-Match} header; when the server answers {@code 304 Not Modified} the
+ * kept body is returned as a {@code 200 OK} response, so that the callers of the
+ * {@link org.springframework.web.client.RestTemplate} are unaware of the revalidation.
+ * <p>
+ * The responses of at most {@code maxEntries} URIs are kept, the least recently used
+ * being evicted first. Requests that already carry an {@code If-None-Match} header are
+ * passed through unchanged.
+ */
+public class ConditionalGetInterceptor implements ClientHttpRequestInterceptor {
+
+	/**
+	 * Default number of URIs whose responses are kept.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	private final Map<URI, CachedResponse> cache;
+
+	public ConditionalGetInterceptor() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * @param maxEntries the number of URIs whose responses are kept, must be positive
+	 */
+	public ConditionalGetInterceptor(int maxEntries) {
+		Assert.isTrue(maxEntries > 0, "maxEntries must be positive");
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<URI, CachedResponse>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<URI, CachedResponse> eldest) {
+				return size() > maxEntries;
+			}
+		});
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)) {
+			return execution.execute(request, body);
+		}
+		return revalidate(request, body, execution);
+	}
+
+	private ClientHttpResponse revalidate(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		URI uri = request.getURI();
+		CachedResponse cached = this.cache.get(uri);
+		if (cached != null) {
+			request.getHeaders().setIfNoneMatch(cached.headers.getETag());
+		}
+		ClientHttpResponse response = execution.execute(request, body);
+		int status = response.getRawStatusCode();
+		if (status == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+			response.close();
+			return cached.toResponse();
+		}
+		if (status != HttpStatus.OK.value() || response.getHeaders().getETag() == null) {
+			this.cache.remove(uri);
+			return response;
+		}
+		return cache(uri, response);
+	}
+
+	private ClientHttpResponse cache(URI uri, ClientHttpResponse response) throws IOException {
+		try {
+			HttpHeaders headers = new HttpHeaders();
+			headers.putAll(response.getHeaders());
+			CachedResponse fresh = new CachedResponse(headers, StreamUtils.copyToByteArray(response.getBody()));
+			this.cache.put(uri, fresh);
+			return fresh.toResponse();
+		}
+		finally {
+			response.close();
+		}
+	}
+
+	/**
+	 * Drop all the kept responses.
+	 */
+	public void clear() {
+		this.cache.clear();
+	}
+
+	private static class CachedResponse {
+
+		private final HttpHeaders headers;
+
+		private final byte[] body;
+
+		CachedResponse(HttpHeaders headers, byte[] body) {
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.body = body;
+		}
+
+		ClientHttpResponse toResponse() {
+			return new ClientHttpResponse() {
+
+				@Override
+				public HttpStatus getStatusCode() {
+					return HttpStatus.OK;
+				}
+
+				@Override
+				public int getRawStatusCode() {
+					return HttpStatus.OK.value();
+				}
+
+				@Override
+				public String getStatusText() {
+					return HttpStatus.OK.getReasonPhrase();
+				}
+
+				@Override
+				public HttpHeaders getHeaders() {
+					return CachedResponse.this.headers;
+				}
+
+				@Override
+				public InputStream getBody() {
+					return new ByteArrayInputStream(CachedResponse.this.body);
+				}
+
+				@Override
+				public void close() {
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.support;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * {@link Iterator} over all the elements of a paged collection resource. The first page
+ * is requested on first use of the iterator and the following pages are discovered from
+ * the {@code next} link of each page, so that the iterator works the same whether the
+ * server pages by offset or by cursor. The next page is requested in the background while
+ * the elements of the current page are consumed, so at most two pages are held in memory.
+ * <p>
+ * Instances are not thread-safe. An iterator that is not consumed to the end should be
+ * {@link #close() closed} to drop the page being prefetched.
+ *
+ * @param <T> the type of the elements
+ */
+public class PagedResourcesIterator<T> implements Iterator<T>, AutoCloseable {
+
+	private static final ExecutorService DEFAULT_PREFETCH_EXECUTOR = Executors
+			.newCachedThreadPool(daemonThreadFactory());
+
+	private final RestTemplate restTemplate;
+
+	private final Class<? extends PagedResources<T>> pageType;
+
+	private final Executor prefetchExecutor;
+
+	private URI firstPage;
+
+	private CompletableFuture<PagedResources<T>> nextPage;
+
+	private Iterator<T> current = Collections.emptyIterator();
+
+	private boolean closed;
+
+	/**
+	 * Create an iterator prefetching pages with a shared pool of daemon threads.
+	 *
+	 * @param restTemplate the template used to request the pages
+	 * @param firstPage the URI of the collection resource
+	 * @param pageSize the number of elements requested per page
+	 * @param pageType the type the pages are read as
+	 */
+	public PagedResourcesIterator(RestTemplate restTemplate, URI firstPage, int pageSize,
+			Class<? extends PagedResources<T>> pageType) {
+		this(restTemplate, firstPage, pageSize, pageType, DEFAULT_PREFETCH_EXECUTOR);
+	}
+
+	/**
+	 * Create an iterator prefetching pages with the provided executor.
+	 *
+	 * @param restTemplate the template used to request the pages
+	 * @param firstPage the URI of the collection resource
+	 * @param pageSize the number of elements requested per page
+	 * @param pageType the type the pages are read as
+	 * @param prefetchExecutor the executor requesting the next pages
+	 */
+	public PagedResourcesIterator(RestTemplate restTemplate, URI firstPage, int pageSize,
+			Class<? extends PagedResources<T>> pageType, Executor prefetchExecutor) {
+		Assert.notNull(restTemplate, "restTemplate must not be null");
+		Assert.notNull(firstPage, "firstPage must not be null");
+		Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+		Assert.notNull(pageType, "pageType must not be null");
+		Assert.notNull(prefetchExecutor, "prefetchExecutor must not be null");
+		this.restTemplate = restTemplate;
+		this.firstPage = UriComponentsBuilder.fromUri(firstPage).replaceQueryParam("size", pageSize).build(true)
+				.toUri();
+		this.pageType = pageType;
+		this.prefetchExecutor = prefetchExecutor;
+	}
+
+	/**
+	 * Return a sequential {@link Stream} over all the elements of a paged collection
+	 * resource. The stream should be closed if it is not consumed to the end.
+	 *
+	 * @param restTemplate the template used to request the pages
+	 * @param firstPage the URI of the collection resource
+	 * @param pageSize the number of elements requested per page
+	 * @param pageType the type the pages are read as
+	 * @param <T> the type of the elements
+	 * @return the elements of all the pages
+	 */
+	public static <T> Stream<T> stream(RestTemplate restTemplate, URI firstPage, int pageSize,
+			Class<? extends PagedResources<T>> pageType) {
+		return new PagedResourcesIterator<>(restTemplate, firstPage, pageSize, pageType).stream();
+	}
+
+	/**
+	 * @return a sequential {@link Stream} over the remaining elements, closing this
+	 * iterator when closed
+	 */
+	public Stream<T> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::close);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!this.current.hasNext()) {
+			PagedResources<T> page = nextPage();
+			if (page == null) {
+				return false;
+			}
+			Link next = page.getNextLink();
+			if (next != null && !this.closed) {
+				URI uri = URI.create(next.expand().getHref());
+				this.nextPage = CompletableFuture.supplyAsync(() -> fetch(uri), this.prefetchExecutor);
+			}
+			this.current = page.getContent().iterator();
+		}
+		return true;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.current.next();
+	}
+
+	/**
+	 * Stop the iteration, dropping the page being prefetched if any.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		this.firstPage = null;
+		if (this.nextPage != null) {
+			this.nextPage.cancel(false);
+			this.nextPage = null;
+		}
+		this.current = Collections.emptyIterator();
+	}
+
+	private PagedResources<T> nextPage() {
+		if (this.firstPage != null) {
+			URI uri = this.firstPage;
+			this.firstPage = null;
+			return fetch(uri);
+		}
+		CompletableFuture<PagedResources<T>> page = this.nextPage;
+		this.nextPage = null;
+		return page != null ? join(page) : null;
+	}
+
+	private PagedResources<T> fetch(URI uri) {
+		return this.restTemplate.getForObject(uri, this.pageType);
+	}
+
+	private static <T> PagedResources<T> join(CompletableFuture<PagedResources<T>> page) {
+		try {
+			return page.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static CustomizableThreadFactory daemonThreadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dataflow-page-prefetch-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@ package org.springframework.cloud.dataflow.rest.client;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -36,6 +38,7 @@ import org.springframework.batch.item.ExecutionContext;
 import org.springframework.cloud.dataflow.rest.Version;
 import org.springframework.cloud.dataflow.rest.job.StepExecutionHistory;
 import org.springframework.cloud.dataflow.rest.resource.RootResource;
+import org.springframework.cloud.dataflow.rest.resource.about.AboutResource;
 import org.springframework.hateoas.Link;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -44,11 +47,17 @@ import org.springframework.web.client.RestTemplate;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -241,7 +250,85 @@ public class DataflowTemplateTests {
 		assertNotNull(template.completionOperations());
 	}
 
+	@Test
+	public void testLazyTemplatesShareTheServerDocuments() throws Exception {
+		RestTemplate restTemplate = getMockedRestTemplate(true);
+		DataFlowServerDocumentCache cache = new DataFlowServerDocumentCache(Duration.ofMinutes(1));
+		URI uri = new URI("foo");
+
+		DataFlowTemplate first = new DataFlowTemplate(uri, restTemplate, cache);
+		DataFlowTemplate second = new DataFlowTemplate(uri, restTemplate, cache);
+		verify(restTemplate, never()).getForObject(any(URI.class), any());
+
+		assertNotNull(first.appRegistryOperations());
+		assertSame(first.appRegistryOperations(), first.appRegistryOperations());
+		assertNotNull(second.taskOperations());
+		assertNotNull(second.streamOperations());
+		assertNotNull(first.streamOperations());
+		testAlwaysActiveOperations(second);
+
+		verify(restTemplate, times(1)).getForObject(uri, RootResource.class);
+		verify(restTemplate, times(1)).getForObject(eq("http://whereever"), eq(AboutResource.class));
+	}
+
+	@Test
+	public void testLazyTemplateReportsMissingLinksOnFirstUse() throws Exception {
+		RestTemplate restTemplate = getMockedRestTemplate(false);
+		DataFlowTemplate template = new DataFlowTemplate(new URI("foo"), restTemplate,
+				new DataFlowServerDocumentCache(Duration.ofMinutes(1)));
+
+		assertNull(template.taskOperations());
+		assertNull(template.streamOperations());
+		assertNull(template.schedulerOperations());
+		testAlwaysActiveOperations(template);
+		verify(restTemplate, never()).getForObject(eq("http://whereever"), eq(AboutResource.class));
+	}
+
+	@Test
+	public void testServerDocumentsAreReloadedWhenExpiredOrRefreshed() throws Exception {
+		RestTemplate restTemplate = getMockedRestTemplate(true);
+		Clock clock = mock(Clock.class);
+		when(clock.millis()).thenReturn(0L);
+		DataFlowServerDocumentCache cache = new DataFlowServerDocumentCache(Duration.ofSeconds(10), clock);
+		URI uri = new URI("foo");
+
+		new DataFlowTemplate(uri, restTemplate, cache).appRegistryOperations();
+		when(clock.millis()).thenReturn(9999L);
+		new DataFlowTemplate(uri, restTemplate, cache).appRegistryOperations();
+		verify(restTemplate, times(1)).getForObject(uri, RootResource.class);
+
+		when(clock.millis()).thenReturn(10000L);
+		DataFlowTemplate template = new DataFlowTemplate(uri, restTemplate, cache);
+		AppRegistryOperations appRegistryOperations = template.appRegistryOperations();
+		verify(restTemplate, times(2)).getForObject(uri, RootResource.class);
+
+		template.refresh();
+		assertNotSame(appRegistryOperations, template.appRegistryOperations());
+		verify(restTemplate, times(3)).getForObject(uri, RootResource.class);
+	}
+
+	@Test
+	public void testLazyTemplateRejectsIncompatibleServerOnFirstUse() throws Exception {
+		RestTemplate restTemplate = getMockedRestTemplate(true);
+		RootResource rootResource = restTemplate.getForObject(new URI("foo"), RootResource.class);
+		when(rootResource.getApiRevision()).thenReturn(null);
+		DataFlowServerDocumentCache cache = new DataFlowServerDocumentCache(Duration.ofMinutes(1));
+		DataFlowTemplate template = new DataFlowTemplate(new URI("foo"), restTemplate, cache);
+
+		try {
+			template.streamOperations();
+			fail("Expected an IllegalStateException to be thrown.");
+		}
+		catch (IllegalStateException e) {
+			assertTrue(e.getMessage().startsWith("Incompatible version of Data Flow server detected."));
+		}
+	}
+
 	private DataFlowTemplate getMockedDataFlowTemplate(boolean isLinksActive) throws Exception{
+		return new DataFlowTemplate(new URI("foo"), getMockedRestTemplate(isLinksActive));
+	}
+
+	private RestTemplate getMockedRestTemplate(boolean isLinksActive) {
 		RestTemplate restTemplate = mock(RestTemplate.class);
 		RootResource rootResource = mock(RootResource.class);
 		Link link = mock(Link.class);
@@ -253,7 +340,6 @@ public class DataflowTemplateTests {
 		List<HttpMessageConverter<?>> converters = new ArrayList<>();
 		converters.add(new MappingJackson2HttpMessageConverter());
 		when(restTemplate.getMessageConverters()).thenReturn(converters);
-		URI uri = new URI("foo");
-		return new DataFlowTemplate(uri, restTemplate);
+		return restTemplate;
 	}
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+import org.springframework.cloud.dataflow.rest.resource.JobExecutionThinResource;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test the {@link JobTemplate} implementation of {@link JobOperations}.
+ */
+public class JobTemplateTests {
+
+	private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+	private final JobTemplate template = new JobTemplate(this.restTemplate, new ResourceSupport() {
+		@Override
+		public Link getLink(String rel) {
+			return new Link("http://localhost/" + rel, rel);
+		}
+	});
+
+	@Test
+	public void testExecutionThinListByQuery() {
+		this.template.executionThinList(new JobExecutionQuery().withStatus(BatchStatus.FAILED, BatchStatus.STOPPED)
+				.withStartTimeBetween(new Date(1546300800000L), null).withJobNamePrefix("nightly_%")
+				.withTaskExecutionId(3L));
+
+		verify(this.restTemplate).getForObject(URI.create("http://localhost/jobs/thinexecutions?size=2000"
+				+ "&status=STOPPED&status=FAILED&startedAfter=2019-01-01T00:00:00&jobNamePrefix=nightly_%25"
+				+ "&taskExecutionId=3"), JobExecutionThinResource.Page.class);
+	}
+
+	@Test
+	public void testExecutionThinListAllByQueryRequestsPagesOfTheGivenSize() {
+		try (Stream<JobExecutionThinResource> executions = this.template
+				.executionThinListAll(new JobExecutionQuery().withJobName("nightly"), 500)) {
+			assertThat(executions.count()).isZero();
+		}
+
+		verify(this.restTemplate).getForObject(URI.create("http://localhost/jobs/thinexecutions?name=nightly&size=500"),
+				JobExecutionThinResource.Page.class);
+	}
+}
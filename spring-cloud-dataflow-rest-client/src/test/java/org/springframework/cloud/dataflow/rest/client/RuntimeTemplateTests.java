@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.rest.resource.StreamRuntimeStatusResource;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test the {@link RuntimeTemplate} implementation of {@link RuntimeOperations}.
+ */
+public class RuntimeTemplateTests {
+
+	private RestTemplate restTemplate;
+
+	@Before
+	public void setup() {
+		this.restTemplate = mock(RestTemplate.class);
+	}
+
+	@Test
+	public void testStreamStatusRequestsOnlyTheGivenStreams() {
+		ResourceSupport resources = new ResourceSupport();
+		resources.add(new Link("http://localhost/runtime/streams?names={names}", "runtime/streams"));
+		RuntimeTemplate template = new RuntimeTemplate(this.restTemplate, resources);
+
+		template.streamStatus(Arrays.asList("a", "b"), null);
+		template.streamStatus(Collections.singletonList("c"), Arrays.asList("log", "time"));
+
+		verify(this.restTemplate).getForObject("http://localhost/runtime/streams/apps?names={names}",
+				StreamRuntimeStatusResource.class, "a,b");
+		verify(this.restTemplate).getForObject("http://localhost/runtime/streams/apps?names={names}&apps={apps}",
+				StreamRuntimeStatusResource.class, "c", "log,time");
+	}
+
+	@Test
+	public void testStreamStatusRequiresTheServerLink() {
+		RuntimeTemplate template = new RuntimeTemplate(this.restTemplate, new ResourceSupport());
+
+		assertThatThrownBy(() -> template.streamStatus(Collections.singletonList("a"), null))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.dataflow.rest.client;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,11 +25,17 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkDeleteResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkLaunchResource;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Test the {@link TaskTemplate} implementation of {@link TaskOperations}.
@@ -63,6 +71,29 @@ public class TaskTemplateTests {
 		validateExecutionLinkPresent("2.0.0");
 	}
 
+	@Test
+	public void testLaunchBulk() {
+		TaskTemplate template = new TaskTemplate(this.restTemplate, new TestResource(), "2.1.0");
+
+		template.launchBulk("demo", Collections.singletonMap("app.demo.foo", "bar"),
+				Arrays.asList(Arrays.asList("--a=1", "--b=2"), Collections.singletonList("--a=2")));
+
+		verify(this.restTemplate).postForObject("foo/bulk?name={name}&properties={properties}",
+				Arrays.asList("--a=1 --b=2", "--a=2"), TaskBulkLaunchResource.class, "demo", "app.demo.foo=bar");
+	}
+
+	@Test
+	public void testBulkDestroyAndCleanup() {
+		TaskTemplate template = new TaskTemplate(this.restTemplate, new TestResource(), "2.1.0");
+		TaskBulkDeleteResource resource = new TaskBulkDeleteResource(Collections.emptyList());
+		when(this.restTemplate.exchange("foo?names={names}", HttpMethod.DELETE, null, TaskBulkDeleteResource.class,
+				"a,b")).thenReturn(ResponseEntity.ok(resource));
+		when(this.restTemplate.exchange("foo?ids={ids}", HttpMethod.DELETE, null, TaskBulkDeleteResource.class,
+				"1,2")).thenReturn(ResponseEntity.ok(resource));
+
+		Assert.assertSame(resource, template.destroy(Arrays.asList("a", "b")));
+		Assert.assertSame(resource, template.cleanup(Arrays.asList(1L, 2L)));
+	}
 
 	private void validateExecutionLinkPresent(String dataFlowVersion) {
 		TestResource testResource = new TestResource();
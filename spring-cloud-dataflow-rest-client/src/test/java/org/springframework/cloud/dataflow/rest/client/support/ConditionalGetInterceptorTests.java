@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.support;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseActions;
+import org.springframework.test.web.client.match.MockRestRequestMatchers;
+import org.springframework.test.web.client.response.DefaultResponseCreator;
+import org.springframework.test.web.client.response.MockRestResponseCreators;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConditionalGetInterceptor}.
+ */
+public class ConditionalGetInterceptorTests {
+
+	private final RestTemplate restTemplate = new RestTemplate();
+
+	private MockRestServiceServer server;
+
+	@Before
+	public void setup() {
+		this.restTemplate.getInterceptors().add(new ConditionalGetInterceptor(1));
+		this.server = MockRestServiceServer.bindTo(this.restTemplate).build();
+	}
+
+	@Test
+	public void testNotModifiedResponseIsAnsweredFromTheCache() {
+		expect("/tasks/definitions", null).andRespond(ok("first", "\"v1\""));
+		expect("/tasks/definitions", "\"v1\"")
+				.andRespond(MockRestResponseCreators.withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"v1\"")));
+		expect("/tasks/definitions", "\"v1\"").andRespond(ok("second", "\"v2\""));
+
+		assertThat(this.restTemplate.getForObject("/tasks/definitions", String.class)).isEqualTo("first");
+		assertThat(this.restTemplate.getForEntity("/tasks/definitions", String.class).getStatusCode())
+				.isEqualTo(HttpStatus.OK);
+		assertThat(this.restTemplate.getForObject("/tasks/definitions", String.class)).isEqualTo("second");
+		this.server.verify();
+	}
+
+	@Test
+	public void testResponsesWithoutTagAndOtherMethodsAreNotCached() {
+		expect("/apps", null).andRespond(ok("apps", null));
+		expect("/apps", null).andRespond(ok("apps", "\"v1\""));
+		expect("/apps", null).andExpect(MockRestRequestMatchers.method(HttpMethod.DELETE))
+				.andRespond(MockRestResponseCreators.withSuccess());
+
+		this.restTemplate.getForObject("/apps", String.class);
+		this.restTemplate.getForObject("/apps", String.class);
+		this.restTemplate.delete("/apps");
+		this.server.verify();
+	}
+
+	@Test
+	public void testLeastRecentlyUsedResponseIsEvicted() {
+		expect("/apps", null).andRespond(ok("apps", "\"a1\""));
+		expect("/streams/definitions", null).andRespond(ok("streams", "\"s1\""));
+		expect("/apps", null).andRespond(ok("apps", null));
+
+		this.restTemplate.getForObject("/apps", String.class);
+		this.restTemplate.getForObject("/streams/definitions", String.class);
+		this.restTemplate.getForObject("/apps", String.class);
+		this.server.verify();
+	}
+
+	private ResponseActions expect(String uri, String ifNoneMatch) {
+		return this.server.expect(MockRestRequestMatchers.requestTo(uri))
+				.andExpect(ifNoneMatch != null ? MockRestRequestMatchers.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+						: request -> assertThat(request.getHeaders()).doesNotContainKey(HttpHeaders.IF_NONE_MATCH));
+	}
+
+	private static DefaultResponseCreator ok(String body, String etag) {
+		DefaultResponseCreator response = MockRestResponseCreators.withSuccess(body, MediaType.TEXT_PLAIN);
+		return etag != null ? response.headers(etag(etag)) : response;
+	}
+
+	private static HttpHeaders etag(String etag) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(etag);
+		return headers;
+	}
+}
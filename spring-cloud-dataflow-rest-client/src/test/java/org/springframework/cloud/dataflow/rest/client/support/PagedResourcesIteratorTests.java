@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.client.support;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PagedResourcesIterator}.
+ */
+public class PagedResourcesIteratorTests {
+
+	private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+	private final List<Runnable> prefetches = new ArrayList<>();
+
+	@Test
+	public void testFollowsNextLinks() {
+		page("http://localhost/items?page=0&size=2", "http://localhost/items?page=1&size=2", "a", "b");
+		page("http://localhost/items?page=1&size=2", "http://localhost/items?cursor=c2&size=2", "c", "d");
+		page("http://localhost/items?cursor=c2&size=2", null, "e");
+
+		try (Stream<String> items = PagedResourcesIterator.stream(this.restTemplate,
+				URI.create("http://localhost/items?page=0&size=20"), 2, StringPage.class)) {
+			assertThat(items.collect(Collectors.toList())).containsExactly("a", "b", "c", "d", "e");
+		}
+	}
+
+	@Test
+	public void testPrefetchesTheNextPageWhileTheCurrentOneIsConsumed() {
+		page("http://localhost/items?size=2", "http://localhost/items?page=1&size=2", "a", "b");
+		page("http://localhost/items?page=1&size=2", null, "c");
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(this.restTemplate,
+				URI.create("http://localhost/items"), 2, StringPage.class, this.prefetches::add);
+		verify(this.restTemplate, never()).getForObject(any(URI.class), any());
+
+		assertThat(iterator.next()).isEqualTo("a");
+		assertThat(this.prefetches).hasSize(1);
+		verify(this.restTemplate, never()).getForObject(URI.create("http://localhost/items?page=1&size=2"),
+				StringPage.class);
+
+		this.prefetches.get(0).run();
+		verify(this.restTemplate).getForObject(URI.create("http://localhost/items?page=1&size=2"), StringPage.class);
+		assertThat(iterator.next()).isEqualTo("b");
+		assertThat(iterator.next()).isEqualTo("c");
+		assertThat(iterator.hasNext()).isFalse();
+		assertThat(this.prefetches).hasSize(1);
+	}
+
+	@Test
+	public void testClosingStopsTheIteration() {
+		page("http://localhost/items?size=1", "http://localhost/items?page=1&size=1", "a");
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(this.restTemplate,
+				URI.create("http://localhost/items"), 1, StringPage.class, this.prefetches::add);
+
+		try (Stream<String> items = iterator.stream()) {
+			assertThat(items.findFirst()).contains("a");
+		}
+
+		assertThat(iterator.hasNext()).isFalse();
+		this.prefetches.forEach(Runnable::run);
+		verify(this.restTemplate).getForObject(URI.create("http://localhost/items?size=1"), StringPage.class);
+		verify(this.restTemplate, never()).getForObject(URI.create("http://localhost/items?page=1&size=1"),
+				StringPage.class);
+	}
+
+	@Test
+	public void testFailureOfAPrefetchedPageIsRethrown() {
+		page("http://localhost/items?size=1", "http://localhost/items?page=1&size=1", "a");
+		when(this.restTemplate.getForObject(URI.create("http://localhost/items?page=1&size=1"), StringPage.class))
+				.thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(this.restTemplate,
+				URI.create("http://localhost/items"), 1, StringPage.class, Runnable::run);
+
+		assertThat(iterator.next()).isEqualTo("a");
+		assertThatThrownBy(iterator::hasNext).isInstanceOf(HttpClientErrorException.class);
+	}
+
+	@Test
+	public void testEmptyCollection() {
+		page("http://localhost/items?size=5", null);
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(this.restTemplate,
+				URI.create("http://localhost/items"), 5, StringPage.class, this.prefetches::add);
+
+		assertThat(iterator.hasNext()).isFalse();
+		verify(this.restTemplate).getForObject(URI.create("http://localhost/items?size=5"), StringPage.class);
+		verifyNoMoreInteractions(this.restTemplate);
+	}
+
+	private void page(String uri, String next, String... content) {
+		List<Link> links = new ArrayList<>();
+		if (next != null) {
+			links.add(new Link(next, Link.REL_NEXT));
+		}
+		when(this.restTemplate.getForObject(URI.create(uri), StringPage.class)).thenReturn(new StringPage(
+				Arrays.asList(content), new PagedResources.PageMetadata(content.length, 0, content.length), links));
+	}
+
+	static class StringPage extends PagedResources<String> {
+
+		StringPage(Collection<String> content, PageMetadata metadata, Iterable<Link> links) {
+			super(content, metadata, links);
+		}
+	}
+}
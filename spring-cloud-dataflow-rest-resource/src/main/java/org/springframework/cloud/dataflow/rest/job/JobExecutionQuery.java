@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.job;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.batch.core.BatchStatus;
+
+/**
+ * Criteria narrowing down a listing of job executions. Every criterion that is set must
+ * match; a query without any criterion matches every job execution. Start and end times
+ * are matched against half-open ranges: a lower bound is inclusive, an upper bound is
+ * exclusive.
+ */
+public class JobExecutionQuery {
+
+	private final Set<BatchStatus> statuses = EnumSet.noneOf(BatchStatus.class);
+
+	private String exitCode;
+
+	private Date startedAfter;
+
+	private Date startedBefore;
+
+	private Date endedAfter;
+
+	private Date endedBefore;
+
+	private String jobName;
+
+	private String jobNamePrefix;
+
+	private Long taskExecutionId;
+
+	/**
+	 * @param statuses the job execution must have one of these statuses
+	 * @return this query
+	 */
+	public JobExecutionQuery withStatus(BatchStatus... statuses) {
+		Collections.addAll(this.statuses, statuses);
+		return this;
+	}
+
+	/**
+	 * @param exitCode the exit code of the job execution, such as {@code FAILED}
+	 * @return this query
+	 */
+	public JobExecutionQuery withExitCode(String exitCode) {
+		this.exitCode = exitCode;
+		return this;
+	}
+
+	/**
+	 * @param startedAfter earliest start time, inclusive, may be {@code null}
+	 * @param startedBefore latest start time, exclusive, may be {@code null}
+	 * @return this query
+	 */
+	public JobExecutionQuery withStartTimeBetween(Date startedAfter, Date startedBefore) {
+		this.startedAfter = startedAfter;
+		this.startedBefore = startedBefore;
+		return this;
+	}
+
+	/**
+	 * @param endedAfter earliest end time, inclusive, may be {@code null}
+	 * @param endedBefore latest end time, exclusive, may be {@code null}
+	 * @return this query
+	 */
+	public JobExecutionQuery withEndTimeBetween(Date endedAfter, Date endedBefore) {
+		this.endedAfter = endedAfter;
+		this.endedBefore = endedBefore;
+		return this;
+	}
+
+	/**
+	 * @param jobName the exact name of the job
+	 * @return this query
+	 */
+	public JobExecutionQuery withJobName(String jobName) {
+		this.jobName = jobName;
+		return this;
+	}
+
+	/**
+	 * @param jobNamePrefix the name of the job must start with this prefix
+	 * @return this query
+	 */
+	public JobExecutionQuery withJobNamePrefix(String jobNamePrefix) {
+		this.jobNamePrefix = jobNamePrefix;
+		return this;
+	}
+
+	/**
+	 * @param taskExecutionId the id of the task execution that launched the job
+	 * @return this query
+	 */
+	public JobExecutionQuery withTaskExecutionId(Long taskExecutionId) {
+		this.taskExecutionId = taskExecutionId;
+		return this;
+	}
+
+	public Set<BatchStatus> getStatuses() {
+		return Collections.unmodifiableSet(this.statuses);
+	}
+
+	public String getExitCode() {
+		return this.exitCode;
+	}
+
+	public Date getStartedAfter() {
+		return this.startedAfter;
+	}
+
+	public Date getStartedBefore() {
+		return this.startedBefore;
+	}
+
+	public Date getEndedAfter() {
+		return this.endedAfter;
+	}
+
+	public Date getEndedBefore() {
+		return this.endedBefore;
+	}
+
+	public String getJobName() {
+		return this.jobName;
+	}
+
+	public String getJobNamePrefix() {
+		return this.jobNamePrefix;
+	}
+
+	public Long getTaskExecutionId() {
+		return this.taskExecutionId;
+	}
+
+	/**
+	 * @return {@code true} if no criterion is set
+	 */
+	public boolean isEmpty() {
+		return this.statuses.isEmpty() && this.exitCode == null && this.startedAfter == null
+				&& this.startedBefore == null && this.endedAfter == null && this.endedBefore == null
+				&& this.jobName == null && this.jobNamePrefix == null && this.taskExecutionId == null;
+	}
+
+	@Override
+	public String toString() {
+		return "JobExecutionQuery{" + "statuses=" + this.statuses + ", exitCode='" + this.exitCode + '\''
+				+ ", startedAfter=" + this.startedAfter + ", startedBefore=" + this.startedBefore + ", endedAfter="
+				+ this.endedAfter + ", endedBefore=" + this.endedBefore + ", jobName='" + this.jobName + '\''
+				+ ", jobNamePrefix='" + this.jobNamePrefix + '\'' + ", taskExecutionId=" + this.taskExecutionId + '}';
+	}
+}
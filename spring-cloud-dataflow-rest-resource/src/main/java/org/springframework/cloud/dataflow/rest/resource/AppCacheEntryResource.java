@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.Date;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for an app artifact held in the local app resource cache of the server.
+ */
+public class AppCacheEntryResource extends ResourceSupport {
+
+	private String name;
+
+	private String type;
+
+	private String version;
+
+	private String uri;
+
+	private boolean metadata;
+
+	private boolean resident;
+
+	private long size;
+
+	private Date lastAccessed;
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected AppCacheEntryResource() {
+	}
+
+	public AppCacheEntryResource(String name, String type, String version, String uri, boolean metadata,
+			boolean resident, long size, Date lastAccessed) {
+		this.name = name;
+		this.type = type;
+		this.version = version;
+		this.uri = uri;
+		this.metadata = metadata;
+		this.resident = resident;
+		this.size = size;
+		this.lastAccessed = lastAccessed;
+	}
+
+	/**
+	 * @return the name of the app
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the type of the app
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return the version of the app
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return the URI of the cached artifact
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * @return {@code true} if the cached artifact is the metadata artifact of the app
+	 */
+	public boolean isMetadata() {
+		return metadata;
+	}
+
+	/**
+	 * @return {@code true} if the artifact is present on the local file system
+	 */
+	public boolean isResident() {
+		return resident;
+	}
+
+	/**
+	 * @return the size of the artifact in bytes
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return the last time the artifact was fetched through the cache
+	 */
+	public Date getLastAccessed() {
+		return lastAccessed;
+	}
+}
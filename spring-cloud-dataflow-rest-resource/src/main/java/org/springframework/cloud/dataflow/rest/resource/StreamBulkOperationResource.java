@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for a deploy, undeploy or destroy operation running over a set of
+ * streams, including the progress of every stream.
+ */
+public class StreamBulkOperationResource extends ResourceSupport {
+
+	private String operationId;
+
+	private String operation;
+
+	private String status;
+
+	private Date startTime;
+
+	private Date endTime;
+
+	private List<StreamProgress> streams = new ArrayList<>();
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected StreamBulkOperationResource() {
+	}
+
+	public StreamBulkOperationResource(String operationId, String operation, String status, Date startTime,
+			Date endTime, List<StreamProgress> streams) {
+		this.operationId = operationId;
+		this.operation = operation;
+		this.status = status;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.streams = streams;
+	}
+
+	/**
+	 * @return the id of the operation
+	 */
+	public String getOperationId() {
+		return operationId;
+	}
+
+	/**
+	 * @return the operation applied to the streams, one of {@code deploy},
+	 * {@code undeploy} or {@code destroy}
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * @return the status of the operation, one of {@code PENDING}, {@code RUNNING},
+	 * {@code SUCCEEDED} or {@code FAILED}
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return the time the operation was submitted
+	 */
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * @return the time the operation finished, or {@code null} while it runs
+	 */
+	public Date getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * @return the progress of every stream, in the order the streams are processed
+	 */
+	public List<StreamProgress> getStreams() {
+		return streams;
+	}
+
+	/**
+	 * Progress of a single stream of the operation.
+	 */
+	public static class StreamProgress {
+
+		private String name;
+
+		private String status;
+
+		private String message;
+
+		/**
+		 * Default constructor for serialization frameworks.
+		 */
+		protected StreamProgress() {
+		}
+
+		public StreamProgress(String name, String status, String message) {
+			this.name = name;
+			this.status = status;
+			this.message = message;
+		}
+
+		/**
+		 * @return the name of the stream
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the status of the operation for the stream
+		 */
+		public String getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the reason the operation failed for the stream, if it did
+		 */
+		public String getMessage() {
+			return message;
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for a stream deployment running asynchronously, including the phases it
+ * went through so far.
+ */
+public class StreamDeploymentOperationResource extends ResourceSupport {
+
+	private String operationId;
+
+	private String streamName;
+
+	private String status;
+
+	private String phase;
+
+	private String message;
+
+	private Date startTime;
+
+	private Date endTime;
+
+	private List<PhaseProgress> phases = new ArrayList<>();
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected StreamDeploymentOperationResource() {
+	}
+
+	public StreamDeploymentOperationResource(String operationId, String streamName, String status, String phase,
+			String message, Date startTime, Date endTime, List<PhaseProgress> phases) {
+		this.operationId = operationId;
+		this.streamName = streamName;
+		this.status = status;
+		this.phase = phase;
+		this.message = message;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.phases = phases;
+	}
+
+	/**
+	 * @return the id of the operation
+	 */
+	public String getOperationId() {
+		return operationId;
+	}
+
+	/**
+	 * @return the name of the stream being deployed
+	 */
+	public String getStreamName() {
+		return streamName;
+	}
+
+	/**
+	 * @return the status of the operation, one of {@code PENDING}, {@code RUNNING},
+	 * {@code SUCCEEDED} or {@code FAILED}
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return the phase the deployment is, or stopped, in, one of {@code RESOLVE},
+	 * {@code PACKAGE}, {@code UPLOAD}, {@code INSTALL} or {@code CONVERGE}
+	 */
+	public String getPhase() {
+		return phase;
+	}
+
+	/**
+	 * @return the reason the deployment failed, if it did
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return the time the deployment was submitted
+	 */
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * @return the time the deployment finished, or {@code null} while it runs
+	 */
+	public Date getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * @return the phases entered so far, in order
+	 */
+	public List<PhaseProgress> getPhases() {
+		return phases;
+	}
+
+	/**
+	 * A phase of the deployment with the time it was entered and completed.
+	 */
+	public static class PhaseProgress {
+
+		private String phase;
+
+		private Date startTime;
+
+		private Date endTime;
+
+		/**
+		 * Default constructor for serialization frameworks.
+		 */
+		protected PhaseProgress() {
+		}
+
+		public PhaseProgress(String phase, Date startTime, Date endTime) {
+			this.phase = phase;
+			this.startTime = startTime;
+			this.endTime = endTime;
+		}
+
+		/**
+		 * @return the name of the phase
+		 */
+		public String getPhase() {
+			return phase;
+		}
+
+		/**
+		 * @return the time the phase was entered
+		 */
+		public Date getStartTime() {
+			return startTime;
+		}
+
+		/**
+		 * @return the time the phase completed, or {@code null} if it did not
+		 */
+		public Date getEndTime() {
+			return endTime;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for the runtime status of a batch of streams, including the status of the
+ * deployed apps of every requested stream in the order the stream names were submitted.
+ */
+public class StreamRuntimeStatusResource extends ResourceSupport {
+
+	private List<StreamStatus> streams = new ArrayList<>();
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected StreamRuntimeStatusResource() {
+	}
+
+	public StreamRuntimeStatusResource(List<StreamStatus> streams) {
+		this.streams = streams;
+	}
+
+	/**
+	 * @return the runtime status of every requested stream, in the order the names were
+	 * submitted
+	 */
+	public List<StreamStatus> getStreams() {
+		return streams;
+	}
+
+	/**
+	 * Runtime status of a single stream of the batch.
+	 */
+	public static class StreamStatus {
+
+		private String name;
+
+		private List<AppStatusResource> applications = new ArrayList<>();
+
+		private String error;
+
+		/**
+		 * Default constructor for serialization frameworks.
+		 */
+		protected StreamStatus() {
+		}
+
+		public StreamStatus(String name, List<AppStatusResource> applications, String error) {
+			this.name = name;
+			this.applications = applications;
+			this.error = error;
+		}
+
+		/**
+		 * @return the name of the stream
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the status of the deployed apps of the stream, empty if the stream is not
+		 * deployed or its status could not be retrieved
+		 */
+		public List<AppStatusResource> getApplications() {
+			return applications;
+		}
+
+		/**
+		 * @return the reason the status of the stream could not be retrieved, if it could
+		 * not
+		 */
+		public String getError() {
+			return error;
+		}
+	}
+}
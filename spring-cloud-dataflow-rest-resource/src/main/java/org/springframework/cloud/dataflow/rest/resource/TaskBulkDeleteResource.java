@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for a bulk deletion of task definitions or bulk cleanup of task
+ * executions, including the outcome for every task definition or task execution.
+ */
+public class TaskBulkDeleteResource extends ResourceSupport {
+
+	private List<DeleteResult> results = new ArrayList<>();
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected TaskBulkDeleteResource() {
+	}
+
+	public TaskBulkDeleteResource(List<DeleteResult> results) {
+		this.results = results;
+	}
+
+	/**
+	 * @return the outcome for every task definition or task execution
+	 */
+	public List<DeleteResult> getResults() {
+		return results;
+	}
+
+	/**
+	 * @return the outcomes that failed
+	 */
+	public List<DeleteResult> getFailures() {
+		List<DeleteResult> failures = new ArrayList<>();
+		for (DeleteResult result : results) {
+			if (!"SUCCEEDED".equals(result.getStatus())) {
+				failures.add(result);
+			}
+		}
+		return failures;
+	}
+
+	/**
+	 * Outcome for a single task definition or task execution.
+	 */
+	public static class DeleteResult {
+
+		private String taskName;
+
+		private Long executionId;
+
+		private String status;
+
+		private String message;
+
+		/**
+		 * Default constructor for serialization frameworks.
+		 */
+		protected DeleteResult() {
+		}
+
+		public DeleteResult(String taskName, Long executionId, String status, String message) {
+			this.taskName = taskName;
+			this.executionId = executionId;
+			this.status = status;
+			this.message = message;
+		}
+
+		/**
+		 * @return the name of the task definition, {@code null} for an unknown execution
+		 */
+		public String getTaskName() {
+			return taskName;
+		}
+
+		/**
+		 * @return the id of the task execution, {@code null} for a task definition
+		 */
+		public Long getExecutionId() {
+			return executionId;
+		}
+
+		/**
+		 * @return the status of the operation, one of {@code SUCCEEDED} or {@code FAILED}
+		 */
+		public String getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the reason the operation failed, if it did
+		 */
+		public String getMessage() {
+			return message;
+		}
+	}
+}
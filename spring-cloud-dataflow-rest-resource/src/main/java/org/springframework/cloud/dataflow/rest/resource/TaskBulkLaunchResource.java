@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for a bulk launch of a task definition, including the outcome of every
+ * launch in the order the argument sets were submitted.
+ */
+public class TaskBulkLaunchResource extends ResourceSupport {
+
+	private String taskName;
+
+	private List<LaunchResult> launches = new ArrayList<>();
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected TaskBulkLaunchResource() {
+	}
+
+	public TaskBulkLaunchResource(String taskName, List<LaunchResult> launches) {
+		this.taskName = taskName;
+		this.launches = launches;
+	}
+
+	/**
+	 * @return the name of the launched task definition
+	 */
+	public String getTaskName() {
+		return taskName;
+	}
+
+	/**
+	 * @return the outcome of every launch, in the order the argument sets were submitted
+	 */
+	public List<LaunchResult> getLaunches() {
+		return launches;
+	}
+
+	/**
+	 * @return the ids of the launched task executions, in submission order
+	 */
+	public List<Long> getExecutionIds() {
+		List<Long> executionIds = new ArrayList<>();
+		for (LaunchResult launch : launches) {
+			if ("LAUNCHED".equals(launch.getStatus())) {
+				executionIds.add(launch.getExecutionId());
+			}
+		}
+		return executionIds;
+	}
+
+	/**
+	 * Outcome of a single launch of the bulk launch.
+	 */
+	public static class LaunchResult {
+
+		private int index;
+
+		private Long executionId;
+
+		private String status;
+
+		private String message;
+
+		/**
+		 * Default constructor for serialization frameworks.
+		 */
+		protected LaunchResult() {
+		}
+
+		public LaunchResult(int index, Long executionId, String status, String message) {
+			this.index = index;
+			this.executionId = executionId;
+			this.status = status;
+			this.message = message;
+		}
+
+		/**
+		 * @return the position of the argument set in the submitted list
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the id of the task execution, or {@code null} if the launch failed
+		 * before the execution was created. A launch that failed after the execution was
+		 * created reports the id of the execution, which is recorded as ended.
+		 */
+		public Long getExecutionId() {
+			return executionId;
+		}
+
+		/**
+		 * @return the status of the launch, one of {@code LAUNCHED} or {@code FAILED}
+		 */
+		public String getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the reason the launch failed, if it did
+		 */
+		public String getMessage() {
+			return message;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.Date;
+
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for a task launch waiting in the launch queue for a free slot.
+ */
+public class TaskLaunchQueueEntryResource extends ResourceSupport {
+
+	private long entryId;
+
+	private String taskName;
+
+	private String platformName;
+
+	private int priority;
+
+	private long position;
+
+	private Date createdOn;
+
+	private long waitTimeInMillis;
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected TaskLaunchQueueEntryResource() {
+	}
+
+	public TaskLaunchQueueEntryResource(long entryId, String taskName, String platformName, int priority,
+			long position, Date createdOn, long waitTimeInMillis) {
+		this.entryId = entryId;
+		this.taskName = taskName;
+		this.platformName = platformName;
+		this.priority = priority;
+		this.position = position;
+		this.createdOn = createdOn;
+		this.waitTimeInMillis = waitTimeInMillis;
+	}
+
+	/**
+	 * @return the id of the queue entry
+	 */
+	public long getEntryId() {
+		return entryId;
+	}
+
+	/**
+	 * @return the name of the task definition to launch
+	 */
+	public String getTaskName() {
+		return taskName;
+	}
+
+	/**
+	 * @return the name of the platform the task is launched on
+	 */
+	public String getPlatformName() {
+		return platformName;
+	}
+
+	/**
+	 * @return the priority of the launch, higher priorities are launched first
+	 */
+	public int getPriority() {
+		return priority;
+	}
+
+	/**
+	 * @return the 1-based position of the launch in the queue
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * @return the time the launch was enqueued
+	 */
+	public Date getCreatedOn() {
+		return createdOn;
+	}
+
+	/**
+	 * @return the time the launch has been waiting so far
+	 */
+	public long getWaitTimeInMillis() {
+		return waitTimeInMillis;
+	}
+
+	public static class Page extends PagedResources<TaskLaunchQueueEntryResource> {
+
+	}
+}
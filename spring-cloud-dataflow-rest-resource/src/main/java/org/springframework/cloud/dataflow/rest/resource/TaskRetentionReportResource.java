@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.rest.resource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Rest resource for a purge of the task and batch execution history, or for a dry run
+ * of it.
+ */
+public class TaskRetentionReportResource extends ResourceSupport {
+
+	private boolean dryRun;
+
+	private List<TaskPurge> tasks = new ArrayList<>();
+
+	private Map<String, Long> deletedRows = new LinkedHashMap<>();
+
+	/**
+	 * Default constructor for serialization frameworks.
+	 */
+	protected TaskRetentionReportResource() {
+	}
+
+	public TaskRetentionReportResource(boolean dryRun, List<TaskPurge> tasks, Map<String, Long> deletedRows) {
+		this.dryRun = dryRun;
+		this.tasks = tasks;
+		this.deletedRows = deletedRows;
+	}
+
+	/**
+	 * @return whether nothing was actually deleted
+	 */
+	public boolean isDryRun() {
+		return dryRun;
+	}
+
+	/**
+	 * @return the task executions purged, or that would have been purged, per task name
+	 */
+	public List<TaskPurge> getTasks() {
+		return tasks;
+	}
+
+	/**
+	 * @return the number of rows deleted, per table, empty for a dry run
+	 */
+	public Map<String, Long> getDeletedRows() {
+		return deletedRows;
+	}
+
+	/**
+	 * The task executions of a task name purged by a purge.
+	 */
+	public static class TaskPurge {
+
+		private String taskName;
+
+		private long taskExecutionCount;
+
+		private long jobExecutionCount;
+
+		/**
+		 * Default constructor for serialization frameworks.
+		 */
+		protected TaskPurge() {
+		}
+
+		public TaskPurge(String taskName, long taskExecutionCount, long jobExecutionCount) {
+			this.taskName = taskName;
+			this.taskExecutionCount = taskExecutionCount;
+			this.jobExecutionCount = jobExecutionCount;
+		}
+
+		/**
+		 * @return the name of the task
+		 */
+		public String getTaskName() {
+			return taskName;
+		}
+
+		/**
+		 * @return the number of task executions purged
+		 */
+		public long getTaskExecutionCount() {
+			return taskExecutionCount;
+		}
+
+		/**
+		 * @return the number of batch job executions of these task executions
+		 */
+		public long getJobExecutionCount() {
+			return jobExecutionCount;
+		}
+	}
+}
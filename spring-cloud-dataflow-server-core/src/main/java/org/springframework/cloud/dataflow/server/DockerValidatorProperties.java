@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,27 @@ public class DockerValidatorProperties {
 	private int connectTimeoutInMillis = 10000;
 	private int readTimeoutInMillis = 10000;
 
+	/**
+	 * Maximum number of pooled connections to the docker registry.
+	 */
+	private int maxConnections = 20;
+
+	/**
+	 * How long an auth token obtained from the docker registry is reused.
+	 */
+	private int authTokenTtlInSeconds = 300;
+
+	/**
+	 * How long the tags of a repository are cached.
+	 */
+	private int tagsCacheTtlInSeconds = 60;
+
+	/**
+	 * Maximum number of repositories whose tags are cached. The least recently looked up
+	 * repositories are evicted first.
+	 */
+	private int tagsCacheMaxSize = 100;
+
 	public String getUserName() {
 		return userName;
 	}
@@ -86,5 +107,36 @@ public class DockerValidatorProperties {
 	public void setReadTimeoutInMillis(int readTimeoutInMillis) {
 		this.readTimeoutInMillis = readTimeoutInMillis;
 	}
-}
 
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	public int getAuthTokenTtlInSeconds() {
+		return authTokenTtlInSeconds;
+	}
+
+	public void setAuthTokenTtlInSeconds(int authTokenTtlInSeconds) {
+		this.authTokenTtlInSeconds = authTokenTtlInSeconds;
+	}
+
+	public int getTagsCacheTtlInSeconds() {
+		return tagsCacheTtlInSeconds;
+	}
+
+	public void setTagsCacheTtlInSeconds(int tagsCacheTtlInSeconds) {
+		this.tagsCacheTtlInSeconds = tagsCacheTtlInSeconds;
+	}
+
+	public int getTagsCacheMaxSize() {
+		return tagsCacheMaxSize;
+	}
+
+	public void setTagsCacheMaxSize(int tagsCacheMaxSize) {
+		this.tagsCacheMaxSize = tagsCacheMaxSize;
+	}
+}
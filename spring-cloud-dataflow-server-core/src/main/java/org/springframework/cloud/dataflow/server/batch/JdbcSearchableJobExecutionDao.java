@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2014 the original author or authors.
+ * Copyright 2006-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package org.springframework.cloud.dataflow.server.batch;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,9 +35,15 @@ import org.springframework.batch.core.repository.dao.JdbcJobExecutionDao;
 import org.springframework.batch.item.database.Order;
 import org.springframework.batch.item.database.PagingQueryProvider;
 import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+import org.springframework.cloud.dataflow.server.repository.support.DatabaseType;
+import org.springframework.cloud.task.configuration.TaskProperties;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.incrementer.AbstractDataFieldMaxValueIncrementer;
 import org.springframework.util.Assert;
 
@@ -56,26 +63,36 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 	private static final String FIELDS = "E.JOB_EXECUTION_ID, E.START_TIME, E.END_TIME, E.STATUS, E.EXIT_CODE, E.EXIT_MESSAGE, "
 			+ "E.CREATE_TIME, E.LAST_UPDATED, E.VERSION, I.JOB_INSTANCE_ID, I.JOB_NAME";
 
-	private static final String FIELDS_WITH_STEP_COUNT = FIELDS +
-			", (SELECT COUNT(*) FROM %PREFIX%STEP_EXECUTION AS S WHERE S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID) as STEP_COUNT";
+	/**
+	 * Counts the steps of a page of job executions in one grouped query, rather than with
+	 * a correlated subquery evaluated for every row the paging queries visit.
+	 */
+	private static final String GET_STEP_COUNTS = "SELECT JOB_EXECUTION_ID, COUNT(*) from %PREFIX%STEP_EXECUTION "
+			+ "where JOB_EXECUTION_ID in (:ids) group by JOB_EXECUTION_ID";
 
+	private static final int IN_CLAUSE_SIZE = 500;
 
 	private static final String GET_RUNNING_EXECUTIONS = "SELECT " + FIELDS
 			+ " from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
 			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and E.END_TIME is NULL";
 
+	private static final String GET_EXECUTIONS_BY_IDS = "SELECT " + FIELDS
+			+ " from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and E.JOB_EXECUTION_ID in (:ids) "
+			+ "order by E.JOB_EXECUTION_ID desc";
+
 	private static final String NAME_FILTER = "I.JOB_NAME=?";
 
 	private PagingQueryProvider allExecutionsPagingQueryProvider;
 
 	private PagingQueryProvider byJobNamePagingQueryProvider;
 
-	private PagingQueryProvider byJobNameWithStepCountPagingQueryProvider;
-
-	private PagingQueryProvider executionsWithStepCountPagingQueryProvider;
+	private JobExecutionQueryCompiler queryCompiler;
 
 	private DataSource dataSource;
 
+	private String taskTablePrefix = TaskProperties.DEFAULT_TABLE_PREFIX;
+
 	/**
 	 * @param dataSource the dataSource to set
 	 */
@@ -83,6 +100,14 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 		this.dataSource = dataSource;
 	}
 
+	/**
+	 * @param taskTablePrefix the prefix of the task tables, used to find the job
+	 * executions of a task execution
+	 */
+	public void setTaskTablePrefix(String taskTablePrefix) {
+		this.taskTablePrefix = taskTablePrefix;
+	}
+
 	/**
 	 * @see JdbcJobExecutionDao#afterPropertiesSet()
 	 */
@@ -102,9 +127,9 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 		});
 
 		allExecutionsPagingQueryProvider = getPagingQueryProvider();
-		executionsWithStepCountPagingQueryProvider = getPagingQueryProvider(FIELDS_WITH_STEP_COUNT, null, null);
 		byJobNamePagingQueryProvider = getPagingQueryProvider(NAME_FILTER);
-		byJobNameWithStepCountPagingQueryProvider = getPagingQueryProvider(FIELDS_WITH_STEP_COUNT, null, NAME_FILTER);
+		queryCompiler = new JobExecutionQueryCompiler(dataSource, DatabaseType.fromMetaData(dataSource),
+				this::getQuery, taskTablePrefix);
 
 		super.afterPropertiesSet();
 
@@ -208,19 +233,7 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 	 */
 	@Override
 	public List<JobExecutionWithStepCount> getJobExecutionsWithStepCount(String jobName, int start, int count) {
-		if (start <= 0) {
-			return getJdbcTemplate().query(byJobNameWithStepCountPagingQueryProvider.generateFirstPageQuery(count),
-					new JobExecutionStepCountRowMapper(), jobName);
-		}
-		try {
-			Long startAfterValue = getJdbcTemplate().queryForObject(
-					byJobNameWithStepCountPagingQueryProvider.generateJumpToItemQuery(start, count), Long.class, jobName);
-			return getJdbcTemplate().query(byJobNameWithStepCountPagingQueryProvider.generateRemainingPagesQuery(count),
-					new JobExecutionStepCountRowMapper(), jobName, startAfterValue);
-		}
-		catch (IncorrectResultSizeDataAccessException e) {
-			return Collections.emptyList();
-		}
+		return withStepCounts(getJobExecutions(jobName, start, count));
 	}
 
 	/**
@@ -245,19 +258,72 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 
 	@Override
 	public List<JobExecutionWithStepCount> getJobExecutionsWithStepCount(int start, int count) {
-		if (start <= 0) {
-			return getJdbcTemplate().query(executionsWithStepCountPagingQueryProvider.generateFirstPageQuery(count),
-					new JobExecutionStepCountRowMapper());
+		return withStepCounts(getJobExecutions(start, count));
+	}
+
+	/**
+	 * Selects the ids of the page of matching job executions first, with a query on the
+	 * job execution table alone, and then reads the job executions of the page by id.
+	 *
+	 * @see SearchableJobExecutionDao#getJobExecutions(JobExecutionQuery, int, int)
+	 */
+	@Override
+	public List<JobExecution> getJobExecutions(JobExecutionQuery query, int start, int count) {
+		JobExecutionQueryCompiler.Compiled compiled = queryCompiler.compile(query);
+		NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(getJdbcTemplate());
+		List<Long> ids = template.queryForList(compiled.getPageQuery(start, count), compiled.getParameters(),
+				Long.class);
+		List<JobExecution> jobExecutions = new ArrayList<>(ids.size());
+		for (int i = 0; i < ids.size(); i += IN_CLAUSE_SIZE) {
+			List<Long> chunk = ids.subList(i, Math.min(i + IN_CLAUSE_SIZE, ids.size()));
+			jobExecutions.addAll(template.query(getQuery(GET_EXECUTIONS_BY_IDS),
+					new MapSqlParameterSource("ids", chunk), new JobExecutionRowMapper()));
 		}
-		try {
-			Long startAfterValue = getJdbcTemplate().queryForObject(
-					executionsWithStepCountPagingQueryProvider.generateJumpToItemQuery(start, count), Long.class);
-			return getJdbcTemplate().query(executionsWithStepCountPagingQueryProvider.generateRemainingPagesQuery(count),
-					new JobExecutionStepCountRowMapper(), startAfterValue);
+		return jobExecutions;
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionsWithStepCount(JobExecutionQuery, int, int)
+	 */
+	@Override
+	public List<JobExecutionWithStepCount> getJobExecutionsWithStepCount(JobExecutionQuery query, int start,
+			int count) {
+		return withStepCounts(getJobExecutions(query, start, count));
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#countJobExecutions(JobExecutionQuery)
+	 */
+	@Override
+	public int countJobExecutions(JobExecutionQuery query) {
+		JobExecutionQueryCompiler.Compiled compiled = queryCompiler.compile(query);
+		return new NamedParameterJdbcTemplate(getJdbcTemplate()).queryForObject(compiled.getCountQuery(),
+				compiled.getParameters(), Integer.class);
+	}
+
+	/**
+	 * @param jobExecutions a page of job executions
+	 * @return the job executions along with the number of their step executions, in the
+	 * same order
+	 */
+	private List<JobExecutionWithStepCount> withStepCounts(List<JobExecution> jobExecutions) {
+		Map<Long, Integer> stepCounts = new HashMap<>();
+		List<Long> ids = new ArrayList<>(jobExecutions.size());
+		for (JobExecution jobExecution : jobExecutions) {
+			ids.add(jobExecution.getId());
 		}
-		catch (IncorrectResultSizeDataAccessException e) {
-			return Collections.emptyList();
+		NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(getJdbcTemplate());
+		for (int i = 0; i < ids.size(); i += IN_CLAUSE_SIZE) {
+			List<Long> chunk = ids.subList(i, Math.min(i + IN_CLAUSE_SIZE, ids.size()));
+			template.query(getQuery(GET_STEP_COUNTS), new MapSqlParameterSource("ids", chunk),
+					(RowCallbackHandler) rs -> stepCounts.put(rs.getLong(1), rs.getInt(2)));
+		}
+		List<JobExecutionWithStepCount> result = new ArrayList<>(jobExecutions.size());
+		for (JobExecution jobExecution : jobExecutions) {
+			result.add(new JobExecutionWithStepCount(jobExecution,
+					stepCounts.getOrDefault(jobExecution.getId(), 0)));
 		}
+		return result;
 	}
 
 	@Override
@@ -293,25 +359,6 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 		}
 
 	}
-	/**
-	 * Re-usable mapper for {@link JobExecutionWithStepCount} instances.
-	 *
-	 * @author Glenn Renfro
-	 *
-	 */
-	protected class JobExecutionStepCountRowMapper implements RowMapper<JobExecutionWithStepCount> {
-
-		JobExecutionStepCountRowMapper() {
-		}
-
-		@Override
-		public JobExecutionWithStepCount mapRow(ResultSet rs, int rowNum) throws SQLException {
-
-			return new JobExecutionWithStepCount(createJobExecutionFromResultSet(rs, rowNum), rs.getInt(12));
-		}
-
-	}
-
 
 	JobExecution createJobExecutionFromResultSet(ResultSet rs, int rowNum)  throws SQLException{
 		Long id = rs.getLong(1);
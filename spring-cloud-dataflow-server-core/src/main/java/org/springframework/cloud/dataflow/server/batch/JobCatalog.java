@@ -0,0 +1,349 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Catalog of the jobs recorded in the batch repository: their names, the number of their
+ * job instances and job executions and the names of their steps. The catalog is read
+ * from an immutable snapshot, so that listing and counting jobs neither scans the batch
+ * tables nor waits for another reader. A background thread refreshes the snapshot every
+ * few seconds with the job instances, job executions and step executions added since the
+ * previous refresh, and rebuilds it from scratch periodically, which picks up deleted
+ * history and rows committed out of id order. The counts can therefore lag behind the
+ * batch tables by a refresh interval, while a job that is not in the snapshot yet is
+ * still looked up in the batch tables.
+ *
+ * @see SimpleJobService
+ */
+public class JobCatalog implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(JobCatalog.class);
+
+	private static final long DEFAULT_REFRESH_INTERVAL_IN_MILLIS = 5_000;
+
+	private static final long DEFAULT_REBUILD_INTERVAL_IN_MILLIS = 60_000;
+
+	private static final String GET_JOB_INSTANCE_COUNTS = "SELECT JOB_NAME, COUNT(*), MAX(JOB_INSTANCE_ID) "
+			+ "from %PREFIX%JOB_INSTANCE where JOB_INSTANCE_ID > ? group by JOB_NAME";
+
+	private static final String GET_JOB_EXECUTION_COUNTS = "SELECT I.JOB_NAME, COUNT(*), MAX(E.JOB_EXECUTION_ID) "
+			+ "from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID and E.JOB_EXECUTION_ID > ? group by I.JOB_NAME";
+
+	private static final String GET_STEP_NAMES = "SELECT I.JOB_NAME, S.STEP_NAME, MAX(S.STEP_EXECUTION_ID) "
+			+ "from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID and E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID "
+			+ "and S.STEP_EXECUTION_ID > ? group by I.JOB_NAME, S.STEP_NAME order by MIN(S.STEP_EXECUTION_ID)";
+
+	private static final String COUNT_JOB_INSTANCES = "SELECT COUNT(*) from %PREFIX%JOB_INSTANCE where JOB_NAME = ?";
+
+	private final JdbcOperations jdbcTemplate;
+
+	private final String tablePrefix;
+
+	private final long rebuildIntervalInMillis;
+
+	private final ScheduledExecutorService refresher;
+
+	private final ReentrantLock refreshLock = new ReentrantLock();
+
+	private volatile Snapshot snapshot;
+
+	public JobCatalog(JdbcOperations jdbcTemplate, String tablePrefix) {
+		this(jdbcTemplate, tablePrefix, DEFAULT_REBUILD_INTERVAL_IN_MILLIS,
+				Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "job-catalog-refresher");
+					thread.setDaemon(true);
+					return thread;
+				}));
+		this.refresher.scheduleWithFixedDelay(this::refreshQuietly, DEFAULT_REFRESH_INTERVAL_IN_MILLIS,
+				DEFAULT_REFRESH_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	JobCatalog(JdbcOperations jdbcTemplate, String tablePrefix, long rebuildIntervalInMillis,
+			ScheduledExecutorService refresher) {
+		Assert.notNull(jdbcTemplate, "JdbcOperations must not be null");
+		Assert.hasText(tablePrefix, "tablePrefix must not be empty");
+		Assert.notNull(refresher, "ScheduledExecutorService must not be null");
+		this.jdbcTemplate = jdbcTemplate;
+		this.tablePrefix = tablePrefix;
+		this.rebuildIntervalInMillis = rebuildIntervalInMillis;
+		this.refresher = refresher;
+	}
+
+	/**
+	 * @return the names of the jobs that have job instances, in alphabetical order
+	 */
+	public List<String> getJobNames() {
+		return snapshot().jobNames;
+	}
+
+	/**
+	 * @param jobName the name of the job
+	 * @return whether the job has job instances
+	 */
+	public boolean containsJob(String jobName) {
+		if (snapshot().jobs.containsKey(jobName)) {
+			return true;
+		}
+		// the job may have been launched since the last refresh
+		Integer count = this.jdbcTemplate.queryForObject(getQuery(COUNT_JOB_INSTANCES), Integer.class, jobName);
+		if (count == null || count == 0) {
+			return false;
+		}
+		requestRefresh();
+		return true;
+	}
+
+	/**
+	 * @param jobName the name of the job
+	 * @return the number of job instances of the job
+	 */
+	public int countJobInstances(String jobName) {
+		JobSummary job = snapshot().jobs.get(jobName);
+		return job == null ? 0 : job.jobInstanceCount;
+	}
+
+	/**
+	 * @param jobName the name of the job
+	 * @return the number of job executions of the job
+	 */
+	public int countJobExecutions(String jobName) {
+		JobSummary job = snapshot().jobs.get(jobName);
+		return job == null ? 0 : job.jobExecutionCount;
+	}
+
+	/**
+	 * @param jobName the name of the job
+	 * @return the names of the steps the job executed, in the order they were first
+	 * executed
+	 */
+	public List<String> getStepNames(String jobName) {
+		JobSummary job = snapshot().jobs.get(jobName);
+		return job == null ? Collections.emptyList() : job.stepNames;
+	}
+
+	/**
+	 * Read the job instances, job executions and step executions added since the last
+	 * refresh, or rebuild the catalog from scratch if it is due.
+	 */
+	public void refresh() {
+		this.refreshLock.lock();
+		try {
+			Snapshot current = this.snapshot;
+			long now = System.currentTimeMillis();
+			this.snapshot = current == null || now - current.builtAt >= this.rebuildIntervalInMillis
+					? read(Snapshot.EMPTY, now)
+					: read(current, current.builtAt);
+		}
+		finally {
+			this.refreshLock.unlock();
+		}
+	}
+
+	/**
+	 * Rebuild the catalog from scratch, forgetting the jobs read so far.
+	 */
+	public void reset() {
+		this.refreshLock.lock();
+		try {
+			this.snapshot = read(Snapshot.EMPTY, System.currentTimeMillis());
+		}
+		finally {
+			this.refreshLock.unlock();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.refresher.shutdownNow();
+	}
+
+	/**
+	 * @return the current snapshot, read on the calling thread the first time only
+	 */
+	private Snapshot snapshot() {
+		Snapshot current = this.snapshot;
+		if (current == null) {
+			refresh();
+			current = this.snapshot;
+		}
+		return current;
+	}
+
+	private void requestRefresh() {
+		try {
+			this.refresher.execute(this::refreshQuietly);
+		}
+		catch (RuntimeException e) {
+			logger.debug("Could not request a refresh of the job catalog", e);
+		}
+	}
+
+	private void refreshQuietly() {
+		try {
+			refresh();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to refresh the job catalog: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return a snapshot made of the given one and the rows added since it was read
+	 */
+	private Snapshot read(Snapshot base, long builtAt) {
+		Map<String, JobChanges> changes = new HashMap<>();
+		Snapshot.Builder next = new Snapshot.Builder(base, builtAt);
+		this.jdbcTemplate.query(getQuery(GET_JOB_INSTANCE_COUNTS), (RowCallbackHandler) rs -> {
+			changes.computeIfAbsent(rs.getString(1), name -> new JobChanges()).jobInstanceCount += rs.getInt(2);
+			next.lastJobInstanceId = Math.max(next.lastJobInstanceId, rs.getLong(3));
+		}, base.lastJobInstanceId);
+		this.jdbcTemplate.query(getQuery(GET_JOB_EXECUTION_COUNTS), (RowCallbackHandler) rs -> {
+			changes.computeIfAbsent(rs.getString(1), name -> new JobChanges()).jobExecutionCount += rs.getInt(2);
+			next.lastJobExecutionId = Math.max(next.lastJobExecutionId, rs.getLong(3));
+		}, base.lastJobExecutionId);
+		this.jdbcTemplate.query(getQuery(GET_STEP_NAMES), (RowCallbackHandler) rs -> {
+			changes.computeIfAbsent(rs.getString(1), name -> new JobChanges()).stepNames.add(rs.getString(2));
+			next.lastStepExecutionId = Math.max(next.lastStepExecutionId, rs.getLong(3));
+		}, base.lastStepExecutionId);
+		if (changes.isEmpty() && base != Snapshot.EMPTY) {
+			return base;
+		}
+		Map<String, JobSummary> jobs = new TreeMap<>(base.jobs);
+		changes.forEach((jobName, jobChanges) -> jobs.put(jobName, jobChanges.applyTo(jobs.get(jobName))));
+		return next.build(jobs);
+	}
+
+	private String getQuery(String base) {
+		return StringUtils.replace(base, "%PREFIX%", this.tablePrefix);
+	}
+
+	/**
+	 * An immutable state of the catalog, along with the last ids read to build it.
+	 */
+	private static final class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), -1, -1, -1, 0);
+
+		private final Map<String, JobSummary> jobs;
+
+		private final List<String> jobNames;
+
+		private final long lastJobInstanceId;
+
+		private final long lastJobExecutionId;
+
+		private final long lastStepExecutionId;
+
+		private final long builtAt;
+
+		private Snapshot(Map<String, JobSummary> jobs, long lastJobInstanceId, long lastJobExecutionId,
+				long lastStepExecutionId, long builtAt) {
+			this.jobs = Collections.unmodifiableMap(jobs);
+			this.jobNames = Collections.unmodifiableList(new ArrayList<>(jobs.keySet()));
+			this.lastJobInstanceId = lastJobInstanceId;
+			this.lastJobExecutionId = lastJobExecutionId;
+			this.lastStepExecutionId = lastStepExecutionId;
+			this.builtAt = builtAt;
+		}
+
+		private static final class Builder {
+
+			private long lastJobInstanceId;
+
+			private long lastJobExecutionId;
+
+			private long lastStepExecutionId;
+
+			private final long builtAt;
+
+			private Builder(Snapshot base, long builtAt) {
+				this.lastJobInstanceId = base.lastJobInstanceId;
+				this.lastJobExecutionId = base.lastJobExecutionId;
+				this.lastStepExecutionId = base.lastStepExecutionId;
+				this.builtAt = builtAt;
+			}
+
+			private Snapshot build(Map<String, JobSummary> jobs) {
+				return new Snapshot(jobs, this.lastJobInstanceId, this.lastJobExecutionId, this.lastStepExecutionId,
+						this.builtAt);
+			}
+		}
+	}
+
+	private static final class JobSummary {
+
+		private final int jobInstanceCount;
+
+		private final int jobExecutionCount;
+
+		private final List<String> stepNames;
+
+		private JobSummary(int jobInstanceCount, int jobExecutionCount, List<String> stepNames) {
+			this.jobInstanceCount = jobInstanceCount;
+			this.jobExecutionCount = jobExecutionCount;
+			this.stepNames = stepNames;
+		}
+	}
+
+	/**
+	 * The rows of a job added since the last refresh.
+	 */
+	private static final class JobChanges {
+
+		private int jobInstanceCount;
+
+		private int jobExecutionCount;
+
+		private final Set<String> stepNames = new LinkedHashSet<>();
+
+		private JobSummary applyTo(JobSummary job) {
+			if (job == null) {
+				return new JobSummary(this.jobInstanceCount, this.jobExecutionCount,
+						Collections.unmodifiableList(new ArrayList<>(this.stepNames)));
+			}
+			Set<String> stepNames = new LinkedHashSet<>(job.stepNames);
+			stepNames.addAll(this.stepNames);
+			return new JobSummary(job.jobInstanceCount + this.jobInstanceCount,
+					job.jobExecutionCount + this.jobExecutionCount,
+					Collections.unmodifiableList(new ArrayList<>(stepNames)));
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+import org.springframework.cloud.dataflow.server.repository.support.DatabaseType;
+import org.springframework.cloud.dataflow.server.repository.support.Order;
+import org.springframework.cloud.dataflow.server.repository.support.PagingQueryProvider;
+import org.springframework.cloud.dataflow.server.repository.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compiles a {@link JobExecutionQuery} into SQL over the job execution table. Every
+ * criterion becomes a predicate on a column of {@code %PREFIX%JOB_EXECUTION} itself, the
+ * job name and the task execution being matched through {@code IN} subqueries, so that
+ * the query pages over a single table and can be served by its indexes. The page query
+ * only selects the ids of the job executions, in the dialect of the database, through
+ * the paging query providers of the server. A provider is created once for every
+ * combination of criteria, the values of the criteria being bound as parameters.
+ *
+ * @see JdbcSearchableJobExecutionDao#getJobExecutions(JobExecutionQuery, int, int)
+ */
+class JobExecutionQueryCompiler {
+
+	private static final String FROM_CLAUSE = "%PREFIX%JOB_EXECUTION E";
+
+	private static final String JOB_NAME_FILTER = "E.JOB_INSTANCE_ID IN (SELECT JOB_INSTANCE_ID "
+			+ "FROM %PREFIX%JOB_INSTANCE WHERE JOB_NAME = :jobName)";
+
+	private static final String JOB_NAME_PREFIX_FILTER = "E.JOB_INSTANCE_ID IN (SELECT JOB_INSTANCE_ID "
+			+ "FROM %PREFIX%JOB_INSTANCE WHERE JOB_NAME LIKE :jobNamePrefix ESCAPE '!')";
+
+	private static final String TASK_EXECUTION_FILTER = "E.JOB_EXECUTION_ID IN (SELECT JOB_EXECUTION_ID "
+			+ "FROM %TASK_PREFIX%TASK_BATCH WHERE TASK_EXECUTION_ID = :taskExecutionId)";
+
+	private final DataSource dataSource;
+
+	private final DatabaseType databaseType;
+
+	private final UnaryOperator<String> prefixer;
+
+	private final String taskTablePrefix;
+
+	private final ConcurrentMap<String, PagingQueryProvider> pagingQueryProviders = new ConcurrentHashMap<>();
+
+	/**
+	 * @param dataSource the data source holding the job repository
+	 * @param databaseType the database type the queries are generated for
+	 * @param prefixer replaces the table prefix placeholder in a query
+	 * @param taskTablePrefix the prefix of the task tables
+	 */
+	JobExecutionQueryCompiler(DataSource dataSource, DatabaseType databaseType, UnaryOperator<String> prefixer,
+			String taskTablePrefix) {
+		Assert.notNull(dataSource, "dataSource must not be null");
+		Assert.notNull(databaseType, "databaseType must not be null");
+		Assert.notNull(prefixer, "prefixer must not be null");
+		Assert.hasText(taskTablePrefix, "taskTablePrefix must not be empty");
+		this.dataSource = dataSource;
+		this.databaseType = databaseType;
+		this.prefixer = prefixer;
+		this.taskTablePrefix = taskTablePrefix;
+	}
+
+	/**
+	 * @param query the job execution query
+	 * @return the compiled query
+	 */
+	Compiled compile(JobExecutionQuery query) {
+		List<String> predicates = new ArrayList<>();
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		if (!query.getStatuses().isEmpty()) {
+			List<String> statuses = new ArrayList<>();
+			for (BatchStatus status : query.getStatuses()) {
+				statuses.add(status.name());
+			}
+			predicates.add("E.STATUS IN (:statuses)");
+			parameters.addValue("statuses", statuses);
+		}
+		if (query.getExitCode() != null) {
+			predicates.add("E.EXIT_CODE = :exitCode");
+			parameters.addValue("exitCode", query.getExitCode());
+		}
+		addRange(predicates, parameters, "START_TIME", "started", query.getStartedAfter(), query.getStartedBefore());
+		addRange(predicates, parameters, "END_TIME", "ended", query.getEndedAfter(), query.getEndedBefore());
+		if (query.getJobName() != null) {
+			predicates.add(JOB_NAME_FILTER);
+			parameters.addValue("jobName", query.getJobName());
+		}
+		if (query.getJobNamePrefix() != null) {
+			predicates.add(JOB_NAME_PREFIX_FILTER);
+			parameters.addValue("jobNamePrefix", escapeLike(query.getJobNamePrefix()) + "%");
+		}
+		if (query.getTaskExecutionId() != null) {
+			predicates.add(StringUtils.replace(TASK_EXECUTION_FILTER, "%TASK_PREFIX%", this.taskTablePrefix));
+			parameters.addValue("taskExecutionId", query.getTaskExecutionId());
+		}
+		String whereClause = predicates.isEmpty() ? null
+				: this.prefixer.apply(StringUtils.collectionToDelimitedString(predicates, " AND "));
+		return new Compiled(whereClause, parameters);
+	}
+
+	private static void addRange(List<String> predicates, MapSqlParameterSource parameters, String column,
+			String parameterPrefix, Date after, Date before) {
+		if (after != null) {
+			predicates.add("E." + column + " >= :" + parameterPrefix + "After");
+			parameters.addValue(parameterPrefix + "After", after);
+		}
+		if (before != null) {
+			predicates.add("E." + column + " < :" + parameterPrefix + "Before");
+			parameters.addValue(parameterPrefix + "Before", before);
+		}
+	}
+
+	private static String escapeLike(String text) {
+		return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+	}
+
+	/**
+	 * @param whereClause the where clause of a compiled query, or {@code null}
+	 * @return a paging query provider selecting the ids of the job executions matching
+	 * the where clause, in descending order
+	 */
+	private PagingQueryProvider getPagingQueryProvider(String whereClause) {
+		return this.pagingQueryProviders.computeIfAbsent(whereClause == null ? "" : whereClause, key -> {
+			SqlPagingQueryProviderFactoryBean factory = new SqlPagingQueryProviderFactoryBean();
+			factory.setDataSource(this.dataSource);
+			factory.setDatabaseType(this.databaseType.name());
+			factory.setSelectClause("JOB_EXECUTION_ID");
+			factory.setFromClause(this.prefixer.apply(FROM_CLAUSE));
+			factory.setWhereClause(whereClause);
+			Map<String, Order> sortKeys = Collections.singletonMap("JOB_EXECUTION_ID", Order.DESCENDING);
+			factory.setSortKeys(sortKeys);
+			try {
+				return factory.getObject();
+			}
+			catch (Exception e) {
+				throw new IllegalStateException("Unable to create the paging query provider for "
+						+ this.databaseType, e);
+			}
+		});
+	}
+
+	/**
+	 * A compiled query: its where clause and the values of its named parameters.
+	 */
+	class Compiled {
+
+		private final String whereClause;
+
+		private final MapSqlParameterSource parameters;
+
+		private Compiled(String whereClause, MapSqlParameterSource parameters) {
+			this.whereClause = whereClause;
+			this.parameters = parameters;
+		}
+
+		MapSqlParameterSource getParameters() {
+			return this.parameters;
+		}
+
+		/**
+		 * @return a query counting the matching job executions
+		 */
+		String getCountQuery() {
+			return "SELECT COUNT(1) FROM " + JobExecutionQueryCompiler.this.prefixer.apply(FROM_CLAUSE)
+					+ (this.whereClause == null ? "" : " WHERE " + this.whereClause);
+		}
+
+		/**
+		 * @param start the index of the first job execution, a multiple of the page size
+		 * @param count the size of the page, a positive number
+		 * @return a query selecting the ids of a page of the matching job executions, in
+		 * descending order
+		 */
+		String getPageQuery(int start, int count) {
+			Assert.isTrue(count > 0, "count must be positive");
+			Assert.isTrue(start >= 0 && start % count == 0, "start must be a multiple of count");
+			return getPagingQueryProvider(this.whereClause).getPageQuery(PageRequest.of(start / count, count));
+		}
+	}
+}
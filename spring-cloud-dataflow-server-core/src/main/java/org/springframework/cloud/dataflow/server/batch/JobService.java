@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2010 the original author or authors.
+ * Copyright 2009-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,7 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.batch.core.step.NoSuchStepException;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 
 /**
  * Interface for general purpose monitoring and management of Batch jobs. The
@@ -276,6 +277,43 @@ public interface JobService {
 	 */
 	int countJobExecutions();
 
+	/**
+	 * List the {@link JobExecution job executions} matching a query in descending order
+	 * of creation (usually close to execution order).
+	 *
+	 * @param query the criteria the job executions must match
+	 * @param start the index of the first execution to return
+	 * @param count the maximum number of executions
+	 * @return a collection of {@link JobExecution}
+	 * @throws NoSuchJobException if the query names a job that does not exist
+	 */
+	Collection<JobExecution> listJobExecutions(JobExecutionQuery query, int start, int count)
+			throws NoSuchJobException;
+
+	/**
+	 * List the {@link JobExecutionWithStepCount JobExecutions} matching a query in
+	 * descending order of creation (usually close to execution order) without step
+	 * execution data.
+	 *
+	 * @param query the criteria the job executions must match
+	 * @param start the index of the first execution to return
+	 * @param count the maximum number of executions
+	 * @return a collection of {@link JobExecutionWithStepCount}
+	 * @throws NoSuchJobException if the query names a job that does not exist
+	 */
+	Collection<JobExecutionWithStepCount> listJobExecutionsWithStepCount(JobExecutionQuery query, int start,
+			int count) throws NoSuchJobException;
+
+	/**
+	 * Count the maximum number of executions that could be returned by
+	 * {@link #listJobExecutions(JobExecutionQuery, int, int)}.
+	 *
+	 * @param query the criteria the job executions must match
+	 * @return the number of job executions matching the query
+	 * @throws NoSuchJobException if the query names a job that does not exist
+	 */
+	int countJobExecutions(JobExecutionQuery query) throws NoSuchJobException;
+
 	/**
 	 * Get a {@link JobExecution} by id.
 	 * 
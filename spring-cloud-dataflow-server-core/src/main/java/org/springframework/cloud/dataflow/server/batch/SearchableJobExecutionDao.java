@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2007 the original author or authors.
+ * Copyright 2006-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.List;
 
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.repository.dao.JobExecutionDao;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 
 /**
  * @author Dave Syer
@@ -74,6 +75,34 @@ public interface SearchableJobExecutionDao extends JobExecutionDao {
 	 */
 	List<JobExecutionWithStepCount> getJobExecutionsWithStepCount(int start, int count);
 
+	/**
+	 * Get the {@link JobExecution JobExecutions} matching a query in reverse order of
+	 * creation (so normally of execution).
+	 *
+	 * @param query the criteria the job executions must match
+	 * @param start the start index of the instances, a multiple of {@code count}
+	 * @param count the maximum number of instances to return
+	 * @return the {@link JobExecution} instances requested
+	 */
+	List<JobExecution> getJobExecutions(JobExecutionQuery query, int start, int count);
+
+	/**
+	 * Get the {@link JobExecutionWithStepCount JobExecutions} matching a query in reverse
+	 * order of creation (so normally of execution) without StepExecution.
+	 *
+	 * @param query the criteria the job executions must match
+	 * @param start the start index of the instances, a multiple of {@code count}
+	 * @param count the maximum number of instances to return
+	 * @return the {@link JobExecutionWithStepCount} instances requested
+	 */
+	List<JobExecutionWithStepCount> getJobExecutionsWithStepCount(JobExecutionQuery query, int start, int count);
+
+	/**
+	 * @param query the criteria the job executions must match
+	 * @return the number of {@link JobExecution JobExecutions} matching the query
+	 */
+	int countJobExecutions(JobExecutionQuery query);
+
 	/**
 	 * @param jobName the name of a job
 	 * @return the number of {@link JobExecution JobExecutions} belonging to
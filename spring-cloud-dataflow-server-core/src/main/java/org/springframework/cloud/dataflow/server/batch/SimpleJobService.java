@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2013 the original author or authors.
+ * Copyright 2009-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,6 +53,7 @@ import org.springframework.batch.core.repository.dao.ExecutionContextDao;
 import org.springframework.batch.core.step.NoSuchStepException;
 import org.springframework.batch.core.step.StepLocator;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -92,6 +93,10 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 	private JobOperator jsrJobOperator;
 
+	private final JobCatalog jobCatalog;
+
+	private volatile Collection<String> jsrJobNames;
+
 	private int shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
 
 	/**
@@ -112,6 +117,18 @@ public class SimpleJobService implements JobService, DisposableBean {
 	public SimpleJobService(SearchableJobInstanceDao jobInstanceDao, SearchableJobExecutionDao jobExecutionDao,
 			SearchableStepExecutionDao stepExecutionDao, JobRepository jobRepository, JobLauncher jobLauncher,
 			ListableJobLocator jobLocator, ExecutionContextDao executionContextDao, JobOperator jsrJobOperator) {
+		this(jobInstanceDao, jobExecutionDao, stepExecutionDao, jobRepository, jobLauncher, jobLocator, executionContextDao,
+				jsrJobOperator, null);
+	}
+
+	/**
+	 * @param jobCatalog the catalog used to list and count the jobs, if {@code null} the
+	 * batch tables are queried every time
+	 */
+	public SimpleJobService(SearchableJobInstanceDao jobInstanceDao, SearchableJobExecutionDao jobExecutionDao,
+			SearchableStepExecutionDao stepExecutionDao, JobRepository jobRepository, JobLauncher jobLauncher,
+			ListableJobLocator jobLocator, ExecutionContextDao executionContextDao, JobOperator jsrJobOperator,
+			JobCatalog jobCatalog) {
 		super();
 		this.jobInstanceDao = jobInstanceDao;
 		this.jobExecutionDao = jobExecutionDao;
@@ -120,6 +137,7 @@ public class SimpleJobService implements JobService, DisposableBean {
 		this.jobLauncher = jobLauncher;
 		this.jobLocator = jobLocator;
 		this.executionContextDao = executionContextDao;
+		this.jobCatalog = jobCatalog;
 
 		if(jsrJobOperator == null) {
 			logger.warn("No JobOperator compatible with JSR-352 was provided.");
@@ -325,12 +343,42 @@ public class SimpleJobService implements JobService, DisposableBean {
 		return jobExecutionDao.countJobExecutions();
 	}
 
+	@Override
+	public Collection<JobExecution> listJobExecutions(JobExecutionQuery query, int start, int count)
+			throws NoSuchJobException {
+		checkJobExists(query);
+		List<JobExecution> jobExecutions = jobExecutionDao.getJobExecutions(query, start, count);
+		for (JobExecution jobExecution : jobExecutions) {
+			stepExecutionDao.addStepExecutions(jobExecution);
+		}
+		return jobExecutions;
+	}
+
+	@Override
+	public Collection<JobExecutionWithStepCount> listJobExecutionsWithStepCount(JobExecutionQuery query, int start,
+			int count) throws NoSuchJobException {
+		checkJobExists(query);
+		return jobExecutionDao.getJobExecutionsWithStepCount(query, start, count);
+	}
+
+	@Override
+	public int countJobExecutions(JobExecutionQuery query) throws NoSuchJobException {
+		checkJobExists(query);
+		return jobExecutionDao.countJobExecutions(query);
+	}
+
+	private void checkJobExists(JobExecutionQuery query) throws NoSuchJobException {
+		if (query.getJobName() != null) {
+			checkJobExists(query.getJobName());
+		}
+	}
+
 	@Override
 	public Collection<String> listJobs(int start, int count) {
 		Collection<String> jobNames = new LinkedHashSet<String>(jobLocator.getJobNames());
 		jobNames.addAll(getJsrJobNames());
 		if (start + count > jobNames.size()) {
-			jobNames.addAll(jobInstanceDao.getJobNames());
+			jobNames.addAll(jobCatalog != null ? jobCatalog.getJobNames() : jobInstanceDao.getJobNames());
 		}
 		if (start >= jobNames.size()) {
 			start = jobNames.size();
@@ -341,7 +389,19 @@ public class SimpleJobService implements JobService, DisposableBean {
 		return new ArrayList<String>(jobNames).subList(start, start + count);
 	}
 
+	/**
+	 * @return the names of the JSR-352 jobs, scanned from the classpath on first use
+	 */
 	private Collection<String> getJsrJobNames() {
+		Collection<String> names = this.jsrJobNames;
+		if (names == null) {
+			names = Collections.unmodifiableSet(scanJsrJobNames());
+			this.jsrJobNames = names;
+		}
+		return names;
+	}
+
+	private Set<String> scanJsrJobNames() {
 
 		Set<String> jsr352JobNames = new HashSet<String>();
 
@@ -363,7 +423,7 @@ public class SimpleJobService implements JobService, DisposableBean {
 	@Override
 	public int countJobs() {
 		Collection<String> names = new HashSet<String>(jobLocator.getJobNames());
-		names.addAll(jobInstanceDao.getJobNames());
+		names.addAll(jobCatalog != null ? jobCatalog.getJobNames() : jobInstanceDao.getJobNames());
 		return names.size();
 	}
 
@@ -441,12 +501,12 @@ public class SimpleJobService implements JobService, DisposableBean {
 	@Override
 	public int countJobExecutionsForJob(String name) throws NoSuchJobException {
 		checkJobExists(name);
-		return jobExecutionDao.countJobExecutions(name);
+		return jobCatalog != null ? jobCatalog.countJobExecutions(name) : jobExecutionDao.countJobExecutions(name);
 	}
 
 	@Override
 	public int countJobInstances(String name) throws NoSuchJobException {
-		return jobInstanceDao.countJobInstances(name);
+		return jobCatalog != null ? jobCatalog.countJobInstances(name) : jobInstanceDao.countJobInstances(name);
 	}
 
 	@Override
@@ -560,6 +620,10 @@ public class SimpleJobService implements JobService, DisposableBean {
 		catch (NoSuchJobException e) {
 			// ignore
 		}
+		if (jobCatalog != null) {
+			checkJobExists(jobName);
+			return Collections.unmodifiableList(jobCatalog.getStepNames(jobName));
+		}
 		Collection<String> stepNames = new LinkedHashSet<String>();
 		for (JobExecution jobExecution : listJobExecutionsForJob(jobName, 0, 100)) {
 			for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
@@ -576,7 +640,7 @@ public class SimpleJobService implements JobService, DisposableBean {
 		if (jobLocator.getJobNames().contains(jobName)) {
 			return;
 		}
-		if (jobInstanceDao.countJobInstances(jobName) > 0) {
+		if (jobCatalog != null ? jobCatalog.containsJob(jobName) : jobInstanceDao.countJobInstances(jobName) > 0) {
 			return;
 		}
 		throw new NoSuchJobException("No Job with that name either current or historic: [" + jobName + "]");
@@ -589,6 +653,10 @@ public class SimpleJobService implements JobService, DisposableBean {
 	@Override
 	public void destroy() throws Exception {
 
+		if (jobCatalog != null) {
+			jobCatalog.destroy();
+		}
+
 		Exception firstException = null;
 
 		for (JobExecution jobExecution : activeExecutions) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2014 the original author or authors.
+ * Copyright 2009-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import org.springframework.batch.item.database.support.DefaultDataFieldMaxValueI
 import org.springframework.batch.support.DatabaseType;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.task.configuration.TaskProperties;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
@@ -67,6 +68,8 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 
 	private String tablePrefix = AbstractJdbcBatchMetadataDao.DEFAULT_TABLE_PREFIX;
 
+	private String taskTablePrefix = TaskProperties.DEFAULT_TABLE_PREFIX;
+
 	private DataFieldMaxValueIncrementerFactory incrementerFactory;
 
 	private int maxVarCharLength = AbstractJdbcBatchMetadataDao.DEFAULT_EXIT_MESSAGE_LENGTH;
@@ -143,6 +146,15 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 		this.tablePrefix = tablePrefix;
 	}
 
+	/**
+	 * Sets the table prefix of the task tables, which link the job executions to the
+	 * task executions that ran them.
+	 * @param taskTablePrefix Prefix for task tables
+	 */
+	public void setTaskTablePrefix(String taskTablePrefix) {
+		this.taskTablePrefix = taskTablePrefix;
+	}
+
 	/**
 	 * A factory for incrementers (used to build primary keys for meta data).
 	 * Defaults to {@link DefaultDataFieldMaxValueIncrementerFactory}.
@@ -241,6 +253,7 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 		dao.setJobExecutionIncrementer(incrementerFactory.getIncrementer(databaseType, tablePrefix
 				+ "JOB_EXECUTION_SEQ"));
 		dao.setTablePrefix(tablePrefix);
+		dao.setTaskTablePrefix(taskTablePrefix);
 		dao.setClobTypeToUse(determineClobTypeToUse(this.databaseType));
 		dao.setExitMessageLength(maxVarCharLength);
 		dao.afterPropertiesSet();
@@ -295,7 +308,8 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 		JsrJobOperator jsrJobOperator = new JsrJobOperator(jobExplorer, jobRepository, jobParametersConverter, transactionManager);
 		jsrJobOperator.afterPropertiesSet();
 		return new SimpleJobService(createJobInstanceDao(), createJobExecutionDao(), createStepExecutionDao(),
-				jobRepository, jobLauncher, jobLocator, createExecutionContextDao(), jsrJobOperator);
+				jobRepository, jobLauncher, jobLocator, createExecutionContextDao(), jsrJobOperator,
+				new JobCatalog(jdbcTemplate, tablePrefix));
 	}
 
 	/**
@@ -22,6 +22,8 @@ import java.util.concurrent.ForkJoinPool;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -44,7 +46,6 @@ import org.springframework.cloud.dataflow.completion.TaskCompletionProvider;
 import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConfigurationMetadataResolver;
 import org.springframework.cloud.dataflow.registry.repository.AppRegistrationRepository;
 import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
-import org.springframework.cloud.dataflow.registry.service.DefaultAppRegistryService;
 import org.springframework.cloud.dataflow.registry.support.AppResourceCommon;
 import org.springframework.cloud.dataflow.server.DockerValidatorProperties;
 import org.springframework.cloud.dataflow.server.TaskValidationController;
@@ -67,34 +68,61 @@ import org.springframework.cloud.dataflow.server.controller.RootController;
 import org.springframework.cloud.dataflow.server.controller.RuntimeAppInstanceController;
 import org.springframework.cloud.dataflow.server.controller.RuntimeAppsController;
 import org.springframework.cloud.dataflow.server.controller.RuntimeStreamsController;
+import org.springframework.cloud.dataflow.server.controller.StreamBulkOperationController;
 import org.springframework.cloud.dataflow.server.controller.StreamDefinitionController;
 import org.springframework.cloud.dataflow.server.controller.StreamDeploymentController;
+import org.springframework.cloud.dataflow.server.controller.StreamDeploymentOperationController;
 import org.springframework.cloud.dataflow.server.controller.StreamValidationController;
 import org.springframework.cloud.dataflow.server.controller.TaskDefinitionController;
 import org.springframework.cloud.dataflow.server.controller.TaskExecutionController;
+import org.springframework.cloud.dataflow.server.controller.TaskLaunchQueueController;
 import org.springframework.cloud.dataflow.server.controller.TaskPlatformController;
+import org.springframework.cloud.dataflow.server.controller.TaskRetentionController;
 import org.springframework.cloud.dataflow.server.controller.TaskSchedulerController;
 import org.springframework.cloud.dataflow.server.controller.ToolsController;
 import org.springframework.cloud.dataflow.server.controller.UiController;
 import org.springframework.cloud.dataflow.server.controller.security.SecurityController;
+import org.springframework.cloud.dataflow.server.controller.support.EntityTagProperties;
+import org.springframework.cloud.dataflow.server.controller.support.StatusSnapshot;
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
+import org.springframework.cloud.dataflow.server.repository.ResourceVersionRepository;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
+import org.springframework.cloud.dataflow.server.repository.support.ResourceVersionTrackingPostProcessor;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheProperties;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheService;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
 import org.springframework.cloud.dataflow.server.service.SchedulerService;
 import org.springframework.cloud.dataflow.server.service.SpringSecurityAuditorAware;
+import org.springframework.cloud.dataflow.server.service.StreamBulkOperationService;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationProperties;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationService;
 import org.springframework.cloud.dataflow.server.service.StreamService;
 import org.springframework.cloud.dataflow.server.service.StreamValidationService;
 import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
 import org.springframework.cloud.dataflow.server.service.TaskJobService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionService;
 import org.springframework.cloud.dataflow.server.service.TaskSaveService;
 import org.springframework.cloud.dataflow.server.service.TaskValidationService;
 import org.springframework.cloud.dataflow.server.service.impl.AppDeploymentRequestCreator;
+import org.springframework.cloud.dataflow.server.service.impl.CacheTrackingAppRegistryService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultAppResourceCacheService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultResourceVersionService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultStreamBulkOperationService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultStreamDeploymentOperationService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultStreamService;
+import org.springframework.cloud.dataflow.server.service.impl.StreamConfigurationProperties;
 import org.springframework.cloud.dataflow.server.service.impl.TaskConfigurationProperties;
 import org.springframework.cloud.dataflow.server.service.impl.validation.DefaultStreamValidationService;
 import org.springframework.cloud.dataflow.server.service.impl.validation.DefaultTaskValidationService;
+import org.springframework.cloud.dataflow.server.stream.SkipperCatalog;
+import org.springframework.cloud.dataflow.server.stream.SkipperCatalogProperties;
+import org.springframework.cloud.dataflow.server.stream.SkipperClientHttpProperties;
+import org.springframework.cloud.dataflow.server.stream.SkipperClientHttpRequestFactory;
+import org.springframework.cloud.dataflow.server.stream.SkipperClientMetricsInterceptor;
 import org.springframework.cloud.dataflow.server.stream.SkipperStreamDeployer;
 import org.springframework.cloud.dataflow.server.stream.StreamDeployer;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
@@ -134,7 +162,8 @@ import org.springframework.web.client.RestTemplate;
 @Import(CompletionConfiguration.class)
 @ConditionalOnBean({ EnableDataFlowServerConfiguration.Marker.class })
 @EnableConfigurationProperties({ FeaturesProperties.class, VersionInfoProperties.class,
-		DockerValidatorProperties.class, GrafanaInfoProperties.class })
+		DockerValidatorProperties.class, GrafanaInfoProperties.class, AppResourceCacheProperties.class,
+		EntityTagProperties.class })
 @ConditionalOnProperty(prefix = "dataflow.server", name = "enabled", havingValue = "true", matchIfMissing = true)
 @EntityScan({
 		"org.springframework.cloud.dataflow.core"
@@ -150,6 +179,21 @@ public class DataFlowControllerAutoConfiguration {
 
 	private static Log logger = LogFactory.getLog(DataFlowControllerAutoConfiguration.class);
 
+	@Bean
+	public static ResourceVersionTrackingPostProcessor resourceVersionTrackingPostProcessor() {
+		return new ResourceVersionTrackingPostProcessor();
+	}
+
+	@Bean
+	public ResourceVersionService resourceVersionService(ResourceVersionRepository resourceVersionRepository) {
+		return new DefaultResourceVersionService(resourceVersionRepository);
+	}
+
+	private static ResourceVersionService taggingResourceVersions(EntityTagProperties entityTagProperties,
+			ResourceVersionService resourceVersionService) {
+		return entityTagProperties.isEnabled() ? resourceVersionService : null;
+	}
+
 	@Bean
 	public RootController rootController(EntityLinks entityLinks) {
 		return new RootController(entityLinks);
@@ -206,8 +250,26 @@ public class DataFlowControllerAutoConfiguration {
 
 		@Bean
 		public AppRegistryService appRegistryService(AppRegistrationRepository appRegistrationRepository,
-				AppResourceCommon appResourceCommon, AuditRecordService auditRecordService) {
-			return new DefaultAppRegistryService(appRegistrationRepository, appResourceCommon, auditRecordService);
+				AppResourceCommon appResourceCommon, AuditRecordService auditRecordService,
+				ObjectProvider<AppResourceCacheService> appResourceCacheService) {
+			return new CacheTrackingAppRegistryService(appRegistrationRepository, appResourceCommon,
+					auditRecordService, appResourceCacheService);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(name = "appResourceCacheFJPFB")
+		public ForkJoinPoolFactoryBean appResourceCacheFJPFB(AppResourceCacheProperties appResourceCacheProperties) {
+			ForkJoinPoolFactoryBean forkJoinPoolFactoryBean = new ForkJoinPoolFactoryBean();
+			forkJoinPoolFactoryBean.setParallelism(appResourceCacheProperties.getConcurrency());
+			return forkJoinPoolFactoryBean;
+		}
+
+		@Bean
+		public AppResourceCacheService appResourceCacheService(AppRegistryService appRegistry,
+				AppResourceCommon appResourceCommon, AppResourceCacheProperties appResourceCacheProperties,
+				ForkJoinPool appResourceCacheFJPFB) {
+			return new DefaultAppResourceCacheService(appRegistry, appResourceCommon, appResourceCacheProperties,
+					appResourceCacheFJPFB);
 		}
 
 		@Bean
@@ -215,11 +277,13 @@ public class DataFlowControllerAutoConfiguration {
 				Optional<StreamDefinitionRepository> streamDefinitionRepository,
 				Optional<StreamService> streamService,
 				AppRegistryService appRegistry, ApplicationConfigurationMetadataResolver metadataResolver,
-				ForkJoinPool appRegistryFJPFB) {
+				ForkJoinPool appRegistryFJPFB, AppResourceCacheService appResourceCacheService,
+				ResourceVersionService resourceVersionService, EntityTagProperties entityTagProperties) {
 			return new AppRegistryController(streamDefinitionRepository,
 					streamService,
 					appRegistry,
-					metadataResolver, appRegistryFJPFB);
+					metadataResolver, appRegistryFJPFB, appResourceCacheService,
+					taggingResourceVersions(entityTagProperties, resourceVersionService));
 		}
 	}
 
@@ -237,6 +301,16 @@ public class DataFlowControllerAutoConfiguration {
 					taskDeleteService);
 		}
 
+		@Bean
+		public TaskLaunchQueueController taskLaunchQueueController(TaskLaunchQueueService taskLaunchQueueService) {
+			return new TaskLaunchQueueController(taskLaunchQueueService);
+		}
+
+		@Bean
+		public TaskRetentionController taskRetentionController(TaskRetentionService taskRetentionService) {
+			return new TaskRetentionController(taskRetentionService);
+		}
+
 		@Bean
 		public TaskPlatformController taskLauncherController(LauncherRepository launcherRepository) {
 			return new TaskPlatformController(launcherRepository);
@@ -245,8 +319,11 @@ public class DataFlowControllerAutoConfiguration {
 		@Bean
 		public TaskDefinitionController taskDefinitionController(TaskExplorer taskExplorer,
 				TaskDefinitionRepository repository, TaskSaveService taskSaveService,
-				TaskDeleteService taskDeleteService) {
-			return new TaskDefinitionController(taskExplorer, repository, taskSaveService, taskDeleteService);
+				TaskDeleteService taskDeleteService, ResourceVersionService resourceVersionService,
+				EntityTagProperties entityTagProperties) {
+			return new TaskDefinitionController(taskExplorer, repository, taskSaveService, taskDeleteService,
+					taggingResourceVersions(entityTagProperties, resourceVersionService),
+					StatusSnapshot.ofTaskExecutions(taskExplorer, entityTagProperties.getStatusTtlInSeconds()));
 		}
 
 		@Bean
@@ -293,16 +370,29 @@ public class DataFlowControllerAutoConfiguration {
 
 	@Configuration
 	@ConditionalOnStreamsEnabled
-	@EnableConfigurationProperties(SkipperClientProperties.class)
+	@EnableConfigurationProperties({ SkipperClientProperties.class, SkipperClientHttpProperties.class,
+			SkipperCatalogProperties.class, StreamDeploymentOperationProperties.class,
+			StreamConfigurationProperties.class })
 	public static class StreamEnabledConfiguration {
 
+		@Bean
+		@ConditionalOnMissingBean(name = "streamValidationFJPFB")
+		public ForkJoinPoolFactoryBean streamValidationFJPFB(
+				StreamConfigurationProperties streamConfigurationProperties) {
+			ForkJoinPoolFactoryBean forkJoinPoolFactoryBean = new ForkJoinPoolFactoryBean();
+			forkJoinPoolFactoryBean.setParallelism(streamConfigurationProperties.getValidationParallelism());
+			return forkJoinPoolFactoryBean;
+		}
+
 		@Bean
 		public StreamValidationService streamValidationService(AppRegistryService appRegistry,
 				DockerValidatorProperties dockerValidatorProperties,
-				StreamDefinitionRepository streamDefinitionRepository) {
+				StreamDefinitionRepository streamDefinitionRepository,
+				ForkJoinPool streamValidationFJPFB) {
 			return new DefaultStreamValidationService(appRegistry,
 					dockerValidatorProperties,
-					streamDefinitionRepository);
+					streamDefinitionRepository,
+					streamValidationFJPFB);
 		}
 
 		@Bean
@@ -310,10 +400,18 @@ public class DataFlowControllerAutoConfiguration {
 			return new RuntimeAppInstanceController(streamDeployer);
 		}
 
+		@Bean
+		public StatusSnapshot appStatusSnapshot(StreamDeployer streamDeployer,
+				EntityTagProperties entityTagProperties) {
+			return StatusSnapshot.ofAppStatuses(streamDeployer, entityTagProperties.getStatusTtlInSeconds());
+		}
+
 		@Bean
 		public StreamDefinitionController streamDefinitionController(StreamDefinitionRepository repository,
-				StreamService streamService) {
-			return new StreamDefinitionController(streamService);
+				StreamService streamService, ResourceVersionService resourceVersionService,
+				EntityTagProperties entityTagProperties, StatusSnapshot appStatusSnapshot) {
+			return new StreamDefinitionController(streamService,
+					taggingResourceVersions(entityTagProperties, resourceVersionService), appStatusSnapshot);
 		}
 
 		@Bean
@@ -322,8 +420,11 @@ public class DataFlowControllerAutoConfiguration {
 		}
 
 		@Bean
-		public RuntimeAppsController runtimeAppsController(StreamDeployer streamDeployer) {
-			return new RuntimeAppsController(streamDeployer);
+		public RuntimeAppsController runtimeAppsController(StreamDeployer streamDeployer,
+				ResourceVersionService resourceVersionService, EntityTagProperties entityTagProperties,
+				StatusSnapshot appStatusSnapshot) {
+			return new RuntimeAppsController(streamDeployer,
+					taggingResourceVersions(entityTagProperties, resourceVersionService), appStatusSnapshot);
 		}
 
 		@Bean
@@ -341,13 +442,69 @@ public class DataFlowControllerAutoConfiguration {
 
 		@Bean
 		public StreamDeploymentController updatableStreamDeploymentController(
-				StreamDefinitionRepository repository, StreamService streamService) {
-			return new StreamDeploymentController(repository, streamService);
+				StreamDefinitionRepository repository, StreamService streamService,
+				StreamDeploymentOperationService streamDeploymentOperationService) {
+			return new StreamDeploymentController(repository, streamService, streamDeploymentOperationService);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(name = "streamDeploymentFJPFB")
+		public ForkJoinPoolFactoryBean streamDeploymentFJPFB(
+				StreamDeploymentOperationProperties streamDeploymentOperationProperties) {
+			ForkJoinPoolFactoryBean forkJoinPoolFactoryBean = new ForkJoinPoolFactoryBean();
+			forkJoinPoolFactoryBean.setParallelism(streamDeploymentOperationProperties.getConcurrency());
+			return forkJoinPoolFactoryBean;
+		}
+
+		@Bean
+		public StreamDeploymentOperationService streamDeploymentOperationService(StreamService streamService,
+				StreamDefinitionRepository streamDefinitionRepository,
+				StreamDeploymentOperationProperties streamDeploymentOperationProperties,
+				ForkJoinPool streamDeploymentFJPFB) {
+			return new DefaultStreamDeploymentOperationService(streamService, streamDefinitionRepository,
+					streamDeploymentOperationProperties, streamDeploymentFJPFB);
+		}
+
+		@Bean
+		public StreamDeploymentOperationController streamDeploymentOperationController(
+				StreamDeploymentOperationService streamDeploymentOperationService) {
+			return new StreamDeploymentOperationController(streamDeploymentOperationService);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(name = "streamBulkOperationFJPFB")
+		public ForkJoinPoolFactoryBean streamBulkOperationFJPFB(
+				StreamConfigurationProperties streamConfigurationProperties) {
+			ForkJoinPoolFactoryBean forkJoinPoolFactoryBean = new ForkJoinPoolFactoryBean();
+			forkJoinPoolFactoryBean.setParallelism(streamConfigurationProperties.getBulkOperationParallelism());
+			return forkJoinPoolFactoryBean;
+		}
+
+		@Bean
+		public StreamBulkOperationService streamBulkOperationService(StreamService streamService,
+				StreamDefinitionRepository streamDefinitionRepository, ForkJoinPool streamBulkOperationFJPFB) {
+			return new DefaultStreamBulkOperationService(streamService, streamDefinitionRepository,
+					streamBulkOperationFJPFB);
+		}
+
+		@Bean
+		public StreamBulkOperationController streamBulkOperationController(
+				StreamBulkOperationService streamBulkOperationService) {
+			return new StreamBulkOperationController(streamBulkOperationService);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(name = "skipperClientHttpRequestFactory")
+		public SkipperClientHttpRequestFactory skipperClientHttpRequestFactory(
+				SkipperClientHttpProperties skipperClientHttpProperties) {
+			return new SkipperClientHttpRequestFactory(skipperClientHttpProperties);
 		}
 
 		@Bean
 		public SkipperClient skipperClient(SkipperClientProperties properties,
-				RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper) {
+				RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
+				SkipperClientHttpRequestFactory skipperClientHttpRequestFactory,
+				ObjectProvider<MeterRegistry> meterRegistry) {
 
 			// TODO (Tzolov) review the manual Hal convertion configuration
 			objectMapper.registerModule(new Jackson2HalModule());
@@ -356,8 +513,10 @@ public class DataFlowControllerAutoConfiguration {
 			objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
 			RestTemplate restTemplate = restTemplateBuilder
+					.requestFactory(() -> skipperClientHttpRequestFactory)
 					.errorHandler(new SkipperClientResponseErrorHandler(objectMapper))
-					.interceptors(new OAuth2AccessTokenProvidingClientHttpRequestInterceptor())
+					.interceptors(new SkipperClientMetricsInterceptor(meterRegistry.getIfAvailable(SimpleMeterRegistry::new)),
+							new OAuth2AccessTokenProvidingClientHttpRequestInterceptor())
 					.messageConverters(Arrays.asList(new StringHttpMessageConverter(),
 							new MappingJackson2HttpMessageConverter(objectMapper)))
 					.build();
@@ -365,23 +524,41 @@ public class DataFlowControllerAutoConfiguration {
 			return new DefaultSkipperClient(properties.getServerUri(), restTemplate);
 		}
 
+		@Bean
+		public SkipperCatalog skipperCatalog(SkipperClient skipperClient,
+				SkipperCatalogProperties skipperCatalogProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+			return new SkipperCatalog(skipperClient, skipperCatalogProperties.getTtlInSeconds(),
+					meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+		}
+
 		@Bean
 		public SkipperStreamDeployer skipperStreamDeployer(SkipperClient skipperClient,
 				StreamDefinitionRepository streamDefinitionRepository,
 				SkipperClientProperties skipperClientProperties,
 				AppRegistryService appRegistryService,
-				ForkJoinPool runtimeAppsStatusFJPFB) {
+				ForkJoinPool runtimeAppsStatusFJPFB, SkipperCatalog skipperCatalog) {
 			logger.info("Skipper URI [" + skipperClientProperties.getServerUri() + "]");
 			return new SkipperStreamDeployer(skipperClient, streamDefinitionRepository, appRegistryService,
-					runtimeAppsStatusFJPFB);
+					runtimeAppsStatusFJPFB, skipperCatalog);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(name = "appDeploymentRequestFJPFB")
+		public ForkJoinPoolFactoryBean appDeploymentRequestFJPFB(
+				StreamConfigurationProperties streamConfigurationProperties) {
+			ForkJoinPoolFactoryBean forkJoinPoolFactoryBean = new ForkJoinPoolFactoryBean();
+			forkJoinPoolFactoryBean.setParallelism(streamConfigurationProperties.getAppResolutionParallelism());
+			return forkJoinPoolFactoryBean;
 		}
 
 		@Bean
 		public AppDeploymentRequestCreator streamDeploymentPropertiesUtils(AppRegistryService appRegistry,
 				CommonApplicationProperties commonApplicationProperties,
-				ApplicationConfigurationMetadataResolver applicationConfigurationMetadataResolver) {
+				ApplicationConfigurationMetadataResolver applicationConfigurationMetadataResolver,
+				ForkJoinPool appDeploymentRequestFJPFB, ObjectProvider<MeterRegistry> meterRegistry) {
 			return new AppDeploymentRequestCreator(appRegistry, commonApplicationProperties,
-					applicationConfigurationMetadataResolver);
+					applicationConfigurationMetadataResolver, appDeploymentRequestFJPFB,
+					meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
 		}
 
 		@Bean
@@ -389,9 +566,10 @@ public class DataFlowControllerAutoConfiguration {
 				StreamDefinitionRepository streamDefinitionRepository,
 				SkipperStreamDeployer skipperStreamDeployer, AppDeploymentRequestCreator appDeploymentRequestCreator,
 				StreamValidationService streamValidationService,
-				AuditRecordService auditRecordService) {
+				AuditRecordService auditRecordService, ResourceVersionService resourceVersionService) {
 			return new DefaultStreamService(streamDefinitionRepository, skipperStreamDeployer,
-					appDeploymentRequestCreator, streamValidationService, auditRecordService);
+					appDeploymentRequestCreator, streamValidationService, auditRecordService,
+					resourceVersionService);
 		}
 	}
 
@@ -18,16 +18,25 @@ package org.springframework.cloud.dataflow.server.config.features;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.sql.DataSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.batch.core.configuration.support.MapJobRegistry;
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
 import org.springframework.batch.core.launch.support.SimpleJobLauncher;
 import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.dataflow.audit.service.AuditRecordService;
@@ -43,29 +52,39 @@ import org.springframework.cloud.dataflow.server.config.apps.CommonApplicationPr
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDeploymentRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskLaunchQueueRepository;
 import org.springframework.cloud.dataflow.server.service.LauncherInitializationService;
 import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionCreationService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
 import org.springframework.cloud.dataflow.server.service.TaskJobService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchAdmissionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionProperties;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionService;
 import org.springframework.cloud.dataflow.server.service.TaskSaveService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionRepositoryService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskJobService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskLaunchAdmissionService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskRetentionService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskSaveService;
 import org.springframework.cloud.dataflow.server.service.impl.TaskAppDeploymentRequestCreator;
 import org.springframework.cloud.dataflow.server.service.impl.TaskConfigurationProperties;
 import org.springframework.cloud.deployer.spi.local.LocalDeployerProperties;
 import org.springframework.cloud.deployer.spi.local.LocalTaskLauncher;
+import org.springframework.cloud.task.configuration.TaskProperties;
 import org.springframework.cloud.task.repository.TaskExplorer;
 import org.springframework.cloud.task.repository.TaskRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.map.repository.config.EnableMapRepositories;
+import org.springframework.scheduling.concurrent.ForkJoinPoolFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.util.StringUtils;
@@ -82,7 +101,7 @@ import org.springframework.util.StringUtils;
 @Configuration
 @ConditionalOnTasksEnabled
 @EnableConfigurationProperties({ TaskConfigurationProperties.class, CommonApplicationProperties.class,
-		DockerValidatorProperties.class, LocalPlatformProperties.class
+		DockerValidatorProperties.class, LocalPlatformProperties.class, TaskRetentionProperties.class
 })
 @EnableMapRepositories(basePackages = "org.springframework.cloud.dataflow.server.job")
 @EnableTransactionManagement
@@ -139,13 +158,24 @@ public class TaskConfiguration {
 				taskDefinitionRepository, taskConfigurationProperties);
 	}
 
+	@Bean
+	@ConditionalOnMissingBean(name = "taskDeleteFJPFB")
+	public ForkJoinPoolFactoryBean taskDeleteFJPFB(TaskConfigurationProperties taskConfigurationProperties) {
+		ForkJoinPoolFactoryBean forkJoinPoolFactoryBean = new ForkJoinPoolFactoryBean();
+		forkJoinPoolFactoryBean.setParallelism(taskConfigurationProperties.getBulkDeleteParallelism());
+		return forkJoinPoolFactoryBean;
+	}
+
 	@Bean
 	public TaskDeleteService deleteTaskService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
 			TaskDefinitionRepository taskDefinitionRepository, TaskDeploymentRepository taskDeploymentRepository,
-			AuditRecordService auditRecordService) {
-		return new DefaultTaskDeleteService(taskExplorer, launcherRepository, taskDefinitionRepository,
-				taskDeploymentRepository,
-				auditRecordService);
+			AuditRecordService auditRecordService, DataSource dataSource, ForkJoinPool taskDeleteFJPFB,
+			ObjectProvider<TaskProperties> taskProperties, TaskExecutionInfoService taskExecutionInfoService) {
+		DefaultTaskDeleteService taskDeleteService = new DefaultTaskDeleteService(taskExplorer, launcherRepository,
+				taskDefinitionRepository, taskDeploymentRepository, auditRecordService, dataSource, taskDeleteFJPFB);
+		taskDeleteService.setTaskExecutionInfoService(taskExecutionInfoService);
+		taskProperties.ifAvailable(properties -> taskDeleteService.setTaskTablePrefix(properties.getTablePrefix()));
+		return taskDeleteService;
 	}
 
 	@Bean
@@ -167,6 +197,22 @@ public class TaskConfiguration {
 				metadataResolver, dataflowServerUri);
 	}
 
+	@Bean
+	public TaskLaunchAdmissionService taskLaunchAdmissionService(TaskExplorer taskExplorer,
+			LauncherRepository launcherRepository, TaskDeploymentRepository taskDeploymentRepository,
+			TaskConfigurationProperties taskConfigurationProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new DefaultTaskLaunchAdmissionService(taskExplorer, launcherRepository, taskDeploymentRepository,
+				taskConfigurationProperties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(name = "taskLaunchFJPFB")
+	public ForkJoinPoolFactoryBean taskLaunchFJPFB(TaskConfigurationProperties taskConfigurationProperties) {
+		ForkJoinPoolFactoryBean forkJoinPoolFactoryBean = new ForkJoinPoolFactoryBean();
+		forkJoinPoolFactoryBean.setParallelism(taskConfigurationProperties.getBulkLaunchParallelism());
+		return forkJoinPoolFactoryBean;
+	}
+
 	@Bean
 	public TaskExecutionService taskService(LauncherRepository launcherRepository,
 			AuditRecordService auditRecordService,
@@ -174,11 +220,45 @@ public class TaskConfiguration {
 			TaskExecutionInfoService taskExecutionInfoService,
 			TaskDeploymentRepository taskDeploymentRepository,
 			TaskExecutionCreationService taskExecutionRepositoryService,
-			TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator) {
+			TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator,
+			TaskLaunchAdmissionService taskLaunchAdmissionService,
+			ForkJoinPool taskLaunchFJPFB) {
 		return new DefaultTaskExecutionService(
 				launcherRepository, auditRecordService, taskRepository,
 				taskExecutionInfoService, taskDeploymentRepository, taskExecutionRepositoryService,
-				taskAppDeploymentRequestCreator);
+				taskAppDeploymentRequestCreator, taskLaunchAdmissionService, taskLaunchFJPFB);
+	}
+
+	@Bean
+	public TaskLaunchQueueService taskLaunchQueueService(TaskLaunchQueueRepository taskLaunchQueueRepository,
+			TaskDefinitionRepository taskDefinitionRepository, TaskExecutionService taskExecutionService,
+			TaskConfigurationProperties taskConfigurationProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+		DefaultTaskLaunchQueueService taskLaunchQueueService = new DefaultTaskLaunchQueueService(
+				taskLaunchQueueRepository, taskDefinitionRepository, taskExecutionService,
+				taskConfigurationProperties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+		Object target = AopUtils.isAopProxy(taskExecutionService)
+				? AopProxyUtils.getSingletonTarget(taskExecutionService) : taskExecutionService;
+		if (target instanceof DefaultTaskExecutionService) {
+			((DefaultTaskExecutionService) target).setTaskLaunchQueueService(taskLaunchQueueService);
+		}
+		return taskLaunchQueueService;
+	}
+
+	@Bean
+	public TaskRetentionService taskRetentionService(DataSource dataSource,
+			PlatformTransactionManager platformTransactionManager, TaskRetentionProperties taskRetentionProperties,
+			ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<TaskProperties> taskProperties,
+			ObjectProvider<BatchProperties> batchProperties) {
+		DefaultTaskRetentionService taskRetentionService = new DefaultTaskRetentionService(dataSource,
+				platformTransactionManager, taskRetentionProperties,
+				meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+		taskProperties.ifAvailable(properties -> taskRetentionService.setTaskTablePrefix(properties.getTablePrefix()));
+		batchProperties.ifAvailable(properties -> {
+			if (StringUtils.hasText(properties.getTablePrefix())) {
+				taskRetentionService.setBatchTablePrefix(properties.getTablePrefix());
+			}
+		});
+		return taskRetentionService;
 	}
 
 	@Bean
@@ -192,7 +272,8 @@ public class TaskConfiguration {
 	@Bean
 	public SimpleJobServiceFactoryBean simpleJobServiceFactoryBean(DataSource dataSource,
 			JobRepositoryFactoryBean repositoryFactoryBean, JobExplorer jobExplorer,
-			PlatformTransactionManager dataSourceTransactionManager) throws Exception {
+			PlatformTransactionManager dataSourceTransactionManager, ObjectProvider<TaskProperties> taskProperties)
+			throws Exception {
 		SimpleJobServiceFactoryBean factoryBean = new SimpleJobServiceFactoryBean();
 		factoryBean.setDataSource(dataSource);
 		factoryBean.setJobRepository(repositoryFactoryBean.getObject());
@@ -201,6 +282,7 @@ public class TaskConfiguration {
 		factoryBean.setDataSource(dataSource);
 		factoryBean.setJobExplorer(jobExplorer);
 		factoryBean.setTransactionManager(dataSourceTransactionManager);
+		taskProperties.ifAvailable(properties -> factoryBean.setTaskTablePrefix(properties.getTablePrefix()));
 		return factoryBean;
 	}
 
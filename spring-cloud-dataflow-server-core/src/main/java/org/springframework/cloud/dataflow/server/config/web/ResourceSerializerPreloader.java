@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.config.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Builds the Jackson serializers of the REST resources when the server starts. Jackson
+ * introspects a type and builds its serializer on the first serialization of that type
+ * and then reuses it, so that without this the first listing of each kind of resource
+ * pays for the introspection of the resource and of its nested types.
+ */
+class ResourceSerializerPreloader implements SmartInitializingSingleton {
+
+	static final String RESOURCE_PACKAGE = "org.springframework.cloud.dataflow.rest.resource";
+
+	private static final Log logger = LogFactory.getLog(ResourceSerializerPreloader.class);
+
+	private final ObjectMapper objectMapper;
+
+	ResourceSerializerPreloader(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+		scanner.addIncludeFilter(new AssignableTypeFilter(ResourceSupport.class));
+		int preloaded = 0;
+		for (BeanDefinition candidate : scanner.findCandidateComponents(RESOURCE_PACKAGE)) {
+			if (preload(ClassUtils.resolveClassName(candidate.getBeanClassName(), getClass().getClassLoader()))) {
+				preloaded++;
+			}
+		}
+		if (preload(PagedResources.class)) {
+			preloaded++;
+		}
+		logger.debug("Preloaded the serializers of " + preloaded + " resource types");
+	}
+
+	private boolean preload(Class<?> type) {
+		try {
+			return this.objectMapper.canSerialize(type);
+		}
+		catch (RuntimeException e) {
+			logger.debug("Could not preload the serializer of " + type.getName(), e);
+			return false;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -108,6 +109,11 @@ public class WebConfiguration implements ServletContextInitializer, ApplicationL
 				Arrays.<HttpMessageConverter<?>>asList(new MappingJackson2HttpMessageConverter(objectMapper)));
 	}
 
+	@Bean
+	public SmartInitializingSingleton resourceSerializerPreloader(ObjectMapper objectMapper) {
+		return new ResourceSerializerPreloader(objectMapper);
+	}
+
 	@Bean
 	public WebMvcConfigurer configurer() {
 		return new WebMvcConfigurer() {
@@ -45,9 +45,14 @@ import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
 import org.springframework.cloud.dataflow.registry.service.DefaultAppRegistryService;
 import org.springframework.cloud.dataflow.registry.support.NoSuchAppRegistrationException;
 import org.springframework.cloud.dataflow.rest.SkipperStream;
+import org.springframework.cloud.dataflow.rest.resource.AppCacheEntryResource;
 import org.springframework.cloud.dataflow.rest.resource.AppRegistrationResource;
 import org.springframework.cloud.dataflow.rest.resource.DetailedAppRegistrationResource;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheEntry;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheService;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
 import org.springframework.cloud.dataflow.server.service.StreamService;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -57,7 +62,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import org.springframework.hateoas.Resources;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -67,6 +72,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Handles all {@link DefaultAppRegistryService} related interactions.
@@ -99,18 +105,48 @@ public class AppRegistryController {
 
 	private ForkJoinPool forkJoinPool;
 
+	private final AppResourceCacheService appResourceCacheService;
+
+	private final ResourceVersionService resourceVersionService;
+
 	private ResourceLoader resourceLoader = new DefaultResourceLoader();
 
 	public AppRegistryController(Optional<StreamDefinitionRepository> streamDefinitionRepository,
 			Optional<StreamService> streamService,
 			AppRegistryService appRegistryService,
 			ApplicationConfigurationMetadataResolver metadataResolver,
-			ForkJoinPool forkJoinPool) {
+			ForkJoinPool forkJoinPool, AppResourceCacheService appResourceCacheService) {
+		this(streamDefinitionRepository, streamService, appRegistryService, metadataResolver, forkJoinPool,
+				appResourceCacheService, null);
+	}
+
+	/**
+	 * Create an {@code AppRegistryController} that tags the list of app registrations with
+	 * the version of the registrations, and answers the conditional requests for an
+	 * unchanged list with a {@code 304 Not Modified} response.
+	 *
+	 * @param streamDefinitionRepository the repository of the stream definitions, if streams are enabled
+	 * @param streamService the stream service, if streams are enabled
+	 * @param appRegistryService the app registry service
+	 * @param metadataResolver the resolver of the app metadata
+	 * @param forkJoinPool the pool used to import app registrations
+	 * @param appResourceCacheService the app resource cache service
+	 * @param resourceVersionService the versions of the resource collections, if null the
+	 * list is not tagged
+	 */
+	public AppRegistryController(Optional<StreamDefinitionRepository> streamDefinitionRepository,
+			Optional<StreamService> streamService,
+			AppRegistryService appRegistryService,
+			ApplicationConfigurationMetadataResolver metadataResolver,
+			ForkJoinPool forkJoinPool, AppResourceCacheService appResourceCacheService,
+			ResourceVersionService resourceVersionService) {
+		this.resourceVersionService = resourceVersionService;
 		this.streamDefinitionRepository = streamDefinitionRepository.isPresent() ? streamDefinitionRepository.get() : null;
 		this.streamService = streamService.isPresent() ? streamService.get() : null;
 		this.appRegistryService = appRegistryService;
 		this.metadataResolver = metadataResolver;
 		this.forkJoinPool = forkJoinPool;
+		this.appResourceCacheService = appResourceCacheService;
 	}
 
 	/**
@@ -121,16 +157,20 @@ public class AppRegistryController {
 	 * @param pagedResourcesAssembler the resource assembler for app registrations
 	 * @param type the application type: source, sink, processor, task
 	 * @param search optional findByTaskNameContains parameter
-	 * @return the list of registered applications
+	 * @param request the request, checked for an up to date entity tag
+	 * @return the list of registered applications, null if the entity tag of the client is up to date
 	 */
 	@RequestMapping(method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<? extends AppRegistrationResource> list(
 			Pageable pageable,
 			PagedResourcesAssembler<AppRegistration> pagedResourcesAssembler,
 			@RequestParam(value = "type", required = false) ApplicationType type,
-			@RequestParam(required = false) String search) {
+			@RequestParam(required = false) String search, WebRequest request) {
 
+		if (this.resourceVersionService != null && request.checkNotModified("apps-"
+				+ this.resourceVersionService.getVersion(ResourceVersionService.APP_REGISTRATIONS))) {
+			return null;
+		}
 		Page<AppRegistration> pagedRegistrations = this.appRegistryService.findAllByTypeAndNameIsLike(type, search,
 				pageable);
 
@@ -209,7 +249,7 @@ public class AppRegistryController {
 		try {
 			AppRegistration registration = this.appRegistryService.save(name, type, version, new URI(uri),
 					metadataUri != null ? new URI(metadataUri) : null);
-			prefetchMetadata(Arrays.asList(registration));
+			prefetch(Arrays.asList(registration));
 		}
 		catch (URISyntaxException e) {
 			throw new IllegalArgumentException(e);
@@ -238,6 +278,9 @@ public class AppRegistryController {
 	public void makeDefault(@PathVariable("type") ApplicationType type, @PathVariable("name") String name,
 			@PathVariable("version") String version) {
 		this.appRegistryService.setDefaultApp(name, type, version);
+		if (this.appResourceCacheService.isEnabled()) {
+			this.appResourceCacheService.warmUp(Arrays.asList(this.appRegistryService.find(name, type, version)));
+		}
 	}
 
 	/**
@@ -392,10 +435,42 @@ public class AppRegistryController {
 		}
 
 		Collections.sort(registrations);
-		prefetchMetadata(registrations);
+		prefetch(registrations);
 		return pagedResourcesAssembler.toResource(this.appRegistryService.findAll(pageable), this.assembler);
 	}
 
+	/**
+	 * List the app artifacts kept in the local app resource cache.
+	 *
+	 * @return the cached app artifacts, most recently accessed last
+	 */
+	@RequestMapping(value = "/cache", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public Resources<AppCacheEntryResource> cache() {
+		List<AppCacheEntryResource> resources = new ArrayList<>();
+		for (AppResourceCacheEntry entry : this.appResourceCacheService.getEntries()) {
+			AppRegistration registration = entry.getAppRegistration();
+			resources.add(new AppCacheEntryResource(registration.getName(), registration.getType().name(),
+					registration.getVersion(), entry.getUri(), entry.isMetadata(), entry.isResident(),
+					entry.getSize(), entry.getLastAccessed()));
+		}
+		return new Resources<>(resources);
+	}
+
+	/**
+	 * Trigger early resolution of the artifacts of the given registrations. When the app
+	 * resource cache is enabled, both the app and metadata artifacts are fetched, otherwise
+	 * only the metadata artifacts are.
+	 */
+	private void prefetch(List<AppRegistration> appRegistrations) {
+		if (this.appResourceCacheService.isEnabled()) {
+			this.appResourceCacheService.warmUp(appRegistrations);
+		}
+		else {
+			prefetchMetadata(appRegistrations);
+		}
+	}
+
 	/**
 	 * Trigger early resolution of the metadata resource of registrations that have an
 	 * explicit metadata artifact. This assumes usage of
@@ -415,7 +490,7 @@ public class AppRegistryController {
 		});
 	}
 
-	class Assembler extends ResourceAssemblerSupport<AppRegistration, AppRegistrationResource> {
+	class Assembler extends TemplatedResourceAssemblerSupport<AppRegistration, AppRegistrationResource> {
 
 		public Assembler() {
 			super(AppRegistryController.class, AppRegistrationResource.class);
@@ -31,6 +31,7 @@ import org.springframework.cloud.dataflow.core.AuditOperationType;
 import org.springframework.cloud.dataflow.core.AuditRecord;
 import org.springframework.cloud.dataflow.rest.resource.AuditRecordResource;
 import org.springframework.cloud.dataflow.server.controller.support.InvalidDateRangeException;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.repository.NoSuchAuditRecordException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -38,7 +39,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -163,7 +163,7 @@ public class AuditRecordController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link AuditRecord}s to {@link AuditRecordResource}s.
 	 */
-	class Assembler extends ResourceAssemblerSupport<AuditRecord, AuditRecordResource> {
+	class Assembler extends TemplatedResourceAssemblerSupport<AuditRecord, AuditRecordResource> {
 
 		public Assembler(Page<AuditRecord> auditRecords) {
 			super(AuditRecordController.class, AuditRecordResource.class);
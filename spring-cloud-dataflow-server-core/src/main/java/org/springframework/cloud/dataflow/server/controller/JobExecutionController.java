@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,10 +25,13 @@ import org.springframework.batch.core.launch.NoSuchJobException;
 import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 import org.springframework.cloud.dataflow.rest.job.TaskJobExecution;
 import org.springframework.cloud.dataflow.rest.job.support.TimeUtils;
 import org.springframework.cloud.dataflow.rest.resource.JobExecutionResource;
 import org.springframework.cloud.dataflow.server.batch.JobService;
+import org.springframework.cloud.dataflow.server.controller.support.JobExecutionFilter;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.service.TaskJobService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -36,7 +39,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -78,18 +80,28 @@ public class JobExecutionController {
 	/**
 	 * Return a page-able list of {@link JobExecutionResource} defined jobs.
 	 *
+	 * @param filter the optional criteria the job executions must match
 	 * @param pageable page-able collection of {@code TaskJobExecution}s.
 	 * @param assembler for the {@link TaskJobExecution}s
 	 * @return a list of Task/Job executions
 	 * @throws NoSuchJobExecutionException in the event that a job execution id specified
 	 * is not present when looking up stepExecutions for the result.
+	 * @throws NoSuchJobException if the query names a job that does not exist.
 	 */
 	@RequestMapping(value = "", method = RequestMethod.GET, produces = "application/json")
 	@ResponseStatus(HttpStatus.OK)
-	public PagedResources<JobExecutionResource> list(Pageable pageable,
-			PagedResourcesAssembler<TaskJobExecution> assembler) throws NoSuchJobExecutionException {
-		List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutions(pageable);
-		Page<TaskJobExecution> page = new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutions());
+	public PagedResources<JobExecutionResource> list(JobExecutionFilter filter, Pageable pageable,
+			PagedResourcesAssembler<TaskJobExecution> assembler)
+			throws NoSuchJobExecutionException, NoSuchJobException {
+		JobExecutionQuery query = filter.toQuery();
+		Page<TaskJobExecution> page;
+		if (query.isEmpty()) {
+			List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutions(pageable);
+			page = new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutions());
+		}
+		else {
+			page = filter(pageable, query);
+		}
 		return assembler.toResource(page, jobAssembler);
 	}
 
@@ -97,6 +109,7 @@ public class JobExecutionController {
 	 * Retrieve all task job executions with the task name specified
 	 *
 	 * @param jobName name of the job
+	 * @param filter the optional criteria the job executions must also match
 	 * @param pageable page-able collection of {@code TaskJobExecution}s.
 	 * @param assembler for the {@link TaskJobExecution}s
 	 * @return list task/job executions with the specified jobName.
@@ -105,13 +118,25 @@ public class JobExecutionController {
 	@RequestMapping(value = "", method = RequestMethod.GET, params = "name", produces = "application/json")
 	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<JobExecutionResource> retrieveJobsByName(@RequestParam("name") String jobName,
-			Pageable pageable, PagedResourcesAssembler<TaskJobExecution> assembler) throws NoSuchJobException {
-		List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutionsForJob(pageable, jobName);
-		Page<TaskJobExecution> page = new PageImpl<>(jobExecutions, pageable,
-				taskJobService.countJobExecutionsForJob(jobName));
+			JobExecutionFilter filter, Pageable pageable, PagedResourcesAssembler<TaskJobExecution> assembler)
+			throws NoSuchJobException {
+		JobExecutionQuery query = filter.toQuery();
+		Page<TaskJobExecution> page;
+		if (query.isEmpty()) {
+			List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutionsForJob(pageable, jobName);
+			page = new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutionsForJob(jobName));
+		}
+		else {
+			page = filter(pageable, query.withJobName(jobName));
+		}
 		return assembler.toResource(page, jobAssembler);
 	}
 
+	private Page<TaskJobExecution> filter(Pageable pageable, JobExecutionQuery query) throws NoSuchJobException {
+		List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutions(pageable, query);
+		return new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutions(query));
+	}
+
 	/**
 	 * View the details of a single task execution, specified by id.
 	 *
@@ -167,7 +192,7 @@ public class JobExecutionController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link JobExecution}s to {@link JobExecutionResource}s.
 	 */
-	private static class Assembler extends ResourceAssemblerSupport<TaskJobExecution, JobExecutionResource> {
+	private static class Assembler extends TemplatedResourceAssemblerSupport<TaskJobExecution, JobExecutionResource> {
 
 		private TimeZone timeZone = TimeUtils.getDefaultTimeZone();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,10 +24,13 @@ import org.springframework.batch.core.launch.NoSuchJobException;
 import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 import org.springframework.cloud.dataflow.rest.job.TaskJobExecution;
 import org.springframework.cloud.dataflow.rest.job.support.TimeUtils;
 import org.springframework.cloud.dataflow.rest.resource.JobExecutionThinResource;
 import org.springframework.cloud.dataflow.server.batch.JobService;
+import org.springframework.cloud.dataflow.server.controller.support.JobExecutionFilter;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.service.TaskJobService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -35,7 +38,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -78,24 +80,35 @@ public class JobExecutionThinController {
 	 * Return a page-able list of {@link JobExecutionThinResource} defined jobs that
 	 * do not contain step execution detail.
 	 *
+	 * @param filter the optional criteria the job executions must match
 	 * @param pageable page-able collection of {@code TaskJobExecution}s.
 	 * @param assembler for the {@link TaskJobExecution}s
 	 * @return a list of Task/Job executions(job executions do not contain step executions.
 	 * @throws NoSuchJobExecutionException in the event that a job execution id specified
 	 * is not present when looking up stepExecutions for the result.
+	 * @throws NoSuchJobException if the query names a job that does not exist.
 	 */
 	@RequestMapping(value = "", method = RequestMethod.GET, produces = "application/json")
 	@ResponseStatus(HttpStatus.OK)
-	public PagedResources<JobExecutionThinResource> listJobsOnly(Pageable pageable,
-			PagedResourcesAssembler<TaskJobExecution> assembler) throws NoSuchJobExecutionException {
-		List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutionsWithStepCount(pageable);
-		Page<TaskJobExecution> page = new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutions());
+	public PagedResources<JobExecutionThinResource> listJobsOnly(JobExecutionFilter filter, Pageable pageable,
+			PagedResourcesAssembler<TaskJobExecution> assembler)
+			throws NoSuchJobExecutionException, NoSuchJobException {
+		JobExecutionQuery query = filter.toQuery();
+		Page<TaskJobExecution> page;
+		if (query.isEmpty()) {
+			List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutionsWithStepCount(pageable);
+			page = new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutions());
+		}
+		else {
+			page = filter(pageable, query);
+		}
 		return assembler.toResource(page, jobAssembler);
 	}
 	/**
 	 * Retrieve all task job executions with the task name specified
 	 *
 	 * @param jobName name of the job
+	 * @param filter the optional criteria the job executions must also match
 	 * @param pageable page-able collection of {@code TaskJobExecution}s.
 	 * @param assembler for the {@link TaskJobExecution}s
 	 * @return list task/job executions with the specified jobName.
@@ -104,20 +117,32 @@ public class JobExecutionThinController {
 	@RequestMapping(value = "", method = RequestMethod.GET, params = "name", produces = "application/json")
 	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<JobExecutionThinResource> retrieveJobsByName(@RequestParam("name") String jobName,
-			Pageable pageable, PagedResourcesAssembler<TaskJobExecution> assembler) throws NoSuchJobException {
-		List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutionsForJobWithStepCount(pageable, jobName);
-		Page<TaskJobExecution> page = new PageImpl<>(jobExecutions, pageable,
-				taskJobService.countJobExecutionsForJob(jobName));
+			JobExecutionFilter filter, Pageable pageable, PagedResourcesAssembler<TaskJobExecution> assembler)
+			throws NoSuchJobException {
+		JobExecutionQuery query = filter.toQuery();
+		Page<TaskJobExecution> page;
+		if (query.isEmpty()) {
+			List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutionsForJobWithStepCount(pageable, jobName);
+			page = new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutionsForJob(jobName));
+		}
+		else {
+			page = filter(pageable, query.withJobName(jobName));
+		}
 		return assembler.toResource(page, jobAssembler);
 	}
 
+	private Page<TaskJobExecution> filter(Pageable pageable, JobExecutionQuery query) throws NoSuchJobException {
+		List<TaskJobExecution> jobExecutions = taskJobService.listJobExecutionsWithStepCount(pageable, query);
+		return new PageImpl<>(jobExecutions, pageable, taskJobService.countJobExecutions(query));
+	}
+
 
 
 	/**
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link JobExecution}s to {@link JobExecutionThinResource}s.
 	 */
-	private static class Assembler extends ResourceAssemblerSupport<TaskJobExecution, JobExecutionThinResource> {
+	private static class Assembler extends TemplatedResourceAssemblerSupport<TaskJobExecution, JobExecutionThinResource> {
 
 		private TimeZone timeZone = TimeUtils.getDefaultTimeZone();
 
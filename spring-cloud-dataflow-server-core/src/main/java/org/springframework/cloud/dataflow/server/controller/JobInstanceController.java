@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2017 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import org.springframework.cloud.dataflow.rest.job.TaskJobExecution;
 import org.springframework.cloud.dataflow.rest.job.support.TimeUtils;
 import org.springframework.cloud.dataflow.rest.resource.JobExecutionResource;
 import org.springframework.cloud.dataflow.rest.resource.JobInstanceResource;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.service.TaskJobService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -38,7 +39,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -114,7 +114,7 @@ public class JobInstanceController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link JobInstance}s to {@link JobInstanceResource}s.
 	 */
-	private static class Assembler extends ResourceAssemblerSupport<JobInstanceExecutions, JobInstanceResource> {
+	private static class Assembler extends TemplatedResourceAssemblerSupport<JobInstanceExecutions, JobInstanceResource> {
 
 		private TimeZone timeZone = TimeUtils.getDefaultTimeZone();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2018 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.dataflow.server.controller;
 
+import java.net.URI;
+
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 
@@ -27,6 +29,7 @@ import org.springframework.batch.core.launch.NoSuchJobException;
 import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.batch.core.launch.NoSuchJobInstanceException;
 import org.springframework.cloud.dataflow.registry.support.NoSuchAppRegistrationException;
+import org.springframework.cloud.dataflow.rest.resource.TaskLaunchQueueEntryResource;
 import org.springframework.cloud.dataflow.server.batch.NoSuchStepExecutionException;
 import org.springframework.cloud.dataflow.server.controller.support.InvalidDateRangeException;
 import org.springframework.cloud.dataflow.server.controller.support.InvalidStreamDefinitionException;
@@ -39,10 +42,16 @@ import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefiniti
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskBatchException;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskExecutionException;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskLaunchQueueEntryException;
+import org.springframework.cloud.dataflow.server.service.NoSuchStreamBulkOperationException;
+import org.springframework.cloud.dataflow.server.service.NoSuchStreamDeploymentOperationException;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueuedException;
+import org.springframework.cloud.dataflow.server.service.impl.InvalidSortPropertyException;
 import org.springframework.cloud.dataflow.server.service.impl.OffsetOutOfBoundsException;
 import org.springframework.cloud.scheduler.spi.core.CreateScheduleException;
 import org.springframework.hateoas.VndErrors;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -139,8 +148,10 @@ public class RestControllerAdvice {
 	 * {@link NoSuchTaskExecutionException}, {@link NoSuchJobExecutionException},
 	 * {@link NoSuchJobInstanceException}, {@link NoSuchJobException},
 	 * {@link NoSuchStepExecutionException},
-	 * {@link NoSuchAppException}, or
-	 * {@link NoSuchAppInstanceException}
+	 * {@link NoSuchAppException}, {@link NoSuchAppInstanceException},
+	 * {@link NoSuchStreamBulkOperationException},
+	 * {@link NoSuchStreamDeploymentOperationException}, or
+	 * {@link NoSuchTaskLaunchQueueEntryException}
 	 * @return the error response in JSON format with media type
 	 * application/vnd.error+json
 	 */
@@ -149,7 +160,8 @@ public class RestControllerAdvice {
 			NoSuchTaskDefinitionException.class, NoSuchTaskExecutionException.class, NoSuchJobExecutionException.class,
 			NoSuchJobInstanceException.class, NoSuchJobException.class, NoSuchStepExecutionException.class,
 			NoSuchTaskBatchException.class, NoSuchAppException.class, NoSuchAppInstanceException.class,
-			NoSuchScheduleException.class })
+			NoSuchScheduleException.class, NoSuchStreamBulkOperationException.class,
+			NoSuchStreamDeploymentOperationException.class, NoSuchTaskLaunchQueueEntryException.class })
 	@ResponseStatus(HttpStatus.NOT_FOUND)
 	@ResponseBody
 	public VndErrors onNotFoundException(Exception e) {
@@ -176,7 +188,8 @@ public class RestControllerAdvice {
 	@ExceptionHandler({ MissingServletRequestParameterException.class, HttpMessageNotReadableException.class,
 			UnsatisfiedServletRequestParameterException.class, MethodArgumentTypeMismatchException.class,
 			InvalidDateRangeException.class,
-			InvalidStreamDefinitionException.class, CreateScheduleException.class, OffsetOutOfBoundsException.class })
+			InvalidStreamDefinitionException.class, CreateScheduleException.class, OffsetOutOfBoundsException.class,
+			InvalidSortPropertyException.class })
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	@ResponseBody
 	public VndErrors onClientGenericBadRequest(Exception e) {
@@ -188,6 +201,22 @@ public class RestControllerAdvice {
 		return new VndErrors(logref, msg);
 	}
 
+	/**
+	 * Answer a task launch that was queued because the concurrent task executions are at
+	 * their limit with response status HttpStatus.ACCEPTED (202), the queued launch, and
+	 * its location.
+	 *
+	 * @param e the exception, {@link TaskLaunchQueuedException}
+	 * @return the queued launch
+	 */
+	@ExceptionHandler({ TaskLaunchQueuedException.class })
+	public ResponseEntity<TaskLaunchQueueEntryResource> onTaskLaunchQueuedException(TaskLaunchQueuedException e) {
+		logger.info(getExceptionMessage(e));
+		TaskLaunchQueueEntryResource resource = new TaskLaunchQueueController.Assembler(e.getPosition())
+				.toResource(e.getEntry());
+		return ResponseEntity.accepted().location(URI.create(resource.getId().getHref())).body(resource);
+	}
+
 	/**
 	 * The exception handler is trigger if a JSR303 {@link ConstraintViolationException}
 	 * is being raised.
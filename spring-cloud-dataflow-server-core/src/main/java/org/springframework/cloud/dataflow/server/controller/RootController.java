@@ -101,7 +101,7 @@ public class RootController {
 
 			root.add(ControllerLinkBuilder.linkTo(ControllerLinkBuilder.methodOn(RuntimeStreamsController.class).streamStatus(null)).withRel("runtime/streams"));
 
-			root.add(ControllerLinkBuilder.linkTo(ControllerLinkBuilder.methodOn(RuntimeAppsController.class).list(null, null)).withRel("runtime/apps"));
+			root.add(ControllerLinkBuilder.linkTo(ControllerLinkBuilder.methodOn(RuntimeAppsController.class).list(null, null, null)).withRel("runtime/apps"));
 			root.add(ControllerLinkBuilder.linkTo(ControllerLinkBuilder.methodOn(RuntimeAppsController.class).display(null)).withRel("runtime/apps/{appId}"));
 
 			root.add(ControllerLinkBuilder.linkTo(ControllerLinkBuilder.methodOn(RuntimeAppInstanceController.class).list(null, null, null)).withRel("runtime/apps/{appId}/instances"));
@@ -27,6 +27,9 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.cloud.dataflow.rest.resource.AppInstanceStatusResource;
 import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
 import org.springframework.cloud.dataflow.server.controller.support.ControllerUtils;
+import org.springframework.cloud.dataflow.server.controller.support.StatusSnapshot;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
 import org.springframework.cloud.dataflow.server.stream.StreamDeployer;
 import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
@@ -37,11 +40,11 @@ import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.ResourceAssembler;
 import org.springframework.hateoas.Resources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Exposes runtime status of deployed apps.
@@ -66,18 +69,50 @@ public class RuntimeAppsController {
 
 	private final ResourceAssembler<AppStatus, AppStatusResource> statusAssembler = new Assembler();
 
+	private final ResourceVersionService resourceVersionService;
+
+	private final StatusSnapshot appStatusSnapshot;
+
 	/**
 	 * Construct a new runtime apps controller.
 	 * @param streamDeployer the deployer this controller will use to get the status of
 	 * deployed stream apps
 	 */
 	public RuntimeAppsController(StreamDeployer streamDeployer) {
+		this(streamDeployer, null, null);
+	}
+
+	/**
+	 * Construct a new runtime apps controller that tags the list of app statuses with the
+	 * versions of the stream definitions and deployments and a snapshot of the app
+	 * statuses, and answers the conditional requests for an unchanged list with a
+	 * {@code 304 Not Modified} response.
+	 * @param streamDeployer the deployer this controller will use to get the status of
+	 * deployed stream apps
+	 * @param resourceVersionService the versions of the resource collections, if null the
+	 * list is not tagged
+	 * @param appStatusSnapshot the snapshot of the app statuses, required if the list is
+	 * tagged
+	 */
+	public RuntimeAppsController(StreamDeployer streamDeployer, ResourceVersionService resourceVersionService,
+			StatusSnapshot appStatusSnapshot) {
 		Assert.notNull(streamDeployer, "StreamDeployer must not be null");
+		Assert.isTrue(resourceVersionService == null || appStatusSnapshot != null,
+				"appStatusSnapshot must not be null");
 		this.streamDeployer = streamDeployer;
+		this.resourceVersionService = resourceVersionService;
+		this.appStatusSnapshot = appStatusSnapshot;
 	}
 
 	@RequestMapping
-	public PagedResources<AppStatusResource> list(Pageable pageable, PagedResourcesAssembler<AppStatus> assembler) {
+	public PagedResources<AppStatusResource> list(Pageable pageable, PagedResourcesAssembler<AppStatus> assembler,
+			WebRequest request) {
+		if (this.resourceVersionService != null && request.checkNotModified("runtime-apps-"
+				+ this.resourceVersionService.getVersion(ResourceVersionService.STREAM_DEFINITIONS) + "-"
+				+ this.resourceVersionService.getVersion(ResourceVersionService.STREAM_DEPLOYMENTS) + "-"
+				+ this.appStatusSnapshot.getVersion())) {
+			return null;
+		}
 		return assembler.toResource(streamDeployer.getAppStatuses(pageable), statusAssembler);
 	}
 
@@ -90,7 +125,7 @@ public class RuntimeAppsController {
 		return statusAssembler.toResource(status);
 	}
 
-	private static class Assembler extends ResourceAssemblerSupport<AppStatus, AppStatusResource> {
+	static class Assembler extends TemplatedResourceAssemblerSupport<AppStatus, AppStatusResource> {
 
 		public Assembler() {
 			super(RuntimeAppsController.class, AppStatusResource.class);
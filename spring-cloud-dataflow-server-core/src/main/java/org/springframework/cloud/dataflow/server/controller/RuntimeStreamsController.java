@@ -17,17 +17,23 @@
 package org.springframework.cloud.dataflow.server.controller;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamRuntimeStatusResource;
 import org.springframework.cloud.dataflow.server.controller.support.StreamStatus;
 import org.springframework.cloud.dataflow.server.stream.StreamDeployer;
+import org.springframework.cloud.dataflow.server.stream.StreamRuntimeStatus;
 import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.util.Assert;
@@ -53,6 +59,8 @@ public class RuntimeStreamsController {
 
 	private final StreamDeployer streamDeployer;
 
+	private final RuntimeAppsController.Assembler statusAssembler = new RuntimeAppsController.Assembler();
+
 	/**
 	 * Construct a new runtime apps controller.
 	 * @param streamDeployer the deployer this controller will use to get the status of
@@ -74,6 +82,33 @@ public class RuntimeStreamsController {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Return the runtime status of the apps of the given streams. The streams are resolved
+	 * concurrently and a stream whose status cannot be retrieved is reported with the
+	 * reason, without failing the others.
+	 * @param streamNames the names of the streams
+	 * @param appNames the names of the apps to include, as labelled in the stream
+	 * definitions, all the apps if not set
+	 * @return the runtime status of every stream, in the order of the names
+	 */
+	@RequestMapping("/apps")
+	public StreamRuntimeStatusResource streamAppStatuses(@RequestParam("names") String[] streamNames,
+			@RequestParam(value = "apps", required = false) String[] appNames) {
+		Set<String> appFilter = appNames != null ? new HashSet<>(Arrays.asList(appNames)) : null;
+		List<StreamRuntimeStatusResource.StreamStatus> streams = new ArrayList<>();
+		for (StreamRuntimeStatus streamStatus : this.streamDeployer.getStreamStatuses(Arrays.asList(streamNames))) {
+			List<AppStatusResource> applications = new ArrayList<>();
+			for (AppStatus appStatus : streamStatus.getAppStatuses()) {
+				if (appFilter == null || appFilter.contains(getAppName(streamStatus.getStreamName(), appStatus))) {
+					applications.add(this.statusAssembler.toResource(appStatus));
+				}
+			}
+			streams.add(new StreamRuntimeStatusResource.StreamStatus(streamStatus.getStreamName(), applications,
+					streamStatus.getErrorMessage()));
+		}
+		return new StreamRuntimeStatusResource(streams);
+	}
+
 	private StreamStatus toStreamStatus(String streamName) {
 		StreamStatus streamStatus = new StreamStatus();
 		streamStatus.setName(streamName);
@@ -111,6 +146,24 @@ public class RuntimeStreamsController {
 		return streamStatus;
 	}
 
+	/**
+	 * The app name is the one Skipper sets on the app instances, and is derived from the
+	 * {@code <stream>.<app>-v<version>} deployment id of an app without instances.
+	 */
+	private static String getAppName(String streamName, AppStatus appStatus) {
+		for (AppInstanceStatus instance : appStatus.getInstances().values()) {
+			if (instance.getAttributes() != null
+					&& instance.getAttributes().containsKey(ATTRIBUTE_SKIPPER_APPLICATION_NAME)) {
+				return instance.getAttributes().get(ATTRIBUTE_SKIPPER_APPLICATION_NAME);
+			}
+		}
+		String appName = appStatus.getDeploymentId();
+		if (appName.startsWith(streamName + ".")) {
+			appName = appName.substring(streamName.length() + 1);
+		}
+		return appName.replaceFirst("-v\\d+$", "");
+	}
+
 	private String getAppInstanceGuid(AppInstanceStatus instance) {
 		return instance.getAttributes().containsKey(ATTRIBUTE_GUID) ?
 				instance.getAttributes().get(ATTRIBUTE_GUID) : instance.getId();
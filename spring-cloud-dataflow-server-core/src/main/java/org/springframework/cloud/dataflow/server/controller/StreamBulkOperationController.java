@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.dataflow.rest.resource.StreamBulkOperationResource;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
+import org.springframework.cloud.dataflow.server.service.StreamBulkOperation;
+import org.springframework.cloud.dataflow.server.service.StreamBulkOperationService;
+import org.springframework.hateoas.ExposesResourceFor;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for deploying, undeploying and destroying many streams at once. The
+ * operations run in the background and are polled through the returned resource.
+ */
+@RestController
+@RequestMapping("/streams/bulk")
+@ExposesResourceFor(StreamBulkOperationResource.class)
+public class StreamBulkOperationController {
+
+	private final StreamBulkOperationService streamBulkOperationService;
+
+	private final Assembler assembler = new Assembler();
+
+	public StreamBulkOperationController(StreamBulkOperationService streamBulkOperationService) {
+		Assert.notNull(streamBulkOperationService, "StreamBulkOperationService must not be null");
+		this.streamBulkOperationService = streamBulkOperationService;
+	}
+
+	/**
+	 * Deploy the streams selected by name or name pattern.
+	 *
+	 * @param names the names of the streams
+	 * @param pattern a stream name pattern supporting {@code *} wildcards
+	 * @param properties the deployment properties used for every stream
+	 * @return the accepted operation
+	 * @throws MissingServletRequestParameterException if neither names nor a pattern are
+	 * given
+	 */
+	@RequestMapping(value = "/deploy", method = RequestMethod.POST)
+	public ResponseEntity<StreamBulkOperationResource> deploy(
+			@RequestParam(value = "names", required = false) List<String> names,
+			@RequestParam(value = "pattern", required = false) String pattern,
+			@RequestBody(required = false) Map<String, String> properties)
+			throws MissingServletRequestParameterException {
+		return submit(StreamBulkOperation.Type.deploy, names, pattern, properties);
+	}
+
+	/**
+	 * Undeploy the streams selected by name or name pattern.
+	 *
+	 * @param names the names of the streams
+	 * @param pattern a stream name pattern supporting {@code *} wildcards
+	 * @return the accepted operation
+	 * @throws MissingServletRequestParameterException if neither names nor a pattern are
+	 * given
+	 */
+	@RequestMapping(value = "/undeploy", method = RequestMethod.POST)
+	public ResponseEntity<StreamBulkOperationResource> undeploy(
+			@RequestParam(value = "names", required = false) List<String> names,
+			@RequestParam(value = "pattern", required = false) String pattern)
+			throws MissingServletRequestParameterException {
+		return submit(StreamBulkOperation.Type.undeploy, names, pattern, null);
+	}
+
+	/**
+	 * Undeploy and delete the streams selected by name or name pattern.
+	 *
+	 * @param names the names of the streams
+	 * @param pattern a stream name pattern supporting {@code *} wildcards
+	 * @return the accepted operation
+	 * @throws MissingServletRequestParameterException if neither names nor a pattern are
+	 * given
+	 */
+	@RequestMapping(value = "/destroy", method = RequestMethod.POST)
+	public ResponseEntity<StreamBulkOperationResource> destroy(
+			@RequestParam(value = "names", required = false) List<String> names,
+			@RequestParam(value = "pattern", required = false) String pattern)
+			throws MissingServletRequestParameterException {
+		return submit(StreamBulkOperation.Type.destroy, names, pattern, null);
+	}
+
+	/**
+	 * @param id the id of the operation
+	 * @return the current progress of the operation
+	 */
+	@RequestMapping(value = "/{id}", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public StreamBulkOperationResource operation(@PathVariable("id") String id) {
+		return this.assembler.toResource(this.streamBulkOperationService.getOperation(id));
+	}
+
+	/**
+	 * @return the most recent operations, oldest first
+	 */
+	@RequestMapping(value = "", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public Resources<StreamBulkOperationResource> list() {
+		return new Resources<>(this.streamBulkOperationService.getOperations().stream()
+				.map(this.assembler::toResource).collect(Collectors.toList()));
+	}
+
+	private ResponseEntity<StreamBulkOperationResource> submit(StreamBulkOperation.Type type, List<String> names,
+			String pattern, Map<String, String> properties) throws MissingServletRequestParameterException {
+		if (CollectionUtils.isEmpty(names) && !StringUtils.hasText(pattern)) {
+			throw new MissingServletRequestParameterException("names", "String[]");
+		}
+		StreamBulkOperationResource resource = this.assembler
+				.toResource(this.streamBulkOperationService.submit(type, names, pattern, properties));
+		return ResponseEntity.accepted().location(URI.create(resource.getId().getHref())).body(resource);
+	}
+
+	/**
+	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
+	 * {@link StreamBulkOperation}s to {@link StreamBulkOperationResource}s.
+	 */
+	private static class Assembler
+			extends TemplatedResourceAssemblerSupport<StreamBulkOperation, StreamBulkOperationResource> {
+
+		Assembler() {
+			super(StreamBulkOperationController.class, StreamBulkOperationResource.class);
+		}
+
+		@Override
+		public StreamBulkOperationResource toResource(StreamBulkOperation operation) {
+			return createResourceWithId(operation.getId(), operation);
+		}
+
+		@Override
+		protected StreamBulkOperationResource instantiateResource(StreamBulkOperation operation) {
+			return new StreamBulkOperationResource(operation.getId(), operation.getType().name(),
+					operation.getStatus().name(), operation.getStartTime(), operation.getEndTime(),
+					operation.getStreams().stream()
+							.map(s -> new StreamBulkOperationResource.StreamProgress(s.getName(),
+									s.getStatus().name(), s.getMessage()))
+							.collect(Collectors.toList()));
+		}
+	}
+}
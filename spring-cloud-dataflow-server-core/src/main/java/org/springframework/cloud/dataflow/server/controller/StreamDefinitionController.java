@@ -29,7 +29,10 @@ import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource
 import org.springframework.cloud.dataflow.rest.util.ArgumentSanitizer;
 import org.springframework.cloud.dataflow.server.controller.support.ControllerUtils;
 import org.springframework.cloud.dataflow.server.controller.support.InvalidStreamDefinitionException;
+import org.springframework.cloud.dataflow.server.controller.support.StatusSnapshot;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.repository.DuplicateStreamDefinitionException;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
 import org.springframework.cloud.dataflow.server.service.StreamService;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.data.domain.Page;
@@ -38,7 +41,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -47,6 +49,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller for operations on {@link StreamDefinition}. This includes CRUD and optional
@@ -74,14 +77,39 @@ public class StreamDefinitionController {
 	 */
 	private final StreamService streamService;
 
+	private final ResourceVersionService resourceVersionService;
+
+	private final StatusSnapshot appStatusSnapshot;
+
 	/**
 	 * Create a {@code StreamDefinitionController} that delegates to {@link StreamService}.
 	 *
 	 * @param streamService the stream service to use
 	 */
 	public StreamDefinitionController(StreamService streamService) {
+		this(streamService, null, null);
+	}
+
+	/**
+	 * Create a {@code StreamDefinitionController} that also tags the list of stream
+	 * definitions with the versions of the definitions and deployments and a snapshot of
+	 * the app statuses, and answers the conditional requests for an unchanged list with a
+	 * {@code 304 Not Modified} response.
+	 *
+	 * @param streamService the stream service to use
+	 * @param resourceVersionService the versions of the resource collections, if null the
+	 * list is not tagged
+	 * @param appStatusSnapshot the snapshot of the app statuses, required if the list is
+	 * tagged
+	 */
+	public StreamDefinitionController(StreamService streamService, ResourceVersionService resourceVersionService,
+			StatusSnapshot appStatusSnapshot) {
 		Assert.notNull(streamService, "StreamService must not be null");
+		Assert.isTrue(resourceVersionService == null || appStatusSnapshot != null,
+				"appStatusSnapshot must not be null");
 		this.streamService = streamService;
+		this.resourceVersionService = resourceVersionService;
+		this.appStatusSnapshot = appStatusSnapshot;
 	}
 
 	/**
@@ -90,12 +118,19 @@ public class StreamDefinitionController {
 	 * @param pageable Pagination information
 	 * @param assembler assembler for {@link StreamDefinition}
 	 * @param search optional findByTaskNameContains parameter
-	 * @return list of stream definitions
+	 * @param request the request, checked for an up to date entity tag
+	 * @return list of stream definitions, null if the entity tag of the client is up to date
 	 */
 	@RequestMapping(value = "", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<StreamDefinitionResource> list(Pageable pageable,
-			@RequestParam(required = false) String search, PagedResourcesAssembler<StreamDefinition> assembler) {
+			@RequestParam(required = false) String search, PagedResourcesAssembler<StreamDefinition> assembler,
+			WebRequest request) {
+		if (this.resourceVersionService != null && request.checkNotModified("streams-"
+				+ this.resourceVersionService.getVersion(ResourceVersionService.STREAM_DEFINITIONS) + "-"
+				+ this.resourceVersionService.getVersion(ResourceVersionService.STREAM_DEPLOYMENTS) + "-"
+				+ this.appStatusSnapshot.getVersion())) {
+			return null;
+		}
 		Page<StreamDefinition> streamDefinitions = this.streamService.findDefinitionByNameContains(pageable, search);
 		return assembler.toResource(streamDefinitions, new Assembler(streamDefinitions));
 	}
@@ -181,7 +216,7 @@ public class StreamDefinitionController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link StreamDefinition}s to {@link StreamDefinitionResource}s.
 	 */
-	class Assembler extends ResourceAssemblerSupport<StreamDefinition, StreamDefinitionResource> {
+	class Assembler extends TemplatedResourceAssemblerSupport<StreamDefinition, StreamDefinitionResource> {
 
 		private final Map<StreamDefinition, DeploymentState> streamDeploymentStates;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.dataflow.server.controller;
 
+import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
@@ -27,17 +28,19 @@ import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.StreamDeployment;
 import org.springframework.cloud.dataflow.rest.UpdateStreamRequest;
 import org.springframework.cloud.dataflow.rest.resource.DeploymentStateResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentOperationResource;
 import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentResource;
 import org.springframework.cloud.dataflow.rest.util.ArgumentSanitizer;
 import org.springframework.cloud.dataflow.server.controller.support.ControllerUtils;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationService;
 import org.springframework.cloud.dataflow.server.service.StreamService;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.Release;
 import org.springframework.hateoas.ExposesResourceFor;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
@@ -76,6 +79,11 @@ public class StreamDeploymentController {
 	 */
 	private final StreamDefinitionRepository repository;
 
+	/**
+	 * Runs the deployments requested asynchronously, may be {@code null}.
+	 */
+	private final StreamDeploymentOperationService streamDeploymentOperationService;
+
 	/**
 	 * Construct a new UpdatableStreamDeploymentController, given a
 	 * {@link StreamDeploymentController} and {@link StreamService}
@@ -85,12 +93,27 @@ public class StreamDeploymentController {
 	 */
 	public StreamDeploymentController(StreamDefinitionRepository repository,
 			StreamService streamService) {
+		this(repository, streamService, null);
+	}
+
+	/**
+	 * Construct a new UpdatableStreamDeploymentController that can also deploy streams
+	 * asynchronously.
+	 *
+	 * @param repository the repository this controller will use for stream CRUD operations
+	 * @param streamService the underlying UpdatableStreamService to deploy the stream
+	 * @param streamDeploymentOperationService the service running asynchronous
+	 * deployments, may be {@code null} to only support synchronous deployments
+	 */
+	public StreamDeploymentController(StreamDefinitionRepository repository,
+			StreamService streamService, StreamDeploymentOperationService streamDeploymentOperationService) {
 
 		Assert.notNull(repository, "StreamDefinitionRepository must not be null");
 		Assert.notNull(streamService, "StreamService must not be null");
 
 		this.repository = repository;
 		this.streamService = streamService;
+		this.streamDeploymentOperationService = streamDeploymentOperationService;
 	}
 
 	@RequestMapping(value = "/update/{name}", method = RequestMethod.POST)
@@ -122,6 +145,17 @@ public class StreamDeploymentController {
 		return this.streamService.platformList();
 	}
 
+	/**
+	 * Evict the cached Skipper platforms and application template.
+	 *
+	 * @return the platforms freshly fetched from Skipper
+	 */
+	@RequestMapping(path = "/platform/refresh", method = RequestMethod.POST)
+	@ResponseStatus(HttpStatus.OK)
+	public Collection<Deployer> refreshPlatformList() {
+		return this.streamService.refreshPlatformList();
+	}
+
 	/**
 	 * Request un-deployment of an existing stream.
 	 *
@@ -184,11 +218,31 @@ public class StreamDeploymentController {
 		return new ResponseEntity<>(HttpStatus.CREATED);
 	}
 
+	/**
+	 * Request deployment of an existing stream definition in the background. The returned
+	 * operation is polled through {@link StreamDeploymentOperationController}.
+	 * @param name the name of an existing stream definition (required)
+	 * @param properties the deployment properties for the stream as a comma-delimited list of
+	 * key=value pairs
+	 * @return the accepted deployment operation, or a response without a body and a 501
+	 * status when asynchronous deployments are not enabled
+	 */
+	@RequestMapping(value = "/{name}", method = RequestMethod.POST, params = "async=true")
+	public ResponseEntity<StreamDeploymentOperationResource> deployAsync(@PathVariable("name") String name,
+			@RequestBody(required = false) Map<String, String> properties) {
+		if (this.streamDeploymentOperationService == null) {
+			return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+		}
+		StreamDeploymentOperationResource resource = new StreamDeploymentOperationController.Assembler()
+				.toResource(this.streamDeploymentOperationService.submit(name, properties));
+		return ResponseEntity.accepted().location(URI.create(resource.getId().getHref())).body(resource);
+	}
+
 	/**
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link StreamDeployment}s to {@link StreamDeploymentResource}s.
 	 */
-	class Assembler extends ResourceAssemblerSupport<StreamDeployment, StreamDeploymentResource> {
+	class Assembler extends TemplatedResourceAssemblerSupport<StreamDeployment, StreamDeploymentResource> {
 
 		private final String dslText;
 
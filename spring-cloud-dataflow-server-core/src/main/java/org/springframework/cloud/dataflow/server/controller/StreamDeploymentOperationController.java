@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller;
+
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentOperationResource;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperation;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationService;
+import org.springframework.hateoas.ExposesResourceFor;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for polling the stream deployments started asynchronously through
+ * {@link StreamDeploymentController}.
+ */
+@RestController
+@RequestMapping("/streams/deployments/operations")
+@ExposesResourceFor(StreamDeploymentOperationResource.class)
+public class StreamDeploymentOperationController {
+
+	private final StreamDeploymentOperationService streamDeploymentOperationService;
+
+	private final Assembler assembler = new Assembler();
+
+	public StreamDeploymentOperationController(StreamDeploymentOperationService streamDeploymentOperationService) {
+		Assert.notNull(streamDeploymentOperationService, "StreamDeploymentOperationService must not be null");
+		this.streamDeploymentOperationService = streamDeploymentOperationService;
+	}
+
+	/**
+	 * @param id the id of the operation
+	 * @return the current progress of the deployment
+	 */
+	@RequestMapping(value = "/{id}", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public StreamDeploymentOperationResource operation(@PathVariable("id") String id) {
+		return this.assembler.toResource(this.streamDeploymentOperationService.getOperation(id));
+	}
+
+	/**
+	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
+	 * {@link StreamDeploymentOperation}s to {@link StreamDeploymentOperationResource}s.
+	 */
+	static class Assembler
+			extends TemplatedResourceAssemblerSupport<StreamDeploymentOperation, StreamDeploymentOperationResource> {
+
+		Assembler() {
+			super(StreamDeploymentOperationController.class, StreamDeploymentOperationResource.class);
+		}
+
+		@Override
+		public StreamDeploymentOperationResource toResource(StreamDeploymentOperation operation) {
+			return createResourceWithId(operation.getId(), operation);
+		}
+
+		@Override
+		protected StreamDeploymentOperationResource instantiateResource(StreamDeploymentOperation operation) {
+			return new StreamDeploymentOperationResource(operation.getId(), operation.getStreamName(),
+					operation.getStatus().name(),
+					operation.getCurrentPhase() != null ? operation.getCurrentPhase().name() : null,
+					operation.getMessage(), operation.getStartTime(), operation.getEndTime(),
+					operation.getPhases().stream()
+							.map(p -> new StreamDeploymentOperationResource.PhaseProgress(p.getPhase().name(),
+									p.getStartTime(), p.getEndTime()))
+							.collect(Collectors.toList()));
+		}
+	}
+}
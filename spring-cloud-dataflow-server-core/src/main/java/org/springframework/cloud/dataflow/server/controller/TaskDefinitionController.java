@@ -20,14 +20,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.cloud.dataflow.core.TaskDefinition;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkDeleteResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskDefinitionResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskExecutionResource;
 import org.springframework.cloud.dataflow.rest.util.ArgumentSanitizer;
+import org.springframework.cloud.dataflow.server.controller.support.StatusSnapshot;
 import org.springframework.cloud.dataflow.server.controller.support.TaskExecutionAwareTaskDefinition;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
+import org.springframework.cloud.dataflow.server.service.TaskDeleteResult;
 import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.TaskSaveService;
 import org.springframework.cloud.dataflow.server.service.impl.TaskServiceUtils;
@@ -39,7 +45,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -48,6 +53,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller for operations on {@link TaskDefinition}. This includes CRUD operations.
@@ -76,6 +82,10 @@ public class TaskDefinitionController {
 
 	private final ArgumentSanitizer argumentSanitizer = new ArgumentSanitizer();
 
+	private final ResourceVersionService resourceVersionService;
+
+	private final StatusSnapshot taskExecutionSnapshot;
+
 	/**
 	 * Creates a {@code TaskDefinitionController} that delegates
 	 * <ul>
@@ -90,6 +100,27 @@ public class TaskDefinitionController {
 	 */
 	public TaskDefinitionController(TaskExplorer taskExplorer, TaskDefinitionRepository repository,
 			TaskSaveService taskSaveService, TaskDeleteService taskDeleteService) {
+		this(taskExplorer, repository, taskSaveService, taskDeleteService, null, null);
+	}
+
+	/**
+	 * Creates a {@code TaskDefinitionController} that also tags the list of task
+	 * definitions with the version of the definitions and a snapshot of the task
+	 * executions, and answers the conditional requests for an unchanged list with a
+	 * {@code 304 Not Modified} response.
+	 *
+	 * @param taskExplorer used to look up TaskExecutions.
+	 * @param repository the repository this controller will use for task CRUD operations.
+	 * @param taskSaveService handles Task saving related operations.
+	 * @param taskDeleteService handles Task deletion related operations.
+	 * @param resourceVersionService the versions of the resource collections, if null the
+	 * list is not tagged
+	 * @param taskExecutionSnapshot the snapshot of the task executions, required if the
+	 * list is tagged
+	 */
+	public TaskDefinitionController(TaskExplorer taskExplorer, TaskDefinitionRepository repository,
+			TaskSaveService taskSaveService, TaskDeleteService taskDeleteService,
+			ResourceVersionService resourceVersionService, StatusSnapshot taskExecutionSnapshot) {
 		Assert.notNull(taskExplorer, "taskExplorer must not be null");
 		Assert.notNull(repository, "repository must not be null");
 		Assert.notNull(taskSaveService, "taskSaveService must not be null");
@@ -98,6 +129,10 @@ public class TaskDefinitionController {
 		this.repository = repository;
 		this.taskSaveService = taskSaveService;
 		this.taskDeleteService = taskDeleteService;
+		Assert.isTrue(resourceVersionService == null || taskExecutionSnapshot != null,
+				"taskExecutionSnapshot must not be null");
+		this.resourceVersionService = resourceVersionService;
+		this.taskExecutionSnapshot = taskExecutionSnapshot;
 	}
 
 	/**
@@ -126,13 +161,36 @@ public class TaskDefinitionController {
 	}
 
 	/**
-	 * Delete all task from the repository.
+	 * Delete all task from the repository. A task that cannot be destroyed on its
+	 * platform is reported in the response along with its reason.
 	 *
+	 * @return the outcome for every deleted task
 	 */
 	@RequestMapping(value = "", method = RequestMethod.DELETE)
 	@ResponseStatus(HttpStatus.OK)
-	public void destroyAll() {
-		taskDeleteService.deleteAll();
+	public TaskBulkDeleteResource destroyAll() {
+		return toResource(this.taskDeleteService.deleteAll());
+	}
+
+	/**
+	 * Delete the given tasks from the repository, along with the child tasks of the
+	 * composed tasks. A task that cannot be deleted is reported in the response along with
+	 * its reason, the other tasks are deleted.
+	 *
+	 * @param names the names of the tasks to be deleted
+	 * @return the outcome for every deleted task
+	 */
+	@RequestMapping(value = "", method = RequestMethod.DELETE, params = "names")
+	@ResponseStatus(HttpStatus.OK)
+	public TaskBulkDeleteResource destroyTasks(@RequestParam("names") List<String> names) {
+		return toResource(this.taskDeleteService.deleteTaskDefinitions(names));
+	}
+
+	private static TaskBulkDeleteResource toResource(List<TaskDeleteResult> taskDeleteResults) {
+		return new TaskBulkDeleteResource(taskDeleteResults.stream()
+				.map(result -> new TaskBulkDeleteResource.DeleteResult(result.getTaskName(), null,
+						result.isSuccessful() ? "SUCCEEDED" : "FAILED", result.getErrorMessage()))
+				.collect(Collectors.toList()));
 	}
 
 	/**
@@ -141,12 +199,18 @@ public class TaskDefinitionController {
 	 * @param pageable page-able collection of {@code TaskDefinitionResource}.
 	 * @param assembler assembler for the {@link TaskDefinition}
 	 * @param search optional findByTaskNameContains parameter
-	 * @return a list of task definitions
+	 * @param request the request, checked for an up to date entity tag
+	 * @return a list of task definitions, null if the entity tag of the client is up to date
 	 */
 	@RequestMapping(value = "", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<TaskDefinitionResource> list(Pageable pageable, @RequestParam(required = false) String search,
-			PagedResourcesAssembler<TaskExecutionAwareTaskDefinition> assembler) {
+			PagedResourcesAssembler<TaskExecutionAwareTaskDefinition> assembler, WebRequest request) {
+
+		if (this.resourceVersionService != null && request.checkNotModified("tasks-"
+				+ this.resourceVersionService.getVersion(ResourceVersionService.TASK_DEFINITIONS) + "-"
+				+ this.taskExecutionSnapshot.getVersion())) {
+			return null;
+		}
 
 		final Page<TaskDefinition> taskDefinitions;
 		if (search != null) {
@@ -203,7 +267,7 @@ public class TaskDefinitionController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link TaskDefinition}s to {@link TaskDefinitionResource}s.
 	 */
-	class Assembler extends ResourceAssemblerSupport<TaskExecutionAwareTaskDefinition, TaskDefinitionResource> {
+	class Assembler extends TemplatedResourceAssemblerSupport<TaskExecutionAwareTaskDefinition, TaskDefinitionResource> {
 
 		public Assembler() {
 			super(TaskDefinitionController.class, TaskDefinitionResource.class);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package org.springframework.cloud.dataflow.server.controller;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -23,12 +27,17 @@ import java.util.stream.Collectors;
 
 import org.springframework.cloud.dataflow.rest.job.TaskJobExecutionRel;
 import org.springframework.cloud.dataflow.rest.resource.CurrentTaskExecutionsResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkDeleteResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskBulkLaunchResource;
 import org.springframework.cloud.dataflow.rest.resource.TaskExecutionResource;
 import org.springframework.cloud.dataflow.rest.util.ArgumentSanitizer;
 import org.springframework.cloud.dataflow.rest.util.DeploymentPropertiesUtils;
+import org.springframework.cloud.dataflow.server.controller.support.InvalidDateRangeException;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskExecutionException;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.TaskDeleteResult;
 import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
@@ -40,10 +49,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -143,7 +152,8 @@ public class TaskExecutionController {
 
 	/**
 	 * Request the launching of an existing task definition. The name must be included in the
-	 * path.
+	 * path. A launch beyond the concurrent task executions limit is queued and answered
+	 * with the queued launch and a 202 status.
 	 *
 	 * @param taskName the name of the existing task to be executed (required)
 	 * @param properties the runtime properties for the task, as a comma-delimited list of
@@ -161,6 +171,34 @@ public class TaskExecutionController {
 		return this.taskExecutionService.executeTask(taskName, propertiesToUse, argumentsToUse);
 	}
 
+	/**
+	 * Request the launching of an existing task definition once per set of commandline
+	 * arguments. A launch that fails is reported in the response along with its reason,
+	 * the other launches proceed.
+	 *
+	 * @param taskName the name of the existing task to be executed (required)
+	 * @param properties the runtime properties shared by all the launches, as a
+	 *     comma-delimited list of key=value pairs
+	 * @param arguments the runtime commandline arguments of every launch
+	 * @return the outcome of every launch, in the order of the arguments
+	 */
+	@RequestMapping(value = "/bulk", method = RequestMethod.POST, params = "name")
+	@ResponseStatus(HttpStatus.CREATED)
+	public TaskBulkLaunchResource launchBulk(@RequestParam("name") String taskName,
+			@RequestParam(required = false) String properties,
+			@RequestBody List<String> arguments) {
+		Map<String, String> propertiesToUse = DeploymentPropertiesUtils.parse(properties);
+		List<List<String>> argumentsToUse = arguments.stream()
+				.map(argument -> DeploymentPropertiesUtils.parseParamList(argument, " "))
+				.collect(Collectors.toList());
+		List<TaskBulkLaunchResource.LaunchResult> launches = this.taskExecutionService
+				.executeTasks(taskName, propertiesToUse, argumentsToUse).stream()
+				.map(result -> new TaskBulkLaunchResource.LaunchResult(result.getIndex(), result.getExecutionId(),
+						result.isLaunched() ? "LAUNCHED" : "FAILED", result.getErrorMessage()))
+				.collect(Collectors.toList());
+		return new TaskBulkLaunchResource(taskName, launches);
+	}
+
 	/**
 	 * View the details of a single task execution, specified by id.
 	 *
@@ -204,6 +242,42 @@ public class TaskExecutionController {
 		this.taskDeleteService.cleanupExecution(id);
 	}
 
+	/**
+	 * Cleanup resources associated with the given task executions. An execution that
+	 * cannot be cleaned up is reported in the response along with its reason, the other
+	 * executions are cleaned up.
+	 *
+	 * @param ids the ids of the {@link TaskExecution}s to clean up
+	 * @return the outcome for every task execution
+	 */
+	@RequestMapping(value = "", method = RequestMethod.DELETE, params = "ids")
+	@ResponseStatus(HttpStatus.OK)
+	public TaskBulkDeleteResource cleanup(@RequestParam("ids") List<Long> ids) {
+		return toResource(this.taskDeleteService.cleanupExecutions(ids));
+	}
+
+	/**
+	 * Cleanup resources associated with the completed task executions that ended within
+	 * the given range. Both bounds are optional.
+	 *
+	 * @param fromDate Optional. The fromDate must be {@link DateTimeFormatter}.ISO_DATE_TIME
+	 *     formatted. eg.: 2019-02-03T00:00:30
+	 * @param toDate Optional. The toDate must be {@link DateTimeFormatter}.ISO_DATE_TIME
+	 *     formatted. eg.: 2019-02-05T23:59:30
+	 * @return the outcome for every task execution
+	 */
+	@RequestMapping(value = "", method = RequestMethod.DELETE, params = "!ids")
+	@ResponseStatus(HttpStatus.OK)
+	public TaskBulkDeleteResource cleanup(@RequestParam(required = false) String fromDate,
+			@RequestParam(required = false) String toDate) {
+		Instant from = parseStringToInstant(fromDate);
+		Instant to = parseStringToInstant(toDate);
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new InvalidDateRangeException("The fromDate cannot be after the toDate.");
+		}
+		return toResource(this.taskDeleteService.cleanupExecutions(from, to));
+	}
+
 	private Page<TaskJobExecutionRel> getPageableRelationships(Page<TaskExecution> taskExecutions, Pageable pageable) {
 		List<TaskJobExecutionRel> taskJobExecutionRels = new ArrayList<>();
 		for (TaskExecution taskExecution : taskExecutions.getContent()) {
@@ -214,6 +288,21 @@ public class TaskExecutionController {
 		return new PageImpl<>(taskJobExecutionRels, pageable, taskExecutions.getTotalElements());
 	}
 
+	private TaskBulkDeleteResource toResource(List<TaskDeleteResult> results) {
+		return new TaskBulkDeleteResource(results.stream()
+				.map(result -> new TaskBulkDeleteResource.DeleteResult(result.getTaskName(), result.getExecutionId(),
+						result.isSuccessful() ? "SUCCEEDED" : "FAILED", result.getErrorMessage()))
+				.collect(Collectors.toList()));
+	}
+
+	private Instant parseStringToInstant(String textDate) {
+		if (textDate == null) {
+			return null;
+		}
+		LocalDateTime localDateTime = LocalDateTime.parse(textDate, DateTimeFormatter.ISO_DATE_TIME);
+		return localDateTime.toInstant(ZoneOffset.UTC);
+	}
+
 	private TaskExecution sanitizePotentialSensitiveKeys(TaskExecution taskExecution) {
 		List<String> args = taskExecution.getArguments().stream()
 				.map(argument -> (this.argumentSanitizer.sanitize(argument))).collect(Collectors.toList());
@@ -225,7 +314,7 @@ public class TaskExecutionController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link TaskJobExecutionRel}s to {@link TaskExecutionResource}s.
 	 */
-	private static class Assembler extends ResourceAssemblerSupport<TaskJobExecutionRel, TaskExecutionResource> {
+	private static class Assembler extends TemplatedResourceAssemblerSupport<TaskJobExecutionRel, TaskExecutionResource> {
 
 		public Assembler() {
 			super(TaskExecutionController.class, TaskExecutionResource.class);
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
+import org.springframework.cloud.dataflow.rest.resource.TaskLaunchQueueEntryResource;
+import org.springframework.cloud.dataflow.rest.util.DeploymentPropertiesUtils;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.ExposesResourceFor;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for queueing task launches until the concurrent task execution limits
+ * leave room for them, and for inspecting the launch queue.
+ */
+@RestController
+@RequestMapping("/tasks/executions/queue")
+@ExposesResourceFor(TaskLaunchQueueEntryResource.class)
+public class TaskLaunchQueueController {
+
+	private final TaskLaunchQueueService taskLaunchQueueService;
+
+	public TaskLaunchQueueController(TaskLaunchQueueService taskLaunchQueueService) {
+		Assert.notNull(taskLaunchQueueService, "TaskLaunchQueueService must not be null");
+		this.taskLaunchQueueService = taskLaunchQueueService;
+	}
+
+	/**
+	 * Queue the launch of an existing task definition. The task is launched right away
+	 * when a slot is free.
+	 *
+	 * @param taskName the name of the existing task to be executed (required)
+	 * @param properties the runtime properties for the task, as a comma-delimited list of
+	 *     key=value pairs
+	 * @param arguments the runtime commandline arguments
+	 * @param priority the priority of the launch, higher priorities are launched first
+	 * @return the queued launch
+	 */
+	@RequestMapping(value = "", method = RequestMethod.POST)
+	@ResponseStatus(HttpStatus.CREATED)
+	public TaskLaunchQueueEntryResource enqueue(@RequestParam("name") String taskName,
+			@RequestParam(required = false) String properties,
+			@RequestParam(required = false) String arguments,
+			@RequestParam(defaultValue = "0") int priority) {
+		Map<String, String> propertiesToUse = DeploymentPropertiesUtils.parse(properties);
+		List<String> argumentsToUse = DeploymentPropertiesUtils.parseParamList(arguments, " ");
+		TaskLaunchQueueEntry entry = this.taskLaunchQueueService.enqueue(taskName, propertiesToUse, argumentsToUse,
+				priority);
+		return new Assembler(this.taskLaunchQueueService.getPosition(entry)).toResource(entry);
+	}
+
+	/**
+	 * List the queued launches in the order they are dispatched.
+	 *
+	 * @param pageable the page to return
+	 * @param assembler the paged resources assembler
+	 * @return a page of queued launches
+	 */
+	@RequestMapping(value = "", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public PagedResources<TaskLaunchQueueEntryResource> list(Pageable pageable,
+			PagedResourcesAssembler<TaskLaunchQueueEntry> assembler) {
+		Page<TaskLaunchQueueEntry> page = this.taskLaunchQueueService.getEntries(pageable);
+		return assembler.toResource(page, new Assembler(page.getPageable().getOffset() + 1));
+	}
+
+	/**
+	 * @param id the id of the queued launch
+	 * @return the queued launch with its current position
+	 */
+	@RequestMapping(value = "/{id}", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public TaskLaunchQueueEntryResource view(@PathVariable("id") long id) {
+		TaskLaunchQueueEntry entry = this.taskLaunchQueueService.getEntry(id);
+		return new Assembler(this.taskLaunchQueueService.getPosition(entry)).toResource(entry);
+	}
+
+	/**
+	 * Remove a launch from the queue.
+	 *
+	 * @param id the id of the queued launch
+	 */
+	@RequestMapping(value = "/{id}", method = RequestMethod.DELETE)
+	@ResponseStatus(HttpStatus.OK)
+	public void cancel(@PathVariable("id") long id) {
+		this.taskLaunchQueueService.cancel(id);
+	}
+
+	/**
+	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
+	 * {@link TaskLaunchQueueEntry}s to {@link TaskLaunchQueueEntryResource}s, numbering the
+	 * positions of consecutive entries from a first position.
+	 */
+	static class Assembler extends TemplatedResourceAssemblerSupport<TaskLaunchQueueEntry, TaskLaunchQueueEntryResource> {
+
+		private long position;
+
+		private final Instant now = Instant.now();
+
+		Assembler(long firstPosition) {
+			super(TaskLaunchQueueController.class, TaskLaunchQueueEntryResource.class);
+			this.position = firstPosition;
+		}
+
+		@Override
+		public TaskLaunchQueueEntryResource toResource(TaskLaunchQueueEntry entry) {
+			return createResourceWithId(entry.getId(), entry);
+		}
+
+		@Override
+		protected TaskLaunchQueueEntryResource instantiateResource(TaskLaunchQueueEntry entry) {
+			return new TaskLaunchQueueEntryResource(entry.getId(), entry.getTaskName(), entry.getPlatformName(),
+					entry.getPriority(), this.position++, Date.from(entry.getCreatedOn()),
+					Math.max(0, Duration.between(entry.getCreatedOn(), this.now).toMillis()));
+		}
+	}
+}
@@ -17,12 +17,12 @@ package org.springframework.cloud.dataflow.server.controller;
 
 import org.springframework.cloud.dataflow.core.Launcher;
 import org.springframework.cloud.dataflow.rest.resource.LauncherResource;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -64,7 +64,7 @@ public class TaskPlatformController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link Launcher}s to {@link LauncherResource}s.
 	 */
-	private static class Assembler extends ResourceAssemblerSupport<Launcher, LauncherResource> {
+	private static class Assembler extends TemplatedResourceAssemblerSupport<Launcher, LauncherResource> {
 
 		public Assembler() {
 			super(TaskPlatformController.class, LauncherResource.class);
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller;
+
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.dataflow.rest.resource.TaskRetentionReportResource;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionReport;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for purging the task and batch execution history according to the
+ * retention policies of the task definitions.
+ */
+@RestController
+@RequestMapping("/tasks/retention")
+public class TaskRetentionController {
+
+	private final TaskRetentionService taskRetentionService;
+
+	public TaskRetentionController(TaskRetentionService taskRetentionService) {
+		Assert.notNull(taskRetentionService, "TaskRetentionService must not be null");
+		this.taskRetentionService = taskRetentionService;
+	}
+
+	/**
+	 * Report what a purge would delete, without deleting anything.
+	 *
+	 * @return the task executions a purge would delete
+	 */
+	@RequestMapping(value = "", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public TaskRetentionReportResource preview() {
+		return toResource(this.taskRetentionService.purge(true));
+	}
+
+	/**
+	 * Purge the history in the background now rather than waiting for the next periodic
+	 * purge.
+	 *
+	 * @param dryRun {@code true} to only report what would be purged
+	 * @return what would be purged for a dry run, nothing otherwise
+	 */
+	@RequestMapping(value = "", method = RequestMethod.POST)
+	public ResponseEntity<TaskRetentionReportResource> purge(@RequestParam(defaultValue = "false") boolean dryRun) {
+		if (dryRun) {
+			return ResponseEntity.ok(toResource(this.taskRetentionService.purge(true)));
+		}
+		this.taskRetentionService.requestPurge();
+		return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+	}
+
+	private static TaskRetentionReportResource toResource(TaskRetentionReport report) {
+		return new TaskRetentionReportResource(report.isDryRun(), report.getTasks().stream()
+				.map(task -> new TaskRetentionReportResource.TaskPurge(task.getTaskName(),
+						task.getTaskExecutionCount(), task.getJobExecutionCount()))
+				.collect(Collectors.toList()), report.getDeletedRows());
+	}
+}
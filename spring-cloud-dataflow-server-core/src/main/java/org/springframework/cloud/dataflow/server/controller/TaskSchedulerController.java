@@ -21,17 +21,14 @@ import java.util.Map;
 
 import org.springframework.cloud.dataflow.rest.resource.ScheduleInfoResource;
 import org.springframework.cloud.dataflow.rest.util.DeploymentPropertiesUtils;
+import org.springframework.cloud.dataflow.server.controller.support.TemplatedResourceAssemblerSupport;
 import org.springframework.cloud.dataflow.server.repository.NoSuchScheduleException;
 import org.springframework.cloud.dataflow.server.service.SchedulerService;
 import org.springframework.cloud.scheduler.spi.core.ScheduleInfo;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -81,8 +78,7 @@ public class TaskSchedulerController {
 	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<ScheduleInfoResource> list(Pageable pageable,
 			PagedResourcesAssembler<ScheduleInfo> assembler) {
-		List<ScheduleInfo> result = this.schedulerService.list();
-		return assembler.toResource(new PageImpl<>(result, pageable, result.size()), taskAssembler);
+		return assembler.toResource(this.schedulerService.list(pageable), taskAssembler);
 	}
 
 	/**
@@ -106,19 +102,14 @@ public class TaskSchedulerController {
 	 * {@link org.springframework.cloud.dataflow.core.TaskDefinition} name.
 	 *
 	 * @param taskDefinitionName name of the taskDefinition to search.
+	 * @param pageable {@link Pageable} to be used
 	 * @param assembler assembler for the {@link ScheduleInfo}.
 	 * @return a list of Schedules.
 	 */
 	@RequestMapping("/instances/{taskDefinitionName}")
 	public PagedResources<ScheduleInfoResource> filteredList(@PathVariable String taskDefinitionName,
-			PagedResourcesAssembler<ScheduleInfo> assembler) {
-		List<ScheduleInfo> result = this.schedulerService.list(taskDefinitionName);
-		int resultSize = result.size();
-		Pageable pageable = PageRequest.of(0,
-				(resultSize == 0) ? resultSize = 1 : resultSize); //handle empty result set
-		Page<ScheduleInfo> page = new PageImpl<>(result, pageable,
-				result.size());
-		return assembler.toResource(page, taskAssembler);
+			Pageable pageable, PagedResourcesAssembler<ScheduleInfo> assembler) {
+		return assembler.toResource(this.schedulerService.list(pageable, taskDefinitionName), taskAssembler);
 	}
 
 	/**
@@ -156,7 +147,7 @@ public class TaskSchedulerController {
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link ScheduleInfo}s to {@link ScheduleInfoResource}s.
 	 */
-	class Assembler extends ResourceAssemblerSupport<ScheduleInfo, ScheduleInfoResource> {
+	class Assembler extends TemplatedResourceAssemblerSupport<ScheduleInfo, ScheduleInfoResource> {
 
 		public Assembler() {
 			super(TaskSchedulerController.class, ScheduleInfoResource.class);
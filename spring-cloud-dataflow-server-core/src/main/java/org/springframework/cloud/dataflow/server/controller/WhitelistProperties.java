@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,6 +56,18 @@ public class WhitelistProperties {
 	 * @return the application properties with expanded long form property names
 	 */
 	public Map<String, String> qualifyProperties(Map<String, String> properties, Resource metadataResource) {
+		return qualifier(metadataResource).qualifyProperties(properties);
+	}
+
+	/**
+	 * Read the whitelisted properties of an app once, to qualify the properties of several
+	 * deployments of the app.
+	 *
+	 * @param metadataResource the metadata that can be used to expand shorthand property
+	 * names to long form names
+	 * @return a qualifier for the properties of the app
+	 */
+	public Qualifier qualifier(Resource metadataResource) {
 		MultiValueMap<String, ConfigurationMetadataProperty> whiteList = new LinkedMultiValueMap<>();
 		Set<String> allProps = new HashSet<>();
 
@@ -65,34 +77,60 @@ public class WhitelistProperties {
 		for (ConfigurationMetadataProperty property : this.metadataResolver.listProperties(metadataResource, true)) {
 			allProps.add(property.getId()); // But full ids here
 		}
+		return new Qualifier(whiteList, allProps);
+	}
 
-		Map<String, String> mutatedProps = new HashMap<>(properties.size());
-		for (Map.Entry<String, String> entry : properties.entrySet()) {
-			String provided = entry.getKey();
-			if (!allProps.contains(provided)) {
-				List<ConfigurationMetadataProperty> longForms = null;
-				for (String relaxed : new RelaxedNames(provided)) {
-					longForms = whiteList.get(relaxed);
+	/**
+	 * Expands the shorthand form of app properties, against the whitelisted properties read
+	 * from the metadata of an app.
+	 */
+	public static class Qualifier {
+
+		private final MultiValueMap<String, ConfigurationMetadataProperty> whiteList;
+
+		private final Set<String> allProps;
+
+		private Qualifier(MultiValueMap<String, ConfigurationMetadataProperty> whiteList, Set<String> allProps) {
+			this.whiteList = whiteList;
+			this.allProps = allProps;
+		}
+
+		/**
+		 * Return a copy of app properties where shorthand form have been expanded to their
+		 * long form if applicable.
+		 *
+		 * @param properties the application properties in shorthand form
+		 * @return the application properties with expanded long form property names
+		 */
+		public Map<String, String> qualifyProperties(Map<String, String> properties) {
+			Map<String, String> mutatedProps = new HashMap<>(properties.size());
+			for (Map.Entry<String, String> entry : properties.entrySet()) {
+				String provided = entry.getKey();
+				if (!this.allProps.contains(provided)) {
+					List<ConfigurationMetadataProperty> longForms = null;
+					for (String relaxed : new RelaxedNames(provided)) {
+						longForms = this.whiteList.get(relaxed);
+						if (longForms != null) {
+							break;
+						}
+					}
 					if (longForms != null) {
-						break;
+						assertNoAmbiguity(longForms);
+						mutatedProps.put(longForms.iterator().next().getId(), entry.getValue());
+					}
+					else {
+						mutatedProps.put(provided, entry.getValue());
 					}
-				}
-				if (longForms != null) {
-					assertNoAmbiguity(longForms);
-					mutatedProps.put(longForms.iterator().next().getId(), entry.getValue());
 				}
 				else {
 					mutatedProps.put(provided, entry.getValue());
 				}
 			}
-			else {
-				mutatedProps.put(provided, entry.getValue());
-			}
+			return mutatedProps;
 		}
-		return mutatedProps;
 	}
 
-	private void assertNoAmbiguity(List<ConfigurationMetadataProperty> longForms) {
+	private static void assertNoAmbiguity(List<ConfigurationMetadataProperty> longForms) {
 		if (longForms.size() > 1) {
 			Set<String> ids = new HashSet<>(longForms.size());
 			for (ConfigurationMetadataProperty pty : longForms) {
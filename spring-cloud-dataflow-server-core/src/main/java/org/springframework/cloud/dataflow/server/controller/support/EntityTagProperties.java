@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+
+/**
+ * Configuration of the entity tags (ETags) of the stream definitions, task definitions,
+ * app registrations and runtime apps collections, which let clients revalidate those
+ * collections with a conditional request.
+ */
+@ConfigurationProperties(prefix = EntityTagProperties.ENTITY_TAG_PREFIX)
+public class EntityTagProperties {
+
+	public static final String ENTITY_TAG_PREFIX = DataFlowPropertyKeys.PREFIX + "etag";
+
+	/**
+	 * Whether the collections are tagged and conditional requests answered.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Time in seconds the snapshots of the runtime app statuses and of the task execution
+	 * counts are reused to tag the collections. The tags lag behind changes to those
+	 * statuses by at most this time.
+	 */
+	private int statusTtlInSeconds = 5;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getStatusTtlInSeconds() {
+		return statusTtlInSeconds;
+	}
+
+	public void setStatusTtlInSeconds(int statusTtlInSeconds) {
+		this.statusTtlInSeconds = statusTtlInSeconds;
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+
+/**
+ * Binds the request parameters filtering a listing of job executions. Times are ISO date
+ * times in UTC, as for the audit records.
+ */
+public class JobExecutionFilter {
+
+	private List<BatchStatus> status;
+
+	private String exitCode;
+
+	private String startedAfter;
+
+	private String startedBefore;
+
+	private String endedAfter;
+
+	private String endedBefore;
+
+	private String jobNamePrefix;
+
+	private Long taskExecutionId;
+
+	public void setStatus(List<BatchStatus> status) {
+		this.status = status;
+	}
+
+	public void setExitCode(String exitCode) {
+		this.exitCode = exitCode;
+	}
+
+	public void setStartedAfter(String startedAfter) {
+		this.startedAfter = startedAfter;
+	}
+
+	public void setStartedBefore(String startedBefore) {
+		this.startedBefore = startedBefore;
+	}
+
+	public void setEndedAfter(String endedAfter) {
+		this.endedAfter = endedAfter;
+	}
+
+	public void setEndedBefore(String endedBefore) {
+		this.endedBefore = endedBefore;
+	}
+
+	public void setJobNamePrefix(String jobNamePrefix) {
+		this.jobNamePrefix = jobNamePrefix;
+	}
+
+	public void setTaskExecutionId(Long taskExecutionId) {
+		this.taskExecutionId = taskExecutionId;
+	}
+
+	/**
+	 * @return the query for the bound request parameters
+	 * @throws InvalidDateRangeException if a lower bound of a time range is after its
+	 * upper bound
+	 */
+	public JobExecutionQuery toQuery() {
+		JobExecutionQuery query = new JobExecutionQuery();
+		if (this.status != null) {
+			query.withStatus(this.status.toArray(new BatchStatus[0]));
+		}
+		Date startedAfterDate = toDate(this.startedAfter);
+		Date startedBeforeDate = toDate(this.startedBefore);
+		checkRange(startedAfterDate, startedBeforeDate, "startedAfter", "startedBefore");
+		Date endedAfterDate = toDate(this.endedAfter);
+		Date endedBeforeDate = toDate(this.endedBefore);
+		checkRange(endedAfterDate, endedBeforeDate, "endedAfter", "endedBefore");
+		return query.withExitCode(this.exitCode)
+				.withStartTimeBetween(startedAfterDate, startedBeforeDate)
+				.withEndTimeBetween(endedAfterDate, endedBeforeDate)
+				.withJobNamePrefix(this.jobNamePrefix)
+				.withTaskExecutionId(this.taskExecutionId);
+	}
+
+	private static Date toDate(String textDate) {
+		if (textDate == null) {
+			return null;
+		}
+		LocalDateTime localDateTime = LocalDateTime.parse(textDate, DateTimeFormatter.ISO_DATE_TIME);
+		return Date.from(localDateTime.toInstant(ZoneOffset.UTC));
+	}
+
+	private static void checkRange(Date from, Date to, String fromName, String toName) {
+		if (from != null && to != null && from.after(to)) {
+			throw new InvalidDateRangeException(String.format("The %s date cannot be after the %s date.",
+					fromName, toName));
+		}
+	}
+}
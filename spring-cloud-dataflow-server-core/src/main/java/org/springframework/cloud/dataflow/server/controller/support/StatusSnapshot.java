@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.cloud.dataflow.server.stream.StreamDeployer;
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/**
+ * The version of a state the server does not control, such as the runtime status of the
+ * deployed apps, computed as a digest of a snapshot of that state. The snapshot is taken
+ * at most once per time to live, whatever the number of requests, so that the version
+ * lags behind the actual state by at most the time to live.
+ */
+public class StatusSnapshot {
+
+	private final Supplier<String> loader;
+
+	private final long ttlInMillis;
+
+	private volatile String version;
+
+	private volatile long expiresAt;
+
+	/**
+	 * @param loader returns a canonical text form of the state, equal texts meaning equal
+	 * states
+	 * @param ttlInSeconds time in seconds a snapshot is used, 0 taking a snapshot on each
+	 * call
+	 */
+	public StatusSnapshot(Supplier<String> loader, int ttlInSeconds) {
+		Assert.notNull(loader, "loader must not be null");
+		this.loader = loader;
+		this.ttlInMillis = TimeUnit.SECONDS.toMillis(ttlInSeconds);
+	}
+
+	/**
+	 * @return the digest of the current snapshot, taking a new snapshot if it expired
+	 */
+	public String getVersion() {
+		String current = this.version;
+		if (current != null && System.currentTimeMillis() < this.expiresAt) {
+			return current;
+		}
+		synchronized (this) {
+			if (this.version == null || System.currentTimeMillis() >= this.expiresAt) {
+				this.version = DigestUtils.md5DigestAsHex(this.loader.get().getBytes(StandardCharsets.UTF_8));
+				this.expiresAt = System.currentTimeMillis() + this.ttlInMillis;
+			}
+			return this.version;
+		}
+	}
+
+	/**
+	 * Take a new snapshot on next access.
+	 */
+	public synchronized void refresh() {
+		this.version = null;
+	}
+
+	/**
+	 * @param streamDeployer the deployer of the stream apps
+	 * @param ttlInSeconds time in seconds a snapshot is used
+	 * @return a snapshot of the runtime status of all the stream apps and of their instances
+	 */
+	public static StatusSnapshot ofAppStatuses(StreamDeployer streamDeployer, int ttlInSeconds) {
+		Assert.notNull(streamDeployer, "StreamDeployer must not be null");
+		return new StatusSnapshot(() -> {
+			List<AppStatus> statuses = new ArrayList<>(
+					streamDeployer.getAppStatuses(PageRequest.of(0, Integer.MAX_VALUE)).getContent());
+			statuses.sort(Comparator.comparing(AppStatus::getDeploymentId));
+			StringBuilder text = new StringBuilder();
+			for (AppStatus status : statuses) {
+				text.append(status.getDeploymentId()).append('=').append(status.getState()).append('[');
+				List<AppInstanceStatus> instances = new ArrayList<>(status.getInstances().values());
+				instances.sort(Comparator.comparing(AppInstanceStatus::getId));
+				for (AppInstanceStatus instance : instances) {
+					text.append(instance.getId()).append('=').append(instance.getState());
+					if (instance.getAttributes() != null) {
+						text.append(new TreeMap<>(instance.getAttributes()));
+					}
+					text.append(';');
+				}
+				text.append("]\n");
+			}
+			return text.toString();
+		}, ttlInSeconds);
+	}
+
+	/**
+	 * @param taskExplorer the explorer of the task executions
+	 * @param ttlInSeconds time in seconds a snapshot is used
+	 * @return a snapshot of the number of task executions and of running task executions,
+	 * which changes whenever a task execution starts, ends or is deleted
+	 */
+	public static StatusSnapshot ofTaskExecutions(TaskExplorer taskExplorer, int ttlInSeconds) {
+		Assert.notNull(taskExplorer, "TaskExplorer must not be null");
+		return new StatusSnapshot(() -> taskExplorer.getTaskExecutionCount() + ":"
+				+ taskExplorer.getRunningTaskExecutionCount(), ttlInSeconds);
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * {@link ResourceAssemblerSupport} building the self links of the resources from a base
+ * link computed once per request. {@link ResourceAssemblerSupport#createResourceWithId}
+ * introspects the controller mapping and the current request for every resource, which
+ * dominates the assembly of large pages; here the link of the controller is built on
+ * first use within a request, kept as a request attribute, and the identifier of each
+ * resource is appended to it as encoded path segments.
+ * <p>
+ * The links are the same as the ones of {@link ResourceAssemblerSupport}. Identifiers
+ * that are not plain paths, and links with controller mapping parameters, are built by
+ * {@link ResourceAssemblerSupport}.
+ *
+ * @param <T> the type of the assembled entities
+ * @param <D> the type of the resources
+ */
+public abstract class TemplatedResourceAssemblerSupport<T, D extends ResourceSupport>
+		extends ResourceAssemblerSupport<T, D> {
+
+	private final Class<?> controllerClass;
+
+	private final String baseHrefAttribute;
+
+	public TemplatedResourceAssemblerSupport(Class<?> controllerClass, Class<D> resourceType) {
+		super(controllerClass, resourceType);
+		this.controllerClass = controllerClass;
+		this.baseHrefAttribute = TemplatedResourceAssemblerSupport.class.getName() + "." + controllerClass.getName();
+	}
+
+	@Override
+	protected D createResourceWithId(Object id, T entity, Object... parameters) {
+		Assert.notNull(entity, "Entity must not be null");
+		Assert.notNull(id, "Id must not be null");
+		String path = id.toString();
+		if (parameters.length > 0 || !isPlainPath(path)) {
+			return super.createResourceWithId(id, entity, parameters);
+		}
+		D instance = instantiateResource(entity);
+		instance.add(new Link(selfHref(path)));
+		return instance;
+	}
+
+	private String selfHref(String path) {
+		StringBuilder href = new StringBuilder(baseHref());
+		for (String segment : StringUtils.tokenizeToStringArray(path, "/", false, true)) {
+			href.append('/').append(UriUtils.encodePathSegment(segment, StandardCharsets.UTF_8));
+		}
+		return href.toString();
+	}
+
+	private String baseHref() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		String baseHref = attributes != null
+				? (String) attributes.getAttribute(this.baseHrefAttribute, RequestAttributes.SCOPE_REQUEST) : null;
+		if (baseHref == null) {
+			baseHref = StringUtils.trimTrailingCharacter(
+					ControllerLinkBuilder.linkTo(this.controllerClass).withSelfRel().getHref(), '/');
+			if (attributes != null) {
+				attributes.setAttribute(this.baseHrefAttribute, baseHref, RequestAttributes.SCOPE_REQUEST);
+			}
+		}
+		return baseHref;
+	}
+
+	/**
+	 * @param path the identifier of a resource
+	 * @return whether the identifier is made of path segments only, without the query,
+	 * fragment, scheme or relative segments that the link builder would interpret
+	 */
+	private static boolean isPlainPath(String path) {
+		if (!StringUtils.hasText(path) || path.indexOf('?') >= 0 || path.indexOf('#') >= 0
+				|| path.indexOf(':') >= 0 || path.indexOf('{') >= 0) {
+			return false;
+		}
+		for (String segment : StringUtils.delimitedListToStringArray(path, "/")) {
+			if (".".equals(segment) || "..".equals(segment)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.db.migration.oracle;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.server.db.migration.AbstractMigration;
+import org.springframework.cloud.dataflow.server.db.migration.SqlCommand;
+
+/**
+ * Adds the schedule index for {@code oracle}.
+ */
+public class V3__Schedule_Index extends AbstractMigration {
+
+	public final static String CREATE_SCHEDULE_INDEX_TABLE =
+			"create table schedule_index (\n" +
+			"  id number(19,0) not null,\n" +
+			"  object_version number(19,0),\n" +
+			"  schedule_name varchar2(255 char) not null,\n" +
+			"  task_definition_name varchar2(255 char) not null,\n" +
+			"  schedule_properties clob,\n" +
+			"  created_on timestamp not null,\n" +
+			"  primary key (id)\n" +
+			")";
+
+	public final static String CREATE_SCHEDULE_INDEX_NAME_INDEX =
+			"create unique index schedule_index_name_idx on schedule_index (schedule_name)";
+
+	public final static String CREATE_SCHEDULE_INDEX_DEFINITION_INDEX =
+			"create index schedule_index_definition_idx on schedule_index (task_definition_name, schedule_name)";
+
+	public V3__Schedule_Index() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_SCHEDULE_INDEX_TABLE),
+				SqlCommand.from(CREATE_SCHEDULE_INDEX_NAME_INDEX),
+				SqlCommand.from(CREATE_SCHEDULE_INDEX_DEFINITION_INDEX)));
+	}
+}
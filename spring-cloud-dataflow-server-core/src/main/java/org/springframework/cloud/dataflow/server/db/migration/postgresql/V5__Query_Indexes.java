@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.db.migration.postgresql;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.server.db.migration.AbstractMigration;
+import org.springframework.cloud.dataflow.server.db.migration.SqlCommand;
+
+/**
+ * Adds the indexes of the task and batch queries of the server for {@code postgres},
+ * including the foreign key columns the queries join or filter on.
+ */
+public class V5__Query_Indexes extends AbstractMigration {
+
+	public final static String CREATE_TASK_EXECUTION_NAME_INDEX =
+			"create index task_execution_name_start_idx on TASK_EXECUTION (TASK_NAME, START_TIME)";
+
+	public final static String CREATE_TASK_BATCH_JOB_EXECUTION_INDEX =
+			"create index task_task_batch_job_idx on TASK_TASK_BATCH (JOB_EXECUTION_ID, TASK_EXECUTION_ID)";
+
+	public final static String CREATE_STEP_EXECUTION_NAME_INDEX =
+			"create index batch_step_exec_name_idx on BATCH_STEP_EXECUTION (STEP_NAME, JOB_EXECUTION_ID)";
+
+	public final static String CREATE_TASK_EXECUTION_PARAMS_INDEX =
+			"create index task_exec_params_task_idx on TASK_EXECUTION_PARAMS (TASK_EXECUTION_ID)";
+
+	public final static String CREATE_JOB_EXECUTION_INSTANCE_INDEX =
+			"create index batch_job_exec_instance_idx on BATCH_JOB_EXECUTION (JOB_INSTANCE_ID)";
+
+	public final static String CREATE_STEP_EXECUTION_JOB_INDEX =
+			"create index batch_step_exec_job_idx on BATCH_STEP_EXECUTION (JOB_EXECUTION_ID)";
+
+	public V5__Query_Indexes() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_TASK_EXECUTION_NAME_INDEX),
+				SqlCommand.from(CREATE_TASK_BATCH_JOB_EXECUTION_INDEX),
+				SqlCommand.from(CREATE_STEP_EXECUTION_NAME_INDEX),
+				SqlCommand.from(CREATE_TASK_EXECUTION_PARAMS_INDEX),
+				SqlCommand.from(CREATE_JOB_EXECUTION_INSTANCE_INDEX),
+				SqlCommand.from(CREATE_STEP_EXECUTION_JOB_INDEX)));
+	}
+}
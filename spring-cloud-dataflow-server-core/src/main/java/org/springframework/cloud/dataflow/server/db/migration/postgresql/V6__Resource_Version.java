@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.db.migration.postgresql;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.server.db.migration.AbstractMigration;
+import org.springframework.cloud.dataflow.server.db.migration.SqlCommand;
+
+/**
+ * Adds the versions of the server resources answering conditional requests for
+ * {@code postgres}.
+ */
+public class V6__Resource_Version extends AbstractMigration {
+
+	public final static String CREATE_RESOURCE_VERSION_TABLE =
+			"create table resource_version (\n" +
+			"  resource_name varchar(255) not null,\n" +
+			"  resource_version int8 not null,\n" +
+			"  primary key (resource_name)\n" +
+			")";
+
+	public final static String INSERT_RESOURCE_VERSIONS =
+			"insert into resource_version (resource_name, resource_version) values ('%s', 0)";
+
+	public V6__Resource_Version() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_RESOURCE_VERSION_TABLE),
+				SqlCommand.from(String.format(INSERT_RESOURCE_VERSIONS, "stream-definitions")),
+				SqlCommand.from(String.format(INSERT_RESOURCE_VERSIONS, "stream-deployments")),
+				SqlCommand.from(String.format(INSERT_RESOURCE_VERSIONS, "task-definitions")),
+				SqlCommand.from(String.format(INSERT_RESOURCE_VERSIONS, "app-registrations"))));
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.db.migration.sqlserver;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.server.db.migration.AbstractMigration;
+import org.springframework.cloud.dataflow.server.db.migration.SqlCommand;
+
+/**
+ * Adds the task launch queue for {@code sqlserver}.
+ */
+public class V2__Task_Launch_Queue extends AbstractMigration {
+
+	public final static String CREATE_TASK_LAUNCH_QUEUE_TABLE =
+			"create table task_launch_queue (\n" +
+			"  id bigint not null,\n" +
+			"  object_version bigint,\n" +
+			"  task_name varchar(255) not null,\n" +
+			"  platform_name varchar(255) not null,\n" +
+			"  priority int,\n" +
+			"  deployment_properties varchar(MAX),\n" +
+			"  command_line_args varchar(MAX),\n" +
+			"  created_on datetime2 not null,\n" +
+			"  attempts int,\n" +
+			"  lease_expires_on datetime2,\n" +
+			"  primary key (id)\n" +
+			")";
+
+	public final static String CREATE_TASK_LAUNCH_QUEUE_INDEX =
+			"create index task_launch_queue_idx on task_launch_queue (priority desc, created_on, id)";
+
+	public V2__Task_Launch_Queue() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_TASK_LAUNCH_QUEUE_TABLE),
+				SqlCommand.from(CREATE_TASK_LAUNCH_QUEUE_INDEX)));
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.db.migration.sqlserver;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.server.db.migration.AbstractMigration;
+import org.springframework.cloud.dataflow.server.db.migration.SqlCommand;
+
+/**
+ * Adds the indexes filtering job executions for {@code sqlserver}.
+ */
+public class V4__Job_Execution_Indexes extends AbstractMigration {
+
+	public final static String CREATE_JOB_EXECUTION_STATUS_INDEX =
+			"create index batch_job_exec_status_idx on BATCH_JOB_EXECUTION (STATUS, JOB_EXECUTION_ID)";
+
+	public final static String CREATE_JOB_EXECUTION_START_TIME_INDEX =
+			"create index batch_job_exec_start_time_idx on BATCH_JOB_EXECUTION (START_TIME)";
+
+	public final static String CREATE_JOB_EXECUTION_END_TIME_INDEX =
+			"create index batch_job_exec_end_time_idx on BATCH_JOB_EXECUTION (END_TIME)";
+
+	public final static String CREATE_TASK_BATCH_TASK_EXECUTION_INDEX =
+			"create index task_task_batch_task_idx on TASK_TASK_BATCH (TASK_EXECUTION_ID, JOB_EXECUTION_ID)";
+
+	public V4__Job_Execution_Indexes() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_JOB_EXECUTION_STATUS_INDEX),
+				SqlCommand.from(CREATE_JOB_EXECUTION_START_TIME_INDEX),
+				SqlCommand.from(CREATE_JOB_EXECUTION_END_TIME_INDEX),
+				SqlCommand.from(CREATE_TASK_BATCH_TASK_EXECUTION_INDEX)));
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.db.migration.sqlserver;
+
+import java.util.Collections;
+
+import org.springframework.cloud.dataflow.server.db.migration.AbstractMigration;
+import org.springframework.cloud.dataflow.server.db.migration.SqlCommand;
+
+/**
+ * Adds the dispatch time of the task launch queue entries for {@code sqlserver}.
+ */
+public class V7__Task_Launch_Queue_Dispatch extends AbstractMigration {
+
+	public final static String ADD_TASK_LAUNCH_QUEUE_DISPATCHED_ON =
+			"alter table task_launch_queue add dispatched_on datetime2";
+
+	public V7__Task_Launch_Queue_Dispatch() {
+		super(Collections.singletonList(SqlCommand.from(ADD_TASK_LAUNCH_QUEUE_DISPATCHED_ON)));
+	}
+}
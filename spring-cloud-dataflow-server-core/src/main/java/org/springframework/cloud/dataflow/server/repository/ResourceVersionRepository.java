@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository;
+
+import org.springframework.cloud.dataflow.core.ResourceVersion;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository of the modification counters of the resource collections.
+ */
+@Transactional
+public interface ResourceVersionRepository extends CrudRepository<ResourceVersion, String> {
+
+	/**
+	 * Increment the counter of a resource collection.
+	 *
+	 * @param name the name of the resource collection
+	 * @return the number of incremented counters, 0 if the counter does not exist yet
+	 */
+	@Modifying
+	@Query("update ResourceVersion v set v.version = v.version + 1 where v.name = :name")
+	int increment(@Param("name") String name);
+
+	/**
+	 * Read the counter of a resource collection from the database, rather than from the
+	 * persistence context which does not see the increments.
+	 *
+	 * @param name the name of the resource collection
+	 * @return the counter, null if the counter does not exist yet
+	 */
+	@Query("select v.version from ResourceVersion v where v.name = :name")
+	Long findVersion(@Param("name") String name);
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository;
+
+import java.util.Optional;
+
+import org.springframework.cloud.dataflow.core.ScheduleIndexEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository of the local schedule index.
+ */
+@Transactional
+public interface ScheduleIndexRepository extends PagingAndSortingRepository<ScheduleIndexEntry, Long> {
+
+	@Transactional(readOnly = true)
+	Optional<ScheduleIndexEntry> findByScheduleName(String scheduleName);
+
+	@Transactional(readOnly = true)
+	Page<ScheduleIndexEntry> findByTaskDefinitionName(String taskDefinitionName, Pageable pageable);
+
+	/**
+	 * Remove a schedule from the index.
+	 *
+	 * @param scheduleName the name of the schedule
+	 * @return the number of removed entries
+	 */
+	@Modifying
+	@Query("delete from ScheduleIndexEntry e where e.scheduleName = :scheduleName")
+	int deleteByScheduleName(@Param("scheduleName") String scheduleName);
+}
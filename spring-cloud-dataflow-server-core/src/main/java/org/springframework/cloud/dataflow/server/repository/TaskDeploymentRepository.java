@@ -15,8 +15,13 @@
  */
 package org.springframework.cloud.dataflow.server.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.cloud.dataflow.core.TaskDeployment;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,4 +33,16 @@ public interface TaskDeploymentRepository extends PagingAndSortingRepository<Tas
 	TaskDeployment findByTaskDeploymentId(String taskDeploymentId);
 
 	TaskDeployment findTopByTaskDefinitionNameOrderByCreatedOnAsc(String taskDefinitionName);
+
+	List<TaskDeployment> findByTaskDeploymentIdIn(Collection<String> taskDeploymentIds);
+
+	/**
+	 * Find the first deployment of each of the given task definitions.
+	 *
+	 * @param taskDefinitionNames the names of the task definitions
+	 * @return the earliest deployment of every task definition that has been launched
+	 */
+	@Query("select d from TaskDeployment d where d.taskDefinitionName in :names and d.createdOn = "
+			+ "(select min(f.createdOn) from TaskDeployment f where f.taskDefinitionName = d.taskDefinitionName)")
+	List<TaskDeployment> findFirstByTaskDefinitionNames(@Param("names") Collection<String> taskDefinitionNames);
 }
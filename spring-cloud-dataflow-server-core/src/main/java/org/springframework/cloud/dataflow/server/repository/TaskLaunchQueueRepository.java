@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository of the task launches waiting in the launch queue.
+ */
+@Transactional
+public interface TaskLaunchQueueRepository extends PagingAndSortingRepository<TaskLaunchQueueEntry, Long> {
+
+	/**
+	 * Find the entries that are not dispatched by a server launching them.
+	 */
+	@Transactional(readOnly = true)
+	@Query("select e from TaskLaunchQueueEntry e where e.dispatchedOn is null")
+	List<TaskLaunchQueueEntry> findAvailable(Pageable pageable);
+
+	/**
+	 * Mark an entry as dispatched before launching it, so that it is launched by a single
+	 * server when several servers share the queue, and never launched twice. The entry
+	 * is leased until its launch completes.
+	 *
+	 * @param id the id of the entry
+	 * @param leaseExpiresOn the end of the lease
+	 * @param now the current time
+	 * @return {@code 1} if the entry was claimed, {@code 0} if it is gone or dispatched
+	 */
+	@Modifying
+	@Query("update TaskLaunchQueueEntry e set e.dispatchedOn = :now, e.leaseExpiresOn = :leaseExpiresOn "
+			+ "where e.id = :id and e.dispatchedOn is null")
+	int claim(@Param("id") Long id, @Param("leaseExpiresOn") Instant leaseExpiresOn, @Param("now") Instant now);
+
+	/**
+	 * Put a claimed entry that was not launched back in the queue, keeping its id and
+	 * position.
+	 *
+	 * @param id the id of the entry
+	 * @param attempts the number of failed launches of the entry
+	 */
+	@Modifying
+	@Query("update TaskLaunchQueueEntry e set e.dispatchedOn = null, e.leaseExpiresOn = null, "
+			+ "e.attempts = :attempts where e.id = :id")
+	int release(@Param("id") Long id, @Param("attempts") int attempts);
+
+	/**
+	 * Remove the dispatched entries whose lease expired, left behind by a server that
+	 * stopped in the middle of a launch or failed to remove a launched entry.
+	 *
+	 * @param now the current time
+	 * @return the number of entries removed
+	 */
+	@Modifying
+	@Query("delete from TaskLaunchQueueEntry e where e.dispatchedOn is not null and e.leaseExpiresOn < :now")
+	int removeExpiredDispatches(@Param("now") Instant now);
+
+	/**
+	 * Remove an entry from the queue.
+	 *
+	 * @param id the id of the entry
+	 * @return {@code 1} if the entry was removed, {@code 0} if it was already gone
+	 */
+	@Modifying
+	@Query("delete from TaskLaunchQueueEntry e where e.id = :id")
+	int remove(@Param("id") Long id);
+
+	/**
+	 * Count the entries dispatched before an entry with the given priority, enqueue time
+	 * and id.
+	 */
+	@Transactional(readOnly = true)
+	@Query("select count(e) from TaskLaunchQueueEntry e where e.priority > :priority "
+			+ "or (e.priority = :priority and (e.createdOn < :createdOn "
+			+ "or (e.createdOn = :createdOn and e.id < :id)))")
+	long countAhead(@Param("priority") int priority, @Param("createdOn") Instant createdOn, @Param("id") Long id);
+}
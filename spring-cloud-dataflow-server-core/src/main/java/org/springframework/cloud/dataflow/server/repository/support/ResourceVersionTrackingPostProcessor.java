@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.dataflow.registry.repository.AppRegistrationRepository;
+import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
+
+/**
+ * Advises the repositories of the stream definitions, task definitions and app
+ * registrations so that each of their {@code save*} and {@code delete*} methods
+ * increments the version of the matching resource collection once it returns. The
+ * increment joins the transaction of the caller if there is one, and otherwise follows
+ * the commit of the modification, so that a new version is never visible before the
+ * modification itself.
+ */
+public class ResourceVersionTrackingPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+	private final Map<Class<?>, String> trackedRepositories = new LinkedHashMap<>();
+
+	private BeanFactory beanFactory;
+
+	private volatile ResourceVersionService resourceVersionService;
+
+	public ResourceVersionTrackingPostProcessor() {
+		this.trackedRepositories.put(StreamDefinitionRepository.class, ResourceVersionService.STREAM_DEFINITIONS);
+		this.trackedRepositories.put(TaskDefinitionRepository.class, ResourceVersionService.TASK_DEFINITIONS);
+		this.trackedRepositories.put(AppRegistrationRepository.class, ResourceVersionService.APP_REGISTRATIONS);
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		for (Map.Entry<Class<?>, String> repository : this.trackedRepositories.entrySet()) {
+			if (repository.getKey().isInstance(bean)) {
+				return track(bean, repository.getKey(), repository.getValue());
+			}
+		}
+		return bean;
+	}
+
+	private Object track(Object repository, Class<?> repositoryInterface, String resourceName) {
+		NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+		pointcut.setMappedNames("save*", "delete*");
+		DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new Interceptor(resourceName));
+		if (repository instanceof Advised && !((Advised) repository).isFrozen()) {
+			((Advised) repository).addAdvisor(0, advisor);
+			return repository;
+		}
+		ProxyFactory proxyFactory = new ProxyFactory(repository);
+		proxyFactory.addInterface(repositoryInterface);
+		proxyFactory.addAdvisor(advisor);
+		return proxyFactory.getProxy(repository.getClass().getClassLoader());
+	}
+
+	private ResourceVersionService getResourceVersionService() {
+		ResourceVersionService service = this.resourceVersionService;
+		if (service == null) {
+			service = this.beanFactory.getBean(ResourceVersionService.class);
+			this.resourceVersionService = service;
+		}
+		return service;
+	}
+
+	private class Interceptor implements MethodInterceptor {
+
+		private final String resourceName;
+
+		Interceptor(String resourceName) {
+			this.resourceName = resourceName;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			Object result = invocation.proceed();
+			getResourceVersionService().increment(this.resourceName);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.io.File;
+import java.util.Date;
+
+import org.springframework.cloud.dataflow.core.AppRegistration;
+
+/**
+ * An artifact tracked by the {@link AppResourceCacheService}.
+ */
+public class AppResourceCacheEntry {
+
+	private final AppRegistration appRegistration;
+
+	private final String uri;
+
+	private final boolean metadata;
+
+	private final File file;
+
+	private final long size;
+
+	private final Date lastAccessed;
+
+	private final Date lastResolved;
+
+	public AppResourceCacheEntry(AppRegistration appRegistration, String uri, boolean metadata, File file,
+			Date lastAccessed) {
+		this(appRegistration, uri, metadata, file, lastAccessed, null);
+	}
+
+	public AppResourceCacheEntry(AppRegistration appRegistration, String uri, boolean metadata, File file,
+			Date lastAccessed, Date lastResolved) {
+		this.appRegistration = appRegistration;
+		this.uri = uri;
+		this.metadata = metadata;
+		this.file = file;
+		this.size = file.length();
+		this.lastAccessed = lastAccessed;
+		this.lastResolved = lastResolved;
+	}
+
+	public AppRegistration getAppRegistration() {
+		return appRegistration;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public boolean isMetadata() {
+		return metadata;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public Date getLastAccessed() {
+		return lastAccessed;
+	}
+
+	/**
+	 * @return the last time the artifact was resolved outside of the cache, for example
+	 * by a deployment, or {@code null} if it has only been fetched by the cache
+	 */
+	public Date getLastResolved() {
+		return lastResolved;
+	}
+
+	public boolean isResident() {
+		return this.file.exists();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+
+/**
+ * Properties of the local app resource cache.
+ */
+@ConfigurationProperties(prefix = AppResourceCacheProperties.APP_CACHE_PREFIX)
+public class AppResourceCacheProperties {
+
+	public static final String APP_CACHE_PREFIX = DataFlowPropertyKeys.PREFIX + "app-cache";
+
+	/**
+	 * Whether to fetch the artifacts of the default app versions on startup and whenever
+	 * apps are registered.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Maximum number of artifacts fetched concurrently.
+	 */
+	private int concurrency = 4;
+
+	/**
+	 * Maximum total size in bytes of the artifacts kept by the cache. The least recently
+	 * accessed artifacts are removed from the local repository once exceeded. A value of
+	 * {@code 0} or less disables the eviction.
+	 */
+	private long maxSize;
+
+	/**
+	 * Time in seconds during which an artifact resolved by a deployment is considered in use
+	 * and is not evicted.
+	 */
+	private long inUsePeriodInSeconds = 600;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	public void setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public long getInUsePeriodInSeconds() {
+		return inUsePeriodInSeconds;
+	}
+
+	public void setInUsePeriodInSeconds(long inUsePeriodInSeconds) {
+		this.inUsePeriodInSeconds = inUsePeriodInSeconds;
+	}
+}
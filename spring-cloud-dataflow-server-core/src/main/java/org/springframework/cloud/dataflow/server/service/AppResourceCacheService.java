@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.cloud.dataflow.core.AppRegistration;
+
+/**
+ * Keeps the artifacts of registered apps resident in the local repository so that
+ * deployments do not block on downloading them.
+ */
+public interface AppResourceCacheService {
+
+	/**
+	 * @return {@code true} if the artifacts are fetched on startup and whenever apps are
+	 * registered
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Asynchronously fetch the app and metadata artifacts of all default app versions.
+	 */
+	void warmUp();
+
+	/**
+	 * Asynchronously fetch the app and metadata artifacts of the given registrations, if
+	 * they are the default version of the app.
+	 *
+	 * @param appRegistrations the registrations to fetch the artifacts for
+	 */
+	void warmUp(Collection<AppRegistration> appRegistrations);
+
+	/**
+	 * Record that the artifact with the given URI has been resolved, marking it as the most
+	 * recently accessed one and as in use. Artifacts that are not tracked are ignored.
+	 *
+	 * @param uri the URI of the app or metadata artifact
+	 */
+	void recordAccess(String uri);
+
+	/**
+	 * Stop tracking the artifacts of the given registration, typically because the app has
+	 * been unregistered.
+	 *
+	 * @param appRegistration the registration whose artifacts are no longer tracked
+	 */
+	void remove(AppRegistration appRegistration);
+
+	/**
+	 * @return the artifacts currently tracked by the cache, most recently accessed last
+	 */
+	List<AppResourceCacheEntry> getEntries();
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+/**
+ * Tracks the modification counters of the resource collections exposed by the server.
+ * The counters are stored in the Data Flow database, so that all the server instances
+ * sharing the database agree on them.
+ */
+public interface ResourceVersionService {
+
+	/**
+	 * The stream definitions.
+	 */
+	String STREAM_DEFINITIONS = "stream-definitions";
+
+	/**
+	 * The stream deployments, incremented when a stream is deployed, undeployed, updated or
+	 * rolled back.
+	 */
+	String STREAM_DEPLOYMENTS = "stream-deployments";
+
+	/**
+	 * The task definitions.
+	 */
+	String TASK_DEFINITIONS = "task-definitions";
+
+	/**
+	 * The app registrations.
+	 */
+	String APP_REGISTRATIONS = "app-registrations";
+
+	/**
+	 * @param name the name of the resource collection
+	 * @return the current version of the collection, 0 if it was never modified
+	 */
+	long getVersion(String name);
+
+	/**
+	 * Increment the version of a resource collection, as part of the current transaction
+	 * if any.
+	 *
+	 * @param name the name of the resource collection
+	 */
+	void increment(String name);
+}
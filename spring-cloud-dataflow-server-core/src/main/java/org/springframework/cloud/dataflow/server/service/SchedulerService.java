@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -63,9 +63,9 @@ public interface SchedulerService {
 	 *
 	 * @param pageable Establish the pagination setup for the result set.
 	 * @param taskDefinitionName to retrieve Schedules for a specified taskDefinitionName.
-	 * @return A List of Schedules configured for the provided taskDefinitionName.
+	 * @return Paged items of schedules configured for the provided taskDefinitionName.
 	 */
-	List<ScheduleInfo> list(Pageable pageable, String taskDefinitionName) ;
+	Page<ScheduleInfo> list(Pageable pageable, String taskDefinitionName);
 
 	/**
 	 * List all of the schedules registered with the system.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,13 @@ public class SchedulerServiceProperties {
 	 */
 	private int maxSchedulesReturned = SCHEDULER_MAX_RETURNED_NUMBER;
 
+	/**
+	 * Interval between two reconciliations of the local schedule index with the schedules
+	 * of the platform, in seconds. The index is also reconciled at startup. A value of
+	 * {@code 0} or less disables the reconciliation.
+	 */
+	private long indexReconcileIntervalInSeconds = 300;
+
 	public int getMaxSchedulesReturned() {
 		return maxSchedulesReturned;
 	}
@@ -42,4 +49,12 @@ public class SchedulerServiceProperties {
 	public void setMaxSchedulesReturned(int maxSchedulesReturned) {
 		this.maxSchedulesReturned = maxSchedulesReturned;
 	}
+
+	public long getIndexReconcileIntervalInSeconds() {
+		return indexReconcileIntervalInSeconds;
+	}
+
+	public void setIndexReconcileIntervalInSeconds(long indexReconcileIntervalInSeconds) {
+		this.indexReconcileIntervalInSeconds = indexReconcileIntervalInSeconds;
+	}
 }
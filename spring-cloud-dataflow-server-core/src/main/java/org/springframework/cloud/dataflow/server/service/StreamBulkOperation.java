@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.util.Assert;
+
+/**
+ * Progress of a deploy, undeploy or destroy operation that runs asynchronously over a set
+ * of streams. The operation and the progress of every stream are updated by the threads
+ * executing it.
+ */
+public class StreamBulkOperation {
+
+	/**
+	 * The operation applied to every selected stream.
+	 */
+	public enum Type {
+		deploy, undeploy, destroy
+	}
+
+	/**
+	 * Status of the whole operation or of a single stream.
+	 */
+	public enum Status {
+		PENDING, RUNNING, SUCCEEDED, FAILED
+	}
+
+	private final String id;
+
+	private final Type type;
+
+	private final Date startTime;
+
+	private final Map<String, StreamProgress> streams = new LinkedHashMap<>();
+
+	private volatile Status status;
+
+	private volatile Date endTime;
+
+	public StreamBulkOperation(Type type, List<String> streamNames) {
+		Assert.notNull(type, "type must not be null");
+		Assert.notNull(streamNames, "streamNames must not be null");
+		this.id = UUID.randomUUID().toString();
+		this.type = type;
+		this.startTime = new Date();
+		this.status = Status.PENDING;
+		for (String streamName : streamNames) {
+			this.streams.put(streamName, new StreamProgress(streamName));
+		}
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	public Date getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * @return the progress of every selected stream, in the order the streams were selected
+	 */
+	public List<StreamProgress> getStreams() {
+		return Collections.unmodifiableList(new ArrayList<>(this.streams.values()));
+	}
+
+	/**
+	 * @param streamName the name of a selected stream
+	 * @return the progress of the stream
+	 */
+	public StreamProgress getStream(String streamName) {
+		StreamProgress progress = this.streams.get(streamName);
+		Assert.notNull(progress, "Stream '" + streamName + "' is not part of operation " + this.id);
+		return progress;
+	}
+
+	public void start() {
+		this.status = Status.RUNNING;
+	}
+
+	/**
+	 * Mark the operation as done, failed if any of the streams failed.
+	 */
+	public void complete() {
+		boolean failed = this.streams.values().stream().anyMatch(s -> s.getStatus() != Status.SUCCEEDED);
+		this.endTime = new Date();
+		this.status = failed ? Status.FAILED : Status.SUCCEEDED;
+	}
+
+	/**
+	 * Progress of a single stream in a {@link StreamBulkOperation}.
+	 */
+	public static class StreamProgress {
+
+		private final String name;
+
+		private volatile Status status;
+
+		private volatile String message;
+
+		StreamProgress(String name) {
+			this.name = name;
+			this.status = Status.PENDING;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the reason the operation failed for the stream, if it did
+		 */
+		public String getMessage() {
+			return message;
+		}
+
+		public void start() {
+			this.status = Status.RUNNING;
+		}
+
+		public void succeed() {
+			this.status = Status.SUCCEEDED;
+		}
+
+		public void fail(String message) {
+			this.message = message;
+			this.status = Status.FAILED;
+		}
+	}
+}
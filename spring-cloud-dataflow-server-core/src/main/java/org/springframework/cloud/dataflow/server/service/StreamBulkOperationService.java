@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
+
+/**
+ * Runs deploy, undeploy and destroy operations over many streams asynchronously, with
+ * bounded parallelism, and keeps track of their progress.
+ */
+public interface StreamBulkOperationService {
+
+	/**
+	 * Start an operation over the streams selected by name or by a name pattern. Streams
+	 * that consume from the destinations of other selected streams are deployed after
+	 * them, and undeployed or destroyed before them.
+	 *
+	 * @param type the operation to apply to every selected stream
+	 * @param streamNames the names of the streams, may be empty if a pattern is given
+	 * @param pattern a stream name pattern supporting {@code *} wildcards, may be
+	 * {@code null} if names are given
+	 * @param deploymentProperties the deployment properties used for every stream when
+	 * deploying, may be {@code null}
+	 * @return the operation, which keeps being updated while it runs
+	 * @throws NoSuchStreamDefinitionException if one of the named streams does not exist
+	 */
+	StreamBulkOperation submit(StreamBulkOperation.Type type, List<String> streamNames, String pattern,
+			Map<String, String> deploymentProperties);
+
+	/**
+	 * @param id the id of the operation
+	 * @return the operation
+	 * @throws NoSuchStreamBulkOperationException if the operation is not, or no longer,
+	 * known
+	 */
+	StreamBulkOperation getOperation(String id);
+
+	/**
+	 * @return the most recent operations, oldest first
+	 */
+	List<StreamBulkOperation> getOperations();
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.cloud.dataflow.server.stream.StreamDeploymentPhase;
+import org.springframework.util.Assert;
+
+/**
+ * Progress of a stream deployment that runs asynchronously. The operation is updated by
+ * the thread executing it as the deployment enters each {@link StreamDeploymentPhase}.
+ */
+public class StreamDeploymentOperation {
+
+	/**
+	 * Status of the operation.
+	 */
+	public enum Status {
+		PENDING, RUNNING, SUCCEEDED, FAILED
+	}
+
+	private final String id;
+
+	private final String streamName;
+
+	private final Date startTime;
+
+	private final List<PhaseProgress> phases = new ArrayList<>();
+
+	private volatile Status status;
+
+	private volatile String message;
+
+	private volatile Date endTime;
+
+	public StreamDeploymentOperation(String streamName) {
+		Assert.hasText(streamName, "streamName must not be empty");
+		this.id = UUID.randomUUID().toString();
+		this.streamName = streamName;
+		this.startTime = new Date();
+		this.status = Status.PENDING;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getStreamName() {
+		return streamName;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return the reason the deployment failed, if it did
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	public Date getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * @return the phases entered so far, in the order they were entered
+	 */
+	public List<PhaseProgress> getPhases() {
+		synchronized (this.phases) {
+			return Collections.unmodifiableList(new ArrayList<>(this.phases));
+		}
+	}
+
+	/**
+	 * @return the phase the deployment is in, or {@code null} if none was entered yet
+	 */
+	public StreamDeploymentPhase getCurrentPhase() {
+		synchronized (this.phases) {
+			return this.phases.isEmpty() ? null : this.phases.get(this.phases.size() - 1).getPhase();
+		}
+	}
+
+	public void start() {
+		this.status = Status.RUNNING;
+	}
+
+	/**
+	 * Complete the current phase, if any, and enter the given one.
+	 *
+	 * @param phase the phase entered
+	 */
+	public void enter(StreamDeploymentPhase phase) {
+		Assert.notNull(phase, "phase must not be null");
+		synchronized (this.phases) {
+			completeCurrentPhase();
+			this.phases.add(new PhaseProgress(phase));
+		}
+	}
+
+	public void succeed() {
+		synchronized (this.phases) {
+			completeCurrentPhase();
+		}
+		this.endTime = new Date();
+		this.status = Status.SUCCEEDED;
+	}
+
+	public void fail(String message) {
+		this.message = message;
+		this.endTime = new Date();
+		this.status = Status.FAILED;
+	}
+
+	private void completeCurrentPhase() {
+		if (!this.phases.isEmpty()) {
+			this.phases.get(this.phases.size() - 1).complete();
+		}
+	}
+
+	/**
+	 * A phase of a {@link StreamDeploymentOperation} with the time it was entered and,
+	 * once the next phase is entered, completed.
+	 */
+	public static class PhaseProgress {
+
+		private final StreamDeploymentPhase phase;
+
+		private final Date startTime;
+
+		private volatile Date endTime;
+
+		PhaseProgress(StreamDeploymentPhase phase) {
+			this.phase = phase;
+			this.startTime = new Date();
+		}
+
+		public StreamDeploymentPhase getPhase() {
+			return phase;
+		}
+
+		public Date getStartTime() {
+			return startTime;
+		}
+
+		/**
+		 * @return the time the phase completed, or {@code null} while it runs or if the
+		 * deployment failed in it
+		 */
+		public Date getEndTime() {
+			return endTime;
+		}
+
+		void complete() {
+			this.endTime = new Date();
+		}
+	}
+}
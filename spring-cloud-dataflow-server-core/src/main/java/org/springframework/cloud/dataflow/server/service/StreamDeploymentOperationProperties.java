@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+
+/**
+ * Properties of the asynchronous stream deployments.
+ */
+@ConfigurationProperties(prefix = StreamDeploymentOperationProperties.STREAM_DEPLOYMENT_PREFIX)
+public class StreamDeploymentOperationProperties {
+
+	public static final String STREAM_DEPLOYMENT_PREFIX = DataFlowPropertyKeys.PREFIX + "stream.deployment";
+
+	/**
+	 * Maximum number of streams deployed concurrently. Further deployments wait for a
+	 * running one to finish.
+	 */
+	private int concurrency = 4;
+
+	/**
+	 * How long to wait for the apps of a stream to be deployed once Skipper installed the
+	 * release. A value of {@code 0} or less completes the deployment right after the
+	 * install.
+	 */
+	private long convergeTimeoutInSeconds = 300;
+
+	/**
+	 * Interval between two checks of the stream state while waiting for its apps to be
+	 * deployed.
+	 */
+	private long convergePollIntervalInMillis = 2000;
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public long getConvergeTimeoutInSeconds() {
+		return convergeTimeoutInSeconds;
+	}
+
+	public void setConvergeTimeoutInSeconds(long convergeTimeoutInSeconds) {
+		this.convergeTimeoutInSeconds = convergeTimeoutInSeconds;
+	}
+
+	public long getConvergePollIntervalInMillis() {
+		return convergePollIntervalInMillis;
+	}
+
+	public void setConvergePollIntervalInMillis(long convergePollIntervalInMillis) {
+		this.convergePollIntervalInMillis = convergePollIntervalInMillis;
+	}
+}
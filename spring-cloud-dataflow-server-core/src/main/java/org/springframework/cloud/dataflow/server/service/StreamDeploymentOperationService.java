@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.Map;
+
+import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
+
+/**
+ * Deploys streams asynchronously, with bounded parallelism, and keeps track of the
+ * phases each deployment goes through.
+ */
+public interface StreamDeploymentOperationService {
+
+	/**
+	 * Start deploying the stream in the background.
+	 *
+	 * @param streamName the name of the stream
+	 * @param deploymentProperties the deployment properties, may be {@code null}
+	 * @return the operation, which keeps being updated while it runs
+	 * @throws NoSuchStreamDefinitionException if the stream does not exist
+	 */
+	StreamDeploymentOperation submit(String streamName, Map<String, String> deploymentProperties);
+
+	/**
+	 * @param id the id of the operation
+	 * @return the operation
+	 * @throws NoSuchStreamDeploymentOperationException if the operation is not, or no
+	 * longer, known
+	 */
+	StreamDeploymentOperation getOperation(String id);
+}
@@ -18,12 +18,14 @@ package org.springframework.cloud.dataflow.server.service;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.StreamDeployment;
 import org.springframework.cloud.dataflow.rest.UpdateStreamRequest;
 import org.springframework.cloud.dataflow.server.controller.support.InvalidStreamDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
+import org.springframework.cloud.dataflow.server.stream.StreamDeploymentPhase;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.Release;
@@ -79,6 +81,13 @@ public interface StreamService {
 	 */
 	Collection<Deployer> platformList();
 
+	/**
+	 * Evict the cached list of deployment platforms and fetch it again.
+	 *
+	 * @return list of supported deployment platforms
+	 */
+	Collection<Deployer> refreshPlatformList();
+
 	/**
 	 * Create a new stream.
 	 *
@@ -100,6 +109,18 @@ public interface StreamService {
 	 */
 	void deployStream(String name, Map<String, String> deploymentProperties);
 
+	/**
+	 * Deploys the stream with the user provided deployment properties, notifying the
+	 * given listener as the deployment enters each of its phases up to
+	 * {@link StreamDeploymentPhase#INSTALL}.
+	 * @param name the name of the stream
+	 * @param deploymentProperties deployment properties to use as passed in from the client.
+	 * @param phaseListener notified on the calling thread when a phase is entered, may be
+	 * {@code null}
+	 */
+	void deployStream(String name, Map<String, String> deploymentProperties,
+			Consumer<StreamDeploymentPhase> phaseListener);
+
 	/**
 	 * Un-deploys the stream identified by the given stream name.
 	 *
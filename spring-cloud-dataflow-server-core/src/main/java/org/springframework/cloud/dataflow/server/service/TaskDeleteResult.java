@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+/**
+ * Outcome of the deletion of a single task definition, or of the cleanup of a single
+ * task execution, within a bulk operation of the {@link TaskDeleteService}.
+ */
+public class TaskDeleteResult {
+
+	private final String taskName;
+
+	private final Long executionId;
+
+	private final String errorMessage;
+
+	/**
+	 * @param taskName the name of the task definition
+	 * @param executionId the id of the task execution, {@code null} for a task definition
+	 * @param errorMessage the reason the operation failed, {@code null} if it succeeded
+	 */
+	public TaskDeleteResult(String taskName, Long executionId, String errorMessage) {
+		this.taskName = taskName;
+		this.executionId = executionId;
+		this.errorMessage = errorMessage;
+	}
+
+	public String getTaskName() {
+		return this.taskName;
+	}
+
+	public Long getExecutionId() {
+		return this.executionId;
+	}
+
+	public String getErrorMessage() {
+		return this.errorMessage;
+	}
+
+	public boolean isSuccessful() {
+		return this.errorMessage == null;
+	}
+}
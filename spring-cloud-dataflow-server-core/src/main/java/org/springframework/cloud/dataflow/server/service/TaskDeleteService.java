@@ -16,6 +16,10 @@
 
 package org.springframework.cloud.dataflow.server.service;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Provides task deletion services.
  *
@@ -40,6 +44,39 @@ public interface TaskDeleteService {
 	/**
 	 * Destroy all task definitions. If it is a Composed Task then the task definitions
 	 * required for a ComposedTaskRunner tasks are also destroyed.
+	 *
+	 * @return the outcome for every task definition, each composed task followed by its
+	 * child tasks
+	 */
+	List<TaskDeleteResult> deleteAll();
+
+	/**
+	 * Destroy the given task definitions, along with the child task definitions of the
+	 * composed tasks among them. The definitions are removed from the repository
+	 * together and the platform resources of the tasks are destroyed concurrently.
+	 *
+	 * @param names the names of the task definitions
+	 * @return the outcome for every task definition, in the order of the names, each
+	 * composed task followed by its child tasks
+	 */
+	List<TaskDeleteResult> deleteTaskDefinitions(Collection<String> names);
+
+	/**
+	 * Cleanup the resources that resulted from running the tasks with the given execution
+	 * ids. The platform resources are cleaned up concurrently.
+	 *
+	 * @param ids the execution ids
+	 * @return the outcome for every execution, in the order of the ids
+	 */
+	List<TaskDeleteResult> cleanupExecutions(Collection<Long> ids);
+
+	/**
+	 * Cleanup the resources that resulted from running the task executions that ended
+	 * within the given range. The platform resources are cleaned up concurrently.
+	 *
+	 * @param from the earliest end time, or {@code null} for no lower bound
+	 * @param to the latest end time, or {@code null} for no upper bound
+	 * @return the outcome for every execution, by execution id
 	 */
-	void deleteAll();
+	List<TaskDeleteResult> cleanupExecutions(Instant from, Instant to);
 }
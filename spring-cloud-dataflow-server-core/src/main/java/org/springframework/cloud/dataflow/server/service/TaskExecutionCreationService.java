@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.dataflow.server.service;
 
+import java.util.List;
+
 import org.springframework.cloud.task.repository.TaskExecution;
 
 /**
@@ -31,4 +33,13 @@ public interface TaskExecutionCreationService {
 	 * @return {@link TaskExecution}
 	 */
 	TaskExecution createTaskExecution(String taskName);
+
+	/**
+	 * Creates the given number of {@link TaskExecution}s using the specified taskName,
+	 * all in the same transaction.
+	 * @param taskName the name to be associated with the {@link TaskExecution}s
+	 * @param count the number of {@link TaskExecution}s to create
+	 * @return the {@link TaskExecution}s, in creation order
+	 */
+	List<TaskExecution> createTaskExecutions(String taskName, int count);
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.dataflow.server.service;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.springframework.cloud.dataflow.server.service.impl.TaskExecutionInformation;
@@ -36,4 +37,12 @@ public interface TaskExecutionInfoService {
 	TaskExecutionInformation findTaskExecutionInformation(String taskName,
 			Map<String, String> taskDeploymentProperties);
 
+	/**
+	 * Forget what was looked up to launch the given task definitions, once they are
+	 * deleted.
+	 *
+	 * @param taskNames the names of the deleted task definitions
+	 */
+	void evictLaunchPlans(Collection<String> taskNames);
+
 }
@@ -33,7 +33,9 @@ import java.util.Map;
 public interface TaskExecutionService {
 
 	/**
-	 * Execute a task with the provided task name and optional runtime properties.
+	 * Execute a task with the provided task name and optional runtime properties. When the
+	 * concurrent task executions are at their limit, the launch is queued, if a launch
+	 * queue is available, and a {@link TaskLaunchQueuedException} is thrown.
 	 *
 	 * @param taskName Name of the task. Must not be null or empty.
 	 * @param taskDeploymentProperties Optional deployment properties. Must not be null.
@@ -42,4 +44,30 @@ public interface TaskExecutionService {
 	 */
 	long executeTask(String taskName, Map<String, String> taskDeploymentProperties, List<String> commandLineArgs);
 
+	/**
+	 * Execute a task with the provided task name and optional runtime properties, failing
+	 * with a {@link TaskLaunchLimitExceededException} instead of queueing the launch when
+	 * the concurrent task executions are at their limit.
+	 *
+	 * @param taskName Name of the task. Must not be null or empty.
+	 * @param taskDeploymentProperties Optional deployment properties. Must not be null.
+	 * @param commandLineArgs Optional runtime commandline arguments
+	 * @return the taskExecutionId for the executed task.
+	 */
+	long executeTaskWithoutQueueing(String taskName, Map<String, String> taskDeploymentProperties,
+			List<String> commandLineArgs);
+
+	/**
+	 * Execute a task once per set of commandline arguments, with the same runtime
+	 * properties. The launches are admitted one by one: a launch that fails is reported
+	 * in its result and does not prevent the other launches.
+	 *
+	 * @param taskName Name of the task. Must not be null or empty.
+	 * @param taskDeploymentProperties Optional deployment properties. Must not be null.
+	 * @param commandLineArgs The commandline arguments of every launch. Must not be empty.
+	 * @return the result of every launch, in the order of the commandline arguments
+	 */
+	List<TaskLaunchResult> executeTasks(String taskName, Map<String, String> taskDeploymentProperties,
+			List<List<String>> commandLineArgs);
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.batch.core.launch.JobExecutionNotRunningException;
 import org.springframework.batch.core.launch.NoSuchJobException;
 import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.batch.core.launch.NoSuchJobInstanceException;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 import org.springframework.cloud.dataflow.rest.job.JobInstanceExecutions;
 import org.springframework.cloud.dataflow.rest.job.TaskJobExecution;
 import org.springframework.cloud.dataflow.server.batch.JobExecutionWithStepCount;
@@ -132,6 +133,39 @@ public interface TaskJobService {
 	 */
 	int countJobExecutionsForJob(String jobName) throws NoSuchJobException;
 
+	/**
+	 * Retrieves Pageable list of {@link JobExecution}s matching a query from the
+	 * JobRepository and matches the data with a task id.
+	 *
+	 * @param pageable enumerates the data to be returned.
+	 * @param query the criteria the job executions must match.
+	 * @return List containing {@link TaskJobExecution}s.
+	 * @throws NoSuchJobException if the query names a job that does not exist.
+	 */
+	List<TaskJobExecution> listJobExecutions(Pageable pageable, JobExecutionQuery query) throws NoSuchJobException;
+
+	/**
+	 * Retrieves Pageable list of {@link JobExecutionWithStepCount}s matching a query from
+	 * the JobRepository and matches the data with a task id but excludes the step
+	 * executions.
+	 *
+	 * @param pageable enumerates the data to be returned.
+	 * @param query the criteria the job executions must match.
+	 * @return List containing {@link TaskJobExecution}s.
+	 * @throws NoSuchJobException if the query names a job that does not exist.
+	 */
+	List<TaskJobExecution> listJobExecutionsWithStepCount(Pageable pageable, JobExecutionQuery query)
+			throws NoSuchJobException;
+
+	/**
+	 * Retrieves the total number {@link JobExecution} that match a query.
+	 *
+	 * @param query the criteria the job executions must match.
+	 * @return the number of {@link JobExecution}s that match the query.
+	 * @throws NoSuchJobException if the query names a job that does not exist.
+	 */
+	int countJobExecutions(JobExecutionQuery query) throws NoSuchJobException;
+
 	/**
 	 * Restarts a {@link JobExecution} IF the respective {@link JobExecution} is actually
 	 * deemed restartable. Otherwise a {@link JobNotRestartableException} is being thrown.
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+/**
+ * Admits task launches against the global and the per-platform limits of concurrently
+ * running task executions. A slot is acquired before a task is launched and bound to
+ * its execution once launched; it is released when the execution ends.
+ */
+public interface TaskLaunchAdmissionService {
+
+	/**
+	 * Acquire a slot for a launch on the given platform.
+	 *
+	 * @param platformName the name of the platform the task is launched on
+	 * @throws TaskLaunchLimitExceededException if the global or the platform limit is reached
+	 */
+	void acquire(String platformName);
+
+	/**
+	 * Bind a slot acquired with {@link #acquire(String)} to the launched execution. The
+	 * slot is released once the execution ends.
+	 *
+	 * @param platformName the name of the platform the task was launched on
+	 * @param executionId the id of the task execution
+	 */
+	void bind(String platformName, long executionId);
+
+	/**
+	 * Release a slot acquired with {@link #acquire(String)} whose launch failed.
+	 *
+	 * @param platformName the name of the platform the task was to be launched on
+	 */
+	void release(String platformName);
+
+	/**
+	 * Release the slots of the executions that ended and account for the running
+	 * executions launched elsewhere, such as before a restart.
+	 */
+	void reconcile();
+
+	/**
+	 * @return the number of slots in use across all platforms
+	 */
+	long getRunningExecutionCount();
+
+	/**
+	 * @param platformName the name of a platform
+	 * @return the number of slots in use on the platform
+	 */
+	long getRunningExecutionCount(String platformName);
+}
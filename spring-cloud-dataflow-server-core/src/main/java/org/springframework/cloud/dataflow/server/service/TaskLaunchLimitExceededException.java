@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+/**
+ * Thrown when a task can not be launched because the maximum number of concurrent task
+ * executions, either across all platforms or on a single platform, is reached.
+ */
+public class TaskLaunchLimitExceededException extends IllegalStateException {
+
+	private final String platformName;
+
+	/**
+	 * @param message the detail message
+	 * @param platformName the name of the platform at its limit, or {@code null} if the
+	 * limit across all platforms is reached
+	 */
+	public TaskLaunchLimitExceededException(String message, String platformName) {
+		super(message);
+		this.platformName = platformName;
+	}
+
+	/**
+	 * @return the name of the platform at its limit, or {@code null} if the limit across
+	 * all platforms is reached
+	 */
+	public String getPlatformName() {
+		return this.platformName;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskLaunchQueueEntryException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Queues task launches in the Data Flow database until a slot is free under the
+ * concurrent task execution limits. Queued launches are dispatched by descending
+ * priority; among launches of the same priority, task definitions take turns and each
+ * definition's launches are dispatched in the order they were enqueued.
+ */
+public interface TaskLaunchQueueService {
+
+	/**
+	 * Add a launch to the queue and trigger a dispatch, so that it is launched right away
+	 * if a slot is free.
+	 *
+	 * @param taskName the name of the task definition
+	 * @param taskDeploymentProperties the deployment properties, may be {@code null}
+	 * @param commandLineArgs the command line arguments, may be {@code null}
+	 * @param priority the priority of the launch, higher priorities are launched first
+	 * @return the queue entry
+	 * @throws NoSuchTaskDefinitionException if the task definition does not exist
+	 */
+	TaskLaunchQueueEntry enqueue(String taskName, Map<String, String> taskDeploymentProperties,
+			List<String> commandLineArgs, int priority);
+
+	/**
+	 * @param pageable the page to return, the sort is ignored
+	 * @return the queued launches in the order they are dispatched
+	 */
+	Page<TaskLaunchQueueEntry> getEntries(Pageable pageable);
+
+	/**
+	 * @param id the id of the queue entry
+	 * @return the queue entry
+	 * @throws NoSuchTaskLaunchQueueEntryException if the launch is no longer queued
+	 */
+	TaskLaunchQueueEntry getEntry(long id);
+
+	/**
+	 * @param entry a queue entry
+	 * @return the 1-based position of the entry in the queue
+	 */
+	long getPosition(TaskLaunchQueueEntry entry);
+
+	/**
+	 * Remove a launch from the queue.
+	 *
+	 * @param id the id of the queue entry
+	 * @throws NoSuchTaskLaunchQueueEntryException if the launch is no longer queued
+	 */
+	void cancel(long id);
+
+	/**
+	 * Launch queued tasks until the queue is empty or the limits are reached.
+	 *
+	 * @return the number of tasks launched
+	 */
+	int dispatch();
+
+	/**
+	 * @return the number of queued launches
+	 */
+	long getDepth();
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
+
+/**
+ * Thrown when a task launch could not be admitted because the maximum number of
+ * concurrent task executions is reached, and was put in the launch queue instead.
+ */
+public class TaskLaunchQueuedException extends RuntimeException {
+
+	private final TaskLaunchQueueEntry entry;
+
+	private final long position;
+
+	/**
+	 * @param entry the queued launch
+	 * @param position the position of the launch in the queue, starting at {@code 1}
+	 */
+	public TaskLaunchQueuedException(TaskLaunchQueueEntry entry, long position) {
+		super(String.format("The launch of task [%s] was queued at position %d", entry.getTaskName(), position));
+		this.entry = entry;
+		this.position = position;
+	}
+
+	/**
+	 * @return the queued launch
+	 */
+	public TaskLaunchQueueEntry getEntry() {
+		return this.entry;
+	}
+
+	/**
+	 * @return the position of the launch in the queue, starting at {@code 1}
+	 */
+	public long getPosition() {
+		return this.position;
+	}
+}
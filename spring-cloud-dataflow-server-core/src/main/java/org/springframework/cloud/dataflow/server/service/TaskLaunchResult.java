@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+/**
+ * Outcome of a single launch of a bulk task launch.
+ *
+ * @see TaskExecutionService#executeTasks(String, java.util.Map, java.util.List)
+ */
+public class TaskLaunchResult {
+
+	private final int index;
+
+	private final Long executionId;
+
+	private final String errorMessage;
+
+	/**
+	 * @param index the position of the argument set in the bulk launch
+	 * @param executionId the id of the task execution, {@code null} if the launch failed
+	 * before the execution was created
+	 * @param errorMessage the reason the launch failed, {@code null} if it succeeded
+	 */
+	public TaskLaunchResult(int index, Long executionId, String errorMessage) {
+		this.index = index;
+		this.executionId = executionId;
+		this.errorMessage = errorMessage;
+	}
+
+	public int getIndex() {
+		return this.index;
+	}
+
+	public Long getExecutionId() {
+		return this.executionId;
+	}
+
+	public String getErrorMessage() {
+		return this.errorMessage;
+	}
+
+	public boolean isLaunched() {
+		return this.errorMessage == null;
+	}
+}
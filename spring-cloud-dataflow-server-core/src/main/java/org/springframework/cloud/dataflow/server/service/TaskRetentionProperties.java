@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+
+/**
+ * Properties of the purge of the task and batch execution history.
+ */
+@ConfigurationProperties(prefix = TaskRetentionProperties.TASK_RETENTION_PREFIX)
+public class TaskRetentionProperties {
+
+	public static final String TASK_RETENTION_PREFIX = DataFlowPropertyKeys.PREFIX + "task.retention";
+
+	/**
+	 * Whether the history is purged periodically. The history can be purged on demand
+	 * regardless.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Interval between two periodic purges.
+	 */
+	private long purgeIntervalInMinutes = 60;
+
+	/**
+	 * Number of task executions, along with their batch executions, deleted in a single
+	 * transaction.
+	 */
+	private int batchSize = 100;
+
+	/**
+	 * Pause between two transactions of a purge, leaving room for the other users of the
+	 * database.
+	 */
+	private long pauseBetweenBatchesInMillis = 200;
+
+	/**
+	 * Maximum number of task executions deleted by a single purge. The remaining ones
+	 * are deleted by the next purges.
+	 */
+	private int maxExecutionsPerPurge = 10000;
+
+	/**
+	 * Policy of the task definitions without a policy of their own. Without it, the
+	 * history of these task definitions is kept.
+	 */
+	private Policy defaultPolicy = new Policy();
+
+	/**
+	 * Policies keyed by the task definition name.
+	 */
+	private Map<String, Policy> policies = new HashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getPurgeIntervalInMinutes() {
+		return purgeIntervalInMinutes;
+	}
+
+	public void setPurgeIntervalInMinutes(long purgeIntervalInMinutes) {
+		this.purgeIntervalInMinutes = purgeIntervalInMinutes;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public long getPauseBetweenBatchesInMillis() {
+		return pauseBetweenBatchesInMillis;
+	}
+
+	public void setPauseBetweenBatchesInMillis(long pauseBetweenBatchesInMillis) {
+		this.pauseBetweenBatchesInMillis = pauseBetweenBatchesInMillis;
+	}
+
+	public int getMaxExecutionsPerPurge() {
+		return maxExecutionsPerPurge;
+	}
+
+	public void setMaxExecutionsPerPurge(int maxExecutionsPerPurge) {
+		this.maxExecutionsPerPurge = maxExecutionsPerPurge;
+	}
+
+	public Policy getDefaultPolicy() {
+		return defaultPolicy;
+	}
+
+	public void setDefaultPolicy(Policy defaultPolicy) {
+		this.defaultPolicy = defaultPolicy;
+	}
+
+	public Map<String, Policy> getPolicies() {
+		return policies;
+	}
+
+	public void setPolicies(Map<String, Policy> policies) {
+		this.policies = policies;
+	}
+
+	/**
+	 * Retention policy of the history of a task definition. Only ended task executions
+	 * are purged. When both limits are set, a task execution is kept as long as either
+	 * one retains it.
+	 */
+	public static class Policy {
+
+		/**
+		 * Number of most recent task executions to keep.
+		 */
+		private Integer keepLast;
+
+		/**
+		 * Number of days the task executions are kept after they ended.
+		 */
+		private Integer keepDays;
+
+		public Integer getKeepLast() {
+			return keepLast;
+		}
+
+		public void setKeepLast(Integer keepLast) {
+			this.keepLast = keepLast;
+		}
+
+		public Integer getKeepDays() {
+			return keepDays;
+		}
+
+		public void setKeepDays(Integer keepDays) {
+			this.keepDays = keepDays;
+		}
+
+		public boolean isEmpty() {
+			return keepLast == null && keepDays == null;
+		}
+	}
+}
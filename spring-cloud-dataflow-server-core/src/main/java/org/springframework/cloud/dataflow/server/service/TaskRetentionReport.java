@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a purge of the task and batch execution history, or of a dry run of it.
+ */
+public class TaskRetentionReport {
+
+	private final boolean dryRun;
+
+	private final List<TaskPurge> tasks;
+
+	private final Map<String, Long> deletedRows;
+
+	/**
+	 * @param dryRun whether nothing was actually deleted
+	 * @param tasks the task executions purged, per task name
+	 * @param deletedRows the number of rows deleted, per table
+	 */
+	public TaskRetentionReport(boolean dryRun, List<TaskPurge> tasks, Map<String, Long> deletedRows) {
+		this.dryRun = dryRun;
+		this.tasks = tasks;
+		this.deletedRows = deletedRows;
+	}
+
+	public boolean isDryRun() {
+		return this.dryRun;
+	}
+
+	/**
+	 * @return the task executions purged, or that would have been purged, per task name
+	 */
+	public List<TaskPurge> getTasks() {
+		return this.tasks;
+	}
+
+	/**
+	 * @return the number of rows deleted, per table, empty for a dry run
+	 */
+	public Map<String, Long> getDeletedRows() {
+		return this.deletedRows;
+	}
+
+	/**
+	 * The task executions of a task name purged by a purge.
+	 */
+	public static class TaskPurge {
+
+		private final String taskName;
+
+		private final long taskExecutionCount;
+
+		private final long jobExecutionCount;
+
+		public TaskPurge(String taskName, long taskExecutionCount, long jobExecutionCount) {
+			this.taskName = taskName;
+			this.taskExecutionCount = taskExecutionCount;
+			this.jobExecutionCount = jobExecutionCount;
+		}
+
+		public String getTaskName() {
+			return this.taskName;
+		}
+
+		public long getTaskExecutionCount() {
+			return this.taskExecutionCount;
+		}
+
+		public long getJobExecutionCount() {
+			return this.jobExecutionCount;
+		}
+	}
+}
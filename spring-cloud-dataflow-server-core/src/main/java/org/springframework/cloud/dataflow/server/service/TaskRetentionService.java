@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service;
+
+/**
+ * Purges the task and batch execution history according to the retention policies of
+ * the task definitions.
+ *
+ * @see TaskRetentionProperties
+ */
+public interface TaskRetentionService {
+
+	/**
+	 * Purge the ended task executions that the retention policies no longer retain,
+	 * along with their parameters and batch executions. The executions are deleted in
+	 * small transactions, up to the maximum number of executions of a purge.
+	 *
+	 * @param dryRun {@code true} to only report what would be purged
+	 * @return what was purged
+	 */
+	TaskRetentionReport purge(boolean dryRun);
+
+	/**
+	 * Purge the history in the background, like the periodic purge does.
+	 *
+	 * @return {@code true} if a purge was requested, {@code false} if one was already
+	 * waiting to start
+	 */
+	boolean requestPurge();
+}
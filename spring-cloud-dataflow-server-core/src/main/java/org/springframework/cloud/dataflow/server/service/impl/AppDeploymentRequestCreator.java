@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 the original author or authors.
+ * Copyright 2017-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,13 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -46,6 +52,12 @@ import org.springframework.util.Assert;
 /**
  * Create the list of {@link AppDeploymentRequest}s from a {@link StreamDefinition} and
  * deployment properties map.
+ * <p>
+ * When a {@link ForkJoinPool} is provided, the app and metadata resources of the stream's
+ * apps (and the whitelist qualification that depends on them) are resolved concurrently,
+ * bounded by the parallelism of the pool. The returned requests always keep the
+ * deployment order of the stream.
+ *
  * @author Eric Bottard
  * @author Mark Fisher
  * @author Patrick Peralta
@@ -57,6 +69,11 @@ public class AppDeploymentRequestCreator {
 
 	private static final String DEFAULT_PARTITION_KEY_EXPRESSION = "payload";
 
+	/**
+	 * Name of the timer recording the resource resolution time of each app.
+	 */
+	public static final String APP_RESOLUTION_TIMER = "spring.cloud.dataflow.stream.app.resolution";
+
 	private static Log logger = LogFactory.getLog(AppDeploymentRequestCreator.class);
 
 	private final AppRegistryService appRegistry;
@@ -65,15 +82,46 @@ public class AppDeploymentRequestCreator {
 
 	private final WhitelistProperties whitelistProperties;
 
+	private final ForkJoinPool forkJoinPool;
+
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Create an {@link AppDeploymentRequestCreator} that resolves the app resources
+	 * sequentially on the calling thread, without recording their resolution time.
+	 * @param appRegistry the app registry service
+	 * @param commonApplicationProperties the common application properties
+	 * @param metadataResolver the metadata resolver used for the whitelist qualification
+	 */
 	public AppDeploymentRequestCreator(AppRegistryService appRegistry,
 			CommonApplicationProperties commonApplicationProperties,
 			ApplicationConfigurationMetadataResolver metadataResolver) {
+		this(appRegistry, commonApplicationProperties, metadataResolver, null, new SimpleMeterRegistry());
+	}
+
+	/**
+	 * Create an {@link AppDeploymentRequestCreator} that resolves the app resources
+	 * concurrently using the given pool.
+	 * @param appRegistry the app registry service
+	 * @param commonApplicationProperties the common application properties
+	 * @param metadataResolver the metadata resolver used for the whitelist qualification
+	 * @param forkJoinPool the pool used to resolve app resources, may be {@code null} to
+	 * resolve them sequentially
+	 * @param meterRegistry the registry the resolution time of each app is recorded to
+	 */
+	public AppDeploymentRequestCreator(AppRegistryService appRegistry,
+			CommonApplicationProperties commonApplicationProperties,
+			ApplicationConfigurationMetadataResolver metadataResolver, ForkJoinPool forkJoinPool,
+			MeterRegistry meterRegistry) {
 		Assert.notNull(appRegistry, "AppRegistryService must not be null");
 		Assert.notNull(commonApplicationProperties, "CommonApplicationProperties must not be null");
 		Assert.notNull(metadataResolver, "MetadataResolver must not be null");
+		Assert.notNull(meterRegistry, "MeterRegistry must not be null");
 		this.appRegistry = appRegistry;
 		this.commonApplicationProperties = commonApplicationProperties;
 		this.whitelistProperties = new WhitelistProperties(metadataResolver);
+		this.forkJoinPool = forkJoinPool;
+		this.meterRegistry = meterRegistry;
 	}
 
 	public List<AppDeploymentRequest> createUpdateRequests(StreamDefinition streamDefinition,
@@ -135,7 +183,7 @@ public class AppDeploymentRequestCreator {
 	 */
 	public List<AppDeploymentRequest> createRequests(StreamDefinition streamDefinition,
 			Map<String, String> streamDeploymentProperties) {
-		List<AppDeploymentRequest> appDeploymentRequests = new ArrayList<>();
+		List<PendingAppDeploymentRequest> pendingRequests = new ArrayList<>();
 		if (streamDeploymentProperties == null) {
 			streamDeploymentProperties = Collections.emptyMap();
 		}
@@ -187,11 +235,6 @@ public class AppDeploymentRequestCreator {
 				isDownStreamAppPartitioned = isPartitionedConsumer(appDeployTimeProperties, upstreamAppSupportsPartition);
 			}
 
-			logger.info(String.format("Creating resource with [%s] for application [%s]",
-					appRegistration.getUri().toString(), currentApp.getName()));
-			Resource appResource = this.appRegistry.getAppResource(appRegistration);
-			Resource metadataResource = this.appRegistry.getAppMetadataResource(appRegistration);
-
 			// add properties needed for metrics system
 
 			// TODO removing adding these generated properties has other side effects....
@@ -202,19 +245,60 @@ public class AppDeploymentRequestCreator {
 					.append(currentApp.getName()).append(".").append("${spring.cloud.application.guid}");
 			appDeployTimeProperties.put(StreamPropertyKeys.METRICS_KEY, sb.toString());
 
-			// Merge *definition time* app properties with *deployment time* properties
-			// and expand them to their long form if applicable
-			AppDefinition revisedDefinition = mergeAndExpandAppProperties(currentApp, metadataResource,
-					appDeployTimeProperties);
-
-			AppDeploymentRequest request = new AppDeploymentRequest(revisedDefinition, appResource,
-					deployerDeploymentProperties, commandlineArguments);
+			pendingRequests.add(new PendingAppDeploymentRequest(currentApp, appRegistration, appDeployTimeProperties,
+					deployerDeploymentProperties, commandlineArguments));
+		}
+		return resolveRequests(pendingRequests);
+	}
 
-			logger.debug("Created AppDeploymentRequest = " + request.toString() + " AppDefinition = "
-					+ request.getDefinition().toString());
-			appDeploymentRequests.add(request);
+	/**
+	 * Resolve the resources of the given pending requests, concurrently if a pool is
+	 * available, keeping the order of the pending requests.
+	 */
+	private List<AppDeploymentRequest> resolveRequests(List<PendingAppDeploymentRequest> pendingRequests) {
+		if (this.forkJoinPool == null || pendingRequests.size() < 2) {
+			return pendingRequests.stream().map(this::resolveRequest).collect(Collectors.toList());
+		}
+		try {
+			return this.forkJoinPool.submit(() -> pendingRequests.stream().parallel()
+					.map(this::resolveRequest).collect(Collectors.toList())).get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while resolving the app resources", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Failed to resolve the app resources", e.getCause());
 		}
-		return appDeploymentRequests;
+	}
+
+	private AppDeploymentRequest resolveRequest(PendingAppDeploymentRequest pendingRequest) {
+		StreamAppDefinition currentApp = pendingRequest.appDefinition;
+		long start = System.nanoTime();
+		logger.info(String.format("Creating resource with [%s] for application [%s]",
+				pendingRequest.appRegistration.getUri().toString(), currentApp.getName()));
+		Resource appResource = this.appRegistry.getAppResource(pendingRequest.appRegistration);
+		Resource metadataResource = this.appRegistry.getAppMetadataResource(pendingRequest.appRegistration);
+
+		// Merge *definition time* app properties with *deployment time* properties
+		// and expand them to their long form if applicable
+		AppDefinition revisedDefinition = mergeAndExpandAppProperties(currentApp, metadataResource,
+				pendingRequest.appDeployTimeProperties);
+
+		AppDeploymentRequest request = new AppDeploymentRequest(revisedDefinition, appResource,
+				pendingRequest.deployerDeploymentProperties, pendingRequest.commandlineArguments);
+
+		long elapsed = System.nanoTime() - start;
+		this.meterRegistry.timer(APP_RESOLUTION_TIMER, "type", currentApp.getApplicationType().name())
+				.record(elapsed, TimeUnit.NANOSECONDS);
+		logger.info(String.format("Resolved resources for application [%s] in %d ms", currentApp.getName(),
+				TimeUnit.NANOSECONDS.toMillis(elapsed)));
+		logger.debug("Created AppDeploymentRequest = " + request.toString() + " AppDefinition = "
+				+ request.getDefinition().toString());
+		return request;
 	}
 
 	/**
@@ -363,4 +447,30 @@ public class AppDeploymentRequestCreator {
 						&& appDeploymentProperties.get(BindingPropertyKeys.INPUT_PARTITIONED).equalsIgnoreCase("true"));
 	}
 
+	/**
+	 * The deployment information computed for an app before its resources are resolved.
+	 */
+	private static class PendingAppDeploymentRequest {
+
+		private final StreamAppDefinition appDefinition;
+
+		private final AppRegistration appRegistration;
+
+		private final Map<String, String> appDeployTimeProperties;
+
+		private final Map<String, String> deployerDeploymentProperties;
+
+		private final List<String> commandlineArguments;
+
+		PendingAppDeploymentRequest(StreamAppDefinition appDefinition, AppRegistration appRegistration,
+				Map<String, String> appDeployTimeProperties, Map<String, String> deployerDeploymentProperties,
+				List<String> commandlineArguments) {
+			this.appDefinition = appDefinition;
+			this.appRegistration = appRegistration;
+			this.appDeployTimeProperties = appDeployTimeProperties;
+			this.deployerDeploymentProperties = deployerDeploymentProperties;
+			this.commandlineArguments = commandlineArguments;
+		}
+	}
+
 }
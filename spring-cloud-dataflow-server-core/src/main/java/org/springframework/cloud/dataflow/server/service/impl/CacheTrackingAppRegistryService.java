@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.dataflow.audit.service.AuditRecordService;
+import org.springframework.cloud.dataflow.core.AppRegistration;
+import org.springframework.cloud.dataflow.core.ApplicationType;
+import org.springframework.cloud.dataflow.registry.repository.AppRegistrationRepository;
+import org.springframework.cloud.dataflow.registry.service.DefaultAppRegistryService;
+import org.springframework.cloud.dataflow.registry.support.AppResourceCommon;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheService;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DefaultAppRegistryService} that keeps the {@link AppResourceCacheService} informed:
+ * every resolution of an app or metadata artifact is recorded as an access, and the
+ * artifacts of unregistered apps are no longer tracked. The cache service is looked up
+ * lazily since it depends on the registry itself.
+ */
+public class CacheTrackingAppRegistryService extends DefaultAppRegistryService {
+
+	private final ObjectProvider<AppResourceCacheService> appResourceCacheService;
+
+	public CacheTrackingAppRegistryService(AppRegistrationRepository appRegistrationRepository,
+			AppResourceCommon appResourceCommon, AuditRecordService auditRecordService,
+			ObjectProvider<AppResourceCacheService> appResourceCacheService) {
+		super(appRegistrationRepository, appResourceCommon, auditRecordService);
+		Assert.notNull(appResourceCacheService, "AppResourceCacheService provider must not be null");
+		this.appResourceCacheService = appResourceCacheService;
+	}
+
+	@Override
+	public Resource getAppResource(AppRegistration appRegistration) {
+		Resource resource = super.getAppResource(appRegistration);
+		this.appResourceCacheService.ifAvailable(cache -> cache.recordAccess(appRegistration.getUri().toString()));
+		return resource;
+	}
+
+	@Override
+	public Resource getAppMetadataResource(AppRegistration appRegistration) {
+		Resource resource = super.getAppMetadataResource(appRegistration);
+		if (appRegistration.getMetadataUri() != null) {
+			this.appResourceCacheService
+					.ifAvailable(cache -> cache.recordAccess(appRegistration.getMetadataUri().toString()));
+		}
+		return resource;
+	}
+
+	@Override
+	public void delete(String name, ApplicationType type, String version) {
+		AppRegistration appRegistration = find(name, type, version);
+		super.delete(name, type, version);
+		if (appRegistration != null) {
+			this.appResourceCacheService.ifAvailable(cache -> cache.remove(appRegistration));
+		}
+	}
+
+	@Override
+	public void deleteAll(Iterable<AppRegistration> appRegistrations) {
+		super.deleteAll(appRegistrations);
+		this.appResourceCacheService.ifAvailable(cache -> appRegistrations.forEach(cache::remove));
+	}
+}
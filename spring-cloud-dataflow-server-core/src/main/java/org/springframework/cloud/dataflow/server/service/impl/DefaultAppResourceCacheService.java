@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.dataflow.core.AppRegistration;
+import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
+import org.springframework.cloud.dataflow.registry.support.AppResourceCommon;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheEntry;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheProperties;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheService;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * Default {@link AppResourceCacheService} that resolves the Maven artifacts of the
+ * default app versions into the local repository on a bounded {@link ForkJoinPool}.
+ * Artifacts are tracked in access order, an access being recorded whenever the artifact
+ * is resolved, and when a maximum size is configured the least recently accessed ones
+ * that are not in use are deleted from the local repository. The artifacts are resolved
+ * through the {@link AppResourceCommon} rather than the {@link AppRegistryService} so that
+ * fetching them does not count as an access.
+ */
+public class DefaultAppResourceCacheService implements AppResourceCacheService {
+
+	private static final Log logger = LogFactory.getLog(DefaultAppResourceCacheService.class);
+
+	private final AppRegistryService appRegistryService;
+
+	private final AppResourceCommon appResourceCommon;
+
+	private final AppResourceCacheProperties properties;
+
+	private final ForkJoinPool forkJoinPool;
+
+	private final Map<String, AppResourceCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	public DefaultAppResourceCacheService(AppRegistryService appRegistryService, AppResourceCommon appResourceCommon,
+			AppResourceCacheProperties properties, ForkJoinPool forkJoinPool) {
+		Assert.notNull(appRegistryService, "AppRegistryService must not be null");
+		Assert.notNull(appResourceCommon, "AppResourceCommon must not be null");
+		Assert.notNull(properties, "AppResourceCacheProperties must not be null");
+		Assert.notNull(forkJoinPool, "ForkJoinPool must not be null");
+		this.appRegistryService = appRegistryService;
+		this.appResourceCommon = appResourceCommon;
+		this.properties = properties;
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	@EventListener
+	public void onApplicationReady(ApplicationReadyEvent event) {
+		if (isEnabled()) {
+			warmUp();
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return this.properties.isEnabled();
+	}
+
+	@Override
+	public void warmUp() {
+		warmUp(this.appRegistryService.findAll());
+	}
+
+	@Override
+	public void warmUp(Collection<AppRegistration> appRegistrations) {
+		List<AppRegistration> defaultVersions = appRegistrations.stream()
+				.filter(AppRegistration::isDefaultVersion)
+				.collect(Collectors.toList());
+		if (defaultVersions.isEmpty()) {
+			return;
+		}
+		this.forkJoinPool.execute(() -> {
+			defaultVersions.stream().parallel().forEach(this::fetch);
+			evict();
+		});
+	}
+
+	@Override
+	public void recordAccess(String uri) {
+		Date now = new Date();
+		synchronized (this.entries) {
+			this.entries.computeIfPresent(uri, (key, entry) -> new AppResourceCacheEntry(entry.getAppRegistration(),
+					key, entry.isMetadata(), entry.getFile(), now, now));
+		}
+	}
+
+	@Override
+	public void remove(AppRegistration appRegistration) {
+		synchronized (this.entries) {
+			this.entries.values().removeIf(entry -> isSameApp(entry.getAppRegistration(), appRegistration));
+		}
+	}
+
+	@Override
+	public List<AppResourceCacheEntry> getEntries() {
+		synchronized (this.entries) {
+			return new ArrayList<>(this.entries.values());
+		}
+	}
+
+	private void fetch(AppRegistration appRegistration) {
+		try {
+			fetch(appRegistration, this.appResourceCommon.getResource(appRegistration.getUri().toString()), false);
+			if (appRegistration.getMetadataUri() != null) {
+				fetch(appRegistration, this.appResourceCommon.getMetadataResource(appRegistration.getUri(),
+						appRegistration.getMetadataUri()), true);
+			}
+		}
+		catch (Exception e) {
+			logger.warn("Could not fetch the artifacts of " + appRegistration.getUri(), e);
+		}
+	}
+
+	private void fetch(AppRegistration appRegistration, Resource resource, boolean metadata) throws Exception {
+		if (!(resource instanceof MavenResource)) {
+			return;
+		}
+		String uri = metadata ? appRegistration.getMetadataUri().toString() : appRegistration.getUri().toString();
+		logger.info("Eagerly fetching " + uri);
+		File file = resource.getFile();
+		synchronized (this.entries) {
+			AppResourceCacheEntry previous = this.entries.get(uri);
+			this.entries.put(uri, new AppResourceCacheEntry(appRegistration, uri, metadata, file, new Date(),
+					previous != null ? previous.getLastResolved() : null));
+		}
+	}
+
+	private boolean isInUse(AppResourceCacheEntry entry, long now) {
+		return entry.getLastResolved() != null && now - entry.getLastResolved().getTime() < TimeUnit.SECONDS
+				.toMillis(this.properties.getInUsePeriodInSeconds());
+	}
+
+	private static boolean isSameApp(AppRegistration left, AppRegistration right) {
+		return left.getName().equals(right.getName()) && left.getType() == right.getType()
+				&& String.valueOf(left.getVersion()).equals(String.valueOf(right.getVersion()));
+	}
+
+	/**
+	 * Remove the least recently accessed artifacts that are not in use until the total size
+	 * fits the configured maximum size.
+	 */
+	void evict() {
+		if (this.properties.getMaxSize() <= 0) {
+			return;
+		}
+		List<AppResourceCacheEntry> evicted = new ArrayList<>();
+		long now = System.currentTimeMillis();
+		synchronized (this.entries) {
+			long totalSize = this.entries.values().stream().mapToLong(AppResourceCacheEntry::getSize).sum();
+			Iterator<AppResourceCacheEntry> iterator = this.entries.values().iterator();
+			while (totalSize > this.properties.getMaxSize() && iterator.hasNext()) {
+				AppResourceCacheEntry entry = iterator.next();
+				if (isInUse(entry, now)) {
+					continue;
+				}
+				iterator.remove();
+				totalSize -= entry.getSize();
+				evicted.add(entry);
+			}
+		}
+		for (AppResourceCacheEntry entry : evicted) {
+			logger.info("Evicting " + entry.getUri() + " from the local app cache");
+			if (entry.getFile().exists() && !entry.getFile().delete()) {
+				logger.warn("Could not delete " + entry.getFile());
+			}
+		}
+	}
+}
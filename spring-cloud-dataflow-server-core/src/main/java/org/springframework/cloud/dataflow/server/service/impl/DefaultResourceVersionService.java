@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import org.springframework.cloud.dataflow.core.ResourceVersion;
+import org.springframework.cloud.dataflow.server.repository.ResourceVersionRepository;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+/**
+ * Default implementation of the {@link ResourceVersionService}, backed by the
+ * {@link ResourceVersionRepository}. The counters are created by the database migration;
+ * a missing counter is created on its first increment.
+ */
+@Transactional
+public class DefaultResourceVersionService implements ResourceVersionService {
+
+	private final ResourceVersionRepository resourceVersionRepository;
+
+	public DefaultResourceVersionService(ResourceVersionRepository resourceVersionRepository) {
+		Assert.notNull(resourceVersionRepository, "ResourceVersionRepository must not be null");
+		this.resourceVersionRepository = resourceVersionRepository;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long getVersion(String name) {
+		Long version = this.resourceVersionRepository.findVersion(name);
+		return version != null ? version : 0L;
+	}
+
+	@Override
+	public void increment(String name) {
+		if (this.resourceVersionRepository.increment(name) == 0) {
+			this.resourceVersionRepository.save(new ResourceVersion(name, 1));
+		}
+	}
+}
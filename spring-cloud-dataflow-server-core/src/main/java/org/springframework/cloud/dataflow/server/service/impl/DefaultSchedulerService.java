@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,32 @@
 
 package org.springframework.cloud.dataflow.server.service.impl;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.cloud.dataflow.audit.service.AuditRecordService;
 import org.springframework.cloud.dataflow.audit.service.AuditServiceUtils;
@@ -31,6 +51,7 @@ import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.AuditActionType;
 import org.springframework.cloud.dataflow.core.AuditOperationType;
 import org.springframework.cloud.dataflow.core.Launcher;
+import org.springframework.cloud.dataflow.core.ScheduleIndexEntry;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.TaskPlatform;
 import org.springframework.cloud.dataflow.core.dsl.TaskNode;
@@ -40,6 +61,7 @@ import org.springframework.cloud.dataflow.rest.util.DeploymentPropertiesUtils;
 import org.springframework.cloud.dataflow.server.config.apps.CommonApplicationProperties;
 import org.springframework.cloud.dataflow.server.controller.WhitelistProperties;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.ScheduleIndexRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.service.SchedulerService;
 import org.springframework.cloud.dataflow.server.service.SchedulerServiceProperties;
@@ -49,19 +71,42 @@ import org.springframework.cloud.scheduler.spi.core.ScheduleRequest;
 import org.springframework.cloud.scheduler.spi.core.Scheduler;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
  * Default implementation of the {@link SchedulerService} interface. Provide service methods
  * for Scheduling tasks.
+ * <p>
+ * When a {@link ScheduleIndexRepository} is provided, schedules are listed from the local
+ * schedule index rather than from the platform scheduler. The index is updated as
+ * schedules are created and deleted, and is reconciled with the platform at startup and
+ * every {@link SchedulerServiceProperties#getIndexReconcileIntervalInSeconds()} seconds
+ * to pick up schedules changed outside of Data Flow.
  *
  * @author Glenn Renfro
  * @author Chris Schaefer
  */
-public class DefaultSchedulerService implements SchedulerService {
+public class DefaultSchedulerService implements SchedulerService, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(DefaultSchedulerService.class);
+
+	private static final Sort INDEX_ORDER = Sort.by("scheduleName");
+
+	/**
+	 * Properties of the schedule index that the schedules can be sorted by.
+	 */
+	private static final Set<String> INDEX_SORT_PROPERTIES = new HashSet<>(
+			Arrays.asList("scheduleName", "taskDefinitionName", "createdOn"));
+
+	private static final TypeReference<Map<String, String>> PROPERTIES_TYPE = new TypeReference<Map<String, String>>() {
+	};
 
 	private CommonApplicationProperties commonApplicationProperties;
 	private TaskPlatform taskPlatform;
@@ -74,6 +119,10 @@ public class DefaultSchedulerService implements SchedulerService {
 	private final SchedulerServiceProperties schedulerServiceProperties;
 	private final AuditRecordService auditRecordService;
 	private final AuditServiceUtils auditServiceUtils;
+	private final ScheduleIndexRepository scheduleIndexRepository;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final ReentrantLock reconcileLock = new ReentrantLock();
+	private final ScheduledExecutorService reconciler;
 
 	public DefaultSchedulerService(CommonApplicationProperties commonApplicationProperties,
 			TaskPlatform taskPlatform, TaskDefinitionRepository taskDefinitionRepository,
@@ -83,6 +132,38 @@ public class DefaultSchedulerService implements SchedulerService {
 			ApplicationConfigurationMetadataResolver metaDataResolver,
 			SchedulerServiceProperties schedulerServiceProperties,
 			AuditRecordService auditRecordService) {
+		this(commonApplicationProperties, taskPlatform, taskDefinitionRepository, registry, resourceLoader,
+				taskConfigurationProperties, dataSourceProperties, dataflowServerUri, metaDataResolver,
+				schedulerServiceProperties, auditRecordService, null);
+	}
+
+	public DefaultSchedulerService(CommonApplicationProperties commonApplicationProperties,
+			TaskPlatform taskPlatform, TaskDefinitionRepository taskDefinitionRepository,
+			AppRegistryService registry, ResourceLoader resourceLoader,
+			TaskConfigurationProperties taskConfigurationProperties,
+			DataSourceProperties dataSourceProperties, String dataflowServerUri,
+			ApplicationConfigurationMetadataResolver metaDataResolver,
+			SchedulerServiceProperties schedulerServiceProperties,
+			AuditRecordService auditRecordService, ScheduleIndexRepository scheduleIndexRepository) {
+		this(commonApplicationProperties, taskPlatform, taskDefinitionRepository, registry, resourceLoader,
+				taskConfigurationProperties, dataSourceProperties, dataflowServerUri, metaDataResolver,
+				schedulerServiceProperties, auditRecordService, scheduleIndexRepository,
+				Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "schedule-index-reconciler");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	DefaultSchedulerService(CommonApplicationProperties commonApplicationProperties,
+			TaskPlatform taskPlatform, TaskDefinitionRepository taskDefinitionRepository,
+			AppRegistryService registry, ResourceLoader resourceLoader,
+			TaskConfigurationProperties taskConfigurationProperties,
+			DataSourceProperties dataSourceProperties, String dataflowServerUri,
+			ApplicationConfigurationMetadataResolver metaDataResolver,
+			SchedulerServiceProperties schedulerServiceProperties,
+			AuditRecordService auditRecordService, ScheduleIndexRepository scheduleIndexRepository,
+			ScheduledExecutorService reconciler) {
 		Assert.notNull(commonApplicationProperties, "commonApplicationProperties must not be null");
 		Assert.notNull(taskPlatform, "taskPlatform must not be null");
 		Assert.notNull(registry, "AppRegistryService must not be null");
@@ -105,6 +186,12 @@ public class DefaultSchedulerService implements SchedulerService {
 		this.schedulerServiceProperties = schedulerServiceProperties;
 		this.auditRecordService = auditRecordService;
 		this.auditServiceUtils = new AuditServiceUtils();
+		this.scheduleIndexRepository = scheduleIndexRepository;
+		this.reconciler = reconciler;
+		long interval = schedulerServiceProperties.getIndexReconcileIntervalInSeconds();
+		if (scheduleIndexRepository != null && interval > 0) {
+			this.reconciler.scheduleWithFixedDelay(this::reconcileQuietly, 0, interval, TimeUnit.SECONDS);
+		}
 	}
 
 	@Override
@@ -149,6 +236,11 @@ public class DefaultSchedulerService implements SchedulerService {
 				deployerDeploymentProperties, commandLineArgs, scheduleName, getTaskResource(taskDefinitionName));
 		Launcher launcher = getDefaultLauncher();
 		launcher.getScheduler().schedule(scheduleRequest);
+		ScheduleInfo scheduleInfo = new ScheduleInfo();
+		scheduleInfo.setScheduleName(scheduleName);
+		scheduleInfo.setTaskDefinitionName(taskDefinitionName);
+		scheduleInfo.setScheduleProperties(scheduleRequest.getSchedulerProperties());
+		index(scheduleInfo);
 		this.auditRecordService.populateAndSaveAuditRecordUsingMapData(AuditOperationType.SCHEDULE, AuditActionType.CREATE,
 			scheduleRequest.getScheduleName(), this.auditServiceUtils.convertScheduleRequestToAuditData(scheduleRequest));
 	}
@@ -180,6 +272,9 @@ public class DefaultSchedulerService implements SchedulerService {
 		if (scheduleInfo != null) {
 			Launcher launcher = getDefaultLauncher();
 			launcher.getScheduler().unschedule(scheduleInfo.getScheduleName());
+			if (this.scheduleIndexRepository != null) {
+				this.scheduleIndexRepository.deleteByScheduleName(scheduleInfo.getScheduleName());
+			}
 			this.auditRecordService.populateAndSaveAuditRecord(
 					AuditOperationType.SCHEDULE,
 					AuditActionType.DELETE, scheduleInfo.getScheduleName(),
@@ -188,17 +283,28 @@ public class DefaultSchedulerService implements SchedulerService {
 	}
 
 	@Override
-	public List<ScheduleInfo> list(Pageable pageable, String taskDefinitionName) {
-		throw new UnsupportedOperationException("method not supported");
+	public Page<ScheduleInfo> list(Pageable pageable, String taskDefinitionName) {
+		if (this.scheduleIndexRepository == null) {
+			return page(getDefaultLauncher().getScheduler().list(taskDefinitionName), pageable);
+		}
+		return this.scheduleIndexRepository.findByTaskDefinitionName(taskDefinitionName, indexPage(pageable))
+				.map(this::toScheduleInfo);
 	}
 
 	@Override
 	public Page<ScheduleInfo> list(Pageable pageable) {
-		throw new UnsupportedOperationException("method not supported");
+		if (this.scheduleIndexRepository == null) {
+			return page(getDefaultLauncher().getScheduler().list(), pageable);
+		}
+		return this.scheduleIndexRepository.findAll(indexPage(pageable)).map(this::toScheduleInfo);
 	}
 
 	@Override
 	public List<ScheduleInfo> list(String taskDefinitionName) {
+		if (this.scheduleIndexRepository != null) {
+			return list(PageRequest.of(0, this.schedulerServiceProperties.getMaxSchedulesReturned()),
+					taskDefinitionName).getContent();
+		}
 		Launcher launcher = getDefaultLauncher();
 		return limitScheduleInfoResultSize(launcher.getScheduler().list(taskDefinitionName),
 				this.schedulerServiceProperties.getMaxSchedulesReturned());
@@ -206,6 +312,9 @@ public class DefaultSchedulerService implements SchedulerService {
 
 	@Override
 	public List<ScheduleInfo> list() {
+		if (this.scheduleIndexRepository != null) {
+			return list(PageRequest.of(0, this.schedulerServiceProperties.getMaxSchedulesReturned())).getContent();
+		}
 		Launcher launcher = getDefaultLauncher();
 		return limitScheduleInfoResultSize(launcher.getScheduler().list(),
 				this.schedulerServiceProperties.getMaxSchedulesReturned());
@@ -213,6 +322,10 @@ public class DefaultSchedulerService implements SchedulerService {
 
 	@Override
 	public ScheduleInfo getSchedule(String scheduleName) {
+		if (this.scheduleIndexRepository != null) {
+			return this.scheduleIndexRepository.findByScheduleName(scheduleName).map(this::toScheduleInfo)
+					.orElse(null);
+		}
 		List<ScheduleInfo> result = list().stream()
 				.filter(scheduleInfo -> scheduleInfo.getScheduleName().equals(scheduleName))
 				.collect(Collectors.toList());
@@ -220,6 +333,127 @@ public class DefaultSchedulerService implements SchedulerService {
 		return result.size() > 0 ? result.get(0) : null;
 	}
 
+	/**
+	 * Bring the schedule index in line with the schedules of the platform: schedules
+	 * missing from the index are added, changed ones are updated and schedules no longer
+	 * known to the platform are removed. Entries indexed while the reconciliation runs are
+	 * left alone, so that a schedule created concurrently is never dropped.
+	 */
+	public void reconcile() {
+		Assert.state(this.scheduleIndexRepository != null, "No schedule index is configured");
+		if (!this.reconcileLock.tryLock()) {
+			return;
+		}
+		try {
+			Instant started = Instant.now();
+			Map<String, ScheduleInfo> platformSchedules = new LinkedHashMap<>();
+			for (ScheduleInfo scheduleInfo : getDefaultLauncher().getScheduler().list()) {
+				platformSchedules.put(scheduleInfo.getScheduleName(), scheduleInfo);
+			}
+			for (ScheduleIndexEntry entry : this.scheduleIndexRepository.findAll()) {
+				ScheduleInfo scheduleInfo = platformSchedules.remove(entry.getScheduleName());
+				if (scheduleInfo == null) {
+					if (!entry.getCreatedOn().isAfter(started)) {
+						this.scheduleIndexRepository.deleteByScheduleName(entry.getScheduleName());
+					}
+				}
+				else if (!Objects.equals(scheduleInfo.getTaskDefinitionName(), entry.getTaskDefinitionName())
+						|| !Objects.equals(write(scheduleInfo.getScheduleProperties()),
+								entry.getScheduleProperties())) {
+					update(entry, scheduleInfo);
+				}
+			}
+			platformSchedules.values().forEach(this::index);
+		}
+		finally {
+			this.reconcileLock.unlock();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.reconciler.shutdownNow();
+	}
+
+	private void reconcileQuietly() {
+		try {
+			reconcile();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to reconcile the schedule index with the platform", e);
+		}
+	}
+
+	private void index(ScheduleInfo scheduleInfo) {
+		if (this.scheduleIndexRepository == null) {
+			return;
+		}
+		Optional<ScheduleIndexEntry> existing = this.scheduleIndexRepository
+				.findByScheduleName(scheduleInfo.getScheduleName());
+		if (existing.isPresent()) {
+			update(existing.get(), scheduleInfo);
+			return;
+		}
+		ScheduleIndexEntry entry = new ScheduleIndexEntry();
+		entry.setScheduleName(scheduleInfo.getScheduleName());
+		entry.setCreatedOn(Instant.now());
+		try {
+			update(entry, scheduleInfo);
+		}
+		catch (DataIntegrityViolationException e) {
+			// indexed concurrently by another server or by the reconciliation
+			logger.debug(String.format("Schedule [%s] is already indexed", scheduleInfo.getScheduleName()), e);
+		}
+	}
+
+	private void update(ScheduleIndexEntry entry, ScheduleInfo scheduleInfo) {
+		entry.setTaskDefinitionName(scheduleInfo.getTaskDefinitionName());
+		entry.setScheduleProperties(write(scheduleInfo.getScheduleProperties()));
+		this.scheduleIndexRepository.save(entry);
+	}
+
+	private ScheduleInfo toScheduleInfo(ScheduleIndexEntry entry) {
+		ScheduleInfo scheduleInfo = new ScheduleInfo();
+		scheduleInfo.setScheduleName(entry.getScheduleName());
+		scheduleInfo.setTaskDefinitionName(entry.getTaskDefinitionName());
+		try {
+			scheduleInfo.setScheduleProperties(entry.getScheduleProperties() == null ? new HashMap<>()
+					: new HashMap<>(this.objectMapper.readValue(entry.getScheduleProperties(), PROPERTIES_TYPE)));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Unable to read the properties of the indexed schedule", e);
+		}
+		return scheduleInfo;
+	}
+
+	private String write(Map<String, String> scheduleProperties) {
+		try {
+			return this.objectMapper.writeValueAsString(
+					scheduleProperties == null ? new TreeMap<>() : new TreeMap<>(scheduleProperties));
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Unable to serialize the schedule properties", e);
+		}
+	}
+
+	private static Pageable indexPage(Pageable pageable) {
+		for (Sort.Order order : pageable.getSort()) {
+			if (!INDEX_SORT_PROPERTIES.contains(order.getProperty())) {
+				throw new InvalidSortPropertyException(String.format(
+						"Schedules cannot be sorted by [%s], only by %s", order.getProperty(),
+						new TreeSet<>(INDEX_SORT_PROPERTIES)));
+			}
+		}
+		return pageable.getSort().isSorted() ? pageable
+				: PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), INDEX_ORDER);
+	}
+
+	private static Page<ScheduleInfo> page(List<ScheduleInfo> schedules, Pageable pageable) {
+		int from = (int) Math.min(pageable.getOffset(), schedules.size());
+		int to = Math.min(from + pageable.getPageSize(), schedules.size());
+		return new PageImpl<>(schedules.subList(from, to), pageable, schedules.size());
+	}
+
 	private List<ScheduleInfo> limitScheduleInfoResultSize(List<ScheduleInfo> resultSet,
 			int schedulerLimitResultSize) {
 		if(resultSet.size() > schedulerLimitResultSize) {
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.core.dsl.StreamNode;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
+import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.NoSuchStreamBulkOperationException;
+import org.springframework.cloud.dataflow.server.service.StreamBulkOperation;
+import org.springframework.cloud.dataflow.server.service.StreamBulkOperationService;
+import org.springframework.cloud.dataflow.server.service.StreamService;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Default {@link StreamBulkOperationService}. The selected streams are split into levels
+ * by the destinations they consume from; the streams of a level are processed in
+ * parallel on the given pool, one level after the other.
+ */
+public class DefaultStreamBulkOperationService implements StreamBulkOperationService {
+
+	private static final Log logger = LogFactory.getLog(DefaultStreamBulkOperationService.class);
+
+	static final int MAX_RETAINED_OPERATIONS = 100;
+
+	private final StreamService streamService;
+
+	private final StreamDefinitionRepository streamDefinitionRepository;
+
+	private final ForkJoinPool forkJoinPool;
+
+	private final Map<String, StreamBulkOperation> operations = new LinkedHashMap<>();
+
+	public DefaultStreamBulkOperationService(StreamService streamService,
+			StreamDefinitionRepository streamDefinitionRepository, ForkJoinPool forkJoinPool) {
+		Assert.notNull(streamService, "StreamService must not be null");
+		Assert.notNull(streamDefinitionRepository, "StreamDefinitionRepository must not be null");
+		Assert.notNull(forkJoinPool, "ForkJoinPool must not be null");
+		this.streamService = streamService;
+		this.streamDefinitionRepository = streamDefinitionRepository;
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	@Override
+	public StreamBulkOperation submit(StreamBulkOperation.Type type, List<String> streamNames, String pattern,
+			Map<String, String> deploymentProperties) {
+		Assert.notNull(type, "type must not be null");
+		List<StreamDefinition> streamDefinitions = select(streamNames, pattern);
+		List<List<StreamDefinition>> levels = levels(streamDefinitions);
+		if (type != StreamBulkOperation.Type.deploy) {
+			Collections.reverse(levels);
+		}
+		StreamBulkOperation operation = new StreamBulkOperation(type, levels.stream()
+				.flatMap(List::stream).map(StreamDefinition::getName).collect(Collectors.toList()));
+		synchronized (this.operations) {
+			this.operations.put(operation.getId(), operation);
+			retain();
+		}
+		logger.info(String.format("Starting stream %s operation %s for %s", type, operation.getId(),
+				operation.getStreams().stream().map(StreamBulkOperation.StreamProgress::getName)
+						.collect(Collectors.toList())));
+		this.forkJoinPool.execute(() -> run(operation, levels, deploymentProperties));
+		return operation;
+	}
+
+	@Override
+	public StreamBulkOperation getOperation(String id) {
+		synchronized (this.operations) {
+			StreamBulkOperation operation = this.operations.get(id);
+			if (operation == null) {
+				throw new NoSuchStreamBulkOperationException(id);
+			}
+			return operation;
+		}
+	}
+
+	@Override
+	public List<StreamBulkOperation> getOperations() {
+		synchronized (this.operations) {
+			return new ArrayList<>(this.operations.values());
+		}
+	}
+
+	/**
+	 * Forget the oldest completed operations, then the oldest running ones, until no more
+	 * than {@link #MAX_RETAINED_OPERATIONS} are left. A running operation that is forgotten
+	 * keeps running but can no longer be looked up.
+	 */
+	private void retain() {
+		Iterator<StreamBulkOperation> completed = this.operations.values().iterator();
+		while (this.operations.size() > MAX_RETAINED_OPERATIONS && completed.hasNext()) {
+			if (completed.next().getEndTime() != null) {
+				completed.remove();
+			}
+		}
+		Iterator<StreamBulkOperation> eldest = this.operations.values().iterator();
+		while (this.operations.size() > MAX_RETAINED_OPERATIONS && eldest.hasNext()) {
+			eldest.next();
+			eldest.remove();
+		}
+	}
+
+	private List<StreamDefinition> select(List<String> streamNames, String pattern) {
+		Assert.isTrue(!CollectionUtils.isEmpty(streamNames) || StringUtils.hasText(pattern),
+				"Either stream names or a stream name pattern must be provided");
+		Map<String, StreamDefinition> selected = new LinkedHashMap<>();
+		if (streamNames != null) {
+			for (String streamName : streamNames) {
+				selected.put(streamName, this.streamDefinitionRepository.findById(streamName)
+						.orElseThrow(() -> new NoSuchStreamDefinitionException(streamName)));
+			}
+		}
+		if (StringUtils.hasText(pattern)) {
+			for (StreamDefinition streamDefinition : this.streamDefinitionRepository.findAll()) {
+				if (PatternMatchUtils.simpleMatch(pattern, streamDefinition.getName())) {
+					selected.putIfAbsent(streamDefinition.getName(), streamDefinition);
+				}
+			}
+		}
+		return new ArrayList<>(selected.values());
+	}
+
+	/**
+	 * Split the streams into levels, where a stream is placed on a later level than all
+	 * the selected streams it consumes from, either through a tap or through a named
+	 * destination another stream writes to. Streams caught in a cycle end up together on
+	 * the last level.
+	 */
+	static List<List<StreamDefinition>> levels(List<StreamDefinition> streamDefinitions) {
+		Map<String, String> sourceDestinations = new LinkedHashMap<>();
+		Map<String, String> sinkDestinations = new LinkedHashMap<>();
+		for (StreamDefinition streamDefinition : streamDefinitions) {
+			StreamNode streamNode = new StreamParser(streamDefinition.getName(), streamDefinition.getDslText())
+					.parse();
+			if (streamNode.getSourceDestinationNode() != null) {
+				sourceDestinations.put(streamDefinition.getName(),
+						streamNode.getSourceDestinationNode().getDestinationName());
+			}
+			if (streamNode.getSinkDestinationNode() != null) {
+				sinkDestinations.put(streamDefinition.getName(),
+						streamNode.getSinkDestinationNode().getDestinationName());
+			}
+		}
+		List<List<StreamDefinition>> levels = new ArrayList<>();
+		List<StreamDefinition> remaining = new ArrayList<>(streamDefinitions);
+		while (!remaining.isEmpty()) {
+			List<StreamDefinition> level = remaining.stream()
+					.filter(candidate -> remaining.stream()
+							.noneMatch(other -> other != candidate
+									&& consumesFrom(sourceDestinations.get(candidate.getName()), other.getName(),
+											sinkDestinations.get(other.getName()))))
+					.collect(Collectors.toList());
+			if (level.isEmpty()) {
+				level = new ArrayList<>(remaining);
+			}
+			remaining.removeAll(level);
+			levels.add(level);
+		}
+		return levels;
+	}
+
+	private static boolean consumesFrom(String sourceDestination, String streamName, String sinkDestination) {
+		return sourceDestination != null
+				&& (sourceDestination.equals(streamName) || sourceDestination.startsWith(streamName + ".")
+						|| sourceDestination.equals(sinkDestination));
+	}
+
+	private void run(StreamBulkOperation operation, List<List<StreamDefinition>> levels,
+			Map<String, String> deploymentProperties) {
+		operation.start();
+		try {
+			for (List<StreamDefinition> level : levels) {
+				// parallel streams started from a pool worker run on that same pool
+				level.parallelStream().forEach(streamDefinition -> apply(operation,
+						operation.getStream(streamDefinition.getName()), deploymentProperties));
+			}
+		}
+		finally {
+			operation.complete();
+			logger.info(String.format("Stream %s operation %s finished with status %s", operation.getType(),
+					operation.getId(), operation.getStatus()));
+		}
+	}
+
+	private void apply(StreamBulkOperation operation, StreamBulkOperation.StreamProgress progress,
+			Map<String, String> deploymentProperties) {
+		progress.start();
+		try {
+			switch (operation.getType()) {
+			case deploy:
+				this.streamService.deployStream(progress.getName(),
+						deploymentProperties != null ? new LinkedHashMap<>(deploymentProperties) : null);
+				break;
+			case undeploy:
+				this.streamService.undeployStream(progress.getName());
+				break;
+			case destroy:
+				this.streamService.deleteStream(progress.getName());
+				break;
+			}
+			progress.succeed();
+		}
+		catch (Exception e) {
+			logger.warn(String.format("Stream %s of stream '%s' failed in operation %s", operation.getType(),
+					progress.getName(), operation.getId()), e);
+			progress.fail(StringUtils.hasText(e.getMessage()) ? e.getMessage() : e.getClass().getSimpleName());
+		}
+	}
+}
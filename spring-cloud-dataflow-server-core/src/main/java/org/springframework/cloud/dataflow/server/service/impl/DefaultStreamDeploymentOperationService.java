@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.NoSuchStreamDeploymentOperationException;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperation;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationProperties;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationService;
+import org.springframework.cloud.dataflow.server.service.StreamService;
+import org.springframework.cloud.dataflow.server.stream.StreamDeploymentPhase;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Default {@link StreamDeploymentOperationService}. Deployments run on the given pool,
+ * whose parallelism bounds the number of streams deployed at the same time. Once the
+ * release is installed, the stream state is polled until its apps are deployed. The polls
+ * are scheduled on a single converger thread and run on the pool, so that no pool thread
+ * is held while waiting between polls.
+ */
+public class DefaultStreamDeploymentOperationService implements StreamDeploymentOperationService, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(DefaultStreamDeploymentOperationService.class);
+
+	static final int MAX_RETAINED_OPERATIONS = 100;
+
+	private final StreamService streamService;
+
+	private final StreamDefinitionRepository streamDefinitionRepository;
+
+	private final StreamDeploymentOperationProperties properties;
+
+	private final ForkJoinPool forkJoinPool;
+
+	private final ScheduledExecutorService converger;
+
+	private final Map<String, StreamDeploymentOperation> operations = new LinkedHashMap<>();
+
+	public DefaultStreamDeploymentOperationService(StreamService streamService,
+			StreamDefinitionRepository streamDefinitionRepository, StreamDeploymentOperationProperties properties,
+			ForkJoinPool forkJoinPool) {
+		this(streamService, streamDefinitionRepository, properties, forkJoinPool,
+				Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "stream-deployment-converger");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	DefaultStreamDeploymentOperationService(StreamService streamService,
+			StreamDefinitionRepository streamDefinitionRepository, StreamDeploymentOperationProperties properties,
+			ForkJoinPool forkJoinPool, ScheduledExecutorService converger) {
+		Assert.notNull(streamService, "StreamService must not be null");
+		Assert.notNull(streamDefinitionRepository, "StreamDefinitionRepository must not be null");
+		Assert.notNull(properties, "StreamDeploymentOperationProperties must not be null");
+		Assert.notNull(forkJoinPool, "ForkJoinPool must not be null");
+		Assert.notNull(converger, "ScheduledExecutorService must not be null");
+		this.streamService = streamService;
+		this.streamDefinitionRepository = streamDefinitionRepository;
+		this.properties = properties;
+		this.forkJoinPool = forkJoinPool;
+		this.converger = converger;
+	}
+
+	@Override
+	public StreamDeploymentOperation submit(String streamName, Map<String, String> deploymentProperties) {
+		StreamDefinition streamDefinition = this.streamDefinitionRepository.findById(streamName)
+				.orElseThrow(() -> new NoSuchStreamDefinitionException(streamName));
+		StreamDeploymentOperation operation = new StreamDeploymentOperation(streamName);
+		synchronized (this.operations) {
+			this.operations.put(operation.getId(), operation);
+			retain();
+		}
+		logger.info(String.format("Starting deployment %s of stream '%s'", operation.getId(), streamName));
+		Map<String, String> properties = deploymentProperties != null ? new LinkedHashMap<>(deploymentProperties)
+				: null;
+		this.forkJoinPool.execute(() -> run(operation, streamDefinition, properties));
+		return operation;
+	}
+
+	@Override
+	public StreamDeploymentOperation getOperation(String id) {
+		synchronized (this.operations) {
+			StreamDeploymentOperation operation = this.operations.get(id);
+			if (operation == null) {
+				throw new NoSuchStreamDeploymentOperationException(id);
+			}
+			return operation;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.converger.shutdownNow();
+	}
+
+	/**
+	 * Forget the oldest completed operations, then the oldest running ones, until no more
+	 * than {@link #MAX_RETAINED_OPERATIONS} are left.
+	 */
+	private void retain() {
+		Iterator<StreamDeploymentOperation> completed = this.operations.values().iterator();
+		while (this.operations.size() > MAX_RETAINED_OPERATIONS && completed.hasNext()) {
+			if (completed.next().getEndTime() != null) {
+				completed.remove();
+			}
+		}
+		Iterator<StreamDeploymentOperation> eldest = this.operations.values().iterator();
+		while (this.operations.size() > MAX_RETAINED_OPERATIONS && eldest.hasNext()) {
+			eldest.next();
+			eldest.remove();
+		}
+	}
+
+	private void run(StreamDeploymentOperation operation, StreamDefinition streamDefinition,
+			Map<String, String> deploymentProperties) {
+		operation.start();
+		try {
+			this.streamService.deployStream(streamDefinition.getName(), deploymentProperties, operation::enter);
+		}
+		catch (Exception e) {
+			fail(operation, streamDefinition, e);
+			finish(operation, streamDefinition);
+			return;
+		}
+		if (this.properties.getConvergeTimeoutInSeconds() > 0) {
+			operation.enter(StreamDeploymentPhase.CONVERGE);
+			poll(operation, streamDefinition, System.currentTimeMillis()
+					+ TimeUnit.SECONDS.toMillis(this.properties.getConvergeTimeoutInSeconds()));
+		}
+		else {
+			operation.succeed();
+			finish(operation, streamDefinition);
+		}
+	}
+
+	/**
+	 * Check the state of the stream once and, if its apps are still being deployed,
+	 * schedule the next check instead of waiting on the current thread.
+	 */
+	private void poll(StreamDeploymentOperation operation, StreamDefinition streamDefinition, long deadline) {
+		try {
+			DeploymentState state = this.streamService.state(Collections.singletonList(streamDefinition)).values()
+					.stream().findFirst().orElse(DeploymentState.unknown);
+			if (state == DeploymentState.deployed) {
+				operation.succeed();
+			}
+			else if (state == DeploymentState.failed || state == DeploymentState.error) {
+				operation.fail("Stream '" + streamDefinition.getName() + "' is in state " + state);
+			}
+			else if (System.currentTimeMillis() >= deadline) {
+				operation.fail("Timed out waiting for the apps of stream '" + streamDefinition.getName()
+						+ "' to be deployed, last state was " + state);
+			}
+			else {
+				this.converger.schedule(
+						() -> this.forkJoinPool.execute(() -> poll(operation, streamDefinition, deadline)),
+						this.properties.getConvergePollIntervalInMillis(), TimeUnit.MILLISECONDS);
+				return;
+			}
+		}
+		catch (Exception e) {
+			fail(operation, streamDefinition, e);
+		}
+		finish(operation, streamDefinition);
+	}
+
+	private void fail(StreamDeploymentOperation operation, StreamDefinition streamDefinition, Exception e) {
+		logger.warn(String.format("Deployment %s of stream '%s' failed in phase %s", operation.getId(),
+				streamDefinition.getName(), operation.getCurrentPhase()), e);
+		operation.fail(StringUtils.hasText(e.getMessage()) ? e.getMessage() : e.getClass().getSimpleName());
+	}
+
+	private void finish(StreamDeploymentOperation operation, StreamDefinition streamDefinition) {
+		logger.info(String.format("Deployment %s of stream '%s' finished with status %s", operation.getId(),
+				streamDefinition.getName(), operation.getStatus()));
+	}
+}
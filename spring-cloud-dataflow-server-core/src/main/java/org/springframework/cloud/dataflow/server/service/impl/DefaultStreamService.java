@@ -23,6 +23,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
@@ -52,10 +53,12 @@ import org.springframework.cloud.dataflow.server.controller.support.InvalidStrea
 import org.springframework.cloud.dataflow.server.repository.DuplicateStreamDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
 import org.springframework.cloud.dataflow.server.service.StreamService;
 import org.springframework.cloud.dataflow.server.service.StreamValidationService;
 import org.springframework.cloud.dataflow.server.service.ValidationStatus;
 import org.springframework.cloud.dataflow.server.stream.SkipperStreamDeployer;
+import org.springframework.cloud.dataflow.server.stream.StreamDeploymentPhase;
 import org.springframework.cloud.dataflow.server.stream.StreamDeploymentRequest;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
@@ -106,11 +109,35 @@ public class DefaultStreamService implements StreamService {
 
 	private final AppDeploymentRequestCreator appDeploymentRequestCreator;
 
+	private final ResourceVersionService resourceVersionService;
+
 	public DefaultStreamService(StreamDefinitionRepository streamDefinitionRepository,
 			SkipperStreamDeployer skipperStreamDeployer,
 			AppDeploymentRequestCreator appDeploymentRequestCreator,
 			StreamValidationService streamValidationService,
 			AuditRecordService auditRecordService) {
+		this(streamDefinitionRepository, skipperStreamDeployer, appDeploymentRequestCreator, streamValidationService,
+				auditRecordService, null);
+	}
+
+	/**
+	 * Create a stream service that also increments the
+	 * {@link ResourceVersionService#STREAM_DEPLOYMENTS} version whenever a stream is
+	 * deployed, undeployed, updated or rolled back.
+	 *
+	 * @param streamDefinitionRepository the repository of the stream definitions
+	 * @param skipperStreamDeployer the deployer of the streams
+	 * @param appDeploymentRequestCreator the creator of the app deployment requests
+	 * @param streamValidationService the stream validation service
+	 * @param auditRecordService the audit record service
+	 * @param resourceVersionService the versions of the resource collections, may be null
+	 */
+	public DefaultStreamService(StreamDefinitionRepository streamDefinitionRepository,
+			SkipperStreamDeployer skipperStreamDeployer,
+			AppDeploymentRequestCreator appDeploymentRequestCreator,
+			StreamValidationService streamValidationService,
+			AuditRecordService auditRecordService,
+			ResourceVersionService resourceVersionService) {
 
 		Assert.notNull(skipperStreamDeployer, "SkipperStreamDeployer must not be null");
 		Assert.notNull(appDeploymentRequestCreator, "AppDeploymentRequestCreator must not be null");
@@ -124,7 +151,7 @@ public class DefaultStreamService implements StreamService {
 		this.streamValidationService = streamValidationService;
 		this.auditRecordService = auditRecordService;
 		this.auditServiceUtils = new AuditServiceUtils();
-
+		this.resourceVersionService = resourceVersionService;
 	}
 
 	/**
@@ -134,6 +161,11 @@ public class DefaultStreamService implements StreamService {
 	 * @param deploymentProperties the deployment properties for the stream
 	 */
 	public void doDeployStream(StreamDefinition streamDefinition, Map<String, String> deploymentProperties) {
+		doDeployStream(streamDefinition, deploymentProperties, null);
+	}
+
+	private void doDeployStream(StreamDefinition streamDefinition, Map<String, String> deploymentProperties,
+			Consumer<StreamDeploymentPhase> phaseListener) {
 		// Extract skipper properties
 		Map<String, String> skipperDeploymentProperties = getSkipperProperties(deploymentProperties);
 
@@ -154,7 +186,10 @@ public class DefaultStreamService implements StreamService {
 		StreamDeploymentRequest streamDeploymentRequest = new StreamDeploymentRequest(streamDefinition.getName(),
 				streamDefinition.getDslText(), appDeploymentRequests, skipperDeploymentProperties);
 
-		Release release = this.skipperStreamDeployer.deployStream(streamDeploymentRequest);
+		Release release = (phaseListener != null)
+				? this.skipperStreamDeployer.deployStream(streamDeploymentRequest, phaseListener)
+				: this.skipperStreamDeployer.deployStream(streamDeploymentRequest);
+		streamDeploymentsChanged();
 		if (release != null) {
 			updateStreamDefinitionFromReleaseManifest(streamDefinition.getName(), release.getManifest().getData());
 		}
@@ -163,6 +198,12 @@ public class DefaultStreamService implements StreamService {
 		}
 	}
 
+	private void streamDeploymentsChanged() {
+		if (this.resourceVersionService != null) {
+			this.resourceVersionService.increment(ResourceVersionService.STREAM_DEPLOYMENTS);
+		}
+	}
+
 	public DeploymentState doCalculateStreamState(String name) {
 		return this.skipperStreamDeployer.streamState(name);
 	}
@@ -173,6 +214,7 @@ public class DefaultStreamService implements StreamService {
 				.orElseThrow(() -> new NoSuchStreamDefinitionException(streamName));
 
 		this.skipperStreamDeployer.undeployStream(streamName);
+		streamDeploymentsChanged();
 
 		auditRecordService.populateAndSaveAuditRecord(
 				AuditOperationType.STREAM, AuditActionType.UNDEPLOY,
@@ -232,6 +274,7 @@ public class DefaultStreamService implements StreamService {
 		String updateYaml = convertPropertiesToSkipperYaml(streamDefinition, updateProperties);
 		Release release = this.skipperStreamDeployer.upgradeStream(releaseName, packageIdentifier, updateYaml,
 				force, appNames);
+		streamDeploymentsChanged();
 		if (release != null) {
 			updateStreamDefinitionFromReleaseManifest(streamName, release.getManifest().getData());
 
@@ -257,6 +300,7 @@ public class DefaultStreamService implements StreamService {
 	public void rollbackStream(String streamName, int releaseVersion) {
 		Assert.isTrue(StringUtils.hasText(streamName), "Stream name must not be null");
 		Release release = this.skipperStreamDeployer.rollbackStream(streamName, releaseVersion);
+		streamDeploymentsChanged();
 		if (release != null && release.getManifest() != null) {
 			updateStreamDefinitionFromReleaseManifest(streamName, release.getManifest().getData());
 		}
@@ -339,6 +383,11 @@ public class DefaultStreamService implements StreamService {
 		return this.skipperStreamDeployer.platformList();
 	}
 
+	@Override
+	public Collection<Deployer> refreshPlatformList() {
+		return this.skipperStreamDeployer.refreshPlatformList();
+	}
+
 	@Override
 	public StreamDeployment info(String streamName) {
 		return this.skipperStreamDeployer.getStreamInfo(streamName);
@@ -409,6 +458,15 @@ public class DefaultStreamService implements StreamService {
 	 * @param deploymentProperties deployment properties to use as passed in from the client.
 	 */
 	public void deployStream(String streamName, Map<String, String> deploymentProperties) {
+		deployStream(streamName, deploymentProperties, null);
+	}
+
+	@Override
+	public void deployStream(String streamName, Map<String, String> deploymentProperties,
+			Consumer<StreamDeploymentPhase> phaseListener) {
+		if (phaseListener != null) {
+			phaseListener.accept(StreamDeploymentPhase.RESOLVE);
+		}
 		if (deploymentProperties == null) {
 			deploymentProperties = new HashMap<>();
 		}
@@ -423,7 +481,7 @@ public class DefaultStreamService implements StreamService {
 		else if (DeploymentState.deploying == status) {
 			throw new StreamAlreadyDeployingException(streamName);
 		}
-		doDeployStream(streamDefinition, deploymentProperties);
+		doDeployStream(streamDefinition, deploymentProperties, phaseListener);
 
 		auditRecordService.populateAndSaveAuditRecordUsingMapData(
 				AuditOperationType.STREAM, AuditActionType.DEPLOY,
@@ -16,7 +16,24 @@
 
 package org.springframework.cloud.dataflow.server.service.impl;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,11 +51,18 @@ import org.springframework.cloud.dataflow.server.job.LauncherRepository;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDeploymentRepository;
+import org.springframework.cloud.dataflow.server.service.TaskDeleteResult;
 import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
+import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.deployer.spi.task.TaskLauncher;
+import org.springframework.cloud.task.configuration.TaskProperties;
 import org.springframework.cloud.task.repository.TaskExecution;
 import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 /**
  * Default implementation of the {@link TaskDeleteService} interface. Provide service
@@ -60,6 +84,18 @@ public class DefaultTaskDeleteService implements TaskDeleteService {
 
 	private static final Logger logger = LoggerFactory.getLogger(DefaultTaskDeleteService.class);
 
+	/**
+	 * Maximum number of values bound to a single {@code IN} clause.
+	 */
+	private static final int IN_CLAUSE_SIZE = 500;
+
+	private static final String SELECT_EXECUTIONS = "SELECT TASK_EXECUTION_ID, TASK_NAME, EXTERNAL_EXECUTION_ID "
+			+ "FROM %TASK_PREFIX%EXECUTION";
+
+	private static final RowMapper<TaskExecution> EXECUTION_ROW_MAPPER = (rs, rowNum) -> new TaskExecution(
+			rs.getLong("TASK_EXECUTION_ID"), null, rs.getString("TASK_NAME"), null, null, null,
+			Collections.emptyList(), null, rs.getString("EXTERNAL_EXECUTION_ID"));
+
 	/**
 	 * Used to read TaskExecutions.
 	 */
@@ -75,10 +111,36 @@ public class DefaultTaskDeleteService implements TaskDeleteService {
 
 	private final ArgumentSanitizer argumentSanitizer = new ArgumentSanitizer();
 
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	private final ForkJoinPool forkJoinPool;
+
+	private String taskTablePrefix = TaskProperties.DEFAULT_TABLE_PREFIX;
+
+	/**
+	 * Caches the launch plans of the task definitions, may be {@code null}.
+	 */
+	private TaskExecutionInfoService taskExecutionInfoService;
+
 	public DefaultTaskDeleteService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
 			TaskDefinitionRepository taskDefinitionRepository,
 			TaskDeploymentRepository taskDeploymentRepository,
 			AuditRecordService auditRecordService) {
+		this(taskExplorer, launcherRepository, taskDefinitionRepository, taskDeploymentRepository,
+				auditRecordService, null, null);
+	}
+
+	/**
+	 * @param dataSource the task repository data source, used to look up the executions of
+	 * a bulk cleanup together, may be {@code null} to read them one by one through the
+	 * {@link TaskExplorer}; cleaning up executions by end time requires it
+	 * @param forkJoinPool the pool bounding the concurrent platform calls of a bulk
+	 * operation, may be {@code null} to make the calls one after the other
+	 */
+	public DefaultTaskDeleteService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
+			TaskDefinitionRepository taskDefinitionRepository,
+			TaskDeploymentRepository taskDeploymentRepository,
+			AuditRecordService auditRecordService, DataSource dataSource, ForkJoinPool forkJoinPool) {
 		Assert.notNull(taskExplorer, "TaskExplorer must not be null");
 		Assert.notNull(launcherRepository, "LauncherRepository must not be null");
 		Assert.notNull(taskDefinitionRepository, "TaskDefinitionRepository must not be null");
@@ -90,6 +152,25 @@ public class DefaultTaskDeleteService implements TaskDeleteService {
 		this.taskDefinitionRepository = taskDefinitionRepository;
 		this.taskDeploymentRepository = taskDeploymentRepository;
 		this.auditRecordService = auditRecordService;
+		this.jdbcTemplate = dataSource != null ? new NamedParameterJdbcTemplate(dataSource) : null;
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * @param taskTablePrefix the prefix of the task tables the executions of a bulk
+	 * cleanup are looked up in, defaults to {@link TaskProperties#DEFAULT_TABLE_PREFIX}
+	 */
+	public void setTaskTablePrefix(String taskTablePrefix) {
+		Assert.hasText(taskTablePrefix, "taskTablePrefix must not be empty");
+		this.taskTablePrefix = taskTablePrefix;
+	}
+
+	/**
+	 * @param taskExecutionInfoService the service caching the launch plans of the task
+	 * definitions, evicted once the definitions are deleted
+	 */
+	public void setTaskExecutionInfoService(TaskExecutionInfoService taskExecutionInfoService) {
+		this.taskExecutionInfoService = taskExecutionInfoService;
 	}
 
 	@Override
@@ -129,18 +210,250 @@ public class DefaultTaskDeleteService implements TaskDeleteService {
 	}
 
 	@Override
-	public void deleteAll() {
-		Iterable<TaskDefinition> allTaskDefinition = this.taskDefinitionRepository.findAll();
+	public List<TaskDeleteResult> deleteAll() {
+		Map<String, TaskDefinition> taskDefinitions = new LinkedHashMap<>();
+		this.taskDefinitionRepository.findAll()
+				.forEach(taskDefinition -> taskDefinitions.put(taskDefinition.getName(), taskDefinition));
+		return deleteTaskDefinitions(new ArrayList<>(taskDefinitions.keySet()), taskDefinitions);
+	}
+
+	@Override
+	public List<TaskDeleteResult> deleteTaskDefinitions(Collection<String> names) {
+		Assert.notNull(names, "names must not be null");
+		return deleteTaskDefinitions(new ArrayList<>(new LinkedHashSet<>(names)), findTaskDefinitions(names));
+	}
+
+	@Override
+	public List<TaskDeleteResult> cleanupExecutions(Collection<Long> ids) {
+		Assert.notNull(ids, "ids must not be null");
+		List<Long> executionIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		Map<Long, TaskExecution> taskExecutions = new HashMap<>();
+		if (this.jdbcTemplate == null) {
+			for (Long id : executionIds) {
+				TaskExecution taskExecution = this.taskExplorer.getTaskExecution(id);
+				if (taskExecution != null) {
+					taskExecutions.put(id, taskExecution);
+				}
+			}
+		}
+		else {
+			for (List<Long> chunk : chunks(executionIds)) {
+				this.jdbcTemplate.query(selectExecutions() + " WHERE TASK_EXECUTION_ID IN (:ids)",
+						new MapSqlParameterSource("ids", chunk), EXECUTION_ROW_MAPPER)
+						.forEach(taskExecution -> taskExecutions.put(taskExecution.getExecutionId(), taskExecution));
+			}
+		}
+		return cleanupExecutions(executionIds, taskExecutions);
+	}
+
+	@Override
+	public List<TaskDeleteResult> cleanupExecutions(Instant from, Instant to) {
+		Assert.state(this.jdbcTemplate != null, "Cleaning up task executions by end time requires a DataSource");
+		StringBuilder sql = new StringBuilder(selectExecutions()).append(" WHERE END_TIME IS NOT NULL");
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		if (from != null) {
+			sql.append(" AND END_TIME >= :from");
+			parameters.addValue("from", Date.from(from));
+		}
+		if (to != null) {
+			sql.append(" AND END_TIME <= :to");
+			parameters.addValue("to", Date.from(to));
+		}
+		sql.append(" ORDER BY TASK_EXECUTION_ID");
+		Map<Long, TaskExecution> taskExecutions = new LinkedHashMap<>();
+		this.jdbcTemplate.query(sql.toString(), parameters, EXECUTION_ROW_MAPPER)
+				.forEach(taskExecution -> taskExecutions.put(taskExecution.getExecutionId(), taskExecution));
+		return cleanupExecutions(new ArrayList<>(taskExecutions.keySet()), taskExecutions);
+	}
+
+	/**
+	 * Delete the given definitions and the children of the composed tasks among them with
+	 * one repository call, then destroy the tasks on their platforms concurrently.
+	 *
+	 * @param names the names of the definitions to delete
+	 * @param taskDefinitions the definitions already read, by name
+	 */
+	private List<TaskDeleteResult> deleteTaskDefinitions(List<String> names,
+			Map<String, TaskDefinition> taskDefinitions) {
+		Map<String, List<String>> childNames = new HashMap<>();
+		List<String> missingChildNames = new ArrayList<>();
+		for (String name : names) {
+			TaskDefinition taskDefinition = taskDefinitions.get(name);
+			if (taskDefinition != null) {
+				List<String> children = childTaskNames(taskDefinition);
+				childNames.put(name, children);
+				children.stream().filter(child -> !taskDefinitions.containsKey(child)).forEach(missingChildNames::add);
+			}
+		}
+		taskDefinitions.putAll(findTaskDefinitions(missingChildNames));
+
+		// each composed task is followed by its children
+		Set<String> order = new LinkedHashSet<>();
+		Map<String, TaskDefinition> toDelete = new LinkedHashMap<>();
+		for (String name : names) {
+			order.add(name);
+			childNames.getOrDefault(name, Collections.emptyList()).stream()
+					.filter(taskDefinitions::containsKey).forEach(order::add);
+		}
+		order.stream().filter(taskDefinitions::containsKey)
+				.forEach(name -> toDelete.put(name, taskDefinitions.get(name)));
+		this.taskDefinitionRepository.deleteAll(toDelete.values());
+		evictLaunchPlans(toDelete.keySet());
+
+		Map<String, TaskDeployment> firstDeployments = new HashMap<>();
+		for (List<String> chunk : chunks(toDelete.keySet())) {
+			this.taskDeploymentRepository.findFirstByTaskDefinitionNames(chunk).forEach(taskDeployment ->
+					firstDeployments.putIfAbsent(taskDeployment.getTaskDefinitionName(), taskDeployment));
+		}
+		Map<String, Launcher> launchers = findLaunchers();
+		Map<String, TaskDeleteResult> destroyed = concurrently(new ArrayList<>(toDelete.values()),
+				taskDefinition -> destroyTask(taskDefinition, firstDeployments.get(taskDefinition.getName()),
+						launchers))
+				.stream().collect(Collectors.toMap(TaskDeleteResult::getTaskName, Function.identity()));
+
+		for (String name : names) {
+			TaskDefinition taskDefinition = toDelete.get(name);
+			if (taskDefinition != null) {
+				auditRecordService.populateAndSaveAuditRecord(
+						AuditOperationType.TASK, AuditActionType.DELETE,
+						taskDefinition.getTaskName(), this.argumentSanitizer.sanitizeTaskDsl(taskDefinition));
+			}
+		}
+		return order.stream()
+				.map(name -> destroyed.getOrDefault(name,
+						new TaskDeleteResult(name, null, String.format("Could not find task definition named %s", name))))
+				.collect(Collectors.toList());
+	}
+
+	private TaskDeleteResult destroyTask(TaskDefinition taskDefinition, TaskDeployment taskDeployment,
+			Map<String, Launcher> launchers) {
+		String name = taskDefinition.getName();
+		if (taskDeployment == null) {
+			logger.info("TaskLauncher.destroy not invoked for task " + name
+					+ ". Did not find a previously launched task to destroy.");
+			return new TaskDeleteResult(name, null, null);
+		}
+		Launcher launcher = launchers.get(taskDeployment.getPlatformName());
+		if (launcher == null) {
+			return new TaskDeleteResult(name, null, null);
+		}
+		try {
+			launcher.getTaskLauncher().destroy(name);
+			return new TaskDeleteResult(name, null, null);
+		}
+		catch (RuntimeException e) {
+			logger.warn(String.format("Failed to destroy task [%s] on platform [%s]", name,
+					taskDeployment.getPlatformName()), e);
+			return new TaskDeleteResult(name, null, String.format("Deleted, but failed to destroy the task on "
+					+ "platform [%s]: %s", taskDeployment.getPlatformName(), e.getMessage()));
+		}
+	}
 
-		for (TaskDefinition taskDefinition : allTaskDefinition) {
-			deleteTaskDefinition(taskDefinition);
+	private List<TaskDeleteResult> cleanupExecutions(List<Long> ids, Map<Long, TaskExecution> taskExecutions) {
+		Map<String, TaskDeployment> taskDeployments = new HashMap<>();
+		List<String> taskDeploymentIds = ids.stream().map(String::valueOf).collect(Collectors.toList());
+		for (List<String> chunk : chunks(taskDeploymentIds)) {
+			this.taskDeploymentRepository.findByTaskDeploymentIdIn(chunk).forEach(taskDeployment ->
+					taskDeployments.put(taskDeployment.getTaskDeploymentId(), taskDeployment));
+		}
+		Map<String, Launcher> launchers = findLaunchers();
+		return concurrently(ids, id -> cleanupExecution(id, taskExecutions.get(id),
+				taskDeployments.get(String.valueOf(id)), launchers));
+	}
 
-			auditRecordService.populateAndSaveAuditRecord(
-					AuditOperationType.TASK, AuditActionType.DELETE,
-					taskDefinition.getTaskName(), this.argumentSanitizer.sanitizeTaskDsl(taskDefinition));
+	private TaskDeleteResult cleanupExecution(long id, TaskExecution taskExecution, TaskDeployment taskDeployment,
+			Map<String, Launcher> launchers) {
+		if (taskExecution == null) {
+			return new TaskDeleteResult(null, id, "There was no task execution with id " + id);
+		}
+		String launchId = taskExecution.getExternalExecutionId();
+		if (!StringUtils.hasLength(launchId)) {
+			return new TaskDeleteResult(taskExecution.getTaskName(), id,
+					"The TaskExecution for id " + id + " did not have an externalExecutionId");
+		}
+		if (taskDeployment == null) {
+			logger.warn(String.format("Did not find TaskDeployment for taskName = [%s], taskId = [%s].  Nothing to clean up.",
+					taskExecution.getTaskName(), id));
+			return new TaskDeleteResult(taskExecution.getTaskName(), id, null);
+		}
+		Launcher launcher = launchers.get(taskDeployment.getPlatformName());
+		if (launcher == null) {
+			logger.info("Could clean up execution for task id " + id + ". Did not find a task platform named " +
+					taskDeployment.getPlatformName());
+			return new TaskDeleteResult(taskExecution.getTaskName(), id, null);
+		}
+		try {
+			launcher.getTaskLauncher().cleanup(launchId);
+			return new TaskDeleteResult(taskExecution.getTaskName(), id, null);
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to clean up execution for task id " + id, e);
+			return new TaskDeleteResult(taskExecution.getTaskName(), id, e.getMessage());
 		}
 	}
 
+	/**
+	 * Apply the operation to every item, on the fork join pool when there is one.
+	 *
+	 * @return the results, in the order of the items
+	 */
+	private <T> List<TaskDeleteResult> concurrently(List<T> items, Function<T, TaskDeleteResult> operation) {
+		if (this.forkJoinPool == null || items.size() < 2) {
+			return items.stream().map(operation).collect(Collectors.toList());
+		}
+		try {
+			return this.forkJoinPool.submit(() -> items.stream().parallel().map(operation)
+					.collect(Collectors.toList())).get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while deleting the tasks", e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Failed to delete the tasks", e.getCause());
+		}
+	}
+
+	private Map<String, TaskDefinition> findTaskDefinitions(Collection<String> names) {
+		Map<String, TaskDefinition> taskDefinitions = new HashMap<>();
+		for (List<String> chunk : chunks(names)) {
+			this.taskDefinitionRepository.findAllById(chunk)
+					.forEach(taskDefinition -> taskDefinitions.put(taskDefinition.getName(), taskDefinition));
+		}
+		return taskDefinitions;
+	}
+
+	private Map<String, Launcher> findLaunchers() {
+		Map<String, Launcher> launchers = new HashMap<>();
+		this.launcherRepository.findAll().forEach(launcher -> launchers.put(launcher.getName(), launcher));
+		return launchers;
+	}
+
+	private String selectExecutions() {
+		return StringUtils.replace(SELECT_EXECUTIONS, "%TASK_PREFIX%", this.taskTablePrefix);
+	}
+
+	private static List<String> childTaskNames(TaskDefinition taskDefinition) {
+		TaskParser taskParser = new TaskParser(taskDefinition.getName(), taskDefinition.getDslText(), true, true);
+		TaskNode taskNode = taskParser.parse();
+		if (!taskNode.isComposed()) {
+			return Collections.emptyList();
+		}
+		String childTaskPrefix = TaskNode.getTaskPrefix(taskDefinition.getTaskName());
+		return taskNode.getTaskApps().stream()
+				.map(task -> childTaskPrefix + (task.getLabel() != null ? task.getLabel() : task.getName()))
+				.collect(Collectors.toList());
+	}
+
+	private static <T> List<List<T>> chunks(Collection<T> values) {
+		List<T> list = new ArrayList<>(values);
+		List<List<T>> chunks = new ArrayList<>();
+		for (int from = 0; from < list.size(); from += IN_CLAUSE_SIZE) {
+			chunks.add(list.subList(from, Math.min(from + IN_CLAUSE_SIZE, list.size())));
+		}
+		return chunks;
+	}
+
 	private void deleteTaskDefinition(TaskDefinition taskDefinition) {
 		TaskParser taskParser = new TaskParser(taskDefinition.getName(), taskDefinition.getDslText(), true, true);
 		TaskNode taskNode = taskParser.parse();
@@ -173,6 +486,7 @@ public class DefaultTaskDeleteService implements TaskDeleteService {
 
 	private void destroyTask(TaskDefinition taskDefinition) {
 		taskDefinitionRepository.deleteById(taskDefinition.getName());
+		evictLaunchPlans(Collections.singleton(taskDefinition.getName()));
 		TaskDeployment taskDeployment =
 				this.taskDeploymentRepository.findTopByTaskDefinitionNameOrderByCreatedOnAsc(taskDefinition.getTaskName());
 		if (taskDeployment != null) {
@@ -187,4 +501,10 @@ public class DefaultTaskDeleteService implements TaskDeleteService {
 					taskDefinition.getTaskName() + ". Did not find a previously launched task to destroy.");
 		}
 	}
+
+	private void evictLaunchPlans(Collection<String> taskNames) {
+		if (this.taskExecutionInfoService != null) {
+			this.taskExecutionInfoService.evictLaunchPlans(taskNames);
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 
 package org.springframework.cloud.dataflow.server.service.impl;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.cloud.dataflow.core.AppRegistration;
@@ -66,6 +68,11 @@ public class DefaultTaskExecutionInfoService implements TaskExecutionInfoService
 
 	private final TaskConfigurationProperties taskConfigurationProperties;
 
+	/**
+	 * Launch plans keyed by task definition name.
+	 */
+	private final Map<String, TaskLaunchPlan> launchPlans = new ConcurrentHashMap<>();
+
 	/**
 	 * Initializes the {@link DefaultTaskExecutionInfoService}.
 	 *
@@ -111,35 +118,74 @@ public class DefaultTaskExecutionInfoService implements TaskExecutionInfoService
 		Assert.hasText(taskName, "The provided taskName must not be null or empty.");
 		Assert.notNull(taskDeploymentProperties, "The provided runtimeProperties must not be null.");
 
+		TaskDefinition originalDefinition = taskDefinitionRepository.findById(taskName).orElse(null);
+		if (originalDefinition == null) {
+			this.launchPlans.remove(taskName);
+			throw new NoSuchTaskDefinitionException(taskName);
+		}
+		TaskLaunchPlan launchPlan = findLaunchPlan(originalDefinition);
+
 		TaskExecutionInformation retData = new TaskExecutionInformation();
 		retData.setTaskDeploymentProperties(taskDeploymentProperties);
+		if (launchPlan.isComposed()) {
+			retData.setTaskDeploymentProperties(
+					TaskServiceUtils.establishComposedTaskProperties(taskDeploymentProperties,
+							launchPlan.getTaskNode()));
+		}
+		retData.setTaskDefinition(launchPlan.getTaskDefinition());
+		retData.setComposed(launchPlan.isComposed());
+		retData.setAppResource(launchPlan.getAppResource());
+		retData.setMetadataResource(launchPlan.getMetadataResource());
+		retData.setLaunchPlan(launchPlan);
+		return retData;
+	}
+
+	@Override
+	public void evictLaunchPlans(Collection<String> taskNames) {
+		this.launchPlans.keySet().removeAll(taskNames);
+	}
 
-		TaskDefinition taskDefinition = taskDefinitionRepository.findById(taskName)
-				.orElseThrow(() -> new NoSuchTaskDefinitionException(taskName));
-		TaskParser taskParser = new TaskParser(taskDefinition.getName(), taskDefinition.getDslText(), true, true);
+	/**
+	 * Return the cached launch plan of the definition, or a new one if the definition or
+	 * the registration of its app changed since the plan was made. Only the registration
+	 * is looked up for a cached plan; the DSL is not parsed again and the app resources
+	 * are not resolved again.
+	 */
+	private TaskLaunchPlan findLaunchPlan(TaskDefinition originalDefinition) {
+		String dslText = originalDefinition.getDslText();
+		TaskLaunchPlan cached = this.launchPlans.get(originalDefinition.getName());
+		if (cached != null && cached.isCurrent(dslText)) {
+			AppRegistration appRegistration = findAppRegistration(cached.getTaskDefinition());
+			if (cached.isCurrent(dslText, appRegistration)) {
+				return cached;
+			}
+		}
+		TaskParser taskParser = new TaskParser(originalDefinition.getName(), dslText, true, true);
 		TaskNode taskNode = taskParser.parse();
+		TaskDefinition taskDefinition = originalDefinition;
 		// if composed task definition replace definition with one composed task
 		// runner and executable graph.
 		if (taskNode.isComposed()) {
 			taskDefinition = new TaskDefinition(taskDefinition.getName(),
 					TaskServiceUtils.createComposedTaskDefinition(
 							taskNode.toExecutableDSL(), taskConfigurationProperties));
-			retData.setTaskDeploymentProperties(
-					TaskServiceUtils.establishComposedTaskProperties(taskDeploymentProperties,
-							taskNode));
 		}
 		taskDefinition = TaskServiceUtils.updateTaskProperties(taskDefinition,
 				dataSourceProperties);
 
+		AppRegistration appRegistration = findAppRegistration(taskDefinition);
+		TaskLaunchPlan launchPlan = new TaskLaunchPlan(dslText, appRegistration, taskDefinition, taskNode,
+				appRegistryService.getAppResource(appRegistration),
+				appRegistryService.getAppMetadataResource(appRegistration));
+		this.launchPlans.put(originalDefinition.getName(), launchPlan);
+		return launchPlan;
+	}
+
+	private AppRegistration findAppRegistration(TaskDefinition taskDefinition) {
 		AppRegistration appRegistration = appRegistryService.find(taskDefinition.getRegisteredAppName(),
 				ApplicationType.task);
 		Assert.notNull(appRegistration, "Unknown task app: " + taskDefinition.getRegisteredAppName());
-
-		retData.setTaskDefinition(taskDefinition);
-		retData.setComposed(taskNode.isComposed());
-		retData.setAppResource(appRegistryService.getAppResource(appRegistration));
-		retData.setMetadataResource(appRegistryService.getAppMetadataResource(appRegistration));
-		return retData;
+		return appRegistration;
 	}
 
 }
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.dataflow.server.service.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.cloud.dataflow.server.service.TaskExecutionCreationService;
 import org.springframework.cloud.task.repository.TaskExecution;
 import org.springframework.cloud.task.repository.TaskRepository;
@@ -42,4 +45,14 @@ public class DefaultTaskExecutionRepositoryService implements TaskExecutionCreat
 	public TaskExecution createTaskExecution(String taskName) {
 		return taskRepository.createTaskExecution(taskName);
 	}
+
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public List<TaskExecution> createTaskExecutions(String taskName, int count) {
+		List<TaskExecution> taskExecutions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			taskExecutions.add(taskRepository.createTaskExecution(taskName));
+		}
+		return taskExecutions;
+	}
 }
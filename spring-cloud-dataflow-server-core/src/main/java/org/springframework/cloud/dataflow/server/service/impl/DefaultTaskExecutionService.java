@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2018 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,14 @@
 
 package org.springframework.cloud.dataflow.server.service.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -28,6 +33,7 @@ import org.springframework.cloud.dataflow.core.AuditOperationType;
 import org.springframework.cloud.dataflow.core.Launcher;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.TaskDeployment;
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
 import org.springframework.cloud.dataflow.rest.util.ArgumentSanitizer;
 import org.springframework.cloud.dataflow.rest.util.DeploymentPropertiesUtils;
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
@@ -35,6 +41,11 @@ import org.springframework.cloud.dataflow.server.repository.TaskDeploymentReposi
 import org.springframework.cloud.dataflow.server.service.TaskExecutionCreationService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchAdmissionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchLimitExceededException;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueuedException;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchResult;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.task.TaskLauncher;
 import org.springframework.cloud.task.repository.TaskExecution;
@@ -84,6 +95,21 @@ public class DefaultTaskExecutionService implements TaskExecutionService {
 
 	private final TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator;
 
+	/**
+	 * Admits launches against the concurrency limits, may be {@code null}.
+	 */
+	private final TaskLaunchAdmissionService taskLaunchAdmissionService;
+
+	/**
+	 * Bounds the concurrent launches of a bulk launch, may be {@code null}.
+	 */
+	private final ForkJoinPool forkJoinPool;
+
+	/**
+	 * Queues the launches beyond the concurrency limits, may be {@code null}.
+	 */
+	private TaskLaunchQueueService taskLaunchQueueService;
+
 	public static final String TASK_DEFINITION_DSL_TEXT = "taskDefinitionDslText";
 
 	public static final String TASK_DEPLOYMENT_PROPERTIES = "taskDeploymentProperties";
@@ -109,6 +135,62 @@ public class DefaultTaskExecutionService implements TaskExecutionService {
 			TaskDeploymentRepository taskDeploymentRepository,
 			TaskExecutionCreationService taskExecutionRepositoryService,
 			TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator) {
+		this(launcherRepository, auditRecordService, taskRepository, taskExecutionInfoService,
+				taskDeploymentRepository, taskExecutionRepositoryService, taskAppDeploymentRequestCreator, null);
+	}
+
+	/**
+	 * Initializes the {@link DefaultTaskExecutionService}.
+	 *
+	 * @param launcherRepository the repository of task launcher used to launch task apps.
+	 * @param auditRecordService the audit record service
+	 * @param taskRepository the repository to use for accessing and updating task executions
+	 * @param taskDeploymentRepository the repository to track task deployment
+	 * @param taskExecutionInfoService the service used to setup a task execution
+	 * @param taskExecutionRepositoryService the service used to create the task execution
+	 * @param taskAppDeploymentRequestCreator the creator of the task deployment requests
+	 * @param taskLaunchAdmissionService the service admitting launches against the global
+	 * and per-platform concurrency limits, may be {@code null} to count the running
+	 * executions in the database on every launch instead
+	 */
+	public DefaultTaskExecutionService(LauncherRepository launcherRepository,
+			AuditRecordService auditRecordService,
+			TaskRepository taskRepository,
+			TaskExecutionInfoService taskExecutionInfoService,
+			TaskDeploymentRepository taskDeploymentRepository,
+			TaskExecutionCreationService taskExecutionRepositoryService,
+			TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator,
+			TaskLaunchAdmissionService taskLaunchAdmissionService) {
+		this(launcherRepository, auditRecordService, taskRepository, taskExecutionInfoService,
+				taskDeploymentRepository, taskExecutionRepositoryService, taskAppDeploymentRequestCreator,
+				taskLaunchAdmissionService, null);
+	}
+
+	/**
+	 * Initializes the {@link DefaultTaskExecutionService}.
+	 *
+	 * @param launcherRepository the repository of task launcher used to launch task apps.
+	 * @param auditRecordService the audit record service
+	 * @param taskRepository the repository to use for accessing and updating task executions
+	 * @param taskDeploymentRepository the repository to track task deployment
+	 * @param taskExecutionInfoService the service used to setup a task execution
+	 * @param taskExecutionRepositoryService the service used to create the task execution
+	 * @param taskAppDeploymentRequestCreator the creator of the task deployment requests
+	 * @param taskLaunchAdmissionService the service admitting launches against the global
+	 * and per-platform concurrency limits, may be {@code null} to count the running
+	 * executions in the database on every launch instead
+	 * @param forkJoinPool the pool bounding the concurrent launches of a bulk launch, may
+	 * be {@code null} to launch the tasks of a bulk launch one after the other
+	 */
+	public DefaultTaskExecutionService(LauncherRepository launcherRepository,
+			AuditRecordService auditRecordService,
+			TaskRepository taskRepository,
+			TaskExecutionInfoService taskExecutionInfoService,
+			TaskDeploymentRepository taskDeploymentRepository,
+			TaskExecutionCreationService taskExecutionRepositoryService,
+			TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator,
+			TaskLaunchAdmissionService taskLaunchAdmissionService,
+			ForkJoinPool forkJoinPool) {
 		Assert.notNull(launcherRepository, "launcherRepository must not be null");
 		Assert.notNull(auditRecordService, "auditRecordService must not be null");
 		Assert.notNull(taskExecutionInfoService, "taskDefinitionRetriever must not be null");
@@ -125,22 +207,71 @@ public class DefaultTaskExecutionService implements TaskExecutionService {
 		this.taskDeploymentRepository = taskDeploymentRepository;
 		this.taskExecutionRepositoryService = taskExecutionRepositoryService;
 		this.taskAppDeploymentRequestCreator = taskAppDeploymentRequestCreator;
+		this.taskLaunchAdmissionService = taskLaunchAdmissionService;
+		this.forkJoinPool = forkJoinPool;
+	}
 
+	/**
+	 * Set the launch queue holding the launches beyond the concurrency limits. Without a
+	 * launch queue, launches beyond the limits are rejected.
+	 *
+	 * @param taskLaunchQueueService the launch queue, may be {@code null}
+	 */
+	public void setTaskLaunchQueueService(TaskLaunchQueueService taskLaunchQueueService) {
+		this.taskLaunchQueueService = taskLaunchQueueService;
 	}
 
 	@Override
+	@Transactional(noRollbackFor = TaskLaunchQueuedException.class)
 	public long executeTask(String taskName, Map<String, String> taskDeploymentProperties, List<String> commandLineArgs) {
+		if (this.taskLaunchQueueService == null) {
+			return executeTaskWithoutQueueing(taskName, taskDeploymentProperties, commandLineArgs);
+		}
+		Map<String, String> deploymentProperties = new HashMap<>(taskDeploymentProperties);
+		try {
+			return executeTaskWithoutQueueing(taskName, taskDeploymentProperties, commandLineArgs);
+		}
+		catch (TaskLaunchLimitExceededException e) {
+			TaskLaunchQueueEntry entry = this.taskLaunchQueueService.enqueue(taskName, deploymentProperties,
+					commandLineArgs, 0);
+			throw new TaskLaunchQueuedException(entry, this.taskLaunchQueueService.getPosition(entry));
+		}
+	}
+
+	@Override
+	public long executeTaskWithoutQueueing(String taskName, Map<String, String> taskDeploymentProperties,
+			List<String> commandLineArgs) {
 
-		if (taskExecutionInfoService.maxConcurrentExecutionsReached()) {
-			throw new IllegalStateException(String.format(
+		if (this.taskLaunchAdmissionService == null && taskExecutionInfoService.maxConcurrentExecutionsReached()) {
+			throw new TaskLaunchLimitExceededException(String.format(
 					"The maximum concurrent task executions [%d] is at its limit.",
-					taskExecutionInfoService.getMaximumConcurrentTasks()));
+					taskExecutionInfoService.getMaximumConcurrentTasks()), null);
 		}
 
 		String platformName = taskDeploymentProperties.get(TASK_PLATFORM_NAME);
 		if (!StringUtils.hasText(platformName)) {
 			platformName = "default";
 		}
+		if (this.taskLaunchAdmissionService == null) {
+			return launchTask(taskName, platformName, taskDeploymentProperties, commandLineArgs);
+		}
+		this.taskLaunchAdmissionService.acquire(platformName);
+		boolean launched = false;
+		try {
+			long executionId = launchTask(taskName, platformName, taskDeploymentProperties, commandLineArgs);
+			this.taskLaunchAdmissionService.bind(platformName, executionId);
+			launched = true;
+			return executionId;
+		}
+		finally {
+			if (!launched) {
+				this.taskLaunchAdmissionService.release(platformName);
+			}
+		}
+	}
+
+	private long launchTask(String taskName, String platformName, Map<String, String> taskDeploymentProperties,
+			List<String> commandLineArgs) {
 		// Remove since the key for task platform name will not pass validation for app, deployer, or scheduler prefix
 		if (taskDeploymentProperties.containsKey(TASK_PLATFORM_NAME)) {
 			taskDeploymentProperties.remove(TASK_PLATFORM_NAME);
@@ -150,16 +281,7 @@ public class DefaultTaskExecutionService implements TaskExecutionService {
 
 		TaskLauncher taskLauncher = findTaskLauncher(platformName);
 
-		TaskDeployment existingTaskDeployment =
-				taskDeploymentRepository.findTopByTaskDefinitionNameOrderByCreatedOnAsc(taskName);
-		if (existingTaskDeployment != null) {
-			if (!existingTaskDeployment.getPlatformName().equals(platformName)) {
-				throw new IllegalStateException(String.format(
-						"Task definition [%s] has already been deployed on platform [%s].  " +
-						"Requested to deploy on platform [%s].",
-						taskName, existingTaskDeployment.getPlatformName(), platformName));
-			}
-		}
+		verifyPlatform(taskName, platformName);
 		TaskExecutionInformation taskExecutionInformation = taskExecutionInfoService
 				.findTaskExecutionInformation(taskName, taskDeploymentProperties);
 		TaskExecution taskExecution = taskExecutionRepositoryService.createTaskExecution(taskName);
@@ -173,11 +295,7 @@ public class DefaultTaskExecutionService implements TaskExecutionService {
 		}
 		this.updateExternalExecutionId(taskExecution.getExecutionId(), id);
 
-		TaskDeployment taskDeployment = new TaskDeployment();
-		taskDeployment.setTaskDeploymentId(id);
-		taskDeployment.setPlatformName(platformName);
-		taskDeployment.setTaskDefinitionName(taskName);
-		this.taskDeploymentRepository.save(taskDeployment);
+		this.taskDeploymentRepository.save(taskDeployment(taskName, platformName, id));
 
 		this.auditRecordService.populateAndSaveAuditRecordUsingMapData(
 				AuditOperationType.TASK, AuditActionType.DEPLOY,
@@ -189,6 +307,166 @@ public class DefaultTaskExecutionService implements TaskExecutionService {
 		return taskExecution.getExecutionId();
 	}
 
+	@Override
+	public List<TaskLaunchResult> executeTasks(String taskName, Map<String, String> taskDeploymentProperties,
+			List<List<String>> commandLineArgs) {
+		Assert.notEmpty(commandLineArgs, "commandLineArgs must not be empty");
+
+		if (this.taskLaunchAdmissionService == null && taskExecutionInfoService.maxConcurrentExecutionsReached()) {
+			throw new TaskLaunchLimitExceededException(String.format(
+					"The maximum concurrent task executions [%d] is at its limit.",
+					taskExecutionInfoService.getMaximumConcurrentTasks()), null);
+		}
+
+		Map<String, String> deploymentProperties = new HashMap<>(taskDeploymentProperties);
+		String platformName = deploymentProperties.remove(TASK_PLATFORM_NAME);
+		if (!StringUtils.hasText(platformName)) {
+			platformName = "default";
+		}
+
+		TaskLaunchResult[] results = new TaskLaunchResult[commandLineArgs.size()];
+		List<Integer> admitted = new ArrayList<>();
+		for (int i = 0; i < commandLineArgs.size(); i++) {
+			if (this.taskLaunchAdmissionService == null) {
+				admitted.add(i);
+				continue;
+			}
+			try {
+				this.taskLaunchAdmissionService.acquire(platformName);
+				admitted.add(i);
+			}
+			catch (TaskLaunchLimitExceededException e) {
+				results[i] = new TaskLaunchResult(i, null, e.getMessage());
+			}
+		}
+		if (admitted.isEmpty()) {
+			return Arrays.asList(results);
+		}
+
+		boolean launched = false;
+		try {
+			launchTasks(taskName, platformName, deploymentProperties, commandLineArgs, admitted, results);
+			launched = true;
+		}
+		finally {
+			if (this.taskLaunchAdmissionService != null) {
+				for (int i : admitted) {
+					if (launched && results[i].isLaunched()) {
+						this.taskLaunchAdmissionService.bind(platformName, results[i].getExecutionId());
+					}
+					else {
+						this.taskLaunchAdmissionService.release(platformName);
+					}
+				}
+			}
+		}
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Launches the admitted argument sets. Everything that does not depend on the
+	 * arguments, from the validation of the properties to the resolution of the task
+	 * launcher and of the task execution information, is done once. The task executions
+	 * are created in a single transaction and the launch requests are then handed to the
+	 * task launcher concurrently.
+	 */
+	private void launchTasks(String taskName, String platformName, Map<String, String> taskDeploymentProperties,
+			List<List<String>> commandLineArgs, List<Integer> admitted, TaskLaunchResult[] results) {
+		DeploymentPropertiesUtils.validateDeploymentProperties(taskDeploymentProperties);
+
+		TaskLauncher taskLauncher = findTaskLauncher(platformName);
+		verifyPlatform(taskName, platformName);
+		TaskExecutionInformation taskExecutionInformation = taskExecutionInfoService
+				.findTaskExecutionInformation(taskName, taskDeploymentProperties);
+		List<TaskExecution> taskExecutions = taskExecutionRepositoryService.createTaskExecutions(taskName,
+				admitted.size());
+
+		List<PendingLaunch> pendingLaunches = new ArrayList<>(admitted.size());
+		for (int k = 0; k < admitted.size(); k++) {
+			int index = admitted.get(k);
+			TaskExecution taskExecution = taskExecutions.get(k);
+			try {
+				pendingLaunches.add(new PendingLaunch(index, taskExecution,
+						this.taskAppDeploymentRequestCreator.createRequest(taskExecution, taskExecutionInformation,
+								new ArrayList<>(commandLineArgs.get(index)))));
+			}
+			catch (RuntimeException e) {
+				results[index] = abandon(index, taskExecution, e);
+			}
+		}
+
+		launch(taskLauncher, pendingLaunches);
+
+		List<TaskDeployment> taskDeployments = new ArrayList<>(pendingLaunches.size());
+		for (PendingLaunch pendingLaunch : pendingLaunches) {
+			long executionId = pendingLaunch.taskExecution.getExecutionId();
+			if (pendingLaunch.failure != null) {
+				results[pendingLaunch.index] = abandon(pendingLaunch.index, pendingLaunch.taskExecution,
+						pendingLaunch.failure);
+				continue;
+			}
+			this.updateExternalExecutionId(executionId, pendingLaunch.id);
+			taskDeployments.add(taskDeployment(taskName, platformName, pendingLaunch.id));
+			this.auditRecordService.populateAndSaveAuditRecordUsingMapData(
+					AuditOperationType.TASK, AuditActionType.DEPLOY,
+					taskExecutionInformation.getTaskDefinition().getName(),
+					getAudited(taskExecutionInformation.getTaskDefinition(),
+							taskExecutionInformation.getTaskDeploymentProperties(),
+							pendingLaunch.request.getCommandlineArguments()));
+			results[pendingLaunch.index] = new TaskLaunchResult(pendingLaunch.index, executionId, null);
+		}
+		this.taskDeploymentRepository.saveAll(taskDeployments);
+	}
+
+	private void launch(TaskLauncher taskLauncher, List<PendingLaunch> pendingLaunches) {
+		if (this.forkJoinPool == null || pendingLaunches.size() < 2) {
+			pendingLaunches.forEach(pendingLaunch -> pendingLaunch.launch(taskLauncher));
+			return;
+		}
+		try {
+			this.forkJoinPool.submit(() -> pendingLaunches.stream().parallel()
+					.forEach(pendingLaunch -> pendingLaunch.launch(taskLauncher))).get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while launching the tasks", e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Failed to launch the tasks", e.getCause());
+		}
+	}
+
+	/**
+	 * Ends a task execution whose launch failed, so that it is not counted as running.
+	 */
+	private TaskLaunchResult abandon(int index, TaskExecution taskExecution, Exception failure) {
+		String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+		this.taskRepository.completeTaskExecution(taskExecution.getExecutionId(), 1, new Date(),
+				"Launch failed", message);
+		return new TaskLaunchResult(index, taskExecution.getExecutionId(), message);
+	}
+
+	private void verifyPlatform(String taskName, String platformName) {
+		TaskDeployment existingTaskDeployment =
+				taskDeploymentRepository.findTopByTaskDefinitionNameOrderByCreatedOnAsc(taskName);
+		if (existingTaskDeployment != null) {
+			if (!existingTaskDeployment.getPlatformName().equals(platformName)) {
+				throw new IllegalStateException(String.format(
+						"Task definition [%s] has already been deployed on platform [%s].  " +
+						"Requested to deploy on platform [%s].",
+						taskName, existingTaskDeployment.getPlatformName(), platformName));
+			}
+		}
+	}
+
+	private static TaskDeployment taskDeployment(String taskName, String platformName, String id) {
+		TaskDeployment taskDeployment = new TaskDeployment();
+		taskDeployment.setTaskDeploymentId(id);
+		taskDeployment.setPlatformName(platformName);
+		taskDeployment.setTaskDefinitionName(taskName);
+		return taskDeployment;
+	}
+
 	private TaskLauncher findTaskLauncher(String platformName) {
 		Launcher launcher = this.launcherRepository.findByName(platformName);
 		if (launcher == null) {
@@ -222,4 +500,39 @@ public class DefaultTaskExecutionService implements TaskExecutionService {
 		return auditedData;
 	}
 
+	/**
+	 * A launch request of a bulk launch, along with the outcome of its launch.
+	 */
+	private static class PendingLaunch {
+
+		private final int index;
+
+		private final TaskExecution taskExecution;
+
+		private final AppDeploymentRequest request;
+
+		private volatile String id;
+
+		private volatile RuntimeException failure;
+
+		PendingLaunch(int index, TaskExecution taskExecution, AppDeploymentRequest request) {
+			this.index = index;
+			this.taskExecution = taskExecution;
+			this.request = request;
+		}
+
+		void launch(TaskLauncher taskLauncher) {
+			try {
+				String id = taskLauncher.launch(this.request);
+				if (!StringUtils.hasText(id)) {
+					throw new IllegalStateException(
+							"Deployment ID is null for the task:" + this.taskExecution.getTaskName());
+				}
+				this.id = id;
+			}
+			catch (RuntimeException e) {
+				this.failure = e;
+			}
+		}
+	}
 }
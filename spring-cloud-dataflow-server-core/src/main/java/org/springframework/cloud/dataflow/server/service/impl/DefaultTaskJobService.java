@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.batch.core.launch.NoSuchJobInstanceException;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.TaskDeployment;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
 import org.springframework.cloud.dataflow.rest.job.JobInstanceExecutions;
 import org.springframework.cloud.dataflow.rest.job.TaskJobExecution;
 import org.springframework.cloud.dataflow.rest.job.support.JobUtils;
@@ -174,6 +175,30 @@ public class DefaultTaskJobService implements TaskJobService {
 		return jobService.countJobExecutionsForJob(jobName);
 	}
 
+	@Override
+	public List<TaskJobExecution> listJobExecutions(Pageable pageable, JobExecutionQuery query)
+			throws NoSuchJobException {
+		Assert.notNull(pageable, "pageable must not be null");
+		Assert.notNull(query, "query must not be null");
+		return getTaskJobExecutionsForList(
+				jobService.listJobExecutions(query, getPageOffset(pageable), pageable.getPageSize()));
+	}
+
+	@Override
+	public List<TaskJobExecution> listJobExecutionsWithStepCount(Pageable pageable, JobExecutionQuery query)
+			throws NoSuchJobException {
+		Assert.notNull(pageable, "pageable must not be null");
+		Assert.notNull(query, "query must not be null");
+		return getTaskJobExecutionsWithStepCountForList(
+				jobService.listJobExecutionsWithStepCount(query, getPageOffset(pageable), pageable.getPageSize()));
+	}
+
+	@Override
+	public int countJobExecutions(JobExecutionQuery query) throws NoSuchJobException {
+		Assert.notNull(query, "query must not be null");
+		return jobService.countJobExecutions(query);
+	}
+
 	@Override
 	public void restartJobExecution(long jobExecutionId) throws NoSuchJobExecutionException {
 		logger.info("Restarting Job with Id " + jobExecutionId);
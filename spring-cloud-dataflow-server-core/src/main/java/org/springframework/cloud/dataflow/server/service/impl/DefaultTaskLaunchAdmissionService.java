@@ -0,0 +1,450 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.dataflow.core.Launcher;
+import org.springframework.cloud.dataflow.core.TaskDeployment;
+import org.springframework.cloud.dataflow.server.job.LauncherRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskDeploymentRepository;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchAdmissionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchLimitExceededException;
+import org.springframework.cloud.deployer.spi.task.LaunchState;
+import org.springframework.cloud.deployer.spi.task.TaskStatus;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Default {@link TaskLaunchAdmissionService}. The slots in use are kept in atomic
+ * counters, globally and per platform, and acquired with compare-and-set so parallel
+ * launches neither serialize nor overshoot the limits.
+ * <p>
+ * Instead of counting the running executions in the database on every launch, the
+ * counters are reconciled on a background thread every
+ * {@link TaskConfigurationProperties#getLaunchAdmissionReconcileIntervalInSeconds()}, so
+ * that admitted launches never wait for the database or the task launchers. A launch
+ * about to be rejected reconciles first, at most once every
+ * {@link #MIN_RECONCILE_INTERVAL_IN_MILLIS}, so that it is not rejected for the slots of
+ * executions that ended since the last reconciliation.
+ * <p>
+ * A reconciliation releases the slots of the executions that have an end time, or that
+ * their task launcher reports as no longer running, and accounts for the running
+ * executions this service did not launch, globally and on the platform of their task
+ * deployment. The slots acquired but not yet bound are not counted as such executions,
+ * since their execution may already be recorded.
+ */
+public class DefaultTaskLaunchAdmissionService implements TaskLaunchAdmissionService, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(DefaultTaskLaunchAdmissionService.class);
+
+	private static final String SLOTS_METER = "spring.cloud.dataflow.task.launch.slots";
+
+	private static final String PLATFORM_SLOTS_METER = "spring.cloud.dataflow.task.launch.platform.slots";
+
+	/**
+	 * Minimum time between the last reconciliation and one run by a rejected launch.
+	 */
+	private static final long MIN_RECONCILE_INTERVAL_IN_MILLIS = 1000;
+
+	private static final Set<LaunchState> ENDED_STATES = EnumSet.of(LaunchState.complete, LaunchState.failed,
+			LaunchState.cancelled, LaunchState.error);
+
+	private final TaskExplorer taskExplorer;
+
+	private final LauncherRepository launcherRepository;
+
+	private final TaskDeploymentRepository taskDeploymentRepository;
+
+	private final TaskConfigurationProperties taskConfigurationProperties;
+
+	private final MeterRegistry meterRegistry;
+
+	private final ScheduledExecutorService reconciler;
+
+	/**
+	 * Slots in use across all platforms, including the ones of the external executions.
+	 */
+	private final AtomicLong runningCount = new AtomicLong();
+
+	/**
+	 * Slots acquired for launches that are neither bound to their execution nor released
+	 * yet.
+	 */
+	private final AtomicLong pendingCount = new AtomicLong();
+
+	private final Map<String, AtomicLong> platformRunningCounts = new ConcurrentHashMap<>();
+
+	private final Map<String, AtomicLong> platformPendingCounts = new ConcurrentHashMap<>();
+
+	/**
+	 * Slots bound to the executions launched through this service, keyed by execution id.
+	 */
+	private final Map<Long, BoundSlot> boundSlots = new ConcurrentHashMap<>();
+
+	/**
+	 * Executions that ended according to their task launcher but were never given an end
+	 * time in the database.
+	 */
+	private final Set<Long> abandonedExecutions = ConcurrentHashMap.newKeySet();
+
+	private final ReentrantLock reconcileLock = new ReentrantLock();
+
+	/**
+	 * Running executions recorded in the database that were not launched through this
+	 * service.
+	 */
+	private long externalCount;
+
+	/**
+	 * Running executions not launched through this service, by the platform of their task
+	 * deployment.
+	 */
+	private Map<String, Long> platformExternalCounts = Collections.emptyMap();
+
+	private volatile long lastReconcileTime;
+
+	/**
+	 * Time a bound execution is given to be committed before it is looked up while
+	 * reconciling.
+	 */
+	private long bindGracePeriodInMillis = 10000;
+
+	public DefaultTaskLaunchAdmissionService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
+			TaskDeploymentRepository taskDeploymentRepository,
+			TaskConfigurationProperties taskConfigurationProperties) {
+		this(taskExplorer, launcherRepository, taskDeploymentRepository, taskConfigurationProperties,
+				new SimpleMeterRegistry());
+	}
+
+	public DefaultTaskLaunchAdmissionService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
+			TaskDeploymentRepository taskDeploymentRepository,
+			TaskConfigurationProperties taskConfigurationProperties, MeterRegistry meterRegistry) {
+		this(taskExplorer, launcherRepository, taskDeploymentRepository, taskConfigurationProperties, meterRegistry,
+				Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "task-launch-admission-reconciler");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	DefaultTaskLaunchAdmissionService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
+			TaskDeploymentRepository taskDeploymentRepository,
+			TaskConfigurationProperties taskConfigurationProperties, MeterRegistry meterRegistry,
+			ScheduledExecutorService reconciler) {
+		Assert.notNull(taskExplorer, "TaskExplorer must not be null");
+		Assert.notNull(launcherRepository, "LauncherRepository must not be null");
+		Assert.notNull(taskDeploymentRepository, "TaskDeploymentRepository must not be null");
+		Assert.notNull(taskConfigurationProperties, "TaskConfigurationProperties must not be null");
+		Assert.notNull(meterRegistry, "MeterRegistry must not be null");
+		Assert.notNull(reconciler, "ScheduledExecutorService must not be null");
+		this.taskExplorer = taskExplorer;
+		this.launcherRepository = launcherRepository;
+		this.taskDeploymentRepository = taskDeploymentRepository;
+		this.taskConfigurationProperties = taskConfigurationProperties;
+		this.meterRegistry = meterRegistry;
+		this.reconciler = reconciler;
+		Gauge.builder(SLOTS_METER, this, DefaultTaskLaunchAdmissionService::getRunningExecutionCount)
+				.tag("state", "used").register(meterRegistry);
+		Gauge.builder(SLOTS_METER, this,
+				s -> Math.max(0, s.taskConfigurationProperties.getMaximumConcurrentTasks() - s.runningCount.get()))
+				.tag("state", "available").register(meterRegistry);
+		long interval = taskConfigurationProperties.getLaunchAdmissionReconcileIntervalInSeconds();
+		if (interval > 0) {
+			this.reconciler.scheduleWithFixedDelay(this::tryReconcile, 0, interval, TimeUnit.SECONDS);
+		}
+	}
+
+	void setBindGracePeriodInMillis(long bindGracePeriodInMillis) {
+		this.bindGracePeriodInMillis = bindGracePeriodInMillis;
+	}
+
+	@Override
+	public void acquire(String platformName) {
+		Assert.hasText(platformName, "platformName must not be empty");
+		TaskLaunchLimitExceededException rejection = tryAcquire(platformName);
+		if (rejection != null && reconcileBeforeRejecting()) {
+			rejection = tryAcquire(platformName);
+		}
+		if (rejection != null) {
+			throw rejection;
+		}
+		this.pendingCount.incrementAndGet();
+		platformPendingCount(platformName).incrementAndGet();
+	}
+
+	@Override
+	public void bind(String platformName, long executionId) {
+		this.boundSlots.put(executionId, new BoundSlot(platformName));
+		this.pendingCount.decrementAndGet();
+		platformPendingCount(platformName).decrementAndGet();
+	}
+
+	@Override
+	public void release(String platformName) {
+		this.pendingCount.decrementAndGet();
+		platformPendingCount(platformName).decrementAndGet();
+		releaseSlot(platformName);
+	}
+
+	@Override
+	public void destroy() {
+		this.reconciler.shutdownNow();
+	}
+
+	@Override
+	public void reconcile() {
+		this.reconcileLock.lock();
+		try {
+			doReconcile();
+		}
+		finally {
+			this.reconcileLock.unlock();
+		}
+	}
+
+	@Override
+	public long getRunningExecutionCount() {
+		return this.runningCount.get();
+	}
+
+	@Override
+	public long getRunningExecutionCount(String platformName) {
+		AtomicLong count = this.platformRunningCounts.get(platformName);
+		return count != null ? count.get() : 0;
+	}
+
+	/**
+	 * Reconcile before rejecting a launch, unless a reconciliation completed less than
+	 * {@link #MIN_RECONCILE_INTERVAL_IN_MILLIS} ago.
+	 *
+	 * @return whether slots may have been released since the launch was rejected
+	 */
+	private boolean reconcileBeforeRejecting() {
+		if (System.currentTimeMillis() - this.lastReconcileTime < MIN_RECONCILE_INTERVAL_IN_MILLIS) {
+			return false;
+		}
+		this.reconcileLock.lock();
+		try {
+			// launches rejected at the same time share a single reconciliation
+			if (System.currentTimeMillis() - this.lastReconcileTime >= MIN_RECONCILE_INTERVAL_IN_MILLIS) {
+				doReconcile();
+			}
+			return true;
+		}
+		catch (Exception e) {
+			logger.warn("Failed to reconcile the running task executions: " + e.getMessage());
+			return false;
+		}
+		finally {
+			this.reconcileLock.unlock();
+		}
+	}
+
+	private void releaseSlot(String platformName) {
+		platformRunningCount(platformName).decrementAndGet();
+		this.runningCount.decrementAndGet();
+	}
+
+	/**
+	 * @return the reason the slot was not acquired, or {@code null} if it was
+	 */
+	private TaskLaunchLimitExceededException tryAcquire(String platformName) {
+		long maximumConcurrentTasks = this.taskConfigurationProperties.getMaximumConcurrentTasks();
+		if (!compareAndIncrement(this.runningCount, maximumConcurrentTasks)) {
+			return new TaskLaunchLimitExceededException(String.format(
+					"The maximum concurrent task executions [%d] is at its limit.", maximumConcurrentTasks), null);
+		}
+		Long platformMaximum = this.taskConfigurationProperties.getPlatformMaximumConcurrentTasks().get(platformName);
+		if (!compareAndIncrement(platformRunningCount(platformName),
+				platformMaximum != null ? platformMaximum : Long.MAX_VALUE)) {
+			this.runningCount.decrementAndGet();
+			return new TaskLaunchLimitExceededException(String.format(
+					"The maximum concurrent task executions [%d] of platform [%s] is at its limit.",
+					platformMaximum, platformName), platformName);
+		}
+		return null;
+	}
+
+	private static boolean compareAndIncrement(AtomicLong count, long limit) {
+		while (true) {
+			long current = count.get();
+			if (current >= limit) {
+				return false;
+			}
+			if (count.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private AtomicLong platformRunningCount(String platformName) {
+		return this.platformRunningCounts.computeIfAbsent(platformName, name -> {
+			AtomicLong count = new AtomicLong();
+			Gauge.builder(PLATFORM_SLOTS_METER, count, AtomicLong::get).tag("platform", name).tag("state", "used")
+					.register(this.meterRegistry);
+			Long platformMaximum = this.taskConfigurationProperties.getPlatformMaximumConcurrentTasks().get(name);
+			if (platformMaximum != null) {
+				Gauge.builder(PLATFORM_SLOTS_METER, count, c -> Math.max(0, platformMaximum - c.get()))
+						.tag("platform", name).tag("state", "available").register(this.meterRegistry);
+			}
+			return count;
+		});
+	}
+
+	private AtomicLong platformPendingCount(String platformName) {
+		return this.platformPendingCounts.computeIfAbsent(platformName, name -> new AtomicLong());
+	}
+
+	/**
+	 * Reconcile unless another thread already is.
+	 */
+	private void tryReconcile() {
+		if (!this.reconcileLock.tryLock()) {
+			return;
+		}
+		try {
+			doReconcile();
+		}
+		catch (Exception e) {
+			logger.warn("Failed to reconcile the running task executions: " + e.getMessage());
+		}
+		finally {
+			this.reconcileLock.unlock();
+		}
+	}
+
+	private void doReconcile() {
+		long boundBefore = System.currentTimeMillis() - this.bindGracePeriodInMillis;
+		for (Map.Entry<Long, BoundSlot> entry : this.boundSlots.entrySet()) {
+			if (entry.getValue().boundAt <= boundBefore && !isRunning(entry.getKey(), entry.getValue().platformName)
+					&& this.boundSlots.remove(entry.getKey(), entry.getValue())) {
+				releaseSlot(entry.getValue().platformName);
+			}
+		}
+		this.abandonedExecutions.removeIf(executionId -> {
+			TaskExecution taskExecution = this.taskExplorer.getTaskExecution(executionId);
+			return taskExecution == null || taskExecution.getEndTime() != null;
+		});
+		long running = this.taskExplorer.getRunningTaskExecutionCount();
+		long external = Math.max(0, running - this.boundSlots.size() - this.abandonedExecutions.size()
+				- Math.max(0, this.pendingCount.get()));
+		this.runningCount.addAndGet(external - this.externalCount);
+		this.externalCount = external;
+
+		Map<String, Long> platformExternalCounts = external > 0 ? platformExternalCounts(running)
+				: Collections.emptyMap();
+		Set<String> platformNames = new HashSet<>(platformExternalCounts.keySet());
+		platformNames.addAll(this.platformExternalCounts.keySet());
+		for (String platformName : platformNames) {
+			platformRunningCount(platformName).addAndGet(platformExternalCounts.getOrDefault(platformName, 0L)
+					- this.platformExternalCounts.getOrDefault(platformName, 0L));
+		}
+		this.platformExternalCounts = platformExternalCounts;
+		this.lastReconcileTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Look up the running executions not launched through this service by the platform of
+	 * their task deployment. Only needed when there are such executions, as it reads the
+	 * running executions of every task.
+	 *
+	 * @param running the number of running executions in the database
+	 * @return the number of external executions by platform, less the slots acquired but
+	 * not yet bound on the platform
+	 */
+	private Map<String, Long> platformExternalCounts(long running) {
+		PageRequest pageRequest = PageRequest.of(0, (int) Math.min(running, Integer.MAX_VALUE));
+		List<String> externalExecutionIds = new ArrayList<>();
+		for (String taskName : this.taskExplorer.getTaskNames()) {
+			for (TaskExecution taskExecution : this.taskExplorer.findRunningTaskExecutions(taskName, pageRequest)) {
+				if (!this.boundSlots.containsKey(taskExecution.getExecutionId())
+						&& !this.abandonedExecutions.contains(taskExecution.getExecutionId())
+						&& StringUtils.hasText(taskExecution.getExternalExecutionId())) {
+					externalExecutionIds.add(taskExecution.getExternalExecutionId());
+				}
+			}
+		}
+		Map<String, Long> counts = new HashMap<>();
+		if (!externalExecutionIds.isEmpty()) {
+			for (TaskDeployment taskDeployment : this.taskDeploymentRepository
+					.findByTaskDeploymentIdIn(externalExecutionIds)) {
+				counts.merge(taskDeployment.getPlatformName(), 1L, Long::sum);
+			}
+		}
+		counts.replaceAll((platformName, count) -> Math.max(0,
+				count - Math.max(0, platformPendingCount(platformName).get())));
+		return counts;
+	}
+
+	private boolean isRunning(long executionId, String platformName) {
+		TaskExecution taskExecution = this.taskExplorer.getTaskExecution(executionId);
+		if (taskExecution == null || taskExecution.getEndTime() != null) {
+			return false;
+		}
+		Launcher launcher = this.launcherRepository.findByName(platformName);
+		if (launcher != null && launcher.getTaskLauncher() != null
+				&& StringUtils.hasText(taskExecution.getExternalExecutionId())) {
+			TaskStatus status = launcher.getTaskLauncher().status(taskExecution.getExternalExecutionId());
+			if (status != null && ENDED_STATES.contains(status.getState())) {
+				logger.info(String.format("Task execution %d ended on platform [%s] with state %s but has no end time",
+						executionId, platformName, status.getState()));
+				this.abandonedExecutions.add(executionId);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A slot bound to a launched execution.
+	 */
+	private static final class BoundSlot {
+
+		private final String platformName;
+
+		private final long boundAt;
+
+		BoundSlot(String platformName) {
+			this.platformName = platformName;
+			this.boundAt = System.currentTimeMillis();
+		}
+	}
+}
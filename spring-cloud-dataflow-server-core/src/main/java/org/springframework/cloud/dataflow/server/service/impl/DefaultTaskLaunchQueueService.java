@@ -0,0 +1,377 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskLaunchQueueEntryException;
+import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskLaunchQueueRepository;
+import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchLimitExceededException;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Default implementation of the {@link TaskLaunchQueueService}. Queued launches are
+ * dispatched on enqueue and periodically, through the {@link TaskExecutionService}.
+ * Entries are marked as dispatched before they are launched, so servers sharing the
+ * database do not launch the same entry concurrently and an entry is never launched
+ * twice, and removed from the queue once launched. An entry left dispatched by a server
+ * that stopped in the middle of a launch, or failed to remove it, is removed when its
+ * lease expires. A launch rejected with a {@link TaskLaunchLimitExceededException}
+ * goes back to its place in the queue, while a launch failing for another reason is
+ * attempted again on the next dispatches, up to
+ * {@link TaskConfigurationProperties#getLaunchQueueMaxAttempts()} times.
+ */
+public class DefaultTaskLaunchQueueService implements TaskLaunchQueueService, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(DefaultTaskLaunchQueueService.class);
+
+	private static final String DEPTH_METER = "spring.cloud.dataflow.task.launch.queue.depth";
+
+	private static final String WAIT_METER = "spring.cloud.dataflow.task.launch.queue.wait";
+
+	private static final String DISPATCH_METER = "spring.cloud.dataflow.task.launch.queue.dispatches";
+
+	private static final Sort QUEUE_ORDER = Sort.by(Sort.Order.desc("priority"), Sort.Order.asc("createdOn"),
+			Sort.Order.asc("id"));
+
+	private static final TypeReference<Map<String, String>> PROPERTIES_TYPE = new TypeReference<Map<String, String>>() {
+	};
+
+	private static final TypeReference<List<String>> ARGUMENTS_TYPE = new TypeReference<List<String>>() {
+	};
+
+	private final TaskLaunchQueueRepository taskLaunchQueueRepository;
+
+	private final TaskDefinitionRepository taskDefinitionRepository;
+
+	private final TaskExecutionService taskExecutionService;
+
+	private final TaskConfigurationProperties taskConfigurationProperties;
+
+	private final MeterRegistry meterRegistry;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ReentrantLock dispatchLock = new ReentrantLock();
+
+	/**
+	 * Dispatch sequence number of the last launch of each task definition, used to let
+	 * the definitions take turns.
+	 */
+	private final Map<String, Long> lastDispatches = new ConcurrentHashMap<>();
+
+	private final AtomicLong dispatchSequence = new AtomicLong();
+
+	private final AtomicLong depth = new AtomicLong();
+
+	private final ScheduledExecutorService dispatcher;
+
+	public DefaultTaskLaunchQueueService(TaskLaunchQueueRepository taskLaunchQueueRepository,
+			TaskDefinitionRepository taskDefinitionRepository, TaskExecutionService taskExecutionService,
+			TaskConfigurationProperties taskConfigurationProperties) {
+		this(taskLaunchQueueRepository, taskDefinitionRepository, taskExecutionService, taskConfigurationProperties,
+				new SimpleMeterRegistry());
+	}
+
+	public DefaultTaskLaunchQueueService(TaskLaunchQueueRepository taskLaunchQueueRepository,
+			TaskDefinitionRepository taskDefinitionRepository, TaskExecutionService taskExecutionService,
+			TaskConfigurationProperties taskConfigurationProperties, MeterRegistry meterRegistry) {
+		this(taskLaunchQueueRepository, taskDefinitionRepository, taskExecutionService, taskConfigurationProperties,
+				meterRegistry, Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "task-launch-queue-dispatcher");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	DefaultTaskLaunchQueueService(TaskLaunchQueueRepository taskLaunchQueueRepository,
+			TaskDefinitionRepository taskDefinitionRepository, TaskExecutionService taskExecutionService,
+			TaskConfigurationProperties taskConfigurationProperties, MeterRegistry meterRegistry,
+			ScheduledExecutorService dispatcher) {
+		Assert.notNull(taskLaunchQueueRepository, "TaskLaunchQueueRepository must not be null");
+		Assert.notNull(taskDefinitionRepository, "TaskDefinitionRepository must not be null");
+		Assert.notNull(taskExecutionService, "TaskExecutionService must not be null");
+		Assert.notNull(taskConfigurationProperties, "TaskConfigurationProperties must not be null");
+		Assert.notNull(meterRegistry, "MeterRegistry must not be null");
+		this.taskLaunchQueueRepository = taskLaunchQueueRepository;
+		this.taskDefinitionRepository = taskDefinitionRepository;
+		this.taskExecutionService = taskExecutionService;
+		this.taskConfigurationProperties = taskConfigurationProperties;
+		this.meterRegistry = meterRegistry;
+		this.depth.set(taskLaunchQueueRepository.count());
+		Gauge.builder(DEPTH_METER, this.depth, AtomicLong::get).register(meterRegistry);
+		this.dispatcher = dispatcher;
+		long interval = taskConfigurationProperties.getLaunchQueueDispatchIntervalInMillis();
+		if (interval > 0) {
+			this.dispatcher.scheduleWithFixedDelay(this::dispatchQuietly, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public TaskLaunchQueueEntry enqueue(String taskName, Map<String, String> taskDeploymentProperties,
+			List<String> commandLineArgs, int priority) {
+		Assert.hasText(taskName, "taskName must not be empty");
+		if (!this.taskDefinitionRepository.existsById(taskName)) {
+			throw new NoSuchTaskDefinitionException(taskName);
+		}
+		Map<String, String> properties = taskDeploymentProperties != null ? taskDeploymentProperties
+				: Collections.emptyMap();
+		String platformName = properties.get(DefaultTaskExecutionService.TASK_PLATFORM_NAME);
+		TaskLaunchQueueEntry entry = new TaskLaunchQueueEntry();
+		entry.setTaskName(taskName);
+		entry.setPlatformName(StringUtils.hasText(platformName) ? platformName : "default");
+		entry.setPriority(priority);
+		entry.setDeploymentProperties(write(properties));
+		entry.setCommandLineArgs(write(commandLineArgs != null ? commandLineArgs : Collections.emptyList()));
+		entry.setCreatedOn(Instant.now());
+		entry = this.taskLaunchQueueRepository.save(entry);
+		this.depth.incrementAndGet();
+		this.dispatcher.execute(this::dispatchQuietly);
+		return entry;
+	}
+
+	@Override
+	public Page<TaskLaunchQueueEntry> getEntries(Pageable pageable) {
+		return this.taskLaunchQueueRepository
+				.findAll(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), QUEUE_ORDER));
+	}
+
+	@Override
+	public TaskLaunchQueueEntry getEntry(long id) {
+		return this.taskLaunchQueueRepository.findById(id)
+				.orElseThrow(() -> new NoSuchTaskLaunchQueueEntryException(id));
+	}
+
+	@Override
+	public long getPosition(TaskLaunchQueueEntry entry) {
+		return this.taskLaunchQueueRepository.countAhead(entry.getPriority(), entry.getCreatedOn(), entry.getId())
+				+ 1;
+	}
+
+	@Override
+	public void cancel(long id) {
+		if (this.taskLaunchQueueRepository.remove(id) == 0) {
+			throw new NoSuchTaskLaunchQueueEntryException(id);
+		}
+		this.depth.decrementAndGet();
+	}
+
+	@Override
+	public int dispatch() {
+		if (!this.dispatchLock.tryLock()) {
+			return 0;
+		}
+		try {
+			return doDispatch();
+		}
+		finally {
+			this.dispatchLock.unlock();
+		}
+	}
+
+	@Override
+	public long getDepth() {
+		return this.depth.get();
+	}
+
+	@Override
+	public void destroy() {
+		this.dispatcher.shutdownNow();
+	}
+
+	private void dispatchQuietly() {
+		try {
+			dispatch();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to dispatch the task launch queue", e);
+		}
+	}
+
+	private int doDispatch() {
+		int abandoned = this.taskLaunchQueueRepository.removeExpiredDispatches(Instant.now());
+		if (abandoned > 0) {
+			logger.warn(String.format("Removed %d queued task launches dispatched by a server that did not "
+					+ "complete them", abandoned));
+			this.meterRegistry.counter(DISPATCH_METER, "outcome", "abandoned").increment(abandoned);
+		}
+		int launched = 0;
+		Set<String> platformsAtLimit = new HashSet<>();
+		Set<Long> failed = new HashSet<>();
+		Duration lease = Duration.ofSeconds(this.taskConfigurationProperties.getLaunchQueueLeaseInSeconds());
+		while (true) {
+			TaskLaunchQueueEntry entry = findNext(platformsAtLimit, failed);
+			if (entry == null) {
+				break;
+			}
+			Instant now = Instant.now();
+			if (this.taskLaunchQueueRepository.claim(entry.getId(), now.plus(lease), now) == 0) {
+				continue;
+			}
+			try {
+				this.taskExecutionService.executeTaskWithoutQueueing(entry.getTaskName(), readProperties(entry),
+						readArguments(entry));
+			}
+			catch (TaskLaunchLimitExceededException e) {
+				this.taskLaunchQueueRepository.release(entry.getId(), entry.getAttempts());
+				if (e.getPlatformName() == null) {
+					break;
+				}
+				platformsAtLimit.add(e.getPlatformName());
+				continue;
+			}
+			catch (RuntimeException e) {
+				fail(entry, e);
+				failed.add(entry.getId());
+				continue;
+			}
+			this.taskLaunchQueueRepository.remove(entry.getId());
+			this.lastDispatches.put(entry.getTaskName(), this.dispatchSequence.incrementAndGet());
+			this.meterRegistry.timer(WAIT_METER).record(Duration.between(entry.getCreatedOn(), Instant.now()));
+			this.meterRegistry.counter(DISPATCH_METER, "outcome", "launched").increment();
+			launched++;
+		}
+		this.depth.set(this.taskLaunchQueueRepository.count());
+		return launched;
+	}
+
+	/**
+	 * Find the next entry to launch, reading the queue a batch at a time until a batch
+	 * holds an entry that is neither blocked by the launch limit of its platform nor
+	 * failed during this dispatch.
+	 */
+	private TaskLaunchQueueEntry findNext(Set<String> platformsAtLimit, Set<Long> failed) {
+		int batchSize = this.taskConfigurationProperties.getLaunchQueueDispatchBatchSize();
+		TaskLaunchQueueEntry next;
+		List<TaskLaunchQueueEntry> candidates;
+		int page = 0;
+		do {
+			candidates = this.taskLaunchQueueRepository.findAvailable(PageRequest.of(page++, batchSize, QUEUE_ORDER));
+			next = selectNext(candidates, platformsAtLimit, failed);
+		}
+		while (next == null && candidates.size() == batchSize);
+		return next;
+	}
+
+	/**
+	 * Put a launch that failed back in the queue to be attempted on the next dispatches,
+	 * or remove it once it used all its attempts.
+	 */
+	private void fail(TaskLaunchQueueEntry entry, RuntimeException e) {
+		int attempts = entry.getAttempts() + 1;
+		int maxAttempts = this.taskConfigurationProperties.getLaunchQueueMaxAttempts();
+		if (attempts < maxAttempts) {
+			logger.warn(String.format("Failed to launch queued task [%s], attempt %d of %d", entry.getTaskName(),
+					attempts, maxAttempts), e);
+			this.taskLaunchQueueRepository.release(entry.getId(), attempts);
+			this.meterRegistry.counter(DISPATCH_METER, "outcome", "retried").increment();
+		}
+		else {
+			logger.error(String.format("Failed to launch queued task [%s] %d times, removing it from the queue",
+					entry.getTaskName(), attempts), e);
+			this.taskLaunchQueueRepository.remove(entry.getId());
+			this.meterRegistry.counter(DISPATCH_METER, "outcome", "failed").increment();
+		}
+	}
+
+	/**
+	 * Pick the next entry among a batch of entries of the queue: the highest priority
+	 * first, then the task definition dispatched least recently, then the entry enqueued
+	 * first.
+	 */
+	private TaskLaunchQueueEntry selectNext(List<TaskLaunchQueueEntry> candidates, Set<String> platformsAtLimit,
+			Set<Long> failed) {
+		TaskLaunchQueueEntry next = null;
+		long nextLastDispatch = 0;
+		for (TaskLaunchQueueEntry candidate : candidates) {
+			if (platformsAtLimit.contains(candidate.getPlatformName()) || failed.contains(candidate.getId())) {
+				continue;
+			}
+			if (next != null && candidate.getPriority() < next.getPriority()) {
+				break;
+			}
+			long lastDispatch = this.lastDispatches.getOrDefault(candidate.getTaskName(), 0L);
+			if (next == null || lastDispatch < nextLastDispatch) {
+				next = candidate;
+				nextLastDispatch = lastDispatch;
+			}
+		}
+		return next;
+	}
+
+	private String write(Object value) {
+		try {
+			return this.objectMapper.writeValueAsString(value);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Unable to serialize the task launch", e);
+		}
+	}
+
+	private Map<String, String> readProperties(TaskLaunchQueueEntry entry) {
+		try {
+			return new HashMap<>(this.objectMapper.readValue(entry.getDeploymentProperties(), PROPERTIES_TYPE));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Unable to read the deployment properties of the queued launch", e);
+		}
+	}
+
+	private List<String> readArguments(TaskLaunchQueueEntry entry) {
+		try {
+			return new ArrayList<>(this.objectMapper.readValue(entry.getCommandLineArgs(), ARGUMENTS_TYPE));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Unable to read the arguments of the queued launch", e);
+		}
+	}
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.batch.core.repository.dao.AbstractJdbcBatchMetadataDao;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionProperties;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionReport;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionService;
+import org.springframework.cloud.task.configuration.TaskProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Default implementation of the {@link TaskRetentionService}, deleting the history
+ * straight from the task and batch tables. Every batch of task executions is deleted in
+ * its own transaction, children before parents, so that a purge never holds locks on
+ * many rows for long, and the ids are bound in lists of at most
+ * {@link #MAX_IN_LIST_SIZE} to stay within the limits of every database. Purges run one
+ * at a time on a background thread, periodically when enabled and on request.
+ */
+public class DefaultTaskRetentionService implements TaskRetentionService, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(DefaultTaskRetentionService.class);
+
+	/**
+	 * Maximum number of ids bound to a single {@code IN} list.
+	 */
+	static final int MAX_IN_LIST_SIZE = 1000;
+
+	private static final String PURGED_METER = "spring.cloud.dataflow.task.retention.purged";
+
+	private static final String SELECT_TASK_NAMES = "SELECT DISTINCT TASK_NAME FROM %TASK_PREFIX%EXECUTION "
+			+ "WHERE END_TIME IS NOT NULL";
+
+	private static final String SELECT_MOST_RECENT_EXECUTION_IDS = "SELECT TASK_EXECUTION_ID "
+			+ "FROM %TASK_PREFIX%EXECUTION WHERE TASK_NAME = :taskName ORDER BY TASK_EXECUTION_ID DESC";
+
+	private static final String SELECT_PURGEABLE_EXECUTION_IDS = "SELECT TASK_EXECUTION_ID "
+			+ "FROM %TASK_PREFIX%EXECUTION WHERE TASK_NAME = :taskName AND END_TIME IS NOT NULL "
+			+ "AND TASK_EXECUTION_ID > :afterId";
+
+	private static final String SELECT_JOB_EXECUTION_IDS = "SELECT JOB_EXECUTION_ID FROM %TASK_PREFIX%TASK_BATCH "
+			+ "WHERE TASK_EXECUTION_ID IN (:ids)";
+
+	private static final String SELECT_JOB_INSTANCE_IDS = "SELECT DISTINCT JOB_INSTANCE_ID "
+			+ "FROM %PREFIX%JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)";
+
+	private static final String DELETE_STEP_EXECUTION_CONTEXTS = "DELETE FROM %PREFIX%STEP_EXECUTION_CONTEXT "
+			+ "WHERE STEP_EXECUTION_ID IN (SELECT STEP_EXECUTION_ID FROM %PREFIX%STEP_EXECUTION "
+			+ "WHERE JOB_EXECUTION_ID IN (:ids))";
+
+	private static final String DELETE_STEP_EXECUTIONS = "DELETE FROM %PREFIX%STEP_EXECUTION "
+			+ "WHERE JOB_EXECUTION_ID IN (:ids)";
+
+	private static final String DELETE_JOB_EXECUTION_CONTEXTS = "DELETE FROM %PREFIX%JOB_EXECUTION_CONTEXT "
+			+ "WHERE JOB_EXECUTION_ID IN (:ids)";
+
+	private static final String DELETE_JOB_EXECUTION_PARAMS = "DELETE FROM %PREFIX%JOB_EXECUTION_PARAMS "
+			+ "WHERE JOB_EXECUTION_ID IN (:ids)";
+
+	private static final String DELETE_TASK_BATCHES = "DELETE FROM %TASK_PREFIX%TASK_BATCH "
+			+ "WHERE TASK_EXECUTION_ID IN (:ids)";
+
+	private static final String DELETE_JOB_EXECUTIONS = "DELETE FROM %PREFIX%JOB_EXECUTION "
+			+ "WHERE JOB_EXECUTION_ID IN (:ids)";
+
+	private static final String DELETE_JOB_INSTANCES = "DELETE FROM %PREFIX%JOB_INSTANCE "
+			+ "WHERE JOB_INSTANCE_ID IN (:ids) "
+			+ "AND NOT EXISTS (SELECT 1 FROM %PREFIX%JOB_EXECUTION E "
+			+ "WHERE E.JOB_INSTANCE_ID = %PREFIX%JOB_INSTANCE.JOB_INSTANCE_ID)";
+
+	private static final String DELETE_TASK_EXECUTION_PARAMS = "DELETE FROM %TASK_PREFIX%EXECUTION_PARAMS "
+			+ "WHERE TASK_EXECUTION_ID IN (:ids)";
+
+	private static final String DELETE_TASK_EXECUTIONS = "DELETE FROM %TASK_PREFIX%EXECUTION "
+			+ "WHERE TASK_EXECUTION_ID IN (:ids)";
+
+	private final DataSource dataSource;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final TaskRetentionProperties properties;
+
+	private final MeterRegistry meterRegistry;
+
+	private final AtomicBoolean purgeRequested = new AtomicBoolean();
+
+	private final ReentrantLock purgeLock = new ReentrantLock();
+
+	private final ScheduledExecutorService purger;
+
+	private String taskTablePrefix = TaskProperties.DEFAULT_TABLE_PREFIX;
+
+	private String batchTablePrefix = AbstractJdbcBatchMetadataDao.DEFAULT_TABLE_PREFIX;
+
+	public DefaultTaskRetentionService(DataSource dataSource, PlatformTransactionManager transactionManager,
+			TaskRetentionProperties properties) {
+		this(dataSource, transactionManager, properties, new SimpleMeterRegistry());
+	}
+
+	public DefaultTaskRetentionService(DataSource dataSource, PlatformTransactionManager transactionManager,
+			TaskRetentionProperties properties, MeterRegistry meterRegistry) {
+		this(dataSource, transactionManager, properties, meterRegistry,
+				Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "task-retention-purger");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	DefaultTaskRetentionService(DataSource dataSource, PlatformTransactionManager transactionManager,
+			TaskRetentionProperties properties, MeterRegistry meterRegistry, ScheduledExecutorService purger) {
+		Assert.notNull(dataSource, "DataSource must not be null");
+		Assert.notNull(transactionManager, "PlatformTransactionManager must not be null");
+		Assert.notNull(properties, "TaskRetentionProperties must not be null");
+		Assert.notNull(meterRegistry, "MeterRegistry must not be null");
+		Assert.isTrue(properties.getBatchSize() > 0 && properties.getBatchSize() <= 1000,
+				"batchSize must be between 1 and 1000");
+		this.dataSource = dataSource;
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.purger = purger;
+		long interval = properties.getPurgeIntervalInMinutes();
+		if (properties.isEnabled() && interval > 0) {
+			this.purger.scheduleWithFixedDelay(this::purgeQuietly, interval, interval, TimeUnit.MINUTES);
+		}
+	}
+
+	/**
+	 * @param taskTablePrefix the prefix of the task tables to purge, defaults to
+	 * {@link TaskProperties#DEFAULT_TABLE_PREFIX}
+	 */
+	public void setTaskTablePrefix(String taskTablePrefix) {
+		Assert.hasText(taskTablePrefix, "taskTablePrefix must not be empty");
+		this.taskTablePrefix = taskTablePrefix;
+	}
+
+	/**
+	 * @param batchTablePrefix the prefix of the batch tables to purge, defaults to
+	 * {@link AbstractJdbcBatchMetadataDao#DEFAULT_TABLE_PREFIX}
+	 */
+	public void setBatchTablePrefix(String batchTablePrefix) {
+		Assert.hasText(batchTablePrefix, "batchTablePrefix must not be empty");
+		this.batchTablePrefix = batchTablePrefix;
+	}
+
+	@Override
+	public TaskRetentionReport purge(boolean dryRun) {
+		this.purgeLock.lock();
+		try {
+			return doPurge(dryRun);
+		}
+		finally {
+			this.purgeLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean requestPurge() {
+		if (!this.purgeRequested.compareAndSet(false, true)) {
+			return false;
+		}
+		try {
+			this.purger.execute(() -> {
+				this.purgeRequested.set(false);
+				purgeQuietly();
+			});
+			return true;
+		}
+		catch (RuntimeException e) {
+			this.purgeRequested.set(false);
+			throw e;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.purger.shutdownNow();
+	}
+
+	private void purgeQuietly() {
+		try {
+			TaskRetentionReport report = purge(false);
+			if (!report.getTasks().isEmpty()) {
+				logger.info("Purged the task execution history: " + report.getDeletedRows());
+			}
+		}
+		catch (Exception e) {
+			logger.warn("Failed to purge the task execution history: " + e.getMessage(), e);
+		}
+	}
+
+	private TaskRetentionReport doPurge(boolean dryRun) {
+		List<TaskRetentionReport.TaskPurge> tasks = new ArrayList<>();
+		Map<String, Long> deletedRows = new LinkedHashMap<>();
+		int remaining = this.properties.getMaxExecutionsPerPurge();
+		for (String taskName : taskNames()) {
+			if (remaining <= 0) {
+				break;
+			}
+			TaskRetentionProperties.Policy policy = this.properties.getPolicies().getOrDefault(taskName,
+					this.properties.getDefaultPolicy());
+			if (policy == null || policy.isEmpty()) {
+				continue;
+			}
+			Long oldestKeptId = null;
+			if (policy.getKeepLast() != null && policy.getKeepLast() > 0) {
+				oldestKeptId = oldestKeptId(taskName, policy.getKeepLast());
+				if (oldestKeptId == null) {
+					continue;
+				}
+			}
+			Date endedBefore = policy.getKeepDays() != null
+					? new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(policy.getKeepDays()))
+					: null;
+
+			long taskExecutionCount = 0;
+			long jobExecutionCount = 0;
+			long afterId = -1;
+			while (remaining > 0) {
+				int batchSize = Math.min(this.properties.getBatchSize(), remaining);
+				List<Long> ids = purgeableExecutionIds(taskName, oldestKeptId, endedBefore, afterId, batchSize);
+				if (ids.isEmpty()) {
+					break;
+				}
+				afterId = ids.get(ids.size() - 1);
+				remaining -= ids.size();
+				taskExecutionCount += ids.size();
+				if (dryRun) {
+					jobExecutionCount += query(SELECT_JOB_EXECUTION_IDS, ids).size();
+				}
+				else {
+					jobExecutionCount += this.transactionTemplate.execute(status -> delete(ids, deletedRows));
+					pause();
+				}
+				if (ids.size() < batchSize) {
+					break;
+				}
+			}
+			if (taskExecutionCount > 0) {
+				tasks.add(new TaskRetentionReport.TaskPurge(taskName, taskExecutionCount, jobExecutionCount));
+			}
+		}
+		return new TaskRetentionReport(dryRun, tasks, deletedRows);
+	}
+
+	/**
+	 * @return the task names to apply a policy to, only the ones with a policy of their
+	 * own unless there is a default policy
+	 */
+	private Collection<String> taskNames() {
+		TaskRetentionProperties.Policy defaultPolicy = this.properties.getDefaultPolicy();
+		if (defaultPolicy == null || defaultPolicy.isEmpty()) {
+			return new TreeSet<>(this.properties.getPolicies().keySet());
+		}
+		return new TreeSet<>(this.jdbcTemplate.getJdbcOperations().queryForList(sql(SELECT_TASK_NAMES), String.class));
+	}
+
+	/**
+	 * @return the id of the oldest of the given number of most recent task executions,
+	 * or {@code null} if there are not more task executions than that
+	 */
+	private Long oldestKeptId(String taskName, int keepLast) {
+		List<Long> ids = limitedTo(keepLast + 1).queryForList(sql(SELECT_MOST_RECENT_EXECUTION_IDS),
+				Collections.singletonMap("taskName", taskName), Long.class);
+		return ids.size() > keepLast ? ids.get(keepLast - 1) : null;
+	}
+
+	private List<Long> purgeableExecutionIds(String taskName, Long oldestKeptId, Date endedBefore, long afterId,
+			int batchSize) {
+		StringBuilder sql = new StringBuilder(sql(SELECT_PURGEABLE_EXECUTION_IDS));
+		MapSqlParameterSource parameters = new MapSqlParameterSource("taskName", taskName).addValue("afterId",
+				afterId);
+		if (oldestKeptId != null) {
+			sql.append(" AND TASK_EXECUTION_ID < :oldestKeptId");
+			parameters.addValue("oldestKeptId", oldestKeptId);
+		}
+		if (endedBefore != null) {
+			sql.append(" AND END_TIME < :endedBefore");
+			parameters.addValue("endedBefore", endedBefore);
+		}
+		sql.append(" ORDER BY TASK_EXECUTION_ID");
+		return limitedTo(batchSize).queryForList(sql.toString(), parameters, Long.class);
+	}
+
+	/**
+	 * @return a template reading at most the given number of rows of a result set,
+	 * sparing the portability issues of the SQL row limiting clauses
+	 */
+	private NamedParameterJdbcTemplate limitedTo(int maxRows) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+		jdbcTemplate.setMaxRows(maxRows);
+		return new NamedParameterJdbcTemplate(jdbcTemplate);
+	}
+
+	/**
+	 * Delete the given task executions along with their parameters and batch executions.
+	 *
+	 * @return the number of batch job executions deleted
+	 */
+	private int delete(List<Long> taskExecutionIds, Map<String, Long> deletedRows) {
+		List<Long> jobExecutionIds = query(SELECT_JOB_EXECUTION_IDS, taskExecutionIds);
+		List<Long> jobInstanceIds = query(SELECT_JOB_INSTANCE_IDS, jobExecutionIds);
+		delete("%PREFIX%STEP_EXECUTION_CONTEXT", DELETE_STEP_EXECUTION_CONTEXTS, jobExecutionIds, deletedRows);
+		delete("%PREFIX%STEP_EXECUTION", DELETE_STEP_EXECUTIONS, jobExecutionIds, deletedRows);
+		delete("%PREFIX%JOB_EXECUTION_CONTEXT", DELETE_JOB_EXECUTION_CONTEXTS, jobExecutionIds, deletedRows);
+		delete("%PREFIX%JOB_EXECUTION_PARAMS", DELETE_JOB_EXECUTION_PARAMS, jobExecutionIds, deletedRows);
+		delete("%TASK_PREFIX%TASK_BATCH", DELETE_TASK_BATCHES, taskExecutionIds, deletedRows);
+		delete("%PREFIX%JOB_EXECUTION", DELETE_JOB_EXECUTIONS, jobExecutionIds, deletedRows);
+		delete("%PREFIX%JOB_INSTANCE", DELETE_JOB_INSTANCES, jobInstanceIds, deletedRows);
+		delete("%TASK_PREFIX%EXECUTION_PARAMS", DELETE_TASK_EXECUTION_PARAMS, taskExecutionIds, deletedRows);
+		delete("%TASK_PREFIX%EXECUTION", DELETE_TASK_EXECUTIONS, taskExecutionIds, deletedRows);
+		return jobExecutionIds.size();
+	}
+
+	private void delete(String table, String sql, List<Long> ids, Map<String, Long> deletedRows) {
+		int count = 0;
+		for (List<Long> chunk : chunks(ids)) {
+			count += this.jdbcTemplate.update(sql(sql), Collections.singletonMap("ids", chunk));
+		}
+		if (count > 0) {
+			String tableName = sql(table);
+			deletedRows.merge(tableName, (long) count, Long::sum);
+			this.meterRegistry.counter(PURGED_METER, "table", tableName).increment(count);
+		}
+	}
+
+	private List<Long> query(String sql, List<Long> ids) {
+		List<Long> result = new ArrayList<>();
+		for (List<Long> chunk : chunks(ids)) {
+			result.addAll(this.jdbcTemplate.queryForList(sql(sql), Collections.singletonMap("ids", chunk), Long.class));
+		}
+		return result;
+	}
+
+	/**
+	 * @return the given SQL with the configured task and batch table prefixes
+	 */
+	private String sql(String sql) {
+		return StringUtils.replace(StringUtils.replace(sql, "%TASK_PREFIX%", this.taskTablePrefix), "%PREFIX%",
+				this.batchTablePrefix);
+	}
+
+	private static List<List<Long>> chunks(List<Long> ids) {
+		List<List<Long>> chunks = new ArrayList<>();
+		for (int from = 0; from < ids.size(); from += MAX_IN_LIST_SIZE) {
+			chunks.add(ids.subList(from, Math.min(ids.size(), from + MAX_IN_LIST_SIZE)));
+		}
+		return chunks;
+	}
+
+	private void pause() {
+		long pause = this.properties.getPauseBetweenBatchesInMillis();
+		if (pause <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(pause);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while purging the task execution history", e);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+/**
+ * Exception thrown when a user requests a page sorted by a property that the listing
+ * cannot be sorted by.
+ */
+public class InvalidSortPropertyException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidSortPropertyException(String message) {
+		super(message);
+	}
+}
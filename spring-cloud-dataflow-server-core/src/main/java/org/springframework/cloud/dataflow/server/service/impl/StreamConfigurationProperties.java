@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Properties used to define the behavior of the stream operations of Spring Cloud Data
+ * Flow.
+ */
+@Validated
+@ConfigurationProperties(prefix = StreamConfigurationProperties.STREAM_PREFIX)
+public class StreamConfigurationProperties {
+
+	public static final String STREAM_PREFIX = DataFlowPropertyKeys.PREFIX + "stream";
+
+	/**
+	 * Maximum number of apps of a stream whose resources are resolved concurrently when
+	 * the deployment requests of the stream are created.
+	 */
+	@Min(1)
+	private int appResolutionParallelism = 4;
+
+	/**
+	 * Maximum number of apps whose registrations and artifacts are validated concurrently
+	 * when a stream is validated.
+	 */
+	@Min(1)
+	private int validationParallelism = 4;
+
+	/**
+	 * Maximum number of streams deployed, undeployed or destroyed concurrently by a bulk
+	 * operation.
+	 */
+	@Min(1)
+	private int bulkOperationParallelism = 4;
+
+	public int getAppResolutionParallelism() {
+		return appResolutionParallelism;
+	}
+
+	public void setAppResolutionParallelism(int appResolutionParallelism) {
+		this.appResolutionParallelism = appResolutionParallelism;
+	}
+
+	public int getValidationParallelism() {
+		return validationParallelism;
+	}
+
+	public void setValidationParallelism(int validationParallelism) {
+		this.validationParallelism = validationParallelism;
+	}
+
+	public int getBulkOperationParallelism() {
+		return bulkOperationParallelism;
+	}
+
+	public void setBulkOperationParallelism(int bulkOperationParallelism) {
+		this.bulkOperationParallelism = bulkOperationParallelism;
+	}
+}
@@ -96,9 +96,13 @@ public class TaskAppDeploymentRequestCreator {
 			TaskServiceUtils.updateDataFlowUriIfNeeded(this.dataflowServerUri, appDeploymentProperties,
 					commandLineArgs);
 		}
-		AppDefinition revisedDefinition = TaskServiceUtils.mergeAndExpandAppProperties(taskDefinition,
-				taskExecutionInformation.getMetadataResource(),
-				appDeploymentProperties, this.whitelistProperties);
+		TaskLaunchPlan launchPlan = taskExecutionInformation.getLaunchPlan();
+		AppDefinition revisedDefinition = launchPlan != null
+				? TaskServiceUtils.mergeAndExpandAppProperties(taskDefinition, appDeploymentProperties,
+						launchPlan.getQualifier(this.whitelistProperties))
+				: TaskServiceUtils.mergeAndExpandAppProperties(taskDefinition,
+						taskExecutionInformation.getMetadataResource(),
+						appDeploymentProperties, this.whitelistProperties);
 
 		List<String> updatedCmdLineArgs = this.updateCommandLineArgs(commandLineArgs, taskExecution);
 		AppDeploymentRequest request = new AppDeploymentRequest(revisedDefinition,
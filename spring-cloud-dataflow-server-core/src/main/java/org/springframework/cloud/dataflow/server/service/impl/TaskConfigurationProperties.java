@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.dataflow.server.service.impl;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 
@@ -45,6 +48,60 @@ public class TaskConfigurationProperties {
 	@Min(1)
 	private long maximumConcurrentTasks = 20;
 
+	/**
+	 * The maximum number of concurrent task executions launched on a platform, keyed by
+	 * the platform name. Platforms without an entry are only bound by
+	 * {@code maximumConcurrentTasks}.
+	 */
+	private Map<String, Long> platformMaximumConcurrentTasks = new HashMap<>();
+
+	/**
+	 * Interval between two reconciliations of the running task execution counts with the
+	 * executions recorded in the database and the status reported by the task launchers.
+	 */
+	private long launchAdmissionReconcileIntervalInSeconds = 30;
+
+	/**
+	 * Interval between two dispatches of the task launch queue, on top of the dispatch
+	 * triggered by every enqueued launch. Set to 0 to only dispatch on enqueue.
+	 */
+	private long launchQueueDispatchIntervalInMillis = 5000;
+
+	/**
+	 * Number of queued launches, in priority order, considered when picking the next
+	 * launch to dispatch.
+	 */
+	@Min(1)
+	private int launchQueueDispatchBatchSize = 100;
+
+	/**
+	 * Time a queued launch is reserved for the server launching it. Should the server stop
+	 * before the launch completes, the launch is dispatched again once the lease expires.
+	 */
+	@Min(1)
+	private long launchQueueLeaseInSeconds = 300;
+
+	/**
+	 * Number of times a queued launch failing for another reason than the concurrency
+	 * limits is attempted before it is removed from the queue.
+	 */
+	@Min(1)
+	private int launchQueueMaxAttempts = 3;
+
+	/**
+	 * Maximum number of executions of a bulk launch handed to the task launcher
+	 * concurrently.
+	 */
+	@Min(1)
+	private int bulkLaunchParallelism = 4;
+
+	/**
+	 * Maximum number of task definitions destroyed, or task executions cleaned up, on the
+	 * platforms concurrently by a bulk delete.
+	 */
+	@Min(1)
+	private int bulkDeleteParallelism = 4;
+
 	public String getComposedTaskRunnerName() {
 		return composedTaskRunnerName;
 	}
@@ -60,4 +117,68 @@ public class TaskConfigurationProperties {
 	public void setMaximumConcurrentTasks(long maximumConcurrentTasks) {
 		this.maximumConcurrentTasks = maximumConcurrentTasks;
 	}
+
+	public Map<String, Long> getPlatformMaximumConcurrentTasks() {
+		return platformMaximumConcurrentTasks;
+	}
+
+	public void setPlatformMaximumConcurrentTasks(Map<String, Long> platformMaximumConcurrentTasks) {
+		this.platformMaximumConcurrentTasks = platformMaximumConcurrentTasks;
+	}
+
+	public long getLaunchAdmissionReconcileIntervalInSeconds() {
+		return launchAdmissionReconcileIntervalInSeconds;
+	}
+
+	public void setLaunchAdmissionReconcileIntervalInSeconds(long launchAdmissionReconcileIntervalInSeconds) {
+		this.launchAdmissionReconcileIntervalInSeconds = launchAdmissionReconcileIntervalInSeconds;
+	}
+
+	public long getLaunchQueueDispatchIntervalInMillis() {
+		return launchQueueDispatchIntervalInMillis;
+	}
+
+	public void setLaunchQueueDispatchIntervalInMillis(long launchQueueDispatchIntervalInMillis) {
+		this.launchQueueDispatchIntervalInMillis = launchQueueDispatchIntervalInMillis;
+	}
+
+	public int getLaunchQueueDispatchBatchSize() {
+		return launchQueueDispatchBatchSize;
+	}
+
+	public void setLaunchQueueDispatchBatchSize(int launchQueueDispatchBatchSize) {
+		this.launchQueueDispatchBatchSize = launchQueueDispatchBatchSize;
+	}
+
+	public long getLaunchQueueLeaseInSeconds() {
+		return launchQueueLeaseInSeconds;
+	}
+
+	public void setLaunchQueueLeaseInSeconds(long launchQueueLeaseInSeconds) {
+		this.launchQueueLeaseInSeconds = launchQueueLeaseInSeconds;
+	}
+
+	public int getLaunchQueueMaxAttempts() {
+		return launchQueueMaxAttempts;
+	}
+
+	public void setLaunchQueueMaxAttempts(int launchQueueMaxAttempts) {
+		this.launchQueueMaxAttempts = launchQueueMaxAttempts;
+	}
+
+	public int getBulkLaunchParallelism() {
+		return bulkLaunchParallelism;
+	}
+
+	public void setBulkLaunchParallelism(int bulkLaunchParallelism) {
+		this.bulkLaunchParallelism = bulkLaunchParallelism;
+	}
+
+	public int getBulkDeleteParallelism() {
+		return bulkDeleteParallelism;
+	}
+
+	public void setBulkDeleteParallelism(int bulkDeleteParallelism) {
+		this.bulkDeleteParallelism = bulkDeleteParallelism;
+	}
 }
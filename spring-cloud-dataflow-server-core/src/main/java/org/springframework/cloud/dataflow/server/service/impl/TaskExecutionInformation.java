@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2018 the original author or authors.
+ * Copyright 2015-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,8 @@ public class TaskExecutionInformation {
 
 	private Resource metadataResource;
 
+	private TaskLaunchPlan launchPlan;
+
 	public TaskExecutionInformation() {
 	}
 
@@ -80,4 +82,14 @@ public class TaskExecutionInformation {
 		this.metadataResource = metadataResource;
 	}
 
+	/**
+	 * @return the cached plan this information was created from, may be {@code null}
+	 */
+	public TaskLaunchPlan getLaunchPlan() {
+		return launchPlan;
+	}
+
+	public void setLaunchPlan(TaskLaunchPlan launchPlan) {
+		this.launchPlan = launchPlan;
+	}
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.cloud.dataflow.core.AppRegistration;
+import org.springframework.cloud.dataflow.core.TaskDefinition;
+import org.springframework.cloud.dataflow.core.dsl.TaskNode;
+import org.springframework.cloud.dataflow.server.controller.WhitelistProperties;
+import org.springframework.core.io.Resource;
+
+/**
+ * The part of a task launch that only depends on the task definition and on the
+ * registration of its app: the parsed definition, the composed task runner definition
+ * generated for a composed task, the resolved app resources and the whitelisted
+ * properties of the app. A plan is reused by the launches of the definition as long as
+ * the definition DSL and the app registration are unchanged.
+ */
+public class TaskLaunchPlan {
+
+	private final String dslText;
+
+	/**
+	 * Identity of the app registration the resources were resolved from.
+	 */
+	private final List<Object> appRegistrationKey;
+
+	private final TaskDefinition taskDefinition;
+
+	private final TaskNode taskNode;
+
+	private final Resource appResource;
+
+	private final Resource metadataResource;
+
+	private volatile WhitelistProperties.Qualifier qualifier;
+
+	TaskLaunchPlan(String dslText, AppRegistration appRegistration, TaskDefinition taskDefinition, TaskNode taskNode,
+			Resource appResource, Resource metadataResource) {
+		this.dslText = dslText;
+		this.appRegistrationKey = appRegistrationKey(appRegistration);
+		this.taskDefinition = taskDefinition;
+		this.taskNode = taskNode;
+		this.appResource = appResource;
+		this.metadataResource = metadataResource;
+	}
+
+	/**
+	 * @return the definition to launch, the composed task runner for a composed task
+	 */
+	public TaskDefinition getTaskDefinition() {
+		return this.taskDefinition;
+	}
+
+	/**
+	 * @return the parsed DSL of the original definition
+	 */
+	public TaskNode getTaskNode() {
+		return this.taskNode;
+	}
+
+	public boolean isComposed() {
+		return this.taskNode.isComposed();
+	}
+
+	public Resource getAppResource() {
+		return this.appResource;
+	}
+
+	public Resource getMetadataResource() {
+		return this.metadataResource;
+	}
+
+	/**
+	 * @param whitelistProperties used to read the whitelisted properties on first use
+	 * @return the whitelisted properties of the app
+	 */
+	public WhitelistProperties.Qualifier getQualifier(WhitelistProperties whitelistProperties) {
+		WhitelistProperties.Qualifier qualifier = this.qualifier;
+		if (qualifier == null) {
+			qualifier = whitelistProperties.qualifier(this.metadataResource);
+			this.qualifier = qualifier;
+		}
+		return qualifier;
+	}
+
+	boolean isCurrent(String dslText) {
+		return this.dslText.equals(dslText);
+	}
+
+	boolean isCurrent(String dslText, AppRegistration appRegistration) {
+		return isCurrent(dslText) && this.appRegistrationKey.equals(appRegistrationKey(appRegistration));
+	}
+
+	private static List<Object> appRegistrationKey(AppRegistration appRegistration) {
+		return Arrays.asList(appRegistration.getId(), appRegistration.getObjectVersion(),
+				appRegistration.getVersion(), appRegistration.getUri(), appRegistration.getMetadataUri());
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -146,6 +146,27 @@ public class TaskServiceUtils {
 		return new AppDefinition(original.getName(), merged);
 	}
 
+	/**
+	 * Return a copy of a given task definition where short form parameters have been expanded
+	 * to their long form, using the whitelisted properties already read from the metadata of
+	 * the app.
+	 * @param original the task definition with the original set of properties.
+	 * @param appDeploymentProperties the app deployment properties to be added to the {@link AppDefinition}.
+	 * @param qualifier the whitelisted properties of the app.
+	 * @return fully qualified {@link AppDefinition}.
+	 */
+	public static AppDefinition mergeAndExpandAppProperties(TaskDefinition original,
+			Map<String, String> appDeploymentProperties,
+			WhitelistProperties.Qualifier qualifier) {
+		Assert.notNull(original, "original must not be null");
+		Assert.notNull(appDeploymentProperties, "appDeploymentProperties must not be null");
+		Assert.notNull(qualifier, "qualifier must not be null");
+		Map<String, String> merged = new HashMap<>(original.getProperties());
+		merged.putAll(appDeploymentProperties);
+		merged = qualifier.qualifyProperties(merged);
+		return new AppDefinition(original.getName(), merged);
+	}
+
 	public static void updateDataFlowUriIfNeeded(String dataflowServerUri,
 			Map<String, String> appDeploymentProperties, List<String> commandLineArgs) {
 		Assert.notNull(appDeploymentProperties, "appDeploymentProperties must not be null");
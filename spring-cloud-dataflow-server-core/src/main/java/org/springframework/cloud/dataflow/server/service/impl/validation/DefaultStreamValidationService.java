@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,11 @@
  */
 package org.springframework.cloud.dataflow.server.service.impl.validation;
 
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
@@ -29,17 +34,27 @@ import org.springframework.util.Assert;
 
 /**
  * Implementation of the StreamValidationService that delegates to the stream definition repository.
+ * When a {@link ForkJoinPool} is provided, the apps of a stream are validated concurrently.
  * @author Mark Pollack
  */
 public class DefaultStreamValidationService extends DefaultValidationService implements StreamValidationService {
 
 	private final StreamDefinitionRepository streamDefinitionRepository;
 
+	private final ForkJoinPool forkJoinPool;
+
 	public DefaultStreamValidationService(AppRegistryService appRegistry,
 			DockerValidatorProperties dockerValidatorProperties, StreamDefinitionRepository streamDefinitionRepository) {
+		this(appRegistry, dockerValidatorProperties, streamDefinitionRepository, null);
+	}
+
+	public DefaultStreamValidationService(AppRegistryService appRegistry,
+			DockerValidatorProperties dockerValidatorProperties, StreamDefinitionRepository streamDefinitionRepository,
+			ForkJoinPool forkJoinPool) {
 		super(appRegistry, dockerValidatorProperties);
 		Assert.notNull(streamDefinitionRepository, "StreamDefinitionRepository must not be null");
 		this.streamDefinitionRepository = streamDefinitionRepository;
+		this.forkJoinPool = forkJoinPool;
 	}
 
 	@Override
@@ -49,13 +64,37 @@ public class DefaultStreamValidationService extends DefaultValidationService imp
 		ValidationStatus validationStatus = new ValidationStatus(
 				definition.getName(),
 				definition.getDslText());
-		for (StreamAppDefinition streamAppDefinition : definition.getAppDefinitions()) {
+		List<StreamAppDefinition> appDefinitions = definition.getAppDefinitions();
+		List<Boolean> statuses = validateAll(appDefinitions);
+		for (int i = 0; i < appDefinitions.size(); i++) {
+			StreamAppDefinition streamAppDefinition = appDefinitions.get(i);
 			ApplicationType appType = streamAppDefinition.getApplicationType();
-			boolean status = this.validate(streamAppDefinition.getName(), appType);
+			boolean status = statuses.get(i);
 			validationStatus.getAppsStatuses().put(
 					String.format("%s:%s", appType.name(), streamAppDefinition.getName()),
 					(status) ? NodeStatus.valid.name() : NodeStatus.invalid.name());
 		}
 		return validationStatus;
 	}
+
+	private List<Boolean> validateAll(List<StreamAppDefinition> appDefinitions) {
+		if (this.forkJoinPool == null || appDefinitions.size() < 2) {
+			return appDefinitions.stream().map(this::validate).collect(Collectors.toList());
+		}
+		try {
+			return this.forkJoinPool.submit(() -> appDefinitions.stream().parallel()
+					.map(this::validate).collect(Collectors.toList())).get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while validating the stream apps", e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Failed to validate the stream apps", e.getCause());
+		}
+	}
+
+	private boolean validate(StreamAppDefinition streamAppDefinition) {
+		return this.validate(streamAppDefinition.getName(), streamAppDefinition.getApplicationType());
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.io.IOException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.loader.archive.Archive;
 import org.springframework.boot.loader.archive.ExplodedArchive;
 import org.springframework.boot.loader.archive.JarFileArchive;
@@ -40,7 +41,7 @@ import org.springframework.util.Assert;
  * @author Glenn Renfo
  * @author Mark Pollack
  */
-public class DefaultValidationService implements ValidationService {
+public class DefaultValidationService implements ValidationService, DisposableBean {
 
 	private static Log logger = LogFactory.getLog(DefaultValidationService.class);
 
@@ -51,12 +52,18 @@ public class DefaultValidationService implements ValidationService {
 
 	private final AppRegistryService appRegistry;
 
+	/**
+	 * Shared by all the validations so that connections, auth tokens and tags are reused.
+	 */
+	private final DockerRegistryValidator dockerRegistryValidator;
+
 	public DefaultValidationService(AppRegistryService appRegistry,
 			DockerValidatorProperties dockerValidatorProperties) {
 		Assert.notNull(dockerValidatorProperties, "DockerValidatorProperties must not be null");
 		Assert.notNull(appRegistry, "AppRegistryService must not be null");
 		this.dockerValidatorProperties = dockerValidatorProperties;
 		this.appRegistry = appRegistry;
+		this.dockerRegistryValidator = new DockerRegistryValidator(dockerValidatorProperties);
 	}
 
 	@Override
@@ -75,7 +82,7 @@ public class DefaultValidationService implements ValidationService {
 			Resource resource = appRegistry.getAppResource(registration);
 			try {
 				if ((resource instanceof DockerResource)) {
-					result = validateDockerResource(dockerValidatorProperties, (DockerResource) resource);
+					result = this.dockerRegistryValidator.isImagePresent((DockerResource) resource);
 				}
 				else {
 					new BootClassLoaderFactory(resolveAsArchive(resource), null)
@@ -90,10 +97,9 @@ public class DefaultValidationService implements ValidationService {
 		return result;
 	}
 
-	private static boolean validateDockerResource(DockerValidatorProperties dockerValidatorProperties,
-			DockerResource resource) throws Exception {
-		DockerRegistryValidator info = new DockerRegistryValidator(dockerValidatorProperties, resource);
-		return info.isImagePresent();
+	@Override
+	public void destroy() throws Exception {
+		this.dockerRegistryValidator.close();
 	}
 
 	private static Archive resolveAsArchive(Resource app) throws IOException {
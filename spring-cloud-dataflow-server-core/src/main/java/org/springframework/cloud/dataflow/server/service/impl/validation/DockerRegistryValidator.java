@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,13 @@
 
 package org.springframework.cloud.dataflow.server.service.impl.validation;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -34,6 +40,7 @@ import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -44,11 +51,16 @@ import org.springframework.web.client.RestTemplate;
 /**
  * Provides operations to query the Docker repository for tags for a given
  * image URI.
+ * <p>
+ * A single instance is meant to be shared by all validations: it holds a pooled HTTP
+ * client, caches the registry auth token until it expires and caches the tags of each
+ * repository for a short time. The tag pages of a repository are only fetched until the
+ * tag looked up is found, the remaining pages being fetched by later lookups if needed.
  *
  * @author Glenn Renfro
  * @author Chris Schaefer
  */
-public class DockerRegistryValidator {
+public class DockerRegistryValidator implements Closeable {
 	private static final Logger logger = LoggerFactory.getLogger(DockerRegistryValidator.class);
 	private static final String DOCKER_REGISTRY_AUTH_TYPE = "JWT";
 	private static final String DOCKER_REGISTRY_TAGS_PATH = "/%s/tags/";
@@ -56,48 +68,63 @@ public class DockerRegistryValidator {
 	private static final String PASSWORD_KEY = "password";
 	private final AppResourceCommon appResourceCommon;
 
-	private DockerAuth dockerAuth;
-	private RestTemplate restTemplate;
+	private final CloseableHttpClient httpClient;
+	private final RestTemplate restTemplate;
+
+	private final Map<String, CachedTags> tagsCache = new LinkedHashMap<>(16, 0.75f, true);
+	private volatile CachedAuth cachedAuth;
 
 	private DockerResource dockerResource;
 	private DockerValidatorProperties dockerValidatiorProperties;
 
-	public DockerRegistryValidator(DockerValidatorProperties dockerValidatorProperties,
-			DockerResource dockerResource) {
+	/**
+	 * Create a validator that can be shared to validate any docker resource.
+	 *
+	 * @param dockerValidatorProperties the registry urls, credentials and cache settings
+	 */
+	public DockerRegistryValidator(DockerValidatorProperties dockerValidatorProperties) {
 		this.dockerValidatiorProperties = dockerValidatorProperties;
-		this.dockerResource = dockerResource;
+		this.httpClient = createHttpClient();
 		this.restTemplate = configureRestTemplate();
-		this.dockerAuth = getDockerAuth();
 		this.appResourceCommon =  new AppResourceCommon(new MavenProperties(), null);
 	}
 
+	/**
+	 * Create a validator for a single docker resource.
+	 *
+	 * @param dockerValidatorProperties the registry urls and credentials
+	 * @param dockerResource the resource to validate
+	 * @deprecated in favor of a shared instance and {@link #isImagePresent(DockerResource)}
+	 */
+	@Deprecated
+	public DockerRegistryValidator(DockerValidatorProperties dockerValidatorProperties,
+			DockerResource dockerResource) {
+		this(dockerValidatorProperties);
+		this.dockerResource = dockerResource;
+	}
+
 	/**
 	 * Verifies that the image is present.
-	 *JobDependencies.java
+	 *
 	 * @return true if image is present.
+	 * @deprecated in favor of {@link #isImagePresent(DockerResource)}
 	 */
+	@Deprecated
 	public boolean isImagePresent() {
+		return isImagePresent(this.dockerResource);
+	}
+
+	/**
+	 * Verifies that the image of the given resource is present.
+	 *
+	 * @param dockerResource the resource to look up
+	 * @return true if image is present.
+	 */
+	public boolean isImagePresent(DockerResource dockerResource) {
 		boolean result = false;
 		try {
-			String resourceTag = this.appResourceCommon.getResourceVersion(this.dockerResource);
-			HttpHeaders headers = new HttpHeaders();
-			if (this.dockerAuth != null) {
-				headers.add(HttpHeaders.AUTHORIZATION, DOCKER_REGISTRY_AUTH_TYPE + " " + this.dockerAuth.getToken());
-			}
-			HttpEntity<String> httpEntity = new HttpEntity<>(headers);
-			String endpointUrl = getDockerTagsEndpointUrl();
-			do {
-				ResponseEntity tags = this.restTemplate.exchange(endpointUrl, HttpMethod.GET, httpEntity,
-						DockerResult.class);
-				DockerResult dockerResult = (DockerResult)tags.getBody();
-				for(DockerTag dockerTag : dockerResult.getResults()) {
-					if(dockerTag.getName().equals(resourceTag)) {
-						result = true;
-						break;
-					}
-				}
-				endpointUrl = dockerResult.getNext();
-			} while(result == false && endpointUrl != null);
+			String resourceTag = this.appResourceCommon.getResourceVersion(dockerResource);
+			result = hasTag(getDockerImageWithoutVersion(dockerResource), resourceTag);
 		}
 		catch (HttpClientErrorException hcee) {
 			//when attempting to access an invalid docker image or if you
@@ -108,14 +135,85 @@ public class DockerRegistryValidator {
 		return result;
 	}
 
-	private RestTemplate configureRestTemplate() {
-		CloseableHttpClient httpClient
-				= HttpClients.custom()
+	/**
+	 * Evict the cached auth token and tags.
+	 */
+	public void clearCache() {
+		this.cachedAuth = null;
+		synchronized (this.tagsCache) {
+			this.tagsCache.clear();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.httpClient.close();
+	}
+
+	private boolean hasTag(String repository, String tag) {
+		CachedTags cachedTags = getCachedTags(repository);
+		synchronized (cachedTags) {
+			while (!cachedTags.tags.contains(tag) && cachedTags.next != null) {
+				try {
+					fetchNextPage(cachedTags);
+				}
+				catch (HttpClientErrorException e) {
+					if (e.getStatusCode() != HttpStatus.UNAUTHORIZED || this.cachedAuth == null) {
+						throw e;
+					}
+					// the cached token may have been revoked before it expired
+					this.cachedAuth = null;
+					fetchNextPage(cachedTags);
+				}
+			}
+			return cachedTags.tags.contains(tag);
+		}
+	}
+
+	private CachedTags getCachedTags(String repository) {
+		synchronized (this.tagsCache) {
+			CachedTags cachedTags = this.tagsCache.get(repository);
+			if (cachedTags == null || cachedTags.isExpired()) {
+				this.tagsCache.values().removeIf(CachedTags::isExpired);
+				cachedTags = new CachedTags(getDockerTagsEndpointUrl(repository),
+						TimeUnit.SECONDS.toMillis(dockerValidatiorProperties.getTagsCacheTtlInSeconds()));
+				this.tagsCache.put(repository, cachedTags);
+				while (this.tagsCache.size() > dockerValidatiorProperties.getTagsCacheMaxSize()) {
+					this.tagsCache.remove(this.tagsCache.keySet().iterator().next());
+				}
+			}
+			return cachedTags;
+		}
+	}
+
+	private void fetchNextPage(CachedTags cachedTags) {
+		HttpHeaders headers = new HttpHeaders();
+		DockerAuth dockerAuth = getDockerAuth();
+		if (dockerAuth != null) {
+			headers.add(HttpHeaders.AUTHORIZATION, DOCKER_REGISTRY_AUTH_TYPE + " " + dockerAuth.getToken());
+		}
+		HttpEntity<String> httpEntity = new HttpEntity<>(headers);
+		ResponseEntity<DockerResult> response = this.restTemplate.exchange(cachedTags.next, HttpMethod.GET,
+				httpEntity, DockerResult.class);
+		DockerResult dockerResult = response.getBody();
+		for (DockerTag dockerTag : dockerResult.getResults()) {
+			cachedTags.tags.add(dockerTag.getName());
+		}
+		cachedTags.next = dockerResult.getNext();
+	}
+
+	private CloseableHttpClient createHttpClient() {
+		return HttpClients.custom()
 				.setSSLHostnameVerifier(new NoopHostnameVerifier())
+				.setMaxConnTotal(dockerValidatiorProperties.getMaxConnections())
+				.setMaxConnPerRoute(dockerValidatiorProperties.getMaxConnections())
 				.build();
+	}
+
+	private RestTemplate configureRestTemplate() {
 		HttpComponentsClientHttpRequestFactory requestFactory
 				= new HttpComponentsClientHttpRequestFactory();
-		requestFactory.setHttpClient(httpClient);
+		requestFactory.setHttpClient(this.httpClient);
 		requestFactory.setConnectTimeout(dockerValidatiorProperties.getConnectTimeoutInMillis());
 		requestFactory.setReadTimeout(dockerValidatiorProperties.getReadTimeoutInMillis());
 
@@ -124,32 +222,46 @@ public class DockerRegistryValidator {
 	}
 
 	private DockerAuth getDockerAuth() {
-		DockerAuth result = null;
 		String userName = dockerValidatiorProperties.getUserName();
 		String password = dockerValidatiorProperties.getPassword();
-		if (StringUtils.hasText(userName) && password != null) {
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.APPLICATION_JSON);
-			HttpEntity<String> httpEntity;
-			JSONObject request = new JSONObject();
-			try {
-				request.put(USER_NAME_KEY, userName);
-				request.put(PASSWORD_KEY, password);
-			}
-			catch (JSONException ie) {
-				throw new IllegalStateException(ie);
+		if (!StringUtils.hasText(userName) || password == null) {
+			return null;
+		}
+		CachedAuth auth = this.cachedAuth;
+		if (auth == null || auth.isExpired()) {
+			synchronized (this) {
+				auth = this.cachedAuth;
+				if (auth == null || auth.isExpired()) {
+					auth = new CachedAuth(requestDockerAuth(userName, password),
+							TimeUnit.SECONDS.toMillis(dockerValidatiorProperties.getAuthTokenTtlInSeconds()));
+					this.cachedAuth = auth;
+				}
 			}
-			httpEntity = new HttpEntity<>(request.toString(), headers);
-			ResponseEntity dockerAuth = restTemplate.exchange(
-					dockerValidatiorProperties.getDockerAuthUrl(),
-					HttpMethod.POST, httpEntity, DockerAuth.class);
-			result = (DockerAuth) dockerAuth.getBody();
 		}
-		return result;
+		return auth.dockerAuth;
+	}
+
+	private DockerAuth requestDockerAuth(String userName, String password) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		HttpEntity<String> httpEntity;
+		JSONObject request = new JSONObject();
+		try {
+			request.put(USER_NAME_KEY, userName);
+			request.put(PASSWORD_KEY, password);
+		}
+		catch (JSONException ie) {
+			throw new IllegalStateException(ie);
+		}
+		httpEntity = new HttpEntity<>(request.toString(), headers);
+		ResponseEntity<DockerAuth> dockerAuth = restTemplate.exchange(
+				dockerValidatiorProperties.getDockerAuthUrl(),
+				HttpMethod.POST, httpEntity, DockerAuth.class);
+		return dockerAuth.getBody();
 	}
 
-	private String getDockerTagsEndpointUrl() {
-		return String.format(dockerValidatiorProperties.getDockerRegistryUrl() + DOCKER_REGISTRY_TAGS_PATH, getDockerImageWithoutVersion(dockerResource));
+	private String getDockerTagsEndpointUrl(String repository) {
+		return String.format(dockerValidatiorProperties.getDockerRegistryUrl() + DOCKER_REGISTRY_TAGS_PATH, repository);
 	}
 
 	private String getDockerImageWithoutVersion(DockerResource dockerResource) {
@@ -170,4 +282,42 @@ public class DockerRegistryValidator {
 							dockerResource.getDescription(), e);
 		}
 	}
+
+	private static class CachedAuth {
+
+		private final DockerAuth dockerAuth;
+
+		private final long expiresAt;
+
+		CachedAuth(DockerAuth dockerAuth, long ttlInMillis) {
+			this.dockerAuth = dockerAuth;
+			this.expiresAt = System.currentTimeMillis() + ttlInMillis;
+		}
+
+		boolean isExpired() {
+			return System.currentTimeMillis() >= this.expiresAt;
+		}
+	}
+
+	/**
+	 * The tags of a repository fetched so far, along with the url of the next page, if
+	 * any. Guarded by its own monitor.
+	 */
+	private static class CachedTags {
+
+		private final Set<String> tags = new HashSet<>();
+
+		private String next;
+
+		private final long expiresAt;
+
+		CachedTags(String firstPage, long ttlInMillis) {
+			this.next = firstPage;
+			this.expiresAt = System.currentTimeMillis() + ttlInMillis;
+		}
+
+		boolean isExpired() {
+			return System.currentTimeMillis() >= this.expiresAt;
+		}
+	}
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Writes a Skipper {@link Package} as a zip archive held in memory, with the same layout
+ * as the {@code DefaultPackageWriter} produces on disk: a {@code name-version} root
+ * directory holding {@code package.yml}, {@code values.yml}, the template and one
+ * directory per dependency under {@code packages}.
+ */
+public class InMemoryPackageWriter {
+
+	private static final String GENERIC_TEMPLATE = "/org/springframework/cloud/skipper/io/generic-template.yml";
+
+	/**
+	 * {@link Yaml} instances are not thread safe, so every thread reuses its own.
+	 */
+	private static final ThreadLocal<Yaml> PACKAGE_METADATA_YAML = ThreadLocal.withInitial(() -> {
+		DumperOptions dumperOptions = new DumperOptions();
+		dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+		dumperOptions.setPrettyFlow(true);
+		return new Yaml(dumperOptions);
+	});
+
+	private static volatile String genericTemplate;
+
+	/**
+	 * @param pkg the package to write
+	 * @return the bytes of the package zip archive
+	 */
+	public byte[] write(Package pkg) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			String root = String.format("%s-%s/", pkg.getMetadata().getName(), pkg.getMetadata().getVersion());
+			addDirectory(zip, root);
+			writePackage(zip, pkg, root);
+			if (!CollectionUtils.isEmpty(pkg.getDependencies())) {
+				String packages = root + "packages/";
+				addDirectory(zip, packages);
+				for (Package dependency : pkg.getDependencies()) {
+					String dependencyRoot = packages + dependency.getMetadata().getName() + "/";
+					addDirectory(zip, dependencyRoot);
+					writePackage(zip, dependency, dependencyRoot);
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Cannot write package " + pkg.getMetadata().getName(), e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private void writePackage(ZipOutputStream zip, Package pkg, String directory) throws IOException {
+		addFile(zip, directory + "package.yml", PACKAGE_METADATA_YAML.get().dump(pkg.getMetadata()));
+		if (pkg.getConfigValues() != null && StringUtils.hasText(pkg.getConfigValues().getRaw())) {
+			addFile(zip, directory + "values.yml", pkg.getConfigValues().getRaw());
+		}
+		if (!CollectionUtils.isEmpty(pkg.getTemplates())) {
+			addDirectory(zip, directory + "templates/");
+			Template template = pkg.getTemplates().get(0);
+			String data = (template != null && StringUtils.hasText(template.getData())) ? template.getData()
+					: genericTemplate();
+			addFile(zip, directory + "templates/" + pkg.getMetadata().getName() + ".yml", data);
+		}
+	}
+
+	private static void addDirectory(ZipOutputStream zip, String name) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.closeEntry();
+	}
+
+	private static void addFile(ZipOutputStream zip, String name, String content) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content.getBytes(StandardCharsets.UTF_8));
+		zip.closeEntry();
+	}
+
+	private static String genericTemplate() throws IOException {
+		String template = genericTemplate;
+		if (template == null) {
+			try (InputStream inputStream = new ClassPathResource(GENERIC_TEMPLATE).getInputStream()) {
+				template = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+			}
+			genericTemplate = template;
+		}
+		return template;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.skipper.client.SkipperClient;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.util.Assert;
+
+/**
+ * Caches the rarely changing parts of the Skipper server state that every stream
+ * deployment needs: the configured platforms (deployers) and the application template.
+ * Entries expire after a time to live and can be evicted explicitly with
+ * {@link #refresh()}. Cache hits and misses are counted by the
+ * {@value #SKIPPER_CATALOG_METER} meter.
+ */
+public class SkipperCatalog {
+
+	public static final String SKIPPER_CATALOG_METER = "spring.cloud.dataflow.skipper.catalog";
+
+	private static final Log logger = LogFactory.getLog(SkipperCatalog.class);
+
+	private final SkipperClient skipperClient;
+
+	private final long ttlInMillis;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Entry<List<Deployer>> deployers;
+
+	private final Entry<Template> applicationTemplate;
+
+	/**
+	 * Create a catalog that does not cache but always asks Skipper.
+	 *
+	 * @param skipperClient the Skipper client
+	 */
+	public SkipperCatalog(SkipperClient skipperClient) {
+		this(skipperClient, 0);
+	}
+
+	/**
+	 * Create a catalog that does not record its hits and misses.
+	 *
+	 * @param skipperClient the Skipper client
+	 * @param ttlInSeconds time in seconds the entries are cached, 0 disabling the cache
+	 */
+	public SkipperCatalog(SkipperClient skipperClient, int ttlInSeconds) {
+		this(skipperClient, ttlInSeconds, new SimpleMeterRegistry());
+	}
+
+	/**
+	 * @param skipperClient the Skipper client
+	 * @param ttlInSeconds time in seconds the entries are cached, 0 disabling the cache
+	 * @param meterRegistry the registry the cache hits and misses are recorded to
+	 */
+	public SkipperCatalog(SkipperClient skipperClient, int ttlInSeconds, MeterRegistry meterRegistry) {
+		Assert.notNull(skipperClient, "SkipperClient can not be null");
+		Assert.notNull(meterRegistry, "MeterRegistry can not be null");
+		this.skipperClient = skipperClient;
+		this.ttlInMillis = TimeUnit.SECONDS.toMillis(ttlInSeconds);
+		this.meterRegistry = meterRegistry;
+		this.deployers = new Entry<>("deployers",
+				() -> Collections.unmodifiableList(new ArrayList<>(this.skipperClient.listDeployers().getContent())));
+		this.applicationTemplate = new Entry<>("template",
+				() -> this.skipperClient.getSpringCloudDeployerApplicationTemplate());
+	}
+
+	/**
+	 * @return the platforms configured in Skipper
+	 */
+	public List<Deployer> getDeployers() {
+		return this.deployers.get();
+	}
+
+	/**
+	 * @return the name of the platform used when none is requested, the first one
+	 * configured in Skipper
+	 * @throws IllegalArgumentException if no platform is configured
+	 */
+	public String getDefaultPlatformName() {
+		List<Deployer> deployers = getDeployers();
+		if (deployers.isEmpty()) {
+			throw new IllegalArgumentException("No platforms configured");
+		}
+		return deployers.get(0).getName();
+	}
+
+	/**
+	 * @return the template of the Spring Cloud Deployer application packages
+	 */
+	public Template getApplicationTemplate() {
+		return this.applicationTemplate.get();
+	}
+
+	/**
+	 * Evict all cached entries, so that they are fetched from Skipper on next access.
+	 */
+	public void refresh() {
+		logger.info("Evicting the cached Skipper platforms and application template");
+		this.deployers.evict();
+		this.applicationTemplate.evict();
+	}
+
+	private class Entry<T> {
+
+		private final Supplier<T> loader;
+
+		private final Counter hits;
+
+		private final Counter misses;
+
+		private volatile T value;
+
+		private volatile long expiresAt;
+
+		Entry(String name, Supplier<T> loader) {
+			this.loader = loader;
+			this.hits = SkipperCatalog.this.meterRegistry.counter(SKIPPER_CATALOG_METER, "entry", name, "result",
+					"hit");
+			this.misses = SkipperCatalog.this.meterRegistry.counter(SKIPPER_CATALOG_METER, "entry", name, "result",
+					"miss");
+		}
+
+		T get() {
+			if (SkipperCatalog.this.ttlInMillis <= 0) {
+				return this.loader.get();
+			}
+			T current = this.value;
+			if (current != null && System.currentTimeMillis() < this.expiresAt) {
+				this.hits.increment();
+				return current;
+			}
+			synchronized (this) {
+				if (this.value == null || System.currentTimeMillis() >= this.expiresAt) {
+					this.misses.increment();
+					this.value = this.loader.get();
+					this.expiresAt = System.currentTimeMillis() + SkipperCatalog.this.ttlInMillis;
+				}
+				else {
+					this.hits.increment();
+				}
+				return this.value;
+			}
+		}
+
+		synchronized void evict() {
+			this.value = null;
+		}
+	}
+}
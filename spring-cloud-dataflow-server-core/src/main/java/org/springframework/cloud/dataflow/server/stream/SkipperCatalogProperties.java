@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+
+/**
+ * Configuration of the {@link SkipperCatalog}.
+ */
+@ConfigurationProperties(prefix = SkipperCatalogProperties.SKIPPER_CATALOG_PREFIX)
+public class SkipperCatalogProperties {
+
+	public static final String SKIPPER_CATALOG_PREFIX = DataFlowPropertyKeys.PREFIX + "skipper.catalog";
+
+	/**
+	 * Time in seconds the Skipper platforms and application template are cached, 0
+	 * disabling the cache.
+	 */
+	private int ttlInSeconds = 300;
+
+	public int getTtlInSeconds() {
+		return ttlInSeconds;
+	}
+
+	public void setTtlInSeconds(int ttlInSeconds) {
+		this.ttlInSeconds = ttlInSeconds;
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+
+/**
+ * Tuning of the HTTP transport used by the {@code SkipperClient}. The per-operation read
+ * timeouts fall back to {@link #getReadTimeoutInMillis()} when not set.
+ */
+@ConfigurationProperties(prefix = SkipperClientHttpProperties.SKIPPER_HTTP_PREFIX)
+public class SkipperClientHttpProperties {
+
+	public static final String SKIPPER_HTTP_PREFIX = DataFlowPropertyKeys.PREFIX + "skipper.http";
+
+	/**
+	 * Maximum number of pooled connections to a single Skipper server.
+	 */
+	private int maxConnectionsPerRoute = 20;
+
+	/**
+	 * Maximum number of pooled connections in total.
+	 */
+	private int maxConnectionsTotal = 50;
+
+	/**
+	 * Timeout in milliseconds for establishing a connection, 0 meaning no timeout.
+	 */
+	private int connectTimeoutInMillis = 10000;
+
+	/**
+	 * Timeout in milliseconds for reading a response, 0 meaning no timeout.
+	 */
+	private int readTimeoutInMillis;
+
+	/**
+	 * Read timeout in milliseconds for release status requests.
+	 */
+	private Integer statusReadTimeoutInMillis;
+
+	/**
+	 * Read timeout in milliseconds for package install requests.
+	 */
+	private Integer installReadTimeoutInMillis;
+
+	/**
+	 * Read timeout in milliseconds for release upgrade requests.
+	 */
+	private Integer upgradeReadTimeoutInMillis;
+
+	/**
+	 * Time in seconds after which idle pooled connections are closed.
+	 */
+	private int idleConnectionTimeoutInSeconds = 30;
+
+	/**
+	 * Whether to request gzip compressed responses from Skipper.
+	 */
+	private boolean compression = true;
+
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	public int getMaxConnectionsTotal() {
+		return maxConnectionsTotal;
+	}
+
+	public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+		this.maxConnectionsTotal = maxConnectionsTotal;
+	}
+
+	public int getConnectTimeoutInMillis() {
+		return connectTimeoutInMillis;
+	}
+
+	public void setConnectTimeoutInMillis(int connectTimeoutInMillis) {
+		this.connectTimeoutInMillis = connectTimeoutInMillis;
+	}
+
+	public int getReadTimeoutInMillis() {
+		return readTimeoutInMillis;
+	}
+
+	public void setReadTimeoutInMillis(int readTimeoutInMillis) {
+		this.readTimeoutInMillis = readTimeoutInMillis;
+	}
+
+	public Integer getStatusReadTimeoutInMillis() {
+		return statusReadTimeoutInMillis;
+	}
+
+	public void setStatusReadTimeoutInMillis(Integer statusReadTimeoutInMillis) {
+		this.statusReadTimeoutInMillis = statusReadTimeoutInMillis;
+	}
+
+	public Integer getInstallReadTimeoutInMillis() {
+		return installReadTimeoutInMillis;
+	}
+
+	public void setInstallReadTimeoutInMillis(Integer installReadTimeoutInMillis) {
+		this.installReadTimeoutInMillis = installReadTimeoutInMillis;
+	}
+
+	public Integer getUpgradeReadTimeoutInMillis() {
+		return upgradeReadTimeoutInMillis;
+	}
+
+	public void setUpgradeReadTimeoutInMillis(Integer upgradeReadTimeoutInMillis) {
+		this.upgradeReadTimeoutInMillis = upgradeReadTimeoutInMillis;
+	}
+
+	public int getIdleConnectionTimeoutInSeconds() {
+		return idleConnectionTimeoutInSeconds;
+	}
+
+	public void setIdleConnectionTimeoutInSeconds(int idleConnectionTimeoutInSeconds) {
+		this.idleConnectionTimeoutInSeconds = idleConnectionTimeoutInSeconds;
+	}
+
+	public boolean isCompression() {
+		return compression;
+	}
+
+	public void setCompression(boolean compression) {
+		this.compression = compression;
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.protocol.HttpContext;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HttpComponentsClientHttpRequestFactory} for talking to Skipper over a pooled
+ * HTTP client. Requests are classified into Skipper operations (see
+ * {@link #operation(HttpMethod, URI)}) so that status, install and upgrade calls can be
+ * given their own read timeouts.
+ */
+public class SkipperClientHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+	static final String STATUS = "status";
+
+	static final String INSTALL = "install";
+
+	static final String UPGRADE = "upgrade";
+
+	private final SkipperClientHttpProperties properties;
+
+	private final RequestConfig defaultRequestConfig;
+
+	public SkipperClientHttpRequestFactory(SkipperClientHttpProperties properties) {
+		super(createHttpClient(properties));
+		this.properties = properties;
+		this.defaultRequestConfig = defaultRequestConfig(properties);
+	}
+
+	private static HttpClient createHttpClient(SkipperClientHttpProperties properties) {
+		Assert.notNull(properties, "SkipperClientHttpProperties must not be null");
+		HttpClientBuilder builder = HttpClients.custom()
+				.setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+				.setMaxConnTotal(properties.getMaxConnectionsTotal())
+				.setDefaultRequestConfig(defaultRequestConfig(properties))
+				.useSystemProperties()
+				.evictExpiredConnections()
+				.evictIdleConnections(properties.getIdleConnectionTimeoutInSeconds(), TimeUnit.SECONDS);
+		if (!properties.isCompression()) {
+			builder.disableContentCompression();
+		}
+		return builder.build();
+	}
+
+	private static RequestConfig defaultRequestConfig(SkipperClientHttpProperties properties) {
+		return RequestConfig.custom()
+				.setConnectTimeout(properties.getConnectTimeoutInMillis())
+				.setSocketTimeout(properties.getReadTimeoutInMillis())
+				.build();
+	}
+
+	@Override
+	protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+		Integer readTimeout = readTimeout(operation(httpMethod, uri));
+		if (readTimeout == null) {
+			return null;
+		}
+		HttpClientContext context = HttpClientContext.create();
+		context.setRequestConfig(RequestConfig.copy(this.defaultRequestConfig).setSocketTimeout(readTimeout).build());
+		return context;
+	}
+
+	private Integer readTimeout(String operation) {
+		switch (operation) {
+		case STATUS:
+			return this.properties.getStatusReadTimeoutInMillis();
+		case INSTALL:
+			return this.properties.getInstallReadTimeoutInMillis();
+		case UPGRADE:
+			return this.properties.getUpgradeReadTimeoutInMillis();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Maps a request issued by the {@code DefaultSkipperClient} to the name of the Skipper
+	 * operation it belongs to.
+	 *
+	 * @param httpMethod the HTTP method of the request
+	 * @param uri the request URI
+	 * @return the operation name, or {@code other} if the request is not recognized
+	 */
+	public static String operation(HttpMethod httpMethod, URI uri) {
+		String path = uri.getPath() != null ? uri.getPath() : "";
+		if (path.contains("/release/status/")) {
+			return STATUS;
+		}
+		if (path.contains("/package/install")) {
+			return INSTALL;
+		}
+		if (path.contains("/release/upgrade")) {
+			return UPGRADE;
+		}
+		if (path.contains("/release/manifest/")) {
+			return "manifest";
+		}
+		if (path.contains("/release/list")) {
+			return "list";
+		}
+		if (path.contains("/release/cancel")) {
+			return "cancel";
+		}
+		if (path.contains("/release/rollback")) {
+			return "rollback";
+		}
+		if (path.contains("/package/upload")) {
+			return "upload";
+		}
+		if (HttpMethod.DELETE == httpMethod && path.contains("/release/")) {
+			return "delete";
+		}
+		if (HttpMethod.DELETE == httpMethod && path.contains("/package/")) {
+			return "packageDelete";
+		}
+		if (path.contains("/releases")) {
+			return "history";
+		}
+		if (path.contains("/packageMetadata")) {
+			return "search";
+		}
+		if (path.contains("/deployers")) {
+			return "deployers";
+		}
+		if (path.contains("/repositories")) {
+			return "repositories";
+		}
+		if (path.endsWith("/about")) {
+			return "info";
+		}
+		return "other";
+	}
+}
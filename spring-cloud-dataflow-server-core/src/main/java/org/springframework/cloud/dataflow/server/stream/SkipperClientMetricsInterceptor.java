@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.Assert;
+
+/**
+ * Records the client side latency of every Skipper call as a timer with a percentile
+ * histogram, tagged with the Skipper operation, the HTTP method and the response status.
+ */
+public class SkipperClientMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+	public static final String SKIPPER_CLIENT_TIMER = "spring.cloud.dataflow.skipper.client.requests";
+
+	private final MeterRegistry meterRegistry;
+
+	public SkipperClientMetricsInterceptor(MeterRegistry meterRegistry) {
+		Assert.notNull(meterRegistry, "MeterRegistry must not be null");
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		long start = System.nanoTime();
+		String status = "IO_ERROR";
+		try {
+			ClientHttpResponse response = execution.execute(request, body);
+			status = String.valueOf(response.getRawStatusCode());
+			return response;
+		}
+		finally {
+			Timer.builder(SKIPPER_CLIENT_TIMER)
+					.tag("operation", SkipperClientHttpRequestFactory.operation(request.getMethod(), request.getURI()))
+					.tag("method", String.valueOf(request.getMethod()))
+					.tag("status", status)
+					.publishPercentileHistogram()
+					.register(this.meterRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+}
@@ -15,17 +15,17 @@
  */
 package org.springframework.cloud.dataflow.server.stream;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.Version;
@@ -76,8 +76,6 @@ import org.springframework.cloud.skipper.domain.Template;
 import org.springframework.cloud.skipper.domain.UpgradeProperties;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.domain.UploadRequest;
-import org.springframework.cloud.skipper.io.DefaultPackageWriter;
-import org.springframework.cloud.skipper.io.PackageWriter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -98,6 +96,18 @@ public class SkipperStreamDeployer implements StreamDeployer {
 
 	private static Log logger = LogFactory.getLog(SkipperStreamDeployer.class);
 
+	/**
+	 * {@link Yaml} instances are not thread safe, so every thread reuses its own.
+	 */
+	private static final ThreadLocal<Yaml> CONFIG_VALUES_YAML = ThreadLocal.withInitial(() -> {
+		DumperOptions dumperOptions = new DumperOptions();
+		dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+		dumperOptions.setDefaultScalarStyle(DumperOptions.ScalarStyle.DOUBLE_QUOTED);
+		dumperOptions.setPrettyFlow(false);
+		dumperOptions.setSplitLines(false);
+		return new Yaml(dumperOptions);
+	});
+
 	private final SkipperClient skipperClient;
 
 	private final StreamDefinitionRepository streamDefinitionRepository;
@@ -106,16 +116,28 @@ public class SkipperStreamDeployer implements StreamDeployer {
 
 	private final ForkJoinPool forkJoinPool;
 
+	private final SkipperCatalog skipperCatalog;
+
+	private final InMemoryPackageWriter packageWriter = new InMemoryPackageWriter();
+
 	public SkipperStreamDeployer(SkipperClient skipperClient, StreamDefinitionRepository streamDefinitionRepository,
 			AppRegistryService appRegistryService, ForkJoinPool forkJoinPool) {
+		this(skipperClient, streamDefinitionRepository, appRegistryService, forkJoinPool,
+				new SkipperCatalog(skipperClient));
+	}
+
+	public SkipperStreamDeployer(SkipperClient skipperClient, StreamDefinitionRepository streamDefinitionRepository,
+			AppRegistryService appRegistryService, ForkJoinPool forkJoinPool, SkipperCatalog skipperCatalog) {
 		Assert.notNull(skipperClient, "SkipperClient can not be null");
 		Assert.notNull(streamDefinitionRepository, "StreamDefinitionRepository can not be null");
 		Assert.notNull(appRegistryService, "StreamDefinitionRepository can not be null");
 		Assert.notNull(forkJoinPool, "ForkJoinPool can not be null");
+		Assert.notNull(skipperCatalog, "SkipperCatalog can not be null");
 		this.skipperClient = skipperClient;
 		this.streamDefinitionRepository = streamDefinitionRepository;
 		this.appRegistryService = appRegistryService;
 		this.forkJoinPool = forkJoinPool;
+		this.skipperCatalog = skipperCatalog;
 	}
 
 	public static List<AppStatus> deserializeAppStatus(String platformStatus) {
@@ -200,6 +222,21 @@ public class SkipperStreamDeployer implements StreamDeployer {
 	}
 
 	public Release deployStream(StreamDeploymentRequest streamDeploymentRequest) {
+		return deployStream(streamDeploymentRequest, phase -> {
+		});
+	}
+
+	/**
+	 * Deploy the stream, notifying the given listener as the {@link StreamDeploymentPhase#PACKAGE},
+	 * {@link StreamDeploymentPhase#UPLOAD} and {@link StreamDeploymentPhase#INSTALL} phases are entered.
+	 *
+	 * @param streamDeploymentRequest the stream deployment request
+	 * @param phaseListener notified on the calling thread when a phase is entered
+	 * @return the installed release
+	 */
+	public Release deployStream(StreamDeploymentRequest streamDeploymentRequest,
+			Consumer<StreamDeploymentPhase> phaseListener) {
+		Assert.notNull(phaseListener, "phaseListener must not be null");
 		validateAllAppsRegistered(streamDeploymentRequest);
 		Map<String, String> streamDeployerProperties = streamDeploymentRequest.getStreamDeployerProperties();
 		String packageVersion = streamDeployerProperties.get(SkipperStream.SKIPPER_PACKAGE_VERSION);
@@ -212,19 +249,16 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		String packageName = streamDeployerProperties.get(SkipperStream.SKIPPER_PACKAGE_NAME);
 		packageName = (StringUtils.hasText(packageName)) ? packageName : streamDeploymentRequest.getStreamName();
 		// Create the package .zip file to upload
-		File packageFile = createPackageForStream(packageName, packageVersion, streamDeploymentRequest);
+		phaseListener.accept(StreamDeploymentPhase.PACKAGE);
+		byte[] packageFile = createPackageForStream(packageName, packageVersion, streamDeploymentRequest);
 		// Upload the package
 		UploadRequest uploadRequest = new UploadRequest();
 		uploadRequest.setName(packageName);
 		uploadRequest.setVersion(packageVersion);
 		uploadRequest.setExtension("zip");
 		uploadRequest.setRepoName(repoName); // TODO use from skipperDeploymentProperties if set.
-		try {
-			uploadRequest.setPackageFileAsBytes(Files.readAllBytes(packageFile.toPath()));
-		}
-		catch (IOException e) {
-			throw new IllegalArgumentException("Can't read packageFile " + packageFile, e);
-		}
+		uploadRequest.setPackageFileAsBytes(packageFile);
+		phaseListener.accept(StreamDeploymentPhase.UPLOAD);
 		skipperClient.upload(uploadRequest);
 		// Install the package
 		String streamName = streamDeploymentRequest.getStreamName();
@@ -240,6 +274,7 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		installProperties.setConfigValues(new ConfigValues());
 		installRequest.setInstallProperties(installProperties);
 		Release release = null;
+		phaseListener.accept(StreamDeploymentPhase.INSTALL);
 		try {
 			release = this.skipperClient.install(installRequest);
 		}
@@ -258,8 +293,7 @@ public class SkipperStreamDeployer implements StreamDeployer {
 	}
 
 	private String determinePlatformName(final String platformName) {
-		Resources<Deployer> deployerResources = skipperClient.listDeployers();
-		Collection<Deployer> deployers = deployerResources.getContent();
+		Collection<Deployer> deployers = this.skipperCatalog.getDeployers();
 		if (StringUtils.hasText(platformName)) {
 			List<Deployer> filteredDeployers = deployers.stream()
 					.filter(d -> d.getName().equals(platformName))
@@ -272,14 +306,9 @@ public class SkipperStreamDeployer implements StreamDeployer {
 			}
 		}
 		else {
-			if (deployers.size() == 0) {
-				throw new IllegalArgumentException("No platforms configured");
-			}
-			else {
-				String platformNameToUse = deployers.stream().findFirst().get().getName();
-				logger.info("Using platform '" + platformNameToUse + "'");
-				return platformNameToUse;
-			}
+			String platformNameToUse = this.skipperCatalog.getDefaultPlatformName();
+			logger.info("Using platform '" + platformNameToUse + "'");
+			return platformNameToUse;
 		}
 	}
 
@@ -325,21 +354,10 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		}
 	}
 
-	private File createPackageForStream(String packageName, String packageVersion,
+	private byte[] createPackageForStream(String packageName, String packageVersion,
 			StreamDeploymentRequest streamDeploymentRequest) {
-		PackageWriter packageWriter = new DefaultPackageWriter();
 		Package pkgtoWrite = createPackage(packageName, packageVersion, streamDeploymentRequest);
-		Path tempPath;
-		try {
-			tempPath = Files.createTempDirectory("streampackages");
-		}
-		catch (IOException e) {
-			throw new IllegalArgumentException("Can't create temp diroectory");
-		}
-		File outputDirectory = tempPath.toFile();
-
-		File zipFile = packageWriter.write(pkgtoWrite, outputDirectory);
-		return zipFile;
+		return this.packageWriter.write(pkgtoWrite);
 	}
 
 	private Package createPackage(String packageName, String packageVersion,
@@ -404,13 +422,7 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		configValueMap.put("metadata", metadataMap);
 		configValueMap.put("spec", specMap);
 
-		DumperOptions dumperOptions = new DumperOptions();
-		dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-		dumperOptions.setDefaultScalarStyle(DumperOptions.ScalarStyle.DOUBLE_QUOTED);
-		dumperOptions.setPrettyFlow(false);
-		dumperOptions.setSplitLines(false);
-		Yaml yaml = new Yaml(dumperOptions);
-		configValues.setRaw(yaml.dump(configValueMap));
+		configValues.setRaw(CONFIG_VALUES_YAML.get().dump(configValueMap));
 
 		pkg.setConfigValues(configValues);
 		pkg.setTemplates(createGenericTemplate());
@@ -419,7 +431,7 @@ public class SkipperStreamDeployer implements StreamDeployer {
 	}
 
 	private List<Template> createGenericTemplate() {
-		Template template = this.skipperClient.getSpringCloudDeployerApplicationTemplate();
+		Template template = this.skipperCatalog.getApplicationTemplate();
 		List<Template> templateList = new ArrayList<>();
 		templateList.add(template);
 		return templateList;
@@ -473,6 +485,47 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		return skipperStatus(streamName);
 	}
 
+	@Override
+	public List<StreamRuntimeStatus> getStreamStatuses(Collection<String> streamNames) {
+		List<String> names = new ArrayList<>(new LinkedHashSet<>(streamNames));
+		Set<String> definedNames = new HashSet<>();
+		for (StreamDefinition streamDefinition : this.streamDefinitionRepository.findAllById(names)) {
+			definedNames.add(streamDefinition.getName());
+		}
+		try {
+			return this.forkJoinPool.submit(() -> names.stream().parallel()
+					.map(streamName -> streamRuntimeStatus(streamName, definedNames.contains(streamName)))
+					.collect(Collectors.toList())).get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while retrieving the runtime status of " + names, e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Failed to retrieve the runtime status of " + names, e.getCause());
+		}
+	}
+
+	private StreamRuntimeStatus streamRuntimeStatus(String streamName, boolean defined) {
+		if (!defined) {
+			return new StreamRuntimeStatus(streamName, null,
+					new NoSuchStreamDefinitionException(streamName).getMessage());
+		}
+		List<AppStatus> appStatuses = null;
+		String errorMessage = null;
+		try {
+			appStatuses = this.skipperClient.status(streamName).getStatus().getAppStatusList();
+		}
+		catch (ReleaseNotFoundException e) {
+			// the stream is defined but not deployed
+		}
+		catch (Exception e) {
+			logger.warn("Failed to retrieve the runtime status of stream " + streamName, e);
+			errorMessage = e.getMessage();
+		}
+		return new StreamRuntimeStatus(streamName, appStatuses, errorMessage);
+	}
+
 	private List<AppStatus> getStreamsStatuses(List<String> streamNames) {
 		try {
 			return this.forkJoinPool.submit(() -> streamNames.stream().parallel()
@@ -487,7 +540,7 @@ public class SkipperStreamDeployer implements StreamDeployer {
 	@Override
 	public RuntimeEnvironmentInfo environmentInfo() {
 		AboutResource skipperInfo = skipperClient.info();
-		Resources<Deployer> deployers = skipperClient.listDeployers();
+		List<Deployer> deployers = this.skipperCatalog.getDeployers();
 		RuntimeEnvironmentInfo.Builder builder = new RuntimeEnvironmentInfo.Builder()
 				.implementationName(skipperInfo.getVersionInfo().getServer().getName())
 				.implementationVersion(skipperInfo.getVersionInfo().getServer().getVersion())
@@ -592,6 +645,16 @@ public class SkipperStreamDeployer implements StreamDeployer {
 	}
 
 	public Collection<Deployer> platformList() {
-		return this.skipperClient.listDeployers().getContent();
+		return this.skipperCatalog.getDeployers();
+	}
+
+	/**
+	 * Evict the cached Skipper platforms and application template.
+	 *
+	 * @return the platforms freshly fetched from Skipper
+	 */
+	public Collection<Deployer> refreshPlatformList() {
+		this.skipperCatalog.refresh();
+		return platformList();
 	}
 }
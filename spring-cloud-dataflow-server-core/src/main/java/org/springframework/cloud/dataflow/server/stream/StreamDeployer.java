@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 the original author or authors.
+ * Copyright 2017-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,8 +15,10 @@
  */
 package org.springframework.cloud.dataflow.server.stream;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.StreamDeployment;
@@ -70,6 +72,24 @@ public interface StreamDeployer {
 	 */
 	List<AppStatus> getStreamStatuses(String streamName);
 
+	/**
+	 * Returns the deployed application statuses of each of the given streams. A stream whose
+	 * statuses cannot be resolved is reported with the reason and does not fail the others.
+	 * The default implementation resolves the streams one after the other.
+	 * @param streamNames the names of the streams to retrieve the runtime statuses for
+	 * @return the runtime status of every stream, in the order of the names
+	 */
+	default List<StreamRuntimeStatus> getStreamStatuses(Collection<String> streamNames) {
+		return streamNames.stream().map(streamName -> {
+			try {
+				return new StreamRuntimeStatus(streamName, getStreamStatuses(streamName), null);
+			}
+			catch (Exception e) {
+				return new StreamRuntimeStatus(streamName, null, e.getMessage());
+			}
+		}).collect(Collectors.toList());
+	}
+
 	/**
 	 * @return the runtime environment info for deploying streams.
 	 */
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+/**
+ * Phases a stream goes through while being deployed, in the order they are entered.
+ */
+public enum StreamDeploymentPhase {
+
+	/**
+	 * Look up the stream definition and resolve the app deployment requests.
+	 */
+	RESOLVE,
+
+	/**
+	 * Create the Skipper package for the stream.
+	 */
+	PACKAGE,
+
+	/**
+	 * Upload the package to Skipper.
+	 */
+	UPLOAD,
+
+	/**
+	 * Install the package as a Skipper release.
+	 */
+	INSTALL,
+
+	/**
+	 * Wait for the apps of the stream to be deployed.
+	 */
+	CONVERGE
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+
+/**
+ * Runtime status of the apps of a single stream, as resolved for a batch of streams.
+ *
+ * @see StreamDeployer#getStreamStatuses(java.util.Collection)
+ */
+public class StreamRuntimeStatus {
+
+	private final String streamName;
+
+	private final List<AppStatus> appStatuses;
+
+	private final String errorMessage;
+
+	/**
+	 * @param streamName the name of the stream
+	 * @param appStatuses the statuses of the deployed apps of the stream, empty if the
+	 * stream is not deployed or its status could not be resolved
+	 * @param errorMessage the reason the status could not be resolved, {@code null} if it
+	 * was
+	 */
+	public StreamRuntimeStatus(String streamName, List<AppStatus> appStatuses, String errorMessage) {
+		this.streamName = streamName;
+		this.appStatuses = appStatuses != null ? appStatuses : Collections.emptyList();
+		this.errorMessage = errorMessage;
+	}
+
+	public String getStreamName() {
+		return this.streamName;
+	}
+
+	public List<AppStatus> getAppStatuses() {
+		return this.appStatuses;
+	}
+
+	public String getErrorMessage() {
+		return this.errorMessage;
+	}
+
+	public boolean isResolved() {
+		return this.errorMessage == null;
+	}
+}
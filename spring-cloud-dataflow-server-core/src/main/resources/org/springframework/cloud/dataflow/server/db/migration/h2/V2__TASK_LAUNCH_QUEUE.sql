@@ -0,0 +1,15 @@
+create table task_launch_queue (
+  id bigint not null,
+  object_version bigint,
+  task_name varchar(255) not null,
+  platform_name varchar(255) not null,
+  priority integer,
+  deployment_properties varchar(2147483647),
+  command_line_args varchar(2147483647),
+  created_on timestamp not null,
+  attempts integer,
+  lease_expires_on timestamp,
+  primary key (id)
+);
+
+create index task_launch_queue_idx on task_launch_queue (priority desc, created_on, id);
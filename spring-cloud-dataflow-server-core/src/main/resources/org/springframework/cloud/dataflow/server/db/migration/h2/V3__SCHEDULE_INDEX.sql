@@ -0,0 +1,13 @@
+create table schedule_index (
+  id bigint not null,
+  object_version bigint,
+  schedule_name varchar(255) not null,
+  task_definition_name varchar(255) not null,
+  schedule_properties varchar(2147483647),
+  created_on timestamp not null,
+  primary key (id)
+);
+
+create unique index schedule_index_name_idx on schedule_index (schedule_name);
+
+create index schedule_index_definition_idx on schedule_index (task_definition_name, schedule_name);
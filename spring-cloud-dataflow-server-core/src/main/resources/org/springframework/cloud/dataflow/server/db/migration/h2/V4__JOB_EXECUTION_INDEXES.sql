@@ -0,0 +1,7 @@
+create index batch_job_exec_status_idx on BATCH_JOB_EXECUTION (STATUS, JOB_EXECUTION_ID);
+
+create index batch_job_exec_start_time_idx on BATCH_JOB_EXECUTION (START_TIME);
+
+create index batch_job_exec_end_time_idx on BATCH_JOB_EXECUTION (END_TIME);
+
+create index task_task_batch_task_idx on TASK_TASK_BATCH (TASK_EXECUTION_ID, JOB_EXECUTION_ID);
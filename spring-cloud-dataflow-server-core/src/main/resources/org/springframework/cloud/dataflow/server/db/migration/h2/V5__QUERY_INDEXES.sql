@@ -0,0 +1,5 @@
+create index task_execution_name_start_idx on TASK_EXECUTION (TASK_NAME, START_TIME);
+
+create index task_task_batch_job_idx on TASK_TASK_BATCH (JOB_EXECUTION_ID, TASK_EXECUTION_ID);
+
+create index batch_step_exec_name_idx on BATCH_STEP_EXECUTION (STEP_NAME, JOB_EXECUTION_ID);
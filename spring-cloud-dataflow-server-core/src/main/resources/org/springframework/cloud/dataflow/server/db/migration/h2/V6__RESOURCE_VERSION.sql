@@ -0,0 +1,10 @@
+create table resource_version (
+  resource_name varchar(255) not null,
+  resource_version bigint not null,
+  primary key (resource_name)
+);
+
+insert into resource_version (resource_name, resource_version) values ('stream-definitions', 0);
+insert into resource_version (resource_name, resource_version) values ('stream-deployments', 0);
+insert into resource_version (resource_name, resource_version) values ('task-definitions', 0);
+insert into resource_version (resource_name, resource_version) values ('app-registrations', 0);
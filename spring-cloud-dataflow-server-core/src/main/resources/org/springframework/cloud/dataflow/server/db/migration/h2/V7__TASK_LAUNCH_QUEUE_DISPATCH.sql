@@ -0,0 +1 @@
+alter table task_launch_queue add dispatched_on timestamp;
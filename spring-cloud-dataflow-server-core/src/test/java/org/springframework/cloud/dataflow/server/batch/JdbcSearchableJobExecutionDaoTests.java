@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.batch;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.cloud.dataflow.rest.job.JobExecutionQuery;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class JdbcSearchableJobExecutionDaoTests {
+
+	private static final String STEP_COUNTS = "SELECT E.JOB_EXECUTION_ID, (SELECT COUNT(*) FROM BATCH_STEP_EXECUTION S "
+			+ "WHERE S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID) FROM BATCH_JOB_EXECUTION E";
+
+	private static final long HOUR = 3600000L;
+
+	private final Date baseTime = new Date(1546300800000L);
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcSearchableJobExecutionDao dao;
+
+	@Before
+	public void setup() throws Exception {
+		this.dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/batch/core/schema-h2.sql").build();
+		JobRepositoryFactoryBean repositoryFactoryBean = new JobRepositoryFactoryBean();
+		repositoryFactoryBean.setDataSource(this.dataSource);
+		repositoryFactoryBean.setTransactionManager(new DataSourceTransactionManager(this.dataSource));
+		repositoryFactoryBean.afterPropertiesSet();
+		JobRepository jobRepository = repositoryFactoryBean.getObject();
+		int[] stepCounts = { 0, 3, 1, 2, 0, 5, 1 };
+		for (int i = 0; i < stepCounts.length; i++) {
+			JobParameters jobParameters = new JobParametersBuilder().addLong("run", (long) i).toJobParameters();
+			JobInstance instance = jobRepository.createJobInstance(i % 2 == 0 ? "even" : "odd", jobParameters);
+			JobExecution jobExecution = jobRepository.createJobExecution(instance, jobParameters, null);
+			for (int j = 0; j < stepCounts[i]; j++) {
+				jobRepository.add(new StepExecution("step" + j, jobExecution));
+			}
+			BatchStatus status = i % 3 == 0 ? BatchStatus.FAILED : BatchStatus.COMPLETED;
+			jobExecution.setStatus(i < 6 ? status : BatchStatus.STARTED);
+			jobExecution.setExitStatus(i < 6 ? new ExitStatus(status.name()) : ExitStatus.EXECUTING);
+			jobExecution.setStartTime(new Date(this.baseTime.getTime() + i * HOUR));
+			jobExecution.setEndTime(i < 6 ? new Date(this.baseTime.getTime() + i * HOUR + HOUR / 2) : null);
+			jobRepository.update(jobExecution);
+		}
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+		jdbcTemplate.execute("CREATE TABLE TASK_TASK_BATCH (TASK_EXECUTION_ID BIGINT NOT NULL, "
+				+ "JOB_EXECUTION_ID BIGINT NOT NULL)");
+		jdbcTemplate.update("INSERT INTO TASK_TASK_BATCH VALUES (42, 2), (42, 5), (43, 3)");
+		this.dao = new JdbcSearchableJobExecutionDao();
+		this.dao.setDataSource(this.dataSource);
+		this.dao.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	@Test
+	public void testStepCountsMatchTheCorrelatedCountOnEveryPage() {
+		Map<Long, Integer> expected = new JdbcTemplate(this.dataSource).query(STEP_COUNTS,
+				(rs, rowNum) -> new long[] { rs.getLong(1), rs.getInt(2) }).stream()
+				.collect(Collectors.toMap(row -> row[0], row -> (int) row[1]));
+
+		List<JobExecutionWithStepCount> all = this.dao.getJobExecutionsWithStepCount(0, 100);
+		assertThat(all).extracting(JobExecution::getId).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+		all.forEach(execution -> assertThat(execution.getStepCount()).isEqualTo(expected.get(execution.getId())));
+
+		assertThat(this.dao.getJobExecutionsWithStepCount(3, 3)).extracting(JobExecution::getId,
+				JobExecutionWithStepCount::getStepCount).containsExactly(
+						tuple(4L, expected.get(4L)), tuple(3L, expected.get(3L)), tuple(2L, expected.get(2L)));
+		assertThat(this.dao.getJobExecutionsWithStepCount(6, 3)).extracting(JobExecution::getId,
+				JobExecutionWithStepCount::getStepCount).containsExactly(tuple(1L, expected.get(1L)));
+		assertThat(this.dao.getJobExecutionsWithStepCount(9, 3)).isEmpty();
+	}
+
+	@Test
+	public void testStepCountsByJobName() {
+		List<JobExecutionWithStepCount> odd = this.dao.getJobExecutionsWithStepCount("odd", 0, 10);
+		assertThat(odd).extracting(JobExecution::getId, JobExecutionWithStepCount::getStepCount)
+				.containsExactly(tuple(6L, 5), tuple(4L, 2), tuple(2L, 3));
+
+		assertThat(this.dao.getJobExecutionsWithStepCount("even", 2, 2))
+				.extracting(JobExecution::getId, JobExecutionWithStepCount::getStepCount)
+				.containsExactly(tuple(3L, 1), tuple(1L, 0));
+	}
+
+	@Test
+	public void testFilterByStatusAndExitCode() {
+		JobExecutionQuery failed = new JobExecutionQuery().withStatus(BatchStatus.FAILED);
+		assertThat(this.dao.getJobExecutions(failed, 0, 10)).extracting(JobExecution::getId)
+				.containsExactly(4L, 1L);
+		assertThat(this.dao.countJobExecutions(failed)).isEqualTo(2);
+
+		JobExecutionQuery unfinished = new JobExecutionQuery().withStatus(BatchStatus.FAILED, BatchStatus.STARTED);
+		assertThat(this.dao.getJobExecutions(unfinished, 0, 10)).extracting(JobExecution::getId)
+				.containsExactly(7L, 4L, 1L);
+
+		assertThat(this.dao.getJobExecutions(new JobExecutionQuery().withExitCode("EXECUTING"), 0, 10))
+				.extracting(JobExecution::getId, execution -> execution.getExitStatus().getExitCode())
+				.containsExactly(tuple(7L, "EXECUTING"));
+	}
+
+	@Test
+	public void testFilterByTimeRanges() {
+		JobExecutionQuery startedInRange = new JobExecutionQuery()
+				.withStartTimeBetween(new Date(this.baseTime.getTime() + 2 * HOUR),
+						new Date(this.baseTime.getTime() + 5 * HOUR));
+		assertThat(this.dao.getJobExecutions(startedInRange, 0, 10)).extracting(JobExecution::getId)
+				.containsExactly(5L, 4L, 3L);
+
+		JobExecutionQuery endedSince = new JobExecutionQuery()
+				.withEndTimeBetween(new Date(this.baseTime.getTime() + 4 * HOUR), null);
+		assertThat(this.dao.getJobExecutions(endedSince, 0, 10)).extracting(JobExecution::getId)
+				.containsExactly(6L, 5L);
+		assertThat(this.dao.countJobExecutions(endedSince)).isEqualTo(2);
+	}
+
+	@Test
+	public void testFilterByJobNameAndTaskExecution() {
+		assertThat(this.dao.getJobExecutionsWithStepCount(new JobExecutionQuery().withJobNamePrefix("ev"), 0, 10))
+				.extracting(JobExecution::getId, JobExecutionWithStepCount::getStepCount)
+				.containsExactly(tuple(7L, 1), tuple(5L, 0), tuple(3L, 1), tuple(1L, 0));
+		assertThat(this.dao.getJobExecutions(new JobExecutionQuery().withJobNamePrefix("_dd"), 0, 10)).isEmpty();
+		assertThat(this.dao.getJobExecutions(new JobExecutionQuery().withJobName("od"), 0, 10)).isEmpty();
+
+		JobExecutionQuery byTask = new JobExecutionQuery().withTaskExecutionId(42L);
+		assertThat(this.dao.getJobExecutions(byTask, 0, 10)).extracting(JobExecution::getId)
+				.containsExactly(5L, 2L);
+		assertThat(this.dao.getJobExecutions(byTask.withJobName("odd"), 0, 10)).extracting(JobExecution::getId)
+				.containsExactly(2L);
+	}
+
+	@Test
+	public void testFilterByTaskExecutionWithTaskTablePrefix() throws Exception {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+		jdbcTemplate.execute("CREATE TABLE CUSTOM_TASK_BATCH (TASK_EXECUTION_ID BIGINT NOT NULL, "
+				+ "JOB_EXECUTION_ID BIGINT NOT NULL)");
+		jdbcTemplate.update("INSERT INTO CUSTOM_TASK_BATCH VALUES (42, 7)");
+		JdbcSearchableJobExecutionDao dao = new JdbcSearchableJobExecutionDao();
+		dao.setDataSource(this.dataSource);
+		dao.setTaskTablePrefix("CUSTOM_");
+		dao.afterPropertiesSet();
+
+		JobExecutionQuery byTask = new JobExecutionQuery().withTaskExecutionId(42L);
+		assertThat(dao.getJobExecutions(byTask, 0, 10)).extracting(JobExecution::getId).containsExactly(7L);
+		assertThat(dao.countJobExecutions(byTask)).isEqualTo(1);
+	}
+
+	@Test
+	public void testFilteredPages() {
+		JobExecutionQuery completed = new JobExecutionQuery().withStatus(BatchStatus.COMPLETED);
+		assertThat(this.dao.countJobExecutions(completed)).isEqualTo(4);
+		assertThat(this.dao.getJobExecutions(completed, 0, 2)).extracting(JobExecution::getId)
+				.containsExactly(6L, 5L);
+		assertThat(this.dao.getJobExecutions(completed, 2, 2)).extracting(JobExecution::getId)
+				.containsExactly(3L, 2L);
+		assertThat(this.dao.getJobExecutions(completed, 4, 2)).isEmpty();
+		assertThat(this.dao.getJobExecutions(new JobExecutionQuery(), 6, 3)).extracting(JobExecution::getId)
+				.containsExactly(1L);
+		assertThatThrownBy(() -> this.dao.getJobExecutions(completed, 1, 2))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
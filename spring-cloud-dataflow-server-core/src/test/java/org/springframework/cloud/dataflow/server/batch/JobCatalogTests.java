@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.batch;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class JobCatalogTests {
+
+	private EmbeddedDatabase dataSource;
+
+	private JobRepository jobRepository;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private ScheduledExecutorService refresher;
+
+	private long run;
+
+	@Before
+	public void setup() throws Exception {
+		this.dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/batch/core/schema-h2.sql").build();
+		this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+		JobRepositoryFactoryBean repositoryFactoryBean = new JobRepositoryFactoryBean();
+		repositoryFactoryBean.setDataSource(this.dataSource);
+		repositoryFactoryBean.setTransactionManager(new DataSourceTransactionManager(this.dataSource));
+		repositoryFactoryBean.afterPropertiesSet();
+		this.jobRepository = repositoryFactoryBean.getObject();
+		this.refresher = mock(ScheduledExecutorService.class);
+	}
+
+	@After
+	public void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	@Test
+	public void testCatalogIsUpdatedWithNewExecutions() throws Exception {
+		JobCatalog catalog = new JobCatalog(this.jdbcTemplate, "BATCH_", Long.MAX_VALUE, this.refresher);
+		assertThat(catalog.getJobNames()).isEmpty();
+
+		JobInstance instance = createJobExecution("b", "read", "write");
+		createJobExecution("a", "load");
+		assertThat(catalog.getJobNames()).isEmpty();
+
+		catalog.refresh();
+		assertThat(catalog.getJobNames()).containsExactly("a", "b");
+		assertThat(catalog.countJobInstances("b")).isEqualTo(1);
+		assertThat(catalog.getStepNames("b")).containsExactly("read", "write");
+
+		this.jobRepository.add(new StepExecution("retry",
+				this.jobRepository.createJobExecution(instance, new JobParameters(), null)));
+		createJobExecution("b", "read");
+		catalog.refresh();
+
+		assertThat(catalog.countJobInstances("b")).isEqualTo(2);
+		assertThat(catalog.countJobExecutions("b")).isEqualTo(3);
+		assertThat(catalog.countJobExecutions("a")).isEqualTo(1);
+		assertThat(catalog.getStepNames("b")).containsExactly("read", "write", "retry");
+		assertThat(catalog.containsJob("c")).isFalse();
+		assertThat(catalog.countJobInstances("c")).isZero();
+	}
+
+	@Test
+	public void testRebuildForgetsDeletedHistory() throws Exception {
+		JobCatalog catalog = new JobCatalog(this.jdbcTemplate, "BATCH_", Long.MAX_VALUE, this.refresher);
+		createJobExecution("a");
+		createJobExecution("b", "load");
+		catalog.refresh();
+		assertThat(catalog.getJobNames()).containsExactly("a", "b");
+
+		this.jdbcTemplate.update("DELETE FROM BATCH_STEP_EXECUTION_CONTEXT");
+		this.jdbcTemplate.update("DELETE FROM BATCH_STEP_EXECUTION");
+		this.jdbcTemplate.update("DELETE FROM BATCH_JOB_EXECUTION_CONTEXT");
+		this.jdbcTemplate.update("DELETE FROM BATCH_JOB_EXECUTION_PARAMS");
+		this.jdbcTemplate.update("DELETE FROM BATCH_JOB_EXECUTION");
+		this.jdbcTemplate.update("DELETE FROM BATCH_JOB_INSTANCE WHERE JOB_NAME = 'b'");
+		assertThat(catalog.containsJob("b")).isTrue();
+
+		catalog.reset();
+		assertThat(catalog.getJobNames()).containsExactly("a");
+		assertThat(catalog.countJobExecutions("a")).isZero();
+		assertThat(new JobCatalog(this.jdbcTemplate, "BATCH_", 0, this.refresher).getStepNames("b")).isEmpty();
+	}
+
+	@Test
+	public void testReadsDoNotQueryTheBatchTables() throws Exception {
+		createJobExecution("a", "load");
+		JdbcTemplate jdbcTemplate = spy(this.jdbcTemplate);
+		JobCatalog catalog = new JobCatalog(jdbcTemplate, "BATCH_", Long.MAX_VALUE, this.refresher);
+		catalog.refresh();
+		reset(jdbcTemplate);
+
+		assertThat(catalog.getJobNames()).containsExactly("a");
+		assertThat(catalog.containsJob("a")).isTrue();
+		assertThat(catalog.countJobInstances("a")).isEqualTo(1);
+		assertThat(catalog.countJobExecutions("a")).isEqualTo(1);
+		assertThat(catalog.getStepNames("a")).containsExactly("load");
+		verifyZeroInteractions(jdbcTemplate);
+	}
+
+	@Test
+	public void testUnknownJobIsLookedUpAndRefreshed() throws Exception {
+		JobCatalog catalog = new JobCatalog(this.jdbcTemplate, "BATCH_", Long.MAX_VALUE, this.refresher);
+		assertThat(catalog.getJobNames()).isEmpty();
+		createJobExecution("a");
+
+		assertThat(catalog.containsJob("a")).isTrue();
+		verify(this.refresher).execute(any(Runnable.class));
+		assertThat(catalog.containsJob("b")).isFalse();
+	}
+
+	@Test
+	public void testDestroyStopsTheRefresher() {
+		new JobCatalog(this.jdbcTemplate, "BATCH_", Long.MAX_VALUE, this.refresher).destroy();
+		verify(this.refresher).shutdownNow();
+	}
+
+	private JobInstance createJobExecution(String jobName, String... stepNames) throws Exception {
+		JobParameters jobParameters = new JobParametersBuilder().addLong("run", this.run++).toJobParameters();
+		JobInstance instance = this.jobRepository.createJobInstance(jobName, jobParameters);
+		JobExecution jobExecution = this.jobRepository.createJobExecution(instance, jobParameters, null);
+		for (String stepName : stepNames) {
+			this.jobRepository.add(new StepExecution(stepName, jobExecution));
+		}
+		return instance;
+	}
+}
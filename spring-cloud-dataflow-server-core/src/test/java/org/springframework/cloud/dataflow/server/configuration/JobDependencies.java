@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.dataflow.server.configuration;
 
+import java.util.concurrent.ForkJoinPool;
+
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
@@ -199,10 +201,10 @@ public class JobDependencies {
 	public TaskDeleteService deleteTaskService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
 			TaskDefinitionRepository taskDefinitionRepository,
 			TaskDeploymentRepository taskDeploymentRepository,
-			AuditRecordService auditRecordService) {
+			AuditRecordService auditRecordService, DataSource dataSource) {
 		return new DefaultTaskDeleteService(taskExplorer, launcherRepository, taskDefinitionRepository,
 				taskDeploymentRepository,
-				auditRecordService);
+				auditRecordService, dataSource, new ForkJoinPool(2));
 	}
 
 	@Bean
@@ -18,6 +18,7 @@ package org.springframework.cloud.dataflow.server.configuration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.sql.DataSource;
 
@@ -41,6 +42,7 @@ import org.springframework.cloud.dataflow.server.config.VersionInfoProperties;
 import org.springframework.cloud.dataflow.server.config.apps.CommonApplicationProperties;
 import org.springframework.cloud.dataflow.server.config.features.FeaturesProperties;
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
+import org.springframework.cloud.dataflow.server.repository.ScheduleIndexRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDeploymentRepository;
 import org.springframework.cloud.dataflow.server.service.SchedulerService;
@@ -49,6 +51,7 @@ import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionCreationService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchAdmissionService;
 import org.springframework.cloud.dataflow.server.service.TaskSaveService;
 import org.springframework.cloud.dataflow.server.service.TaskValidationService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultSchedulerService;
@@ -56,6 +59,7 @@ import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskDeleteS
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionRepositoryService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskLaunchAdmissionService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskSaveService;
 import org.springframework.cloud.dataflow.server.service.impl.TaskAppDeploymentRequestCreator;
 import org.springframework.cloud.dataflow.server.service.impl.TaskConfigurationProperties;
@@ -191,17 +195,22 @@ public class TaskServiceDependencies extends WebMvcConfigurationSupport {
 
 	@Bean
 	public SchedulerServiceProperties schedulerServiceProperties() {
-		return new SchedulerServiceProperties();
+		SchedulerServiceProperties schedulerServiceProperties = new SchedulerServiceProperties();
+		schedulerServiceProperties.setIndexReconcileIntervalInSeconds(0);
+		return schedulerServiceProperties;
 	}
 
 	@Bean
 	public TaskDeleteService deleteTaskService(TaskExplorer taskExplorer, LauncherRepository launcherRepository,
 			TaskDefinitionRepository taskDefinitionRepository,
 			TaskDeploymentRepository taskDeploymentRepository,
-			AuditRecordService auditRecordService) {
-		return new DefaultTaskDeleteService(taskExplorer, launcherRepository, taskDefinitionRepository,
-				taskDeploymentRepository,
-				auditRecordService);
+			AuditRecordService auditRecordService, DataSource dataSource,
+			TaskExecutionInfoService taskExecutionInfoService) {
+		DefaultTaskDeleteService taskDeleteService = new DefaultTaskDeleteService(taskExplorer, launcherRepository,
+				taskDefinitionRepository, taskDeploymentRepository, auditRecordService, dataSource,
+				new ForkJoinPool(2));
+		taskDeleteService.setTaskExecutionInfoService(taskExecutionInfoService);
+		return taskDeleteService;
 	}
 
 	@Bean
@@ -229,11 +238,21 @@ public class TaskServiceDependencies extends WebMvcConfigurationSupport {
 			TaskExecutionInfoService taskExecutionInfoService,
 			TaskDeploymentRepository taskDeploymentRepository,
 			TaskExecutionCreationService taskExecutionRepositoryService,
-			TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator) {
+			TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator,
+			TaskLaunchAdmissionService taskLaunchAdmissionService) {
 		return new DefaultTaskExecutionService(
 				launcherRepository, auditRecordService, taskRepository,
 				taskExecutionInfoService, taskDeploymentRepository,
-				taskExecutionRepositoryService, taskAppDeploymentRequestCreator);
+				taskExecutionRepositoryService, taskAppDeploymentRequestCreator, taskLaunchAdmissionService,
+				new ForkJoinPool(2));
+	}
+
+	@Bean
+	public TaskLaunchAdmissionService taskLaunchAdmissionService(TaskExplorer taskExplorer,
+			LauncherRepository launcherRepository, TaskDeploymentRepository taskDeploymentRepository,
+			TaskConfigurationProperties taskConfigurationProperties) {
+		return new DefaultTaskLaunchAdmissionService(taskExplorer, launcherRepository, taskDeploymentRepository,
+				taskConfigurationProperties);
 	}
 
 	@Bean
@@ -252,13 +271,14 @@ public class TaskServiceDependencies extends WebMvcConfigurationSupport {
 											 DataSourceProperties dataSourceProperties,
 											 ApplicationConfigurationMetadataResolver metaDataResolver,
 											 SchedulerServiceProperties schedulerServiceProperties,
-											 AuditRecordService auditRecordService) {
+											 AuditRecordService auditRecordService,
+											 ScheduleIndexRepository scheduleIndexRepository) {
 		return new DefaultSchedulerService(commonApplicationProperties,
 				taskPlatform, taskDefinitionRepository,
 				registry, resourceLoader,
 				new TaskConfigurationProperties(),
 				dataSourceProperties, null,
-				metaDataResolver, schedulerServiceProperties, auditRecordService);
+				metaDataResolver, schedulerServiceProperties, auditRecordService, scheduleIndexRepository);
 	}
 
 	@Bean
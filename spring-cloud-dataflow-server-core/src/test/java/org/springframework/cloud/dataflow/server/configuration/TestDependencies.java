@@ -24,6 +24,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ForkJoinPool;
 
+import javax.sql.DataSource;
+
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import org.springframework.batch.core.StepExecution;
@@ -72,36 +74,61 @@ import org.springframework.cloud.dataflow.server.controller.RootController;
 import org.springframework.cloud.dataflow.server.controller.RuntimeAppInstanceController;
 import org.springframework.cloud.dataflow.server.controller.RuntimeAppsController;
 import org.springframework.cloud.dataflow.server.controller.RuntimeStreamsController;
+import org.springframework.cloud.dataflow.server.controller.StreamBulkOperationController;
 import org.springframework.cloud.dataflow.server.controller.StreamDefinitionController;
 import org.springframework.cloud.dataflow.server.controller.StreamDeploymentController;
+import org.springframework.cloud.dataflow.server.controller.StreamDeploymentOperationController;
 import org.springframework.cloud.dataflow.server.controller.StreamValidationController;
 import org.springframework.cloud.dataflow.server.controller.TaskDefinitionController;
 import org.springframework.cloud.dataflow.server.controller.TaskExecutionController;
+import org.springframework.cloud.dataflow.server.controller.TaskLaunchQueueController;
 import org.springframework.cloud.dataflow.server.controller.TaskPlatformController;
+import org.springframework.cloud.dataflow.server.controller.TaskRetentionController;
 import org.springframework.cloud.dataflow.server.controller.TaskSchedulerController;
 import org.springframework.cloud.dataflow.server.controller.ToolsController;
+import org.springframework.cloud.dataflow.server.controller.support.EntityTagProperties;
+import org.springframework.cloud.dataflow.server.controller.support.StatusSnapshot;
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
 import org.springframework.cloud.dataflow.server.registry.DataFlowAppRegistryPopulator;
+import org.springframework.cloud.dataflow.server.repository.ResourceVersionRepository;
+import org.springframework.cloud.dataflow.server.repository.ScheduleIndexRepository;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDeploymentRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskLaunchQueueRepository;
+import org.springframework.cloud.dataflow.server.repository.support.ResourceVersionTrackingPostProcessor;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheProperties;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheService;
+import org.springframework.cloud.dataflow.server.service.ResourceVersionService;
 import org.springframework.cloud.dataflow.server.service.SchedulerService;
 import org.springframework.cloud.dataflow.server.service.SchedulerServiceProperties;
+import org.springframework.cloud.dataflow.server.service.StreamBulkOperationService;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationProperties;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationService;
 import org.springframework.cloud.dataflow.server.service.StreamService;
 import org.springframework.cloud.dataflow.server.service.StreamValidationService;
 import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionCreationService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionProperties;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionService;
 import org.springframework.cloud.dataflow.server.service.TaskSaveService;
 import org.springframework.cloud.dataflow.server.service.TaskValidationService;
 import org.springframework.cloud.dataflow.server.service.impl.AppDeploymentRequestCreator;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultAppResourceCacheService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultResourceVersionService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultSchedulerService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultStreamBulkOperationService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultStreamDeploymentOperationService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultStreamService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionRepositoryService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskRetentionService;
 import org.springframework.cloud.dataflow.server.service.impl.DefaultTaskSaveService;
 import org.springframework.cloud.dataflow.server.service.impl.TaskAppDeploymentRequestCreator;
 import org.springframework.cloud.dataflow.server.service.impl.TaskConfigurationProperties;
@@ -136,6 +163,7 @@ import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.hateoas.EntityLinks;
 import org.springframework.hateoas.Resources;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
@@ -163,7 +191,8 @@ import static org.mockito.Mockito.when;
 		DockerValidatorProperties.class,
 		TaskConfigurationProperties.class,
 		DockerValidatorProperties.class,
-		GrafanaInfoProperties.class })
+		GrafanaInfoProperties.class,
+		EntityTagProperties.class })
 @EntityScan({
 		"org.springframework.cloud.dataflow.registry.domain",
 		"org.springframework.cloud.dataflow.core"
@@ -224,8 +253,34 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 
 	@Bean
 	public StreamDeploymentController updatableStreamDeploymentController(StreamDefinitionRepository repository,
-			StreamService streamService) {
-		return new StreamDeploymentController(repository, streamService);
+			StreamService streamService, StreamDeploymentOperationService streamDeploymentOperationService) {
+		return new StreamDeploymentController(repository, streamService, streamDeploymentOperationService);
+	}
+
+	@Bean
+	public StreamDeploymentOperationService streamDeploymentOperationService(StreamService streamService,
+			StreamDefinitionRepository streamDefinitionRepository) {
+		return new DefaultStreamDeploymentOperationService(streamService, streamDefinitionRepository,
+				new StreamDeploymentOperationProperties(), new ForkJoinPool(2));
+	}
+
+	@Bean
+	public StreamDeploymentOperationController streamDeploymentOperationController(
+			StreamDeploymentOperationService streamDeploymentOperationService) {
+		return new StreamDeploymentOperationController(streamDeploymentOperationService);
+	}
+
+	@Bean
+	public StreamBulkOperationService streamBulkOperationService(StreamService streamService,
+			StreamDefinitionRepository streamDefinitionRepository) {
+		return new DefaultStreamBulkOperationService(streamService, streamDefinitionRepository,
+				new ForkJoinPool(2));
+	}
+
+	@Bean
+	public StreamBulkOperationController streamBulkOperationController(
+			StreamBulkOperationService streamBulkOperationService) {
+		return new StreamBulkOperationController(streamBulkOperationService);
 	}
 
 	@Bean
@@ -258,9 +313,9 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 			SkipperStreamDeployer skipperStreamDeployer,
 			AppDeploymentRequestCreator appDeploymentRequestCreator,
 			StreamValidationService streamValidationService,
-			AuditRecordService auditRecordService) {
+			AuditRecordService auditRecordService, ResourceVersionService resourceVersionService) {
 		return new DefaultStreamService(streamDefinitionRepository, skipperStreamDeployer,
-				appDeploymentRequestCreator, streamValidationService, auditRecordService);
+				appDeploymentRequestCreator, streamValidationService, auditRecordService, resourceVersionService);
 	}
 
 	@Bean
@@ -300,8 +355,24 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 	}
 
 	@Bean
-	public StreamDefinitionController streamDefinitionController(StreamService streamService) {
-		return new StreamDefinitionController(streamService);
+	public static ResourceVersionTrackingPostProcessor resourceVersionTrackingPostProcessor() {
+		return new ResourceVersionTrackingPostProcessor();
+	}
+
+	@Bean
+	public ResourceVersionService resourceVersionService(ResourceVersionRepository resourceVersionRepository) {
+		return new DefaultResourceVersionService(resourceVersionRepository);
+	}
+
+	@Bean
+	public StatusSnapshot appStatusSnapshot(StreamDeployer streamDeployer) {
+		return StatusSnapshot.ofAppStatuses(streamDeployer, 0);
+	}
+
+	@Bean
+	public StreamDefinitionController streamDefinitionController(StreamService streamService,
+			ResourceVersionService resourceVersionService, StatusSnapshot appStatusSnapshot) {
+		return new StreamDefinitionController(streamService, resourceVersionService, appStatusSnapshot);
 	}
 
 	@Bean
@@ -336,19 +407,28 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 		return new DefaultAppRegistryService(appRegistrationRepository, appResourceService, auditRecordService);
 	}
 
+	@Bean
+	public AppResourceCacheService appResourceCacheService(AppRegistryService appRegistry,
+			AppResourceCommon appResourceService) {
+		return new DefaultAppResourceCacheService(appRegistry, appResourceService, new AppResourceCacheProperties(),
+				new ForkJoinPool(2));
+	}
+
 	@Bean
 	public AppRegistryController appRegistryController(
 			Optional<StreamDefinitionRepository> streamDefinitionRepository,
 			Optional<StreamService> streamService,
 			AppRegistryService appRegistry,
-			ApplicationConfigurationMetadataResolver metadataResolver) {
+			ApplicationConfigurationMetadataResolver metadataResolver,
+			AppResourceCacheService appResourceCacheService, ResourceVersionService resourceVersionService) {
 		return new AppRegistryController(streamDefinitionRepository, streamService, appRegistry, metadataResolver,
-				new ForkJoinPool(2));
+				new ForkJoinPool(2), appResourceCacheService, resourceVersionService);
 	}
 
 	@Bean
-	public RuntimeAppsController runtimeAppsController(StreamDeployer streamDeployer) {
-		return new RuntimeAppsController(streamDeployer);
+	public RuntimeAppsController runtimeAppsController(StreamDeployer streamDeployer,
+			ResourceVersionService resourceVersionService, StatusSnapshot appStatusSnapshot) {
+		return new RuntimeAppsController(streamDeployer, resourceVersionService, appStatusSnapshot);
 	}
 
 	@Bean
@@ -363,8 +443,10 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 
 	@Bean
 	public TaskDefinitionController taskDefinitionController(TaskExplorer explorer, TaskDefinitionRepository repository,
-			TaskSaveService taskSaveService, TaskDeleteService taskDeleteService) {
-		return new TaskDefinitionController(explorer, repository, taskSaveService, taskDeleteService);
+			TaskSaveService taskSaveService, TaskDeleteService taskDeleteService,
+			ResourceVersionService resourceVersionService) {
+		return new TaskDefinitionController(explorer, repository, taskSaveService, taskDeleteService,
+				resourceVersionService, StatusSnapshot.ofTaskExecutions(explorer, 0));
 	}
 
 	@Bean
@@ -380,6 +462,30 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 				taskDefinitionRepository, taskExecutionInfoService, taskDeleteService);
 	}
 
+	@Bean
+	public TaskLaunchQueueService taskLaunchQueueService(TaskLaunchQueueRepository taskLaunchQueueRepository,
+			TaskDefinitionRepository taskDefinitionRepository, TaskExecutionService taskExecutionService,
+			TaskConfigurationProperties taskConfigurationProperties) {
+		return new DefaultTaskLaunchQueueService(taskLaunchQueueRepository, taskDefinitionRepository,
+				taskExecutionService, taskConfigurationProperties);
+	}
+
+	@Bean
+	public TaskLaunchQueueController taskLaunchQueueController(TaskLaunchQueueService taskLaunchQueueService) {
+		return new TaskLaunchQueueController(taskLaunchQueueService);
+	}
+
+	@Bean
+	public TaskRetentionService taskRetentionService(DataSource dataSource,
+			PlatformTransactionManager transactionManager) {
+		return new DefaultTaskRetentionService(dataSource, transactionManager, new TaskRetentionProperties());
+	}
+
+	@Bean
+	public TaskRetentionController taskRetentionController(TaskRetentionService taskRetentionService) {
+		return new TaskRetentionController(taskRetentionService);
+	}
+
 	@Bean
 	public TaskPlatformController taskPlatformController(LauncherRepository launcherRepository) {
 		return new TaskPlatformController(launcherRepository);
@@ -488,13 +594,16 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 											 TaskPlatform taskPlatform, TaskDefinitionRepository taskDefinitionRepository,
 											 AppRegistryService registry, ResourceLoader resourceLoader,
 											 DataSourceProperties dataSourceProperties,
-											 ApplicationConfigurationMetadataResolver metaDataResolver, AuditRecordService auditRecordService) {
+											 ApplicationConfigurationMetadataResolver metaDataResolver, AuditRecordService auditRecordService,
+											 ScheduleIndexRepository scheduleIndexRepository) {
+		SchedulerServiceProperties schedulerServiceProperties = new SchedulerServiceProperties();
+		schedulerServiceProperties.setIndexReconcileIntervalInSeconds(0);
 		return new DefaultSchedulerService(commonApplicationProperties,
 				taskPlatform, taskDefinitionRepository,
 				registry, resourceLoader,
 				new TaskConfigurationProperties(),
 				dataSourceProperties, null,
-				metaDataResolver, new SchedulerServiceProperties(), auditRecordService);
+				metaDataResolver, schedulerServiceProperties, auditRecordService, scheduleIndexRepository);
 	}
 
 	@Bean
@@ -153,6 +153,15 @@ public class JobExecutionControllerTests {
 
 	}
 
+	@Test
+	public void testGetExecutionsByStatus() throws Exception {
+		mockMvc.perform(get("/jobs/executions").param("status", "COMPLETED").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].jobExecution.status", is("COMPLETED")))
+				.andExpect(jsonPath("$.content[0].jobExecution.stepExecutions", hasSize(1)))
+				.andExpect(jsonPath("$.content", hasSize(1)));
+	}
+
 	@Test
 	public void testGetExecution() throws Exception {
 		mockMvc.perform(get("/jobs/executions/1").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
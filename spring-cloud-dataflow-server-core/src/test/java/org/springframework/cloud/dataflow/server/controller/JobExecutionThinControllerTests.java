@@ -39,6 +39,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -103,5 +104,37 @@ public class JobExecutionThinControllerTests {
 				.andExpect(jsonPath("$.content", hasSize(1)));
 	}
 
+	@Test
+	public void testGetExecutionsByStatusAndJobNamePrefix() throws Exception {
+		mockMvc.perform(get("/jobs/thinexecutions").param("status", "STOPPED,STARTED")
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].name", contains(JobExecutionUtils.JOB_NAME_STOPPED,
+						JobExecutionUtils.JOB_NAME_STARTED)))
+				.andExpect(jsonPath("$.page.totalElements", is(2)));
+		mockMvc.perform(get("/jobs/thinexecutions").param("jobNamePrefix", JobExecutionUtils.BASE_JOB_NAME + "_FOO_")
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content", hasSize(3)))
+				.andExpect(jsonPath("$.page.totalElements", is(3)));
+	}
 
+	@Test
+	public void testGetExecutionsByTaskExecutionAndName() throws Exception {
+		mockMvc.perform(get("/jobs/thinexecutions").param("taskExecutionId", "3").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].name", contains(JobExecutionUtils.JOB_NAME_FOOBAR,
+						JobExecutionUtils.JOB_NAME_FOOBAR)));
+		mockMvc.perform(get("/jobs/thinexecutions").param("name", JobExecutionUtils.JOB_NAME_ORIG)
+				.param("status", "COMPLETED").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.page.totalElements", is(0)));
+	}
+
+	@Test
+	public void testGetExecutionsByInvalidDateRange() throws Exception {
+		mockMvc.perform(get("/jobs/thinexecutions").param("startedAfter", "2019-02-01T00:00:00")
+				.param("startedBefore", "2019-01-01T00:00:00").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
 }
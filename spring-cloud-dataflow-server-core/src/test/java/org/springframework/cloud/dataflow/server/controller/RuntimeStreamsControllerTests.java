@@ -38,6 +38,8 @@ import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepo
 import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.skipper.ReleaseNotFoundException;
+import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.client.SkipperClient;
 import org.springframework.cloud.skipper.domain.Info;
 import org.springframework.cloud.skipper.domain.Status;
@@ -161,6 +163,36 @@ public class RuntimeStreamsControllerTests {
 				.andExpect(jsonPath("$.[2].applications[1].instances[0].guid", is("ticktock3.time3-v1-0")));
 	}
 
+	@Test
+	public void testStreamAppStatusesReportEveryStream() throws Exception {
+		streamDefinitionRepository.save(new StreamDefinition("ticktock4", "time4|log4"));
+		when(this.skipperClient.status("ticktock2")).thenThrow(new SkipperException("skipper down"));
+		when(this.skipperClient.status("ticktock4")).thenThrow(new ReleaseNotFoundException("ticktock4"));
+
+		mockMvc.perform(get("/runtime/streams/apps")
+				.param("names", "ticktock3,ticktock1,nostream,ticktock2,ticktock4")
+				.param("apps", "log1,log3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.streams", hasSize(5)))
+				.andExpect(jsonPath("$.streams[0].name", is("ticktock3")))
+				.andExpect(jsonPath("$.streams[0].applications", hasSize(1)))
+				.andExpect(jsonPath("$.streams[0].applications[0].deploymentId", is("ticktock3.log3-v1")))
+				.andExpect(jsonPath("$.streams[0].applications[0].instances.content[0].instanceId",
+						is("ticktock3.log3-v1-0")))
+				.andExpect(jsonPath("$.streams[1].name", is("ticktock1")))
+				.andExpect(jsonPath("$.streams[1].applications", hasSize(1)))
+				.andExpect(jsonPath("$.streams[1].applications[0].deploymentId", is("boza-ticktock1-log1-v1")))
+				.andExpect(jsonPath("$.streams[1].error").doesNotExist())
+				.andExpect(jsonPath("$.streams[2].name", is("nostream")))
+				.andExpect(jsonPath("$.streams[2].applications", hasSize(0)))
+				.andExpect(jsonPath("$.streams[2].error", is("Could not find stream definition named nostream")))
+				.andExpect(jsonPath("$.streams[3].name", is("ticktock2")))
+				.andExpect(jsonPath("$.streams[3].error", is("skipper down")))
+				.andExpect(jsonPath("$.streams[4].name", is("ticktock4")))
+				.andExpect(jsonPath("$.streams[4].applications", hasSize(0)))
+				.andExpect(jsonPath("$.streams[4].error").doesNotExist());
+	}
+
 	private AppInstanceStatus instance(String id, String guid, String appName) {
 		return new AppInstanceStatus() {
 			@Override
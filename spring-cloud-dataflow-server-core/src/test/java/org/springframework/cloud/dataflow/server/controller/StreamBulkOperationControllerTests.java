@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller;
+
+import java.util.ArrayList;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.server.configuration.TestDependencies;
+import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.skipper.client.SkipperClient;
+import org.springframework.cloud.skipper.domain.PackageMetadata;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestDependencies.class)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+public class StreamBulkOperationControllerTests {
+
+	@Autowired
+	private StreamDefinitionRepository repository;
+
+	@Autowired
+	private WebApplicationContext wac;
+
+	@Autowired
+	private SkipperClient skipperClient;
+
+	private MockMvc mockMvc;
+
+	@Before
+	public void setupMocks() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+				.defaultRequest(get("/").accept(MediaType.APPLICATION_JSON)).build();
+		when(skipperClient.search(anyString(), eq(false))).thenReturn(
+				new Resources<>(new ArrayList<PackageMetadata>(), new Link[0]));
+	}
+
+	@After
+	public void tearDown() {
+		repository.deleteAll();
+	}
+
+	@Test
+	public void testBulkUndeployIsAcceptedAndCanBePolled() throws Exception {
+		repository.save(new StreamDefinition("ticktock", "time | log"));
+		repository.save(new StreamDefinition("tap", ":ticktock.time > log"));
+		repository.save(new StreamDefinition("other", "http | log"));
+
+		MvcResult result = mockMvc.perform(post("/streams/bulk/undeploy").param("pattern", "t*"))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string("Location", containsString("/streams/bulk/")))
+				.andExpect(jsonPath("$.operation", is("undeploy")))
+				.andExpect(jsonPath("$.streams[0].name", is("tap")))
+				.andExpect(jsonPath("$.streams[1].name", is("ticktock")))
+				.andReturn();
+		String id = JsonPath.read(result.getResponse().getContentAsString(), "$.operationId");
+
+		String operationStatus = null;
+		for (int i = 0; i < 100 && !"SUCCEEDED".equals(operationStatus); i++) {
+			Thread.sleep(50);
+			operationStatus = JsonPath.read(mockMvc.perform(get("/streams/bulk/" + id))
+					.andExpect(status().isOk()).andReturn().getResponse().getContentAsString(), "$.status");
+		}
+		assertThat(operationStatus).isEqualTo("SUCCEEDED");
+		mockMvc.perform(get("/streams/bulk")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].operationId", is(id)));
+	}
+
+	@Test
+	public void testBulkOperationRequiresSelection() throws Exception {
+		mockMvc.perform(post("/streams/bulk/destroy")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void testBulkOperationWithUnknownStream() throws Exception {
+		mockMvc.perform(post("/streams/bulk/deploy").param("names", "missing")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void testUnknownBulkOperation() throws Exception {
+		mockMvc.perform(get("/streams/bulk/unknown")).andExpect(status().isNotFound());
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2018 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,12 +37,17 @@ import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.StreamDeployment;
 import org.springframework.cloud.dataflow.rest.SkipperStream;
 import org.springframework.cloud.dataflow.rest.UpdateStreamRequest;
+import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentOperationResource;
 import org.springframework.cloud.dataflow.rest.resource.StreamDeploymentResource;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperation;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationService;
 import org.springframework.cloud.dataflow.server.service.StreamService;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.PackageIdentifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -73,6 +78,9 @@ public class StreamDeploymentControllerTests {
 	@Mock
 	private StreamService streamService;
 
+	@Mock
+	private StreamDeploymentOperationService streamDeploymentOperationService;
+
 	@Mock
 	private Deployer deployer;
 
@@ -80,7 +88,8 @@ public class StreamDeploymentControllerTests {
 	public void setup() {
 		MockHttpServletRequest request = new MockHttpServletRequest();
 		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
-		this.controller = new StreamDeploymentController(streamDefinitionRepository, streamService);
+		this.controller = new StreamDeploymentController(streamDefinitionRepository, streamService,
+				streamDeploymentOperationService);
 	}
 
 	@Test
@@ -93,6 +102,27 @@ public class StreamDeploymentControllerTests {
 		Assert.assertEquals(argumentCaptor1.getValue(), "test");
 	}
 
+	@Test
+	public void testDeployAsync() {
+		StreamDeploymentOperation operation = new StreamDeploymentOperation("test");
+		when(streamDeploymentOperationService.submit("test", null)).thenReturn(operation);
+		ResponseEntity<StreamDeploymentOperationResource> response = this.controller.deployAsync("test", null);
+		Assert.assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+		Assert.assertEquals(operation.getId(), response.getBody().getOperationId());
+		Assert.assertEquals("PENDING", response.getBody().getStatus());
+		Assert.assertTrue(response.getHeaders().getLocation().toString()
+				.endsWith("/streams/deployments/operations/" + operation.getId()));
+	}
+
+	@Test
+	public void testDeployAsyncNotEnabled() {
+		StreamDeploymentController controller = new StreamDeploymentController(streamDefinitionRepository,
+				streamService, null);
+		ResponseEntity<StreamDeploymentOperationResource> response = controller.deployAsync("test", null);
+		Assert.assertEquals(HttpStatus.NOT_IMPLEMENTED, response.getStatusCode());
+		Assert.assertNull(response.getBody());
+	}
+
 	@Test
 	public void testUpdateStream() {
 		Map<String, String> deploymentProperties = new HashMap<>();
@@ -136,6 +166,13 @@ public class StreamDeploymentControllerTests {
 		verify(streamService, times(1)).platformList();
 	}
 
+	@Test
+	public void testRefreshPlatformsList() {
+		when(streamService.refreshPlatformList()).thenReturn(Arrays.asList(deployer));
+		this.controller.refreshPlatformList();
+		verify(streamService, times(1)).refreshPlatformList();
+	}
+
 	@Test
 	public void testShowStreamInfo() {
 		Map<String, String> deploymentProperties1 = new HashMap<>();
@@ -48,6 +48,7 @@ import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.task.TaskLauncher;
 import org.springframework.cloud.task.repository.TaskExecution;
 import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -56,10 +57,12 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeast;
@@ -71,6 +74,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -275,6 +279,26 @@ public class TaskControllerTests {
 				.andExpect(jsonPath("$.content[2].name", is("ooz")));
 	}
 
+	@Test
+	public void testListIsAnsweredConditionally() throws Exception {
+		repository.save(new TaskDefinition("foo", "task"));
+
+		String etag = mockMvc.perform(get("/tasks/definitions")).andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/tasks/definitions").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		when(taskExplorer.getRunningTaskExecutionCount()).thenReturn(1L);
+		String runningEtag = mockMvc.perform(get("/tasks/definitions").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, runningEtag);
+
+		repository.save(new TaskDefinition("bar", "task"));
+		mockMvc.perform(get("/tasks/definitions").header(HttpHeaders.IF_NONE_MATCH, runningEtag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.*", hasSize(2)));
+	}
+
 	@Test
 	public void testDestroyTask() throws Exception {
 		repository.save(new TaskDefinition("myTask", "task"));
@@ -304,11 +328,52 @@ public class TaskControllerTests {
 				.andExpect(jsonPath("$.content", hasSize(3)));
 
 		mockMvc.perform(delete("/tasks/definitions").accept(MediaType.APPLICATION_JSON)).andDo(print())
-				.andExpect(status().isOk());
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results", hasSize(3)))
+				.andExpect(jsonPath("$.results[*].status", everyItem(is("SUCCEEDED"))));
 
 		assertEquals(0, repository.count());
 	}
 
+	@Test
+	public void testDestroyAllTaskReportsPlatformFailures() throws Exception {
+		repository.save(new TaskDefinition("myTask", "foo"));
+		this.registry.save("foo", ApplicationType.task,
+				"1.0.0", new URI("file:src/test/resources/apps/foo-task"), null);
+		mockMvc.perform(post("/tasks/executions").param("name", "myTask").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isCreated());
+		Mockito.doThrow(new IllegalStateException("unreachable")).when(this.taskLauncher).destroy("myTask");
+
+		mockMvc.perform(delete("/tasks/definitions").accept(MediaType.APPLICATION_JSON)).andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results", hasSize(1)))
+				.andExpect(jsonPath("$.results[0].taskName", is("myTask")))
+				.andExpect(jsonPath("$.results[0].status", is("FAILED")))
+				.andExpect(jsonPath("$.results[0].message",
+						is("Deleted, but failed to destroy the task on platform [default]: unreachable")));
+
+		assertEquals(0, repository.count());
+	}
+
+	@Test
+	public void testDestroyTasksInBulk() throws Exception {
+		repository.save(new TaskDefinition("myTask1", "task"));
+		repository.save(new TaskDefinition("myTask2", "task"));
+		repository.save(new TaskDefinition("myTask3", "task"));
+
+		mockMvc.perform(delete("/tasks/definitions").param("names", "myTask1,myTask3,myTask4")
+				.accept(MediaType.APPLICATION_JSON)).andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results", hasSize(3)))
+				.andExpect(jsonPath("$.results[0].taskName", is("myTask1")))
+				.andExpect(jsonPath("$.results[0].status", is("SUCCEEDED")))
+				.andExpect(jsonPath("$.results[1].taskName", is("myTask3")))
+				.andExpect(jsonPath("$.results[2].status", is("FAILED")))
+				.andExpect(jsonPath("$.results[2].message", is("Could not find task definition named myTask4")));
+
+		assertEquals(1, repository.count());
+	}
+
 	@Test
 	public void testMissingApplication() throws Exception {
 		repository.save(new TaskDefinition("myTask", "no-such-task-app"));
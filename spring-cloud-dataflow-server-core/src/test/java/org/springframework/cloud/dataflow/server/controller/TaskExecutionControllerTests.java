@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.dataflow.server.controller;
 
+import java.net.URI;
 import java.time.Instant;
 import java.util.Date;
 import java.util.LinkedList;
@@ -36,9 +37,11 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.Launcher;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.TaskDeployment;
+import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
 import org.springframework.cloud.dataflow.server.config.apps.CommonApplicationProperties;
 import org.springframework.cloud.dataflow.server.configuration.JobDependencies;
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
@@ -63,9 +66,13 @@ import org.springframework.web.context.WebApplicationContext;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -133,6 +140,9 @@ public class TaskExecutionControllerTests {
 	@Autowired
 	private TaskDeploymentRepository taskDeploymentRepository;
 
+	@Autowired
+	private AppRegistryService appRegistryService;
+
 	@Before
 	public void setupMockMVC() {
 		Launcher launcher = new Launcher("default", "local", taskLauncher);
@@ -277,6 +287,53 @@ public class TaskExecutionControllerTests {
 				.getContentAsString().contains("NoSuchTaskExecutionException");
 	}
 
+	@Test
+	public void testCleanupInBulk() throws Exception {
+		mockMvc.perform(delete("/tasks/executions").param("ids", "1,2,10"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results", hasSize(3)))
+				.andExpect(jsonPath("$.results[0].executionId", is(1)))
+				.andExpect(jsonPath("$.results[0].status", is("SUCCEEDED")))
+				.andExpect(jsonPath("$.results[1].status", is("FAILED")))
+				.andExpect(jsonPath("$.results[1].message",
+						is("The TaskExecution for id 2 did not have an externalExecutionId")))
+				.andExpect(jsonPath("$.results[2].status", is("FAILED")));
+
+		verify(taskLauncher).cleanup("foobar");
+	}
+
+	@Test
+	public void testCleanupByInvalidDateRange() throws Exception {
+		mockMvc.perform(delete("/tasks/executions").param("fromDate", "2019-02-05T00:00:00")
+				.param("toDate", "2019-02-01T00:00:00"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void testLaunchBulk() throws Exception {
+		appRegistryService.save("demo", ApplicationType.task, "1.0.0", URI.create("file:src/test/resources/apps/foo-task"),
+				null);
+		when(taskLauncher.launch(any())).thenReturn("abc").thenThrow(new IllegalStateException("rejected"));
+
+		mockMvc.perform(post("/tasks/executions/bulk").param("name", TASK_NAME_ORIG)
+				.contentType(MediaType.APPLICATION_JSON).content("[\"--a=1 --b=2\", \"--a=2\"]"))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.taskName", is(TASK_NAME_ORIG)))
+				.andExpect(jsonPath("$.launches", hasSize(2)))
+				.andExpect(jsonPath("$.launches[0].status", is("LAUNCHED")))
+				.andExpect(jsonPath("$.launches[0].executionId", notNullValue()))
+				.andExpect(jsonPath("$.launches[1].status", is("FAILED")))
+				.andExpect(jsonPath("$.launches[1].message", is("rejected")))
+				.andExpect(jsonPath("$.executionIds", hasSize(1)));
+	}
+
+	@Test
+	public void testLaunchBulkUnknownTask() throws Exception {
+		mockMvc.perform(post("/tasks/executions/bulk").param("name", "unknown")
+				.contentType(MediaType.APPLICATION_JSON).content("[\"--a=1\"]"))
+				.andExpect(status().isNotFound());
+	}
+
 	private ResultActions verifyTaskArgs(List<String> expectedArgs, String prefix, ResultActions ra) throws Exception {
 		ra.andExpect(jsonPath(prefix + "arguments", hasSize(expectedArgs.size())));
 		for (int argCount = 0; argCount < expectedArgs.size(); argCount++) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
+import org.springframework.cloud.dataflow.server.configuration.TestDependencies;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskLaunchQueueEntryException;
+import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueuedException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestDependencies.class)
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+public class TaskLaunchQueueControllerTests {
+
+	@Autowired
+	private WebApplicationContext wac;
+
+	@MockBean
+	private TaskLaunchQueueService taskLaunchQueueService;
+
+	@MockBean
+	private TaskExecutionService taskExecutionService;
+
+	private MockMvc mockMvc;
+
+	@Before
+	public void setupMocks() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+				.defaultRequest(get("/").accept(MediaType.APPLICATION_JSON)).build();
+	}
+
+	@Test
+	public void testEnqueue() throws Exception {
+		TaskLaunchQueueEntry entry = entry(7L, "demo", 3);
+		when(this.taskLaunchQueueService.enqueue("demo", Collections.singletonMap("app.demo.foo", "bar"),
+				Arrays.asList("--x=1"), 3)).thenReturn(entry);
+		when(this.taskLaunchQueueService.getPosition(entry)).thenReturn(4L);
+
+		mockMvc.perform(post("/tasks/executions/queue").param("name", "demo").param("properties", "app.demo.foo=bar")
+				.param("arguments", "--x=1").param("priority", "3"))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.entryId", is(7)))
+				.andExpect(jsonPath("$.taskName", is("demo")))
+				.andExpect(jsonPath("$.priority", is(3)))
+				.andExpect(jsonPath("$.position", is(4)))
+				.andExpect(jsonPath("$.links[0].href", is("http://localhost/tasks/executions/queue/7")));
+	}
+
+	@Test
+	public void testLaunchBeyondTheLimitIsQueued() throws Exception {
+		TaskLaunchQueuedException queued = new TaskLaunchQueuedException(entry(8L, "demo", 0), 2L);
+		when(this.taskExecutionService.executeTask(eq("demo"), any(), any())).thenThrow(queued);
+
+		mockMvc.perform(post("/tasks/executions").param("name", "demo"))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string("Location", "http://localhost/tasks/executions/queue/8"))
+				.andExpect(jsonPath("$.entryId", is(8)))
+				.andExpect(jsonPath("$.position", is(2)));
+	}
+
+	@Test
+	public void testListNumbersPositionsFromThePageOffset() throws Exception {
+		List<TaskLaunchQueueEntry> entries = Arrays.asList(entry(1L, "a", 5), entry(2L, "b", 0));
+		when(this.taskLaunchQueueService.getEntries(any()))
+				.thenReturn(new PageImpl<>(entries, PageRequest.of(1, 2), 6));
+
+		mockMvc.perform(get("/tasks/executions/queue").param("page", "1").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].taskName", is("a")))
+				.andExpect(jsonPath("$.content[0].position", is(3)))
+				.andExpect(jsonPath("$.content[1].position", is(4)))
+				.andExpect(jsonPath("$.page.totalElements", is(6)));
+	}
+
+	@Test
+	public void testViewAndCancelUnknownEntry() throws Exception {
+		when(this.taskLaunchQueueService.getEntry(eq(9L))).thenThrow(new NoSuchTaskLaunchQueueEntryException(9L));
+		doThrow(new NoSuchTaskLaunchQueueEntryException(9L)).when(this.taskLaunchQueueService).cancel(9L);
+
+		mockMvc.perform(get("/tasks/executions/queue/9")).andExpect(status().isNotFound());
+		mockMvc.perform(delete("/tasks/executions/queue/9")).andExpect(status().isNotFound());
+	}
+
+	private static TaskLaunchQueueEntry entry(long id, String taskName, int priority) {
+		TaskLaunchQueueEntry entry = mock(TaskLaunchQueueEntry.class);
+		when(entry.getId()).thenReturn(id);
+		when(entry.getTaskName()).thenReturn(taskName);
+		when(entry.getPlatformName()).thenReturn("default");
+		when(entry.getPriority()).thenReturn(priority);
+		when(entry.getCreatedOn()).thenReturn(Instant.now());
+		return entry;
+	}
+}
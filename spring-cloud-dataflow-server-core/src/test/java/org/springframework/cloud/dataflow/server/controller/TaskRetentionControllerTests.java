@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.dataflow.server.configuration.TestDependencies;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionReport;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionService;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestDependencies.class)
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+public class TaskRetentionControllerTests {
+
+	@Autowired
+	private WebApplicationContext wac;
+
+	@MockBean
+	private TaskRetentionService taskRetentionService;
+
+	private MockMvc mockMvc;
+
+	@Before
+	public void setupMocks() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+				.defaultRequest(get("/").accept(MediaType.APPLICATION_JSON)).build();
+	}
+
+	@Test
+	public void testPreviewIsADryRun() throws Exception {
+		when(this.taskRetentionService.purge(true)).thenReturn(new TaskRetentionReport(true,
+				Collections.singletonList(new TaskRetentionReport.TaskPurge("demo", 12, 3)), Collections.emptyMap()));
+
+		mockMvc.perform(get("/tasks/retention"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.dryRun", is(true)))
+				.andExpect(jsonPath("$.tasks[0].taskName", is("demo")))
+				.andExpect(jsonPath("$.tasks[0].taskExecutionCount", is(12)))
+				.andExpect(jsonPath("$.tasks[0].jobExecutionCount", is(3)));
+	}
+
+	@Test
+	public void testPurgeRunsInTheBackground() throws Exception {
+		when(this.taskRetentionService.requestPurge()).thenReturn(true);
+
+		mockMvc.perform(post("/tasks/retention"))
+				.andExpect(status().isAccepted());
+
+		verify(this.taskRetentionService).requestPurge();
+		verify(this.taskRetentionService, never()).purge(false);
+	}
+
+	@Test
+	public void testPurgeDryRun() throws Exception {
+		when(this.taskRetentionService.purge(true)).thenReturn(new TaskRetentionReport(true,
+				Collections.singletonList(new TaskRetentionReport.TaskPurge("demo", 2, 0)), Collections.emptyMap()));
+
+		mockMvc.perform(post("/tasks/retention").param("dryRun", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.dryRun", is(true)))
+				.andExpect(jsonPath("$.tasks[0].taskExecutionCount", is(2)));
+
+		verify(this.taskRetentionService, never()).requestPurge();
+	}
+}
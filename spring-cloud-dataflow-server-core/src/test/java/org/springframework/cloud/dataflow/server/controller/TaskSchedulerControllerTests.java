@@ -52,8 +52,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -120,6 +122,43 @@ public class TaskSchedulerControllerTests {
 				.andExpect(jsonPath("$.content", hasSize(2)));
 	}
 
+	@Test
+	public void testListSchedulesPaged() throws Exception {
+		this.registry.save("testApp", ApplicationType.task,
+				"1.0.0", new URI("file:src/test/resources/apps/foo-task"), null);
+
+		repository.save(new TaskDefinition("foo", "testApp"));
+		repository.save(new TaskDefinition("bar", "testApp"));
+		createSampleSchedule("foo", "schedule1");
+		createSampleSchedule("bar", "schedule2");
+		createSampleSchedule("bar", "schedule3");
+		mockMvc.perform(get("/tasks/schedules").param("page", "1").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].scheduleName", containsInAnyOrder("schedule3")))
+				.andExpect(jsonPath("$.page.totalElements", is(3)));
+		mockMvc.perform(get("/tasks/schedules/instances/bar").param("page", "0").param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].scheduleName", containsInAnyOrder("schedule2")))
+				.andExpect(jsonPath("$.page.totalElements", is(2)));
+	}
+
+	@Test
+	public void testListSchedulesSorted() throws Exception {
+		this.registry.save("testApp", ApplicationType.task,
+				"1.0.0", new URI("file:src/test/resources/apps/foo-task"), null);
+
+		repository.save(new TaskDefinition("testDefinition", "testApp"));
+		createSampleSchedule("schedule1");
+		createSampleSchedule("schedule2");
+		mockMvc.perform(get("/tasks/schedules").param("sort", "scheduleName,desc"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].scheduleName", contains("schedule2", "schedule1")));
+		mockMvc.perform(get("/tasks/schedules").param("sort", "scheduleProperties"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/tasks/schedules/instances/testDefinition").param("sort", "objectVersion"))
+				.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	public void testGetSchedule() throws Exception {
 
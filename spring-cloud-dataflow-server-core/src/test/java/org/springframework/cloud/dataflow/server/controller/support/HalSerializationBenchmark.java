@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Test;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.cloud.dataflow.rest.job.TaskJobExecution;
+import org.springframework.cloud.dataflow.rest.job.TaskJobExecutionRel;
+import org.springframework.cloud.dataflow.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.dataflow.rest.resource.JobExecutionResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskDefinitionResource;
+import org.springframework.cloud.dataflow.rest.resource.TaskExecutionResource;
+import org.springframework.cloud.dataflow.server.controller.AppRegistryController;
+import org.springframework.cloud.dataflow.server.controller.JobExecutionController;
+import org.springframework.cloud.dataflow.server.controller.StreamDefinitionController;
+import org.springframework.cloud.dataflow.server.controller.TaskDefinitionController;
+import org.springframework.cloud.dataflow.server.controller.TaskExecutionController;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Compares the time to assemble and serialize to HAL a page of each of the five largest
+ * listing resources (task executions, apps, stream definitions, task definitions and job
+ * executions) with the {@link ResourceAssemblerSupport} of Spring HATEOAS and with the
+ * {@link TemplatedResourceAssemblerSupport}, and logs the results. Not run as part of the
+ * build, run it with
+ * {@code mvn test -pl spring-cloud-dataflow-server-core -Dtest=HalSerializationBenchmark}.
+ * The system properties {@code benchmark.pageSize} and {@code benchmark.iterations}
+ * change the defaults of 2000 elements per page and 200 pages per listing.
+ */
+public class HalSerializationBenchmark {
+
+	private static final Log logger = LogFactory.getLog(HalSerializationBenchmark.class);
+
+	private final int pageSize = Integer.getInteger("benchmark.pageSize", 2000);
+
+	private final int iterations = Integer.getInteger("benchmark.iterations", 200);
+
+	@Test
+	public void benchmarkListings() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper().registerModule(new Jackson2HalModule());
+		objectMapper.setHandlerInstantiator(
+				new Jackson2HalModule.HalHandlerInstantiator(new DefaultRelProvider(), null, null));
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.setServerName("dataflow.example.com");
+		request.setServerPort(9393);
+
+		for (Listing<?> listing : listings()) {
+			// warm up both assemblers before measuring
+			run(listing.reflective, request, objectMapper, this.pageSize, this.iterations / 10);
+			run(listing.templated, request, objectMapper, this.pageSize, this.iterations / 10);
+
+			report(listing.name + " (reflective)", this.pageSize, this.iterations,
+					run(listing.reflective, request, objectMapper, this.pageSize, this.iterations));
+			report(listing.name + " (templated)", this.pageSize, this.iterations,
+					run(listing.templated, request, objectMapper, this.pageSize, this.iterations));
+		}
+	}
+
+	private static long run(ResourceAssemblerSupport<Integer, ? extends ResourceSupport> assembler,
+			MockHttpServletRequest request, ObjectMapper objectMapper, int pageSize, int iterations)
+			throws Exception {
+		List<Integer> page = new ArrayList<>(pageSize);
+		for (int i = 0; i < pageSize; i++) {
+			page.add(i);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			// each iteration stands for a request, as the templated links are kept per request
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+			try {
+				objectMapper.writeValueAsBytes(new PagedResources<>(assembler.toResources(page),
+						new PagedResources.PageMetadata(pageSize, 0, pageSize)));
+			}
+			finally {
+				RequestContextHolder.resetRequestAttributes();
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static void report(String listing, int pageSize, int iterations, long nanos) {
+		double millis = nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) / iterations;
+		logger.info(String.format("%-40s %6d elements per page, %8.2f ms per page", listing, pageSize,
+				millis));
+	}
+
+	private static List<Listing<?>> listings() {
+		TimeZone timeZone = TimeZone.getDefault();
+		return Arrays.asList(
+				new Listing<>("/tasks/executions", TaskExecutionController.class, TaskExecutionResource.class,
+						i -> i, i -> new TaskExecutionResource(new TaskJobExecutionRel(
+								new TaskExecution(i, 0, "task-" + i, new Date(), new Date(), null,
+										Arrays.asList("--spring.cloud.task.executionid=" + i), null, "launch-" + i),
+								Collections.singletonList((long) i)))),
+				new Listing<>("/apps", AppRegistryController.class, AppRegistrationResource.class,
+						i -> "source/app-" + i + "/2.1.0.RELEASE",
+						i -> new AppRegistrationResource("app-" + i, "source", "2.1.0.RELEASE",
+								"maven://org.springframework.cloud.stream.app:app-" + i + ":2.1.0.RELEASE", true)),
+				new Listing<>("/streams/definitions", StreamDefinitionController.class,
+						StreamDefinitionResource.class, i -> "stream-" + i,
+						i -> new StreamDefinitionResource("stream-" + i, "time --fixed-delay=" + i + " | log")),
+				new Listing<>("/tasks/definitions", TaskDefinitionController.class, TaskDefinitionResource.class,
+						i -> "task-" + i, i -> new TaskDefinitionResource("task-" + i, "timestamp --format=yyyy")),
+				new Listing<>("/jobs/executions", JobExecutionController.class, JobExecutionResource.class,
+						i -> i, i -> {
+							JobExecution jobExecution = new JobExecution(new JobInstance((long) i, "job-" + i),
+									(long) i, new JobParameters(), null);
+							jobExecution.setStartTime(new Date());
+							return new JobExecutionResource(new TaskJobExecution(i, jobExecution, true), timeZone);
+						}));
+	}
+
+	private static final class Listing<D extends ResourceSupport> {
+
+		private final String name;
+
+		private final ResourceAssemblerSupport<Integer, D> reflective;
+
+		private final ResourceAssemblerSupport<Integer, D> templated;
+
+		Listing(String name, Class<?> controllerClass, Class<D> resourceType, IntFunction<Object> id,
+				IntFunction<D> instantiate) {
+			this.name = name;
+			this.reflective = new ResourceAssemblerSupport<Integer, D>(controllerClass, resourceType) {
+
+				@Override
+				public D toResource(Integer entity) {
+					return createResourceWithId(id.apply(entity), entity);
+				}
+
+				@Override
+				protected D instantiateResource(Integer entity) {
+					return instantiate.apply(entity);
+				}
+			};
+			this.templated = new TemplatedResourceAssemblerSupport<Integer, D>(controllerClass, resourceType) {
+
+				@Override
+				public D toResource(Integer entity) {
+					return createResourceWithId(id.apply(entity), entity);
+				}
+
+				@Override
+				protected D instantiateResource(Integer entity) {
+					return instantiate.apply(entity);
+				}
+			};
+		}
+	}
+}
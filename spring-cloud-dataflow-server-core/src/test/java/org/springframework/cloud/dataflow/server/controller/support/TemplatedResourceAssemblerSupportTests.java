@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.dataflow.server.controller.AppRegistryController;
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TemplatedResourceAssemblerSupport}.
+ */
+public class TemplatedResourceAssemblerSupportTests {
+
+	private final TemplatedAssembler templated = new TemplatedAssembler();
+
+	private final ReflectiveAssembler reflective = new ReflectiveAssembler();
+
+	@Before
+	public void setup() {
+		bindRequest("dataflow.example.com", 9393);
+	}
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void testLinksAreTheSameAsTheReflectiveOnes() {
+		for (String id : new String[] { "1", "sink/log/1.2.0.RELEASE", "a b", "x%y", "café", "a//b/",
+				"semi;colon", "plus+sign", "a?b=c", "a#b", "http://other", "a/../b", "{name}" }) {
+			assertThat(this.templated.toResource(id).getId()).as(id).isEqualTo(this.reflective.toResource(id).getId());
+		}
+	}
+
+	@Test
+	public void testBaseLinkIsComputedPerRequest() {
+		assertThat(this.templated.toResource("log").getId().getHref())
+				.isEqualTo("http://dataflow.example.com:9393/apps/log");
+
+		bindRequest("other.example.com", 80);
+
+		assertThat(this.templated.toResource("log").getId().getHref()).isEqualTo("http://other.example.com/apps/log");
+	}
+
+	@Test
+	public void testLinksWithoutRequest() {
+		RequestContextHolder.resetRequestAttributes();
+
+		assertThat(this.templated.toResource("log").getId())
+				.isEqualTo(this.reflective.toResource("log").getId());
+	}
+
+	private static void bindRequest(String host, int port) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServerName(host);
+		request.setServerPort(port);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	private static AppRegistrationResource instantiate(String id) {
+		return new AppRegistrationResource(id, "sink", "maven://io.example:" + id);
+	}
+
+	private static class TemplatedAssembler extends TemplatedResourceAssemblerSupport<String, AppRegistrationResource> {
+
+		TemplatedAssembler() {
+			super(AppRegistryController.class, AppRegistrationResource.class);
+		}
+
+		@Override
+		public AppRegistrationResource toResource(String id) {
+			return createResourceWithId(id, id);
+		}
+
+		@Override
+		protected AppRegistrationResource instantiateResource(String id) {
+			return instantiate(id);
+		}
+	}
+
+	private static class ReflectiveAssembler extends ResourceAssemblerSupport<String, AppRegistrationResource> {
+
+		ReflectiveAssembler() {
+			super(AppRegistryController.class, AppRegistrationResource.class);
+		}
+
+		@Override
+		public AppRegistrationResource toResource(String id) {
+			return createResourceWithId(id, id);
+		}
+
+		@Override
+		protected AppRegistrationResource instantiateResource(String id) {
+			return instantiate(id);
+		}
+	}
+}
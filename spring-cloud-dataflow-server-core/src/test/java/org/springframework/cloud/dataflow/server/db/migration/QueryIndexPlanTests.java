@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the plans H2 chooses for the hot task and batch queries of the server once the
+ * {@code h2} migrations are applied: each query must be served by the expected index and
+ * must not scan a whole table.
+ */
+public class QueryIndexPlanTests {
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@Before
+	public void setup() {
+		this.dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.build();
+		Flyway.configure().dataSource(this.dataSource)
+				.locations("classpath:org/springframework/cloud/dataflow/server/db/migration/h2").load().migrate();
+		this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+	}
+
+	@After
+	public void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	@Test
+	public void testLatestTaskExecutionsByTaskName() {
+		assertUsesIndex("select TASK_NAME, MAX(START_TIME) as START_TIME from TASK_EXECUTION "
+				+ "where TASK_NAME in ('a', 'b') group by TASK_NAME", "TASK_EXECUTION_NAME_START_IDX");
+	}
+
+	@Test
+	public void testTaskExecutionsByTaskNameAndStartTime() {
+		assertUsesIndex("select TASK_EXECUTION_ID from TASK_EXECUTION where TASK_NAME = 'a' "
+				+ "and START_TIME > CURRENT_TIMESTAMP order by START_TIME desc", "TASK_EXECUTION_NAME_START_IDX");
+	}
+
+	@Test
+	public void testTaskBatchLookups() {
+		assertUsesIndex("select TASK_EXECUTION_ID from TASK_TASK_BATCH where JOB_EXECUTION_ID = 1",
+				"TASK_TASK_BATCH_JOB_IDX");
+		assertUsesIndex("select JOB_EXECUTION_ID from TASK_TASK_BATCH where TASK_EXECUTION_ID = 1",
+				"TASK_TASK_BATCH_TASK_IDX");
+	}
+
+	@Test
+	public void testStepExecutionsByJobExecution() {
+		assertUsesIndex("select COUNT(*) from BATCH_STEP_EXECUTION where JOB_EXECUTION_ID = 1", "JOB_EXEC_STEP_FK");
+	}
+
+	@Test
+	public void testStepExecutionsByJobAndStepName() {
+		assertUsesIndex("select COUNT(*) from BATCH_STEP_EXECUTION S, BATCH_JOB_EXECUTION E, BATCH_JOB_INSTANCE I "
+				+ "where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID and E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID "
+				+ "and I.JOB_NAME = 'job' and S.STEP_NAME = 'step'", "BATCH_STEP_EXEC_NAME_IDX");
+	}
+
+	@Test
+	public void testJobExecutionsByStatus() {
+		assertUsesIndex("select JOB_EXECUTION_ID from BATCH_JOB_EXECUTION where STATUS = 'FAILED' "
+				+ "order by JOB_EXECUTION_ID desc", "BATCH_JOB_EXEC_STATUS_IDX");
+	}
+
+	@Test
+	public void testTaskLaunchQueueOrder() {
+		assertUsesIndex("select id from task_launch_queue order by priority desc, created_on, id limit 100",
+				"TASK_LAUNCH_QUEUE_IDX");
+	}
+
+	private void assertUsesIndex(String query, String index) {
+		String plan = this.jdbcTemplate.queryForObject("explain " + query, String.class);
+		assertThat(plan).contains("PUBLIC." + index).doesNotContain("tableScan");
+	}
+}
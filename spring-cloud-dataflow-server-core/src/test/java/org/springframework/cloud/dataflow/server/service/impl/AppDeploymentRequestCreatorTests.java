@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 the original author or authors.
+ * Copyright 2017-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,14 @@
 
 package org.springframework.cloud.dataflow.server.service.impl;
 
+import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.collection.IsMapContaining;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -26,17 +31,24 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
 import org.springframework.cloud.dataflow.configuration.metadata.BootApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.dataflow.core.AppRegistration;
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
+import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
 import org.springframework.cloud.dataflow.server.config.apps.CommonApplicationProperties;
 import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Ilayaperumal Gopinathan
@@ -50,6 +62,10 @@ public class AppDeploymentRequestCreatorTests {
 
 	private AppDeploymentRequestCreator appDeploymentRequestCreator;
 
+	private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@Before
 	public void setupMock() {
 		this.appDeploymentRequestCreator = new AppDeploymentRequestCreator(mock(AppRegistryService.class),
@@ -57,6 +73,11 @@ public class AppDeploymentRequestCreatorTests {
 				new BootApplicationConfigurationMetadataResolver());
 	}
 
+	@After
+	public void tearDown() {
+		this.forkJoinPool.shutdownNow();
+	}
+
 	@Test
 	public void testRequalifyShortWhiteListedProperty() {
 		StreamAppDefinition appDefinition = new StreamAppDefinition.Builder().setRegisteredAppName("my-app")
@@ -116,4 +137,48 @@ public class AppDeploymentRequestCreatorTests {
 				IsMapContaining.hasEntry("date.some-long-property", "yy"));
 
 	}
+
+	@Test
+	public void testConcurrentResolutionKeepsDeploymentOrder() {
+		AppRegistryService appRegistryService = mock(AppRegistryService.class);
+		when(appRegistryService.find(anyString(), any(ApplicationType.class))).thenAnswer(invocation ->
+				new AppRegistration(invocation.getArgument(0), invocation.getArgument(1),
+						URI.create("file:src/test/resources/apps/" + invocation.getArgument(0))));
+		when(appRegistryService.getAppResource(any())).thenAnswer(invocation -> {
+			// make the earlier apps slower to resolve than the later ones
+			Thread.sleep("time".equals(((AppRegistration) invocation.getArgument(0)).getName()) ? 100 : 0);
+			return new ClassPathResource("/apps/whitelist-source");
+		});
+		when(appRegistryService.getAppMetadataResource(any())).thenReturn(new ClassPathResource("/apps/whitelist-source"));
+
+		AppDeploymentRequestCreator creator = new AppDeploymentRequestCreator(appRegistryService,
+				mock(CommonApplicationProperties.class), new BootApplicationConfigurationMetadataResolver(),
+				this.forkJoinPool, this.meterRegistry);
+		StreamDefinition streamDefinition = new StreamDefinition("ticktock", "time | transform | filter | log");
+
+		List<AppDeploymentRequest> requests = creator.createRequests(streamDefinition, new HashMap<>());
+
+		assertThat(requests).extracting(request -> request.getDefinition().getName())
+				.containsExactly("log", "filter", "transform", "time");
+		assertThat(this.meterRegistry.get(AppDeploymentRequestCreator.APP_RESOLUTION_TIMER).tag("type", "processor")
+				.timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void testConcurrentResolutionPropagatesResolutionErrors() {
+		AppRegistryService appRegistryService = mock(AppRegistryService.class);
+		when(appRegistryService.find(anyString(), any(ApplicationType.class))).thenAnswer(invocation ->
+				new AppRegistration(invocation.getArgument(0), invocation.getArgument(1),
+						URI.create("file:src/test/resources/apps/" + invocation.getArgument(0))));
+		when(appRegistryService.getAppResource(any())).thenThrow(new IllegalArgumentException("Cannot resolve app"));
+
+		AppDeploymentRequestCreator creator = new AppDeploymentRequestCreator(appRegistryService,
+				mock(CommonApplicationProperties.class), new BootApplicationConfigurationMetadataResolver(),
+				this.forkJoinPool, this.meterRegistry);
+
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("Cannot resolve app");
+
+		creator.createRequests(new StreamDefinition("ticktock", "time | log"), new HashMap<>());
+	}
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cloud.dataflow.core.AppRegistration;
+import org.springframework.cloud.dataflow.core.ApplicationType;
+import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
+import org.springframework.cloud.dataflow.registry.support.AppResourceCommon;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheEntry;
+import org.springframework.cloud.dataflow.server.service.AppResourceCacheProperties;
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultAppResourceCacheServiceTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private AppRegistryService appRegistryService;
+
+	private AppResourceCommon appResourceCommon;
+
+	private AppResourceCacheProperties properties;
+
+	private ForkJoinPool forkJoinPool;
+
+	private DefaultAppResourceCacheService appResourceCacheService;
+
+	@Before
+	public void setup() {
+		this.appRegistryService = mock(AppRegistryService.class);
+		this.appResourceCommon = mock(AppResourceCommon.class);
+		this.properties = new AppResourceCacheProperties();
+		this.forkJoinPool = new ForkJoinPool(2);
+		this.appResourceCacheService = new DefaultAppResourceCacheService(this.appRegistryService,
+				this.appResourceCommon, this.properties, this.forkJoinPool);
+	}
+
+	@Test
+	public void testWarmUpFetchesDefaultMavenVersionsOnly() throws IOException {
+		AppRegistration time = mavenRegistration("time", "2.0.0", true, 10);
+		AppRegistration oldTime = mavenRegistration("time", "1.0.0", false, 10);
+		AppRegistration log = registration("log", "docker:springcloudstream/log-sink-rabbit:2.0.0", true);
+		when(this.appResourceCommon.getResource(log.getUri().toString()))
+				.thenReturn(new DockerResource("springcloudstream/log-sink-rabbit:2.0.0"));
+
+		this.appResourceCacheService.warmUp(Arrays.asList(time, oldTime, log));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+		List<AppResourceCacheEntry> entries = this.appResourceCacheService.getEntries();
+		assertThat(entries).hasSize(1);
+		assertThat(entries.get(0).getUri()).isEqualTo("maven://org.springframework.cloud.stream.app:time:2.0.0");
+		assertThat(entries.get(0).isResident()).isTrue();
+		assertThat(entries.get(0).getSize()).isEqualTo(10);
+	}
+
+	@Test
+	public void testLeastRecentlyAccessedArtifactsAreEvicted() throws IOException {
+		this.properties.setMaxSize(25);
+		AppRegistration time = mavenRegistration("time", "2.0.0", true, 10);
+		AppRegistration log = mavenRegistration("log", "2.0.0", true, 10);
+		AppRegistration filter = mavenRegistration("filter", "2.0.0", true, 10);
+
+		this.appResourceCacheService.warmUp(Arrays.asList(time));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+		this.appResourceCacheService.warmUp(Arrays.asList(log));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+		File timeFile = this.appResourceCacheService.getEntries().get(0).getFile();
+		this.appResourceCacheService.warmUp(Arrays.asList(filter));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+		assertThat(this.appResourceCacheService.getEntries().stream().map(AppResourceCacheEntry::getUri)
+				.collect(Collectors.toList())).containsExactly(
+						"maven://org.springframework.cloud.stream.app:log:2.0.0",
+						"maven://org.springframework.cloud.stream.app:filter:2.0.0");
+		assertThat(timeFile).doesNotExist();
+	}
+
+	@Test
+	public void testResolvedArtifactsAreEvictedLast() throws IOException {
+		this.properties.setMaxSize(25);
+		this.properties.setInUsePeriodInSeconds(0);
+		AppRegistration time = mavenRegistration("time", "2.0.0", true, 10);
+		AppRegistration log = mavenRegistration("log", "2.0.0", true, 10);
+		AppRegistration filter = mavenRegistration("filter", "2.0.0", true, 10);
+
+		this.appResourceCacheService.warmUp(Arrays.asList(time));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+		this.appResourceCacheService.warmUp(Arrays.asList(log));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+		this.appResourceCacheService.recordAccess(time.getUri().toString());
+		this.appResourceCacheService.warmUp(Arrays.asList(filter));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+		assertThat(this.appResourceCacheService.getEntries().stream().map(AppResourceCacheEntry::getUri)
+				.collect(Collectors.toList())).containsExactly(
+						"maven://org.springframework.cloud.stream.app:time:2.0.0",
+						"maven://org.springframework.cloud.stream.app:filter:2.0.0");
+		assertThat(this.appResourceCacheService.getEntries().get(0).getLastResolved()).isNotNull();
+	}
+
+	@Test
+	public void testArtifactsInUseAreNotEvicted() throws IOException {
+		this.properties.setMaxSize(15);
+		AppRegistration time = mavenRegistration("time", "2.0.0", true, 10);
+		AppRegistration log = mavenRegistration("log", "2.0.0", true, 10);
+
+		this.appResourceCacheService.warmUp(Arrays.asList(time));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+		this.appResourceCacheService.recordAccess(time.getUri().toString());
+		this.appResourceCacheService.warmUp(Arrays.asList(log));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+		List<AppResourceCacheEntry> entries = this.appResourceCacheService.getEntries();
+		assertThat(entries.stream().map(AppResourceCacheEntry::getUri).collect(Collectors.toList()))
+				.containsExactly("maven://org.springframework.cloud.stream.app:time:2.0.0");
+		assertThat(entries.get(0).isResident()).isTrue();
+	}
+
+	@Test
+	public void testUnregisteredAppsAreRemoved() throws IOException {
+		AppRegistration time = mavenRegistration("time", "2.0.0", true, 10);
+		AppRegistration log = mavenRegistration("log", "2.0.0", true, 10);
+
+		this.appResourceCacheService.warmUp(Arrays.asList(time, log));
+		this.forkJoinPool.awaitQuiescence(10, TimeUnit.SECONDS);
+		this.appResourceCacheService.remove(time);
+
+		assertThat(this.appResourceCacheService.getEntries().stream().map(AppResourceCacheEntry::getUri)
+				.collect(Collectors.toList()))
+						.containsExactly("maven://org.springframework.cloud.stream.app:log:2.0.0");
+	}
+
+	private AppRegistration mavenRegistration(String name, String version, boolean defaultVersion, int size)
+			throws IOException {
+		AppRegistration registration = registration(name,
+				"maven://org.springframework.cloud.stream.app:" + name + ":" + version, defaultVersion);
+		File file = this.temporaryFolder.newFile(name + "-" + version + ".jar");
+		Files.write(file.toPath(), new byte[size]);
+		MavenResource resource = mock(MavenResource.class);
+		when(resource.getFile()).thenReturn(file);
+		when(this.appResourceCommon.getResource(registration.getUri().toString())).thenReturn(resource);
+		return registration;
+	}
+
+	private AppRegistration registration(String name, String uri, boolean defaultVersion) {
+		AppRegistration registration = new AppRegistration(name, ApplicationType.source, URI.create(uri));
+		registration.setDefaultVersion(defaultVersion);
+		return registration;
+	}
+}
@@ -19,6 +19,7 @@ package org.springframework.cloud.dataflow.server.service.impl;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -60,11 +61,13 @@ import org.springframework.cloud.scheduler.spi.core.ScheduleRequest;
 import org.springframework.cloud.scheduler.spi.core.Scheduler;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -227,14 +230,68 @@ public class DefaultSchedulerServiceTests {
 		assertThat(schedules.size()).isEqualTo(MAX_COUNT);
 	}
 
-	@Test(expected = UnsupportedOperationException.class)
+	@Test
 	public void testListPaginated() {
-		schedulerService.list(PageRequest.of(0, 1));
+		for (int i = 1; i <= 3; i++) {
+			schedulerService.schedule(BASE_SCHEDULE_NAME + i,
+					BASE_DEFINITION_NAME, this.testProperties, this.commandLineArgs);
+		}
+		Page<ScheduleInfo> page = schedulerService.list(PageRequest.of(1, 2));
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(page.getContent()).extracting(ScheduleInfo::getScheduleName)
+				.containsExactly(BASE_SCHEDULE_NAME + 3);
+		verifyScheduleExistsInScheduler(page.getContent().get(0));
 	}
 
-	@Test(expected = UnsupportedOperationException.class)
+	@Test
 	public void testListWithParamsPaginated() {
-		schedulerService.list(PageRequest.of(0, 1), BASE_DEFINITION_NAME);
+		taskDefinitionRepository.save(new TaskDefinition(BASE_DEFINITION_NAME + 1, "demo"));
+		schedulerService.schedule(BASE_SCHEDULE_NAME + 1,
+				BASE_DEFINITION_NAME, this.testProperties, this.commandLineArgs);
+		schedulerService.schedule(BASE_SCHEDULE_NAME + 2,
+				BASE_DEFINITION_NAME + 1, this.testProperties, this.commandLineArgs);
+		schedulerService.schedule(BASE_SCHEDULE_NAME + 3,
+				BASE_DEFINITION_NAME, this.testProperties, this.commandLineArgs);
+
+		Page<ScheduleInfo> page = schedulerService.list(PageRequest.of(0, 1), BASE_DEFINITION_NAME);
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(ScheduleInfo::getScheduleName)
+				.containsExactly(BASE_SCHEDULE_NAME + 1);
+	}
+
+	@Test
+	public void testListDoesNotQueryThePlatform() {
+		schedulerService.schedule(BASE_SCHEDULE_NAME + 1,
+				BASE_DEFINITION_NAME, this.testProperties, this.commandLineArgs);
+		((SimpleTestScheduler) simpleTestScheduler).getSchedules().clear();
+
+		assertThat(schedulerService.list()).extracting(ScheduleInfo::getScheduleName)
+				.containsExactly(BASE_SCHEDULE_NAME + 1);
+		assertThat(schedulerService.getSchedule(BASE_SCHEDULE_NAME + 1).getScheduleProperties())
+				.isEqualTo(this.resolvedProperties);
+	}
+
+	@Test
+	public void testReconcileWithThePlatform() {
+		schedulerService.schedule(BASE_SCHEDULE_NAME + 1,
+				BASE_DEFINITION_NAME, this.testProperties, this.commandLineArgs);
+		schedulerService.schedule(BASE_SCHEDULE_NAME + 2,
+				BASE_DEFINITION_NAME, this.testProperties, this.commandLineArgs);
+		List<ScheduleInfo> platformSchedules = ((SimpleTestScheduler) simpleTestScheduler).getSchedules();
+		platformSchedules.removeIf(scheduleInfo -> scheduleInfo.getScheduleName().equals(BASE_SCHEDULE_NAME + 1));
+		platformSchedules.get(0).setScheduleProperties(
+				Collections.singletonMap(SCHEDULER_PREFIX + "EXPRESSION", "0 * * * *"));
+		platformSchedules.add(createScheduleInfo(BASE_SCHEDULE_NAME + 3, CTR_DEFINITION_NAME));
+
+		((DefaultSchedulerService) schedulerService).reconcile();
+
+		assertThat(schedulerService.list(PageRequest.of(0, 10)).getContent())
+				.extracting(ScheduleInfo::getScheduleName)
+				.containsExactly(BASE_SCHEDULE_NAME + 2, BASE_SCHEDULE_NAME + 3);
+		assertThat(schedulerService.getSchedule(BASE_SCHEDULE_NAME + 2).getScheduleProperties())
+				.containsOnly(entry(SCHEDULER_PREFIX + "EXPRESSION", "0 * * * *"));
+		assertThat(schedulerService.list(CTR_DEFINITION_NAME)).extracting(ScheduleInfo::getScheduleName)
+				.containsExactly(BASE_SCHEDULE_NAME + 3);
 	}
 
 	@Test
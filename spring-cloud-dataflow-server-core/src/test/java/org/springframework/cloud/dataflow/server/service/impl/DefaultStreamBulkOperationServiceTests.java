@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.NoSuchStreamBulkOperationException;
+import org.springframework.cloud.dataflow.server.service.StreamBulkOperation;
+import org.springframework.cloud.dataflow.server.service.StreamService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultStreamBulkOperationServiceTests {
+
+	private final StreamService streamService = mock(StreamService.class);
+
+	private final StreamDefinitionRepository repository = mock(StreamDefinitionRepository.class);
+
+	private final ConcurrentLinkedQueue<String> calls = new ConcurrentLinkedQueue<>();
+
+	private List<StreamDefinition> definitions;
+
+	private ForkJoinPool forkJoinPool;
+
+	private DefaultStreamBulkOperationService service;
+
+	@Before
+	public void setup() {
+		this.definitions = Arrays.asList(
+				new StreamDefinition("tap", ":ticktock.time > log"),
+				new StreamDefinition("ticktock", "time | log"),
+				new StreamDefinition("tapOfTap", ":tap.log > log"),
+				new StreamDefinition("other", "http | log"));
+		when(this.repository.findAll()).thenReturn(this.definitions);
+		for (StreamDefinition definition : this.definitions) {
+			when(this.repository.findById(definition.getName())).thenReturn(Optional.of(definition));
+		}
+		when(this.repository.findById("missing")).thenReturn(Optional.empty());
+		doAnswer(invocation -> this.calls.add("deploy " + invocation.getArgument(0))).when(this.streamService)
+				.deployStream(anyString(), any());
+		doAnswer(invocation -> this.calls.add("undeploy " + invocation.getArgument(0))).when(this.streamService)
+				.undeployStream(anyString());
+		this.forkJoinPool = new ForkJoinPool(2);
+		this.service = new DefaultStreamBulkOperationService(this.streamService, this.repository, this.forkJoinPool);
+	}
+
+	@After
+	public void tearDown() {
+		this.forkJoinPool.shutdownNow();
+	}
+
+	@Test
+	public void testLevels() {
+		List<List<String>> levels = DefaultStreamBulkOperationService.levels(this.definitions).stream()
+				.map(level -> level.stream().map(StreamDefinition::getName).collect(Collectors.toList()))
+				.collect(Collectors.toList());
+		assertThat(levels).containsExactly(Arrays.asList("ticktock", "other"), Arrays.asList("tap"),
+				Arrays.asList("tapOfTap"));
+	}
+
+	@Test
+	public void testLevelsFollowNamedDestinations() {
+		List<StreamDefinition> definitions = Arrays.asList(
+				new StreamDefinition("consumer", ":orders > log"),
+				new StreamDefinition("producer", "http > :orders"),
+				new StreamDefinition("unrelated", ":payments > log"));
+		List<List<String>> levels = DefaultStreamBulkOperationService.levels(definitions).stream()
+				.map(level -> level.stream().map(StreamDefinition::getName).collect(Collectors.toList()))
+				.collect(Collectors.toList());
+		assertThat(levels).containsExactly(Arrays.asList("producer", "unrelated"), Arrays.asList("consumer"));
+	}
+
+	@Test
+	public void testRetainedOperationsAreBounded() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		doAnswer(invocation -> latch.await(10, TimeUnit.SECONDS)).when(this.streamService)
+				.deployStream(anyString(), any());
+		try {
+			StreamBulkOperation first = this.service.submit(StreamBulkOperation.Type.deploy,
+					Arrays.asList("other"), null, null);
+			for (int i = 0; i < DefaultStreamBulkOperationService.MAX_RETAINED_OPERATIONS; i++) {
+				this.service.submit(StreamBulkOperation.Type.deploy, Arrays.asList("other"), null, null);
+			}
+			assertThat(this.service.getOperations()).hasSize(DefaultStreamBulkOperationService.MAX_RETAINED_OPERATIONS);
+			assertThat(this.service.getOperations()).doesNotContain(first);
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void testDeployProducersBeforeConsumers() throws Exception {
+		StreamBulkOperation operation = await(this.service.submit(StreamBulkOperation.Type.deploy,
+				Arrays.asList("tap", "ticktock"), null, null));
+		assertThat(operation.getStatus()).isEqualTo(StreamBulkOperation.Status.SUCCEEDED);
+		assertThat(this.calls).containsExactly("deploy ticktock", "deploy tap");
+		assertThat(operation.getStreams()).extracting(StreamBulkOperation.StreamProgress::getName)
+				.containsExactly("ticktock", "tap");
+	}
+
+	@Test
+	public void testUndeployConsumersBeforeProducers() throws Exception {
+		StreamBulkOperation operation = await(this.service.submit(StreamBulkOperation.Type.undeploy,
+				null, "t*", null));
+		assertThat(operation.getStatus()).isEqualTo(StreamBulkOperation.Status.SUCCEEDED);
+		assertThat(this.calls).containsExactly("undeploy tapOfTap", "undeploy tap", "undeploy ticktock");
+	}
+
+	@Test
+	public void testFailuresAreReportedPerStream() throws Exception {
+		doThrow(new IllegalStateException("Skipper is down")).when(this.streamService).deleteStream("other");
+		StreamBulkOperation operation = await(this.service.submit(StreamBulkOperation.Type.destroy,
+				Arrays.asList("other", "ticktock"), null, null));
+		assertThat(operation.getStatus()).isEqualTo(StreamBulkOperation.Status.FAILED);
+		assertThat(operation.getStream("other").getStatus()).isEqualTo(StreamBulkOperation.Status.FAILED);
+		assertThat(operation.getStream("other").getMessage()).isEqualTo("Skipper is down");
+		assertThat(operation.getStream("ticktock").getStatus()).isEqualTo(StreamBulkOperation.Status.SUCCEEDED);
+		verify(this.streamService).deleteStream("ticktock");
+		assertThat(this.service.getOperation(operation.getId())).isSameAs(operation);
+		assertThat(this.service.getOperations()).containsExactly(operation);
+	}
+
+	@Test(expected = NoSuchStreamDefinitionException.class)
+	public void testUnknownStreamIsRejectedUpFront() {
+		try {
+			this.service.submit(StreamBulkOperation.Type.undeploy, Arrays.asList("ticktock", "missing"), null, null);
+		}
+		finally {
+			verify(this.streamService, never()).undeployStream(anyString());
+		}
+	}
+
+	@Test(expected = NoSuchStreamBulkOperationException.class)
+	public void testUnknownOperation() {
+		this.service.getOperation("unknown");
+	}
+
+	private StreamBulkOperation await(StreamBulkOperation operation) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (operation.getEndTime() == null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(operation.getEndTime()).isNotNull();
+		return operation;
+	}
+}
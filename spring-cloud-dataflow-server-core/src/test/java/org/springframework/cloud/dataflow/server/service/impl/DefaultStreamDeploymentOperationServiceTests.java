@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.server.repository.NoSuchStreamDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.service.NoSuchStreamDeploymentOperationException;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperation;
+import org.springframework.cloud.dataflow.server.service.StreamDeploymentOperationProperties;
+import org.springframework.cloud.dataflow.server.service.StreamService;
+import org.springframework.cloud.dataflow.server.stream.StreamDeploymentPhase;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultStreamDeploymentOperationServiceTests {
+
+	private final StreamService streamService = mock(StreamService.class);
+
+	private final StreamDefinitionRepository repository = mock(StreamDefinitionRepository.class);
+
+	private final StreamDefinition ticktock = new StreamDefinition("ticktock", "time | log");
+
+	private final StreamDeploymentOperationProperties properties = new StreamDeploymentOperationProperties();
+
+	private ForkJoinPool forkJoinPool;
+
+	private DefaultStreamDeploymentOperationService service;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		when(this.repository.findById("ticktock")).thenReturn(Optional.of(this.ticktock));
+		when(this.repository.findById("missing")).thenReturn(Optional.empty());
+		doAnswer(invocation -> {
+			Consumer<StreamDeploymentPhase> phaseListener = invocation.getArgument(2);
+			phaseListener.accept(StreamDeploymentPhase.RESOLVE);
+			phaseListener.accept(StreamDeploymentPhase.PACKAGE);
+			phaseListener.accept(StreamDeploymentPhase.UPLOAD);
+			phaseListener.accept(StreamDeploymentPhase.INSTALL);
+			return null;
+		}).when(this.streamService).deployStream(eq("ticktock"), any(), any(Consumer.class));
+		this.properties.setConvergePollIntervalInMillis(10);
+		this.forkJoinPool = new ForkJoinPool(2);
+		this.service = new DefaultStreamDeploymentOperationService(this.streamService, this.repository,
+				this.properties, this.forkJoinPool);
+	}
+
+	@After
+	public void tearDown() {
+		this.service.destroy();
+		this.forkJoinPool.shutdownNow();
+	}
+
+	@Test
+	public void testPhasesAreTrackedUntilConverged() throws Exception {
+		when(this.streamService.state(anyList()))
+				.thenReturn(Collections.singletonMap(this.ticktock, DeploymentState.deploying))
+				.thenReturn(Collections.singletonMap(this.ticktock, DeploymentState.deployed));
+		StreamDeploymentOperation operation = await(this.service.submit("ticktock", null));
+		assertThat(operation.getStatus()).isEqualTo(StreamDeploymentOperation.Status.SUCCEEDED);
+		assertThat(operation.getPhases()).extracting(StreamDeploymentOperation.PhaseProgress::getPhase)
+				.containsExactly(StreamDeploymentPhase.RESOLVE, StreamDeploymentPhase.PACKAGE,
+						StreamDeploymentPhase.UPLOAD, StreamDeploymentPhase.INSTALL, StreamDeploymentPhase.CONVERGE);
+		assertThat(operation.getPhases()).allSatisfy(phase -> {
+			assertThat(phase.getEndTime()).isNotNull();
+			assertThat(phase.getEndTime()).isAfterOrEqualsTo(phase.getStartTime());
+		});
+		assertThat(this.service.getOperation(operation.getId())).isSameAs(operation);
+	}
+
+	@Test
+	public void testFailureKeepsThePhase() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<StreamDeploymentPhase> phaseListener = invocation.getArgument(2);
+			phaseListener.accept(StreamDeploymentPhase.RESOLVE);
+			phaseListener.accept(StreamDeploymentPhase.PACKAGE);
+			phaseListener.accept(StreamDeploymentPhase.UPLOAD);
+			throw new IllegalStateException("Skipper is down");
+		}).when(this.streamService).deployStream(eq("ticktock"), any(), any());
+		StreamDeploymentOperation operation = await(this.service.submit("ticktock", null));
+		assertThat(operation.getStatus()).isEqualTo(StreamDeploymentOperation.Status.FAILED);
+		assertThat(operation.getMessage()).isEqualTo("Skipper is down");
+		assertThat(operation.getCurrentPhase()).isEqualTo(StreamDeploymentPhase.UPLOAD);
+		verify(this.streamService, never()).state(anyList());
+	}
+
+	@Test
+	public void testConvergeTimesOut() throws Exception {
+		this.properties.setConvergeTimeoutInSeconds(1);
+		when(this.streamService.state(anyList()))
+				.thenReturn(Collections.singletonMap(this.ticktock, DeploymentState.deploying));
+		StreamDeploymentOperation operation = await(this.service.submit("ticktock", null));
+		assertThat(operation.getStatus()).isEqualTo(StreamDeploymentOperation.Status.FAILED);
+		assertThat(operation.getCurrentPhase()).isEqualTo(StreamDeploymentPhase.CONVERGE);
+		assertThat(operation.getMessage()).contains("Timed out");
+	}
+
+	@Test
+	public void testConvergeDoesNotHoldPoolThreads() throws Exception {
+		this.properties.setConvergeTimeoutInSeconds(1);
+		this.properties.setConvergePollIntervalInMillis(200);
+		when(this.streamService.state(anyList()))
+				.thenReturn(Collections.singletonMap(this.ticktock, DeploymentState.deploying));
+		StreamDeploymentOperation first = this.service.submit("ticktock", null);
+		StreamDeploymentOperation second = this.service.submit("ticktock", null);
+		StreamDeploymentOperation third = this.service.submit("ticktock", null);
+		Thread.sleep(100);
+		assertThat(third.getCurrentPhase()).isEqualTo(StreamDeploymentPhase.CONVERGE);
+		await(first);
+		await(second);
+		await(third);
+	}
+
+	@Test
+	public void testConvergeCanBeSkipped() throws Exception {
+		this.properties.setConvergeTimeoutInSeconds(0);
+		StreamDeploymentOperation operation = await(this.service.submit("ticktock", null));
+		assertThat(operation.getStatus()).isEqualTo(StreamDeploymentOperation.Status.SUCCEEDED);
+		assertThat(operation.getCurrentPhase()).isEqualTo(StreamDeploymentPhase.INSTALL);
+		verify(this.streamService, never()).state(anyList());
+	}
+
+	@Test(expected = NoSuchStreamDefinitionException.class)
+	public void testUnknownStreamIsRejectedUpFront() {
+		this.service.submit("missing", null);
+	}
+
+	@Test(expected = NoSuchStreamDeploymentOperationException.class)
+	public void testUnknownOperation() {
+		this.service.getOperation("unknown");
+	}
+
+	private StreamDeploymentOperation await(StreamDeploymentOperation operation) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (operation.getEndTime() == null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(operation.getEndTime()).isNotNull();
+		return operation;
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cloud.dataflow.core.AppRegistration;
+import org.springframework.cloud.dataflow.core.ApplicationType;
+import org.springframework.cloud.dataflow.core.TaskDefinition;
+import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultTaskExecutionInfoServiceTests {
+
+	private final AppRegistryService appRegistry = mock(AppRegistryService.class);
+
+	private final TaskDefinitionRepository taskDefinitionRepository = mock(TaskDefinitionRepository.class);
+
+	private DefaultTaskExecutionInfoService service;
+
+	@Before
+	public void setup() {
+		this.service = new DefaultTaskExecutionInfoService(new DataSourceProperties(), this.appRegistry,
+				mock(TaskExplorer.class), this.taskDefinitionRepository, new TaskConfigurationProperties());
+		when(this.appRegistry.find("timestamp", ApplicationType.task)).thenReturn(
+				new AppRegistration("timestamp", ApplicationType.task, URI.create("file:src/test/resources/apps/foo-task")));
+		when(this.appRegistry.getAppResource(any())).thenReturn(new FileSystemResource("src/test/resources/apps/foo-task"));
+		define("timestamp --format=yyyy");
+	}
+
+	@Test
+	public void testLaunchPlanIsReusedAcrossLaunches() {
+		TaskExecutionInformation first = this.service.findTaskExecutionInformation("demo", new HashMap<>());
+		TaskExecutionInformation second = this.service.findTaskExecutionInformation("demo", new HashMap<>());
+
+		assertThat(second.getLaunchPlan()).isSameAs(first.getLaunchPlan());
+		assertThat(second.getTaskDefinition().getProperties()).containsEntry("format", "yyyy");
+		assertThat(second.getAppResource()).isSameAs(first.getAppResource());
+		verify(this.appRegistry, times(1)).getAppResource(any());
+		verify(this.appRegistry, times(2)).find("timestamp", ApplicationType.task);
+	}
+
+	@Test
+	public void testLaunchPlanIsReplacedWhenTheDefinitionChanges() {
+		TaskLaunchPlan first = this.service.findTaskExecutionInformation("demo", new HashMap<>()).getLaunchPlan();
+		define("timestamp --format=dd");
+
+		TaskExecutionInformation second = this.service.findTaskExecutionInformation("demo", new HashMap<>());
+
+		assertThat(second.getLaunchPlan()).isNotSameAs(first);
+		assertThat(second.getTaskDefinition().getProperties()).containsEntry("format", "dd");
+	}
+
+	@Test
+	public void testLaunchPlanIsReplacedWhenTheRegistrationChanges() {
+		TaskLaunchPlan first = this.service.findTaskExecutionInformation("demo", new HashMap<>()).getLaunchPlan();
+		when(this.appRegistry.find("timestamp", ApplicationType.task)).thenReturn(new AppRegistration("timestamp",
+				ApplicationType.task, "2.0.0", URI.create("file:src/test/resources/apps/foo-task"), null));
+
+		TaskLaunchPlan second = this.service.findTaskExecutionInformation("demo", new HashMap<>()).getLaunchPlan();
+
+		assertThat(second).isNotSameAs(first);
+		verify(this.appRegistry, times(2)).getAppResource(any());
+	}
+
+	@Test
+	public void testEvictedLaunchPlanIsMadeAgain() {
+		TaskLaunchPlan first = this.service.findTaskExecutionInformation("demo", new HashMap<>()).getLaunchPlan();
+		this.service.evictLaunchPlans(Collections.singleton("demo"));
+
+		TaskLaunchPlan second = this.service.findTaskExecutionInformation("demo", new HashMap<>()).getLaunchPlan();
+
+		assertThat(second).isNotSameAs(first);
+		verify(this.appRegistry, times(2)).getAppResource(any());
+	}
+
+	@Test
+	public void testComposedTaskPropertiesAreMergedPerLaunch() {
+		when(this.appRegistry.find("composed-task-runner", ApplicationType.task)).thenReturn(new AppRegistration(
+				"composed-task-runner", ApplicationType.task, URI.create("file:src/test/resources/apps/foo-task")));
+		define("a: timestamp && b: timestamp");
+		HashMap<String, String> properties = new HashMap<>();
+		properties.put("app.demo.a.format", "yyyy");
+
+		TaskExecutionInformation first = this.service.findTaskExecutionInformation("demo", properties);
+		TaskExecutionInformation second = this.service.findTaskExecutionInformation("demo", new HashMap<>());
+
+		assertThat(first.isComposed()).isTrue();
+		assertThat(second.getLaunchPlan()).isSameAs(first.getLaunchPlan());
+		assertThat(first.getTaskDeploymentProperties())
+				.containsKey("app.composed-task-runner.composed-task-properties");
+		assertThat(second.getTaskDeploymentProperties())
+				.doesNotContainKey("app.composed-task-runner.composed-task-properties");
+	}
+
+	@Test
+	public void testDeletedDefinitionIsRejected() {
+		this.service.findTaskExecutionInformation("demo", new HashMap<>());
+		when(this.taskDefinitionRepository.findById("demo")).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> this.service.findTaskExecutionInformation("demo", new HashMap<>()))
+				.isInstanceOf(NoSuchTaskDefinitionException.class);
+	}
+
+	private void define(String dsl) {
+		when(this.taskDefinitionRepository.findById("demo")).thenReturn(Optional.of(new TaskDefinition("demo", dsl)));
+	}
+}
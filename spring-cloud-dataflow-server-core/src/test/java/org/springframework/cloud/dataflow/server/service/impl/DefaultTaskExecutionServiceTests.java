@@ -17,9 +17,18 @@
 package org.springframework.cloud.dataflow.server.service.impl;
 
 import java.net.URI;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -39,6 +48,7 @@ import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.Launcher;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.TaskDeployment;
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
 import org.springframework.cloud.dataflow.registry.service.AppRegistryService;
 import org.springframework.cloud.dataflow.server.configuration.TaskServiceDependencies;
 import org.springframework.cloud.dataflow.server.job.LauncherRepository;
@@ -46,21 +56,28 @@ import org.springframework.cloud.dataflow.server.repository.DuplicateTaskExcepti
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDeploymentRepository;
+import org.springframework.cloud.dataflow.server.service.TaskDeleteResult;
 import org.springframework.cloud.dataflow.server.service.TaskDeleteService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionCreationService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionInfoService;
 import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueueService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchQueuedException;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchResult;
 import org.springframework.cloud.dataflow.server.service.TaskSaveService;
 import org.springframework.cloud.dataflow.server.service.TaskValidationService;
 import org.springframework.cloud.dataflow.server.service.ValidationStatus;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.task.TaskLauncher;
+import org.springframework.cloud.task.repository.TaskExecution;
 import org.springframework.cloud.task.repository.TaskExplorer;
 import org.springframework.cloud.task.repository.TaskRepository;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.core.Is.is;
@@ -72,9 +89,12 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -145,6 +165,9 @@ public abstract class DefaultTaskExecutionServiceTests {
 	@Autowired
 	TaskAppDeploymentRequestCreator taskAppDeploymentRequestCreator;
 
+	@Autowired
+	DataSource dataSource;
+
 	@TestPropertySource(properties = { "spring.cloud.dataflow.task.maximum-concurrent-tasks=10" })
 	@AutoConfigureTestDatabase(replace = Replace.ANY)
 	public static class SimpleTaskTests extends DefaultTaskExecutionServiceTests {
@@ -179,6 +202,22 @@ public abstract class DefaultTaskExecutionServiceTests {
 			assertNotNull("TaskDeployment createdOn field should not be null", taskDeployment.getCreatedOn());
 		}
 
+		@Test
+		@DirtiesContext
+		public void deleteTaskDefinitionEvictsItsLaunchPlan() {
+			initializeSuccessfulRegistry(appRegistry);
+			when(taskLauncher.launch(any())).thenReturn("0");
+			this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+			this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+			verify(appRegistry, times(1)).getAppResource(any());
+
+			taskDeleteService.deleteTaskDefinition(TASK_NAME_ORIG);
+			taskDefinitionRepository.save(new TaskDefinition(TASK_NAME_ORIG, "demo"));
+			this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+
+			verify(appRegistry, times(2)).getAppResource(any());
+		}
+
 		@Test
 		@DirtiesContext
 		public void executeMultipleTasksTest() {
@@ -188,6 +227,66 @@ public abstract class DefaultTaskExecutionServiceTests {
 			assertEquals(2L, this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>()));
 		}
 
+		@Test
+		@DirtiesContext
+		public void cleanupExecutionsInBulk() {
+			initializeSuccessfulRegistry(appRegistry);
+			when(taskLauncher.launch(any())).thenReturn("1", "2");
+			long first = this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+			long second = this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+
+			List<TaskDeleteResult> results = this.taskDeleteService.cleanupExecutions(Arrays.asList(first, second, 99L));
+
+			assertEquals(Arrays.asList(first, second, 99L),
+					results.stream().map(TaskDeleteResult::getExecutionId).collect(Collectors.toList()));
+			assertTrue(results.get(0).isSuccessful());
+			assertTrue(results.get(1).isSuccessful());
+			assertEquals("There was no task execution with id 99", results.get(2).getErrorMessage());
+			verify(taskLauncher).cleanup("1");
+			verify(taskLauncher).cleanup("2");
+		}
+
+		@Test
+		@DirtiesContext
+		public void cleanupExecutionsInBulkUnderTaskTablePrefix() {
+			initializeSuccessfulRegistry(appRegistry);
+			when(taskLauncher.launch(any())).thenReturn("1", "2");
+			long first = this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+			long second = this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+			jdbcTemplate.execute("CREATE TABLE CUSTOM_EXECUTION AS SELECT * FROM TASK_EXECUTION");
+			jdbcTemplate.update("DELETE FROM CUSTOM_EXECUTION WHERE TASK_EXECUTION_ID = ?", second);
+			((DefaultTaskDeleteService) this.taskDeleteService).setTaskTablePrefix("CUSTOM_");
+
+			List<TaskDeleteResult> results = this.taskDeleteService.cleanupExecutions(Arrays.asList(first, second));
+
+			assertTrue(results.get(0).isSuccessful());
+			assertEquals("There was no task execution with id " + second, results.get(1).getErrorMessage());
+			verify(taskLauncher).cleanup("1");
+			verify(taskLauncher, never()).cleanup("2");
+		}
+
+		@Test
+		@DirtiesContext
+		public void cleanupCompletedExecutionsInRange() {
+			initializeSuccessfulRegistry(appRegistry);
+			when(taskLauncher.launch(any())).thenReturn("1", "2");
+			long completed = this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+			this.taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
+			this.taskRepository.completeTaskExecution(completed, 0, new Date(), null);
+
+			List<TaskDeleteResult> results = this.taskDeleteService
+					.cleanupExecutions(Instant.now().minus(1, ChronoUnit.HOURS), null);
+
+			assertEquals(1, results.size());
+			assertEquals(Long.valueOf(completed), results.get(0).getExecutionId());
+			assertTrue(results.get(0).isSuccessful());
+			verify(taskLauncher).cleanup("1");
+			verify(taskLauncher, never()).cleanup("2");
+			assertTrue(this.taskDeleteService.cleanupExecutions(null, Instant.now().minus(1, ChronoUnit.HOURS))
+					.isEmpty());
+		}
+
 		@Test
 		@DirtiesContext
 		public void executeSameTaskDefinitionOnMultiplePlatforms() {
@@ -226,6 +325,93 @@ public abstract class DefaultTaskExecutionServiceTests {
 			taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>());
 		}
 
+		@Test
+		@DirtiesContext
+		public void queueOnLimitReached() {
+			initializeSuccessfulRegistry(this.appRegistry);
+			when(taskLauncher.launch(any())).thenReturn("0");
+			TaskLaunchQueueService taskLaunchQueueService = mock(TaskLaunchQueueService.class);
+			TaskLaunchQueueEntry entry = new TaskLaunchQueueEntry();
+			entry.setTaskName(TASK_NAME_ORIG);
+			Map<String, String> properties = new HashMap<>();
+			properties.put(DefaultTaskExecutionService.TASK_PLATFORM_NAME, "default");
+			List<String> arguments = Arrays.asList("--foo=bar");
+			when(taskLaunchQueueService.enqueue(TASK_NAME_ORIG, properties, arguments, 0)).thenReturn(entry);
+			when(taskLaunchQueueService.getPosition(entry)).thenReturn(3L);
+			DefaultTaskExecutionService target = AopTestUtils.getTargetObject(taskExecutionService);
+			target.setTaskLaunchQueueService(taskLaunchQueueService);
+			for (long i = 1; i <= taskExecutionInfoService.getMaximumConcurrentTasks(); i++) {
+				assertEquals(i, taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(), new LinkedList<>()));
+			}
+			verify(taskLaunchQueueService, never()).enqueue(anyString(), any(), any(), anyInt());
+
+			try {
+				taskExecutionService.executeTask(TASK_NAME_ORIG, new HashMap<>(properties), arguments);
+				fail();
+			}
+			catch (TaskLaunchQueuedException e) {
+				assertEquals(entry, e.getEntry());
+				assertEquals(3L, e.getPosition());
+			}
+			verify(taskLaunchQueueService).enqueue(TASK_NAME_ORIG, properties, arguments, 0);
+		}
+
+		@Test
+		@DirtiesContext
+		public void executeBulkTasksTest() {
+			initializeSuccessfulRegistry(appRegistry);
+			when(taskLauncher.launch(any())).thenReturn("0");
+
+			List<TaskLaunchResult> results = this.taskExecutionService.executeTasks(TASK_NAME_ORIG, new HashMap<>(),
+					Arrays.asList(Arrays.asList("--partition=1"), Arrays.asList("--partition=2"),
+							Arrays.asList("--partition=3")));
+
+			assertEquals(3, results.size());
+			for (int i = 0; i < results.size(); i++) {
+				assertTrue(results.get(i).isLaunched());
+				assertEquals(i, results.get(i).getIndex());
+				TaskExecution taskExecution = taskExplorer.getTaskExecution(results.get(i).getExecutionId());
+				assertEquals("0", taskExecution.getExternalExecutionId());
+			}
+			ArgumentCaptor<AppDeploymentRequest> argument = ArgumentCaptor.forClass(AppDeploymentRequest.class);
+			verify(this.taskLauncher, times(3)).launch(argument.capture());
+			assertThat(argument.getAllValues().stream().map(request -> request.getCommandlineArguments().get(0))
+					.sorted().collect(Collectors.toList()),
+					is(Arrays.asList("--partition=1", "--partition=2", "--partition=3")));
+			assertEquals(3, taskDeploymentRepository.count());
+		}
+
+		@Test
+		@DirtiesContext
+		public void executeBulkTasksReportsFailuresPerLaunch() {
+			initializeSuccessfulRegistry(appRegistry);
+			when(taskLauncher.launch(any())).thenAnswer(invocation -> {
+				AppDeploymentRequest request = invocation.getArgument(0);
+				if (request.getCommandlineArguments().contains("--fail")) {
+					throw new IllegalStateException("rejected by the platform");
+				}
+				return "0";
+			});
+			List<List<String>> commandLineArgs = new ArrayList<>();
+			for (int i = 0; i < 11; i++) {
+				commandLineArgs.add(Arrays.asList(i == 1 ? "--fail" : "--partition=" + i));
+			}
+
+			List<TaskLaunchResult> results = this.taskExecutionService.executeTasks(TASK_NAME_ORIG, new HashMap<>(),
+					commandLineArgs);
+
+			assertEquals(9, results.stream().filter(TaskLaunchResult::isLaunched).count());
+			TaskLaunchResult failed = results.get(1);
+			assertFalse(failed.isLaunched());
+			assertEquals("rejected by the platform", failed.getErrorMessage());
+			assertNotNull(taskExplorer.getTaskExecution(failed.getExecutionId()).getEndTime());
+			TaskLaunchResult declined = results.get(10);
+			assertFalse(declined.isLaunched());
+			assertNull(declined.getExecutionId());
+			assertEquals("The maximum concurrent task executions [10] is at its limit.", declined.getErrorMessage());
+			assertEquals(9, taskDeploymentRepository.count());
+		}
+
 		@Test
 		@DirtiesContext
 		public void executeTaskWithNullIDReturnedTest() {
@@ -452,8 +638,10 @@ public abstract class DefaultTaskExecutionServiceTests {
 			verifyTaskExistsInRepo("deleteTask2", taskDsl2, taskDefinitionRepository);
 
 			long preDeleteSize = taskDefinitionRepository.count();
-			taskDeleteService.deleteAll();
+			List<TaskDeleteResult> results = taskDeleteService.deleteAll();
 			assertThat(preDeleteSize - 5, is(equalTo(taskDefinitionRepository.count())));
+			assertThat(results.size(), is(5));
+			assertTrue(results.stream().allMatch(TaskDeleteResult::isSuccessful));
 		}
 
 		@Test
@@ -472,6 +660,26 @@ public abstract class DefaultTaskExecutionServiceTests {
 			assertThat(preDeleteSize - 4, is(equalTo(taskDefinitionRepository.count())));
 		}
 
+		@Test
+		@DirtiesContext
+		public void deleteComposedTasksInBulk() {
+			initializeSuccessfulRegistry(appRegistry);
+			taskSaveService.saveTaskDefinition("deleteTask1", "AAA && BBB");
+			taskSaveService.saveTaskDefinition("deleteTask2", "DDD");
+			long preDeleteSize = taskDefinitionRepository.count();
+
+			List<TaskDeleteResult> results = taskDeleteService
+					.deleteTaskDefinitions(Arrays.asList("deleteTask1", "unknown"));
+
+			assertThat(preDeleteSize - 3, is(equalTo(taskDefinitionRepository.count())));
+			verifyTaskExistsInRepo("deleteTask2", "DDD", taskDefinitionRepository);
+			assertEquals(Arrays.asList("deleteTask1", "deleteTask1-AAA", "deleteTask1-BBB", "unknown"),
+					results.stream().map(TaskDeleteResult::getTaskName).collect(Collectors.toList()));
+			assertTrue(results.get(0).isSuccessful());
+			assertTrue(results.get(2).isSuccessful());
+			assertEquals("Could not find task definition named unknown", results.get(3).getErrorMessage());
+		}
+
 		@Test
 		@DirtiesContext
 		public void deleteComposedTaskMissingChildTasks() {
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.core.Launcher;
+import org.springframework.cloud.dataflow.core.TaskDeployment;
+import org.springframework.cloud.dataflow.server.job.LauncherRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskDeploymentRepository;
+import org.springframework.cloud.deployer.spi.task.LaunchState;
+import org.springframework.cloud.deployer.spi.task.TaskLauncher;
+import org.springframework.cloud.deployer.spi.task.TaskStatus;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.data.domain.PageImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class DefaultTaskLaunchAdmissionServiceTests {
+
+	private final TaskExplorer taskExplorer = mock(TaskExplorer.class);
+
+	private final LauncherRepository launcherRepository = mock(LauncherRepository.class);
+
+	private final TaskDeploymentRepository taskDeploymentRepository = mock(TaskDeploymentRepository.class);
+
+	private final TaskLauncher taskLauncher = mock(TaskLauncher.class);
+
+	private final ScheduledExecutorService reconciler = mock(ScheduledExecutorService.class);
+
+	private final TaskConfigurationProperties properties = new TaskConfigurationProperties();
+
+	private DefaultTaskLaunchAdmissionService service;
+
+	@Before
+	public void setup() {
+		this.properties.setMaximumConcurrentTasks(5);
+		this.properties.getPlatformMaximumConcurrentTasks().put("small", 1L);
+		when(this.launcherRepository.findByName("default"))
+				.thenReturn(new Launcher("default", "local", this.taskLauncher));
+		this.service = new DefaultTaskLaunchAdmissionService(this.taskExplorer, this.launcherRepository,
+				this.taskDeploymentRepository, this.properties, new SimpleMeterRegistry(), this.reconciler);
+		this.service.setBindGracePeriodInMillis(0);
+	}
+
+	@After
+	public void tearDown() {
+		this.service.destroy();
+	}
+
+	@Test
+	public void testParallelAcquiresDoNotOvershootTheLimit() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Boolean>> acquires = new ArrayList<>();
+			for (int i = 0; i < 40; i++) {
+				acquires.add(() -> {
+					try {
+						this.service.acquire("default");
+						return true;
+					}
+					catch (IllegalStateException e) {
+						return false;
+					}
+				});
+			}
+			int admitted = 0;
+			for (Future<Boolean> result : executorService.invokeAll(acquires)) {
+				admitted += result.get() ? 1 : 0;
+			}
+			assertThat(admitted).isEqualTo(5);
+			assertThat(this.service.getRunningExecutionCount()).isEqualTo(5);
+			assertThat(this.service.getRunningExecutionCount("default")).isEqualTo(5);
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPlatformLimit() {
+		this.service.acquire("small");
+		assertThatThrownBy(() -> this.service.acquire("small")).isInstanceOf(IllegalStateException.class)
+				.hasMessage("The maximum concurrent task executions [1] of platform [small] is at its limit.");
+		this.service.acquire("default");
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(2);
+		assertThat(this.service.getRunningExecutionCount("small")).isEqualTo(1);
+		this.service.release("small");
+		this.service.acquire("small");
+	}
+
+	@Test
+	public void testEndedExecutionsAreReleased() {
+		for (long executionId = 1; executionId <= 5; executionId++) {
+			this.service.acquire("default");
+			this.service.bind("default", executionId);
+			when(this.taskExplorer.getTaskExecution(executionId)).thenReturn(execution(executionId, null));
+		}
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(5L);
+		assertThatThrownBy(() -> this.service.acquire("default")).isInstanceOf(IllegalStateException.class)
+				.hasMessage("The maximum concurrent task executions [5] is at its limit.");
+
+		when(this.taskExplorer.getTaskExecution(1L)).thenReturn(execution(1L, new Date()));
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(4L);
+		this.service.reconcile();
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(4);
+		this.service.acquire("default");
+	}
+
+	@Test
+	public void testExecutionsEndedOnTheLauncherAreReleased() {
+		this.service.acquire("default");
+		this.service.bind("default", 1L);
+		when(this.taskExplorer.getTaskExecution(1L)).thenReturn(execution(1L, null));
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(1L);
+		when(this.taskLauncher.status("launch-1"))
+				.thenReturn(new TaskStatus("launch-1", LaunchState.failed, Collections.emptyMap()));
+		this.service.reconcile();
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(0);
+		assertThat(this.service.getRunningExecutionCount("default")).isEqualTo(0);
+	}
+
+	@Test
+	public void testExternalExecutionsAreCounted() {
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(4L);
+		this.service.reconcile();
+		this.service.acquire("default");
+		this.service.bind("default", 1L);
+		when(this.taskExplorer.getTaskExecution(1L)).thenReturn(execution(1L, null));
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(5);
+		assertThatThrownBy(() -> this.service.acquire("default")).isInstanceOf(IllegalStateException.class);
+
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(2L);
+		this.service.reconcile();
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testExternalExecutionsAreCountedOnTheirPlatform() {
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(1L);
+		when(this.taskExplorer.getTaskNames()).thenReturn(Collections.singletonList("task"));
+		when(this.taskExplorer.findRunningTaskExecutions(eq("task"), any()))
+				.thenReturn(new PageImpl<>(Collections.singletonList(execution(7L, null))));
+		when(this.taskDeploymentRepository.findByTaskDeploymentIdIn(Collections.singletonList("launch-7")))
+				.thenReturn(Collections.singletonList(deployment("launch-7", "small")));
+		this.service.reconcile();
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(1);
+		assertThat(this.service.getRunningExecutionCount("small")).isEqualTo(1);
+		assertThatThrownBy(() -> this.service.acquire("small")).isInstanceOf(IllegalStateException.class)
+				.hasMessage("The maximum concurrent task executions [1] of platform [small] is at its limit.");
+
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(0L);
+		this.service.reconcile();
+		assertThat(this.service.getRunningExecutionCount("small")).isEqualTo(0);
+		this.service.acquire("small");
+	}
+
+	@Test
+	public void testPendingLaunchesAreNotCountedAsExternal() {
+		this.service.acquire("default");
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(1L);
+		this.service.reconcile();
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(1);
+
+		this.service.bind("default", 1L);
+		when(this.taskExplorer.getTaskExecution(1L)).thenReturn(execution(1L, null));
+		this.service.reconcile();
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testAdmittedAcquireDoesNotReconcile() {
+		for (int i = 0; i < 5; i++) {
+			this.service.acquire("default");
+		}
+		verifyZeroInteractions(this.taskExplorer, this.launcherRepository, this.taskDeploymentRepository);
+	}
+
+	@Test
+	public void testRejectedAcquireReconcilesFirst() {
+		for (long executionId = 1; executionId <= 5; executionId++) {
+			this.service.acquire("default");
+			this.service.bind("default", executionId);
+			when(this.taskExplorer.getTaskExecution(executionId)).thenReturn(execution(executionId, null));
+		}
+		when(this.taskExplorer.getTaskExecution(1L)).thenReturn(execution(1L, new Date()));
+		when(this.taskExplorer.getRunningTaskExecutionCount()).thenReturn(4L);
+
+		this.service.acquire("default");
+		assertThat(this.service.getRunningExecutionCount()).isEqualTo(5);
+
+		assertThatThrownBy(() -> this.service.acquire("default")).isInstanceOf(IllegalStateException.class);
+		verify(this.taskExplorer, times(1)).getRunningTaskExecutionCount();
+	}
+
+	@Test
+	public void testReconcilesOnASchedule() {
+		verify(this.reconciler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any());
+		verify(this.taskExplorer, never()).getRunningTaskExecutionCount();
+	}
+
+	private static TaskDeployment deployment(String taskDeploymentId, String platformName) {
+		TaskDeployment taskDeployment = new TaskDeployment();
+		taskDeployment.setTaskDeploymentId(taskDeploymentId);
+		taskDeployment.setPlatformName(platformName);
+		taskDeployment.setTaskDefinitionName("task");
+		return taskDeployment;
+	}
+
+	private static TaskExecution execution(long executionId, Date endTime) {
+		return new TaskExecution(executionId, null, "task", new Date(), endTime, null, Collections.emptyList(),
+				null, "launch-" + executionId);
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.dataflow.core.TaskDefinition;
+import org.springframework.cloud.dataflow.core.TaskLaunchQueueEntry;
+import org.springframework.cloud.dataflow.server.configuration.TaskServiceDependencies;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.NoSuchTaskLaunchQueueEntryException;
+import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskLaunchQueueRepository;
+import org.springframework.cloud.dataflow.server.service.TaskExecutionService;
+import org.springframework.cloud.dataflow.server.service.TaskLaunchLimitExceededException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TaskServiceDependencies.class }, properties = {
+		"spring.main.allow-bean-definition-overriding=true" })
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+public class DefaultTaskLaunchQueueServiceTests {
+
+	@Autowired
+	private TaskLaunchQueueRepository taskLaunchQueueRepository;
+
+	@Autowired
+	private TaskDefinitionRepository taskDefinitionRepository;
+
+	private final TaskExecutionService taskExecutionService = mock(TaskExecutionService.class);
+
+	private final ScheduledExecutorService dispatcher = mock(ScheduledExecutorService.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final TaskConfigurationProperties properties = new TaskConfigurationProperties();
+
+	private DefaultTaskLaunchQueueService service;
+
+	@Before
+	public void setup() {
+		for (String name : Arrays.asList("a", "b", "c")) {
+			this.taskDefinitionRepository.save(new TaskDefinition(name, "demo"));
+		}
+		this.properties.setLaunchQueueDispatchIntervalInMillis(0);
+		this.properties.setLaunchQueueMaxAttempts(2);
+		this.service = new DefaultTaskLaunchQueueService(this.taskLaunchQueueRepository,
+				this.taskDefinitionRepository, this.taskExecutionService, this.properties, this.meterRegistry,
+				this.dispatcher);
+	}
+
+	@After
+	public void tearDown() {
+		this.taskLaunchQueueRepository.deleteAll();
+		this.taskDefinitionRepository.deleteAll();
+	}
+
+	@Test
+	public void testEnqueueReportsPositionAndTriggersDispatch() {
+		TaskLaunchQueueEntry low = this.service.enqueue("a", null, null, 0);
+		TaskLaunchQueueEntry high = this.service.enqueue("b", null, null, 5);
+		TaskLaunchQueueEntry later = this.service.enqueue("c", null, null, 0);
+
+		assertThat(this.service.getPosition(high)).isEqualTo(1);
+		assertThat(this.service.getPosition(low)).isEqualTo(2);
+		assertThat(this.service.getPosition(later)).isEqualTo(3);
+		assertThat(this.service.getDepth()).isEqualTo(3);
+		assertThat(this.service.getEntries(PageRequest.of(0, 10)).getContent())
+				.extracting(TaskLaunchQueueEntry::getTaskName).containsExactly("b", "a", "c");
+		verify(this.dispatcher, times(3)).execute(any());
+	}
+
+	@Test
+	public void testEnqueueUnknownTaskIsRejected() {
+		assertThatThrownBy(() -> this.service.enqueue("unknown", null, null, 0))
+				.isInstanceOf(NoSuchTaskDefinitionException.class);
+		assertThat(this.taskLaunchQueueRepository.count()).isZero();
+	}
+
+	@Test
+	public void testDispatchByPriorityThenTaskDefinitionsTakeTurns() {
+		this.service.enqueue("a", Collections.singletonMap("app.a.foo", "bar"), Arrays.asList("--x=1"), 0);
+		this.service.enqueue("a", null, null, 0);
+		this.service.enqueue("a", null, null, 0);
+		this.service.enqueue("b", null, null, 0);
+		this.service.enqueue("c", null, null, 5);
+
+		assertThat(this.service.dispatch()).isEqualTo(5);
+
+		ArgumentCaptor<String> names = ArgumentCaptor.forClass(String.class);
+		verify(this.taskExecutionService, times(5)).executeTaskWithoutQueueing(names.capture(), anyMap(), anyList());
+		assertThat(names.getAllValues()).containsExactly("c", "a", "b", "a", "a");
+		verify(this.taskExecutionService).executeTaskWithoutQueueing("a", Collections.singletonMap("app.a.foo", "bar"),
+				Arrays.asList("--x=1"));
+		assertThat(this.service.getDepth()).isZero();
+	}
+
+	@Test
+	public void testDispatchStopsAtTheGlobalLimitAndKeepsTheQueueOrder() {
+		TaskLaunchQueueEntry first = this.service.enqueue("a", null, null, 0);
+		TaskLaunchQueueEntry second = this.service.enqueue("a", null, null, 0);
+		this.service.enqueue("a", null, null, 0);
+		when(this.taskExecutionService.executeTaskWithoutQueueing(eq("a"), anyMap(), anyList())).thenReturn(1L)
+				.thenThrow(new TaskLaunchLimitExceededException("limit", null));
+
+		assertThat(this.service.dispatch()).isEqualTo(1);
+
+		assertThat(this.taskLaunchQueueRepository.findById(first.getId())).isEmpty();
+		List<TaskLaunchQueueEntry> remaining = this.service.getEntries(PageRequest.of(0, 10)).getContent();
+		assertThat(remaining).hasSize(2);
+		assertThat(remaining.get(0).getId()).isEqualTo(second.getId());
+		assertThat(remaining.get(0).getCreatedOn()).isEqualTo(second.getCreatedOn());
+		assertThat(remaining.get(0).getLeaseExpiresOn()).isNull();
+		assertThat(remaining.get(0).getDispatchedOn()).isNull();
+		assertThat(this.service.getPosition(remaining.get(0))).isEqualTo(1);
+		assertThat(this.service.getDepth()).isEqualTo(2);
+	}
+
+	@Test
+	public void testDispatchSkipsPlatformsAtTheirLimit() {
+		this.service.enqueue("a", Collections.singletonMap(DefaultTaskExecutionService.TASK_PLATFORM_NAME, "small"),
+				null, 5);
+		this.service.enqueue("b", null, null, 0);
+		when(this.taskExecutionService.executeTaskWithoutQueueing(eq("a"), anyMap(), anyList()))
+				.thenThrow(new TaskLaunchLimitExceededException("limit", "small"));
+
+		assertThat(this.service.dispatch()).isEqualTo(1);
+
+		verify(this.taskExecutionService).executeTaskWithoutQueueing(eq("b"), anyMap(), anyList());
+		assertThat(this.service.getEntries(PageRequest.of(0, 10)).getContent())
+				.extracting(TaskLaunchQueueEntry::getTaskName).containsExactly("a");
+	}
+
+	@Test
+	public void testFailedLaunchIsRetriedThenDroppedAndCancelRemovesEntry() {
+		TaskLaunchQueueEntry failing = this.service.enqueue("a", null, null, 0);
+		TaskLaunchQueueEntry cancelled = this.service.enqueue("b", null, null, 0);
+		when(this.taskExecutionService.executeTaskWithoutQueueing(eq("a"), anyMap(), anyList()))
+				.thenThrow(new IllegalArgumentException("invalid"));
+
+		this.service.cancel(cancelled.getId());
+		assertThat(this.service.dispatch()).isZero();
+
+		verify(this.taskExecutionService, times(1)).executeTaskWithoutQueueing(eq("a"), anyMap(), anyList());
+		assertThat(this.taskLaunchQueueRepository.findById(failing.getId())).hasValueSatisfying(entry -> {
+			assertThat(entry.getAttempts()).isEqualTo(1);
+			assertThat(entry.getLeaseExpiresOn()).isNull();
+		});
+		assertThat(this.meterRegistry.counter("spring.cloud.dataflow.task.launch.queue.dispatches", "outcome",
+				"retried").count()).isEqualTo(1);
+
+		assertThat(this.service.dispatch()).isZero();
+
+		assertThat(this.taskLaunchQueueRepository.count()).isZero();
+		assertThat(this.meterRegistry.counter("spring.cloud.dataflow.task.launch.queue.dispatches", "outcome",
+				"failed").count()).isEqualTo(1);
+		assertThatThrownBy(() -> this.service.cancel(cancelled.getId()))
+				.isInstanceOf(NoSuchTaskLaunchQueueEntryException.class);
+	}
+
+	@Test
+	public void testDispatchLooksBeyondTheFirstBatchForAnEntryToLaunch() {
+		this.properties.setLaunchQueueDispatchBatchSize(1);
+		this.service.enqueue("a", Collections.singletonMap(DefaultTaskExecutionService.TASK_PLATFORM_NAME, "small"),
+				null, 5);
+		this.service.enqueue("b", null, null, 0);
+		when(this.taskExecutionService.executeTaskWithoutQueueing(eq("a"), anyMap(), anyList()))
+				.thenThrow(new TaskLaunchLimitExceededException("limit", "small"));
+
+		assertThat(this.service.dispatch()).isEqualTo(1);
+
+		verify(this.taskExecutionService).executeTaskWithoutQueueing(eq("b"), anyMap(), anyList());
+		assertThat(this.service.getEntries(PageRequest.of(0, 10)).getContent())
+				.extracting(TaskLaunchQueueEntry::getTaskName).containsExactly("a");
+	}
+
+	@Test
+	public void testDispatchedEntryIsNeverLaunchedAgain() {
+		TaskLaunchQueueEntry entry = this.service.enqueue("a", null, null, 0);
+		Instant now = Instant.now();
+		assertThat(this.taskLaunchQueueRepository.claim(entry.getId(), now.plus(1, ChronoUnit.HOURS), now))
+				.isEqualTo(1);
+
+		assertThat(this.service.dispatch()).isZero();
+		verify(this.taskExecutionService, never()).executeTaskWithoutQueueing(eq("a"), anyMap(), anyList());
+		assertThat(this.service.getDepth()).isEqualTo(1);
+
+		TaskLaunchQueueEntry dispatched = this.taskLaunchQueueRepository.findById(entry.getId()).get();
+		dispatched.setLeaseExpiresOn(now.minus(1, ChronoUnit.MINUTES));
+		this.taskLaunchQueueRepository.save(dispatched);
+
+		assertThat(this.service.dispatch()).isZero();
+		verify(this.taskExecutionService, never()).executeTaskWithoutQueueing(eq("a"), anyMap(), anyList());
+		assertThat(this.taskLaunchQueueRepository.count()).isZero();
+		assertThat(this.service.getDepth()).isZero();
+		assertThat(this.meterRegistry.counter("spring.cloud.dataflow.task.launch.queue.dispatches", "outcome",
+				"abandoned").count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.batch.BatchProperties;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.dataflow.server.config.apps.CommonApplicationProperties;
+import org.springframework.cloud.dataflow.server.configuration.JobDependencies;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionProperties;
+import org.springframework.cloud.dataflow.server.service.TaskRetentionReport;
+import org.springframework.cloud.task.batch.listener.TaskBatchDao;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.dao.TaskExecutionDao;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { JobDependencies.class, PropertyPlaceholderAutoConfiguration.class, BatchProperties.class })
+@EnableConfigurationProperties({ CommonApplicationProperties.class })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+public class DefaultTaskRetentionServiceTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TaskExecutionDao taskExecutionDao;
+
+	@Autowired
+	private TaskBatchDao taskBatchDao;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TaskRetentionProperties properties;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ScheduledExecutorService purger = mock(ScheduledExecutorService.class);
+
+	@Before
+	public void setup() {
+		this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+		this.properties = new TaskRetentionProperties();
+		this.properties.setPauseBetweenBatchesInMillis(0);
+	}
+
+	@Test
+	public void testKeepLastPurgesOlderExecutionsWithTheirBatchHistory() {
+		TaskExecution oldest = withJob(execution("a", daysAgo(3)));
+		execution("a", daysAgo(2));
+		TaskExecution kept = withJob(execution("a", daysAgo(1)));
+		execution("a", null);
+		execution("b", daysAgo(3));
+		this.properties.getPolicies().put("a", policy(2, null));
+
+		TaskRetentionReport report = service().purge(false);
+
+		assertThat(report.isDryRun()).isFalse();
+		assertThat(report.getTasks()).hasSize(1);
+		assertThat(report.getTasks().get(0).getTaskName()).isEqualTo("a");
+		assertThat(report.getTasks().get(0).getTaskExecutionCount()).isEqualTo(2);
+		assertThat(report.getTasks().get(0).getJobExecutionCount()).isEqualTo(1);
+		assertThat(report.getDeletedRows()).containsEntry("TASK_EXECUTION", 2L)
+				.containsEntry("TASK_EXECUTION_PARAMS", 2L).containsEntry("TASK_TASK_BATCH", 1L)
+				.containsEntry("BATCH_JOB_EXECUTION", 1L).containsEntry("BATCH_JOB_INSTANCE", 1L)
+				.containsEntry("BATCH_STEP_EXECUTION", 1L);
+		assertThat(count("TASK_EXECUTION")).isEqualTo(3);
+		assertThat(this.taskExecutionDao.getTaskExecution(oldest.getExecutionId())).isNull();
+		assertThat(this.taskExecutionDao.getTaskExecution(kept.getExecutionId())).isNotNull();
+		assertThat(count("BATCH_JOB_EXECUTION")).isEqualTo(1);
+		assertThat(count("BATCH_STEP_EXECUTION")).isEqualTo(1);
+		assertThat(count("TASK_TASK_BATCH")).isEqualTo(1);
+	}
+
+	@Test
+	public void testDryRunDeletesNothing() {
+		withJob(execution("a", daysAgo(3)));
+		execution("a", daysAgo(2));
+		this.properties.getDefaultPolicy().setKeepDays(1);
+
+		TaskRetentionReport report = service().purge(true);
+
+		assertThat(report.isDryRun()).isTrue();
+		assertThat(report.getTasks().get(0).getTaskExecutionCount()).isEqualTo(2);
+		assertThat(report.getTasks().get(0).getJobExecutionCount()).isEqualTo(1);
+		assertThat(report.getDeletedRows()).isEmpty();
+		assertThat(count("TASK_EXECUTION")).isEqualTo(2);
+		assertThat(count("BATCH_JOB_EXECUTION")).isEqualTo(1);
+	}
+
+	@Test
+	public void testPurgeIsBoundedAndSparesRunningAndRetainedExecutions() {
+		for (int i = 0; i < 3; i++) {
+			execution("a", daysAgo(10));
+		}
+		TaskExecution running = execution("a", null);
+		TaskExecution recent = execution("a", new Date());
+		this.properties.getDefaultPolicy().setKeepDays(7);
+		this.properties.setBatchSize(1);
+		this.properties.setMaxExecutionsPerPurge(2);
+		DefaultTaskRetentionService service = service();
+
+		assertThat(service.purge(false).getTasks().get(0).getTaskExecutionCount()).isEqualTo(2);
+		assertThat(service.purge(false).getTasks().get(0).getTaskExecutionCount()).isEqualTo(1);
+		assertThat(service.purge(false).getTasks()).isEmpty();
+
+		assertThat(count("TASK_EXECUTION")).isEqualTo(2);
+		assertThat(this.taskExecutionDao.getTaskExecution(running.getExecutionId())).isNotNull();
+		assertThat(this.taskExecutionDao.getTaskExecution(recent.getExecutionId())).isNotNull();
+	}
+
+	@Test
+	public void testExecutionIsKeptWhileEitherLimitRetainsIt() {
+		TaskExecution oldest = execution("a", daysAgo(10));
+		TaskExecution old = execution("a", daysAgo(10));
+		execution("a", daysAgo(1));
+		this.properties.getPolicies().put("a", policy(2, 7));
+
+		service().purge(false);
+
+		assertThat(this.taskExecutionDao.getTaskExecution(oldest.getExecutionId())).isNull();
+		assertThat(this.taskExecutionDao.getTaskExecution(old.getExecutionId())).isNotNull();
+		assertThat(count("TASK_EXECUTION")).isEqualTo(2);
+	}
+
+	@Test
+	public void testJobExecutionIdsAreBoundInBoundedLists() {
+		TaskExecution taskExecution = execution("a", daysAgo(3));
+		for (int i = 0; i <= DefaultTaskRetentionService.MAX_IN_LIST_SIZE; i++) {
+			withJob(taskExecution, "job" + i);
+		}
+		execution("a", daysAgo(1));
+		this.properties.getPolicies().put("a", policy(1, null));
+
+		TaskRetentionReport report = service().purge(false);
+
+		assertThat(report.getTasks().get(0).getJobExecutionCount())
+				.isEqualTo(DefaultTaskRetentionService.MAX_IN_LIST_SIZE + 1);
+		assertThat(count("BATCH_JOB_EXECUTION")).isZero();
+		assertThat(count("BATCH_STEP_EXECUTION")).isZero();
+		assertThat(this.meterRegistry.counter("spring.cloud.dataflow.task.retention.purged", "table",
+				"BATCH_JOB_EXECUTION").count()).isEqualTo(DefaultTaskRetentionService.MAX_IN_LIST_SIZE + 1);
+	}
+
+	@Test
+	public void testRequestedPurgeRunsInTheBackground() {
+		execution("a", daysAgo(3));
+		execution("a", daysAgo(1));
+		this.properties.getPolicies().put("a", policy(1, null));
+		DefaultTaskRetentionService service = service();
+
+		assertThat(service.requestPurge()).isTrue();
+		assertThat(service.requestPurge()).isFalse();
+
+		assertThat(count("TASK_EXECUTION")).isEqualTo(2);
+		ArgumentCaptor<Runnable> purge = ArgumentCaptor.forClass(Runnable.class);
+		verify(this.purger, times(1)).execute(purge.capture());
+		purge.getValue().run();
+		assertThat(count("TASK_EXECUTION")).isEqualTo(1);
+		assertThat(service.requestPurge()).isTrue();
+	}
+
+	@Test
+	public void testConfiguredTablePrefixesArePurged() {
+		withJob(execution("a", daysAgo(3)));
+		execution("a", daysAgo(1));
+		for (String table : new String[] { "TASK_EXECUTION", "TASK_EXECUTION_PARAMS", "TASK_TASK_BATCH",
+				"BATCH_JOB_INSTANCE", "BATCH_JOB_EXECUTION", "BATCH_JOB_EXECUTION_PARAMS",
+				"BATCH_JOB_EXECUTION_CONTEXT", "BATCH_STEP_EXECUTION", "BATCH_STEP_EXECUTION_CONTEXT" }) {
+			this.jdbcTemplate.execute("CREATE TABLE CUSTOM_" + table + " AS SELECT * FROM " + table);
+		}
+		this.properties.getPolicies().put("a", policy(1, null));
+		DefaultTaskRetentionService service = service();
+		service.setTaskTablePrefix("CUSTOM_TASK_");
+		service.setBatchTablePrefix("CUSTOM_BATCH_");
+
+		TaskRetentionReport report = service.purge(false);
+
+		assertThat(report.getDeletedRows()).containsEntry("CUSTOM_TASK_EXECUTION", 1L)
+				.containsEntry("CUSTOM_TASK_TASK_BATCH", 1L).containsEntry("CUSTOM_BATCH_JOB_EXECUTION", 1L);
+		assertThat(count("CUSTOM_TASK_EXECUTION")).isEqualTo(1);
+		assertThat(count("CUSTOM_BATCH_JOB_EXECUTION")).isZero();
+		assertThat(count("TASK_EXECUTION")).isEqualTo(2);
+		assertThat(count("BATCH_JOB_EXECUTION")).isEqualTo(1);
+	}
+
+	private DefaultTaskRetentionService service() {
+		return new DefaultTaskRetentionService(this.dataSource, this.transactionManager, this.properties,
+				this.meterRegistry, this.purger);
+	}
+
+	private TaskExecution execution(String taskName, Date endTime) {
+		TaskExecution taskExecution = this.taskExecutionDao.createTaskExecution(taskName,
+				endTime != null ? endTime : new Date(), Collections.singletonList("--foo=bar"), null);
+		if (endTime != null) {
+			this.taskExecutionDao.completeTaskExecution(taskExecution.getExecutionId(), 0, endTime, "done");
+		}
+		return taskExecution;
+	}
+
+	private TaskExecution withJob(TaskExecution taskExecution) {
+		return withJob(taskExecution, "job" + taskExecution.getExecutionId());
+	}
+
+	private TaskExecution withJob(TaskExecution taskExecution, String jobName) {
+		JobInstance jobInstance = this.jobRepository.createJobInstance(jobName, new JobParameters());
+		JobExecution jobExecution = this.jobRepository.createJobExecution(jobInstance, new JobParameters(), null);
+		StepExecution stepExecution = jobExecution.createStepExecution("step");
+		this.jobRepository.add(stepExecution);
+		this.taskBatchDao.saveRelationship(taskExecution, jobExecution);
+		return taskExecution;
+	}
+
+	private long count(String table) {
+		return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+	}
+
+	private static Date daysAgo(int days) {
+		return new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+	}
+
+	private static TaskRetentionProperties.Policy policy(Integer keepLast, Integer keepDays) {
+		TaskRetentionProperties.Policy policy = new TaskRetentionProperties.Policy();
+		policy.setKeepLast(keepLast);
+		policy.setKeepDays(keepDays);
+		return policy;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.service.impl.validation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.server.DockerValidatorProperties;
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link DockerRegistryValidator} against a local stub registry.
+ */
+public class DockerRegistryValidatorTests {
+
+	private HttpServer registry;
+
+	private final AtomicInteger loginRequests = new AtomicInteger();
+
+	private final Map<String, AtomicInteger> tagRequests = new ConcurrentHashMap<>();
+
+	private DockerValidatorProperties properties;
+
+	private DockerRegistryValidator validator;
+
+	@Before
+	public void setup() throws IOException {
+		this.registry = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.registry.createContext("/v2/users/login/", exchange -> {
+			this.loginRequests.incrementAndGet();
+			respond(exchange, 200, "{\"token\":\"stub-token\"}");
+		});
+		this.registry.createContext("/v2/repositories/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			this.tagRequests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+			if (!"JWT stub-token".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+				respond(exchange, 401, "{}");
+			}
+			else if (path.equals("/v2/repositories/springcloudstream/log-sink-rabbit/tags/")
+					&& exchange.getRequestURI().getQuery() == null) {
+				respond(exchange, 200, "{\"count\":2,\"next\":\"" + baseUrl()
+						+ "/v2/repositories/springcloudstream/log-sink-rabbit/tags/?page=2\","
+						+ "\"results\":[{\"name\":\"latest\"}]}");
+			}
+			else if (path.equals("/v2/repositories/springcloudstream/log-sink-rabbit/tags/")) {
+				respond(exchange, 200, "{\"count\":2,\"results\":[{\"name\":\"2.0.1.RELEASE\"}]}");
+			}
+			else {
+				respond(exchange, 404, "{}");
+			}
+		});
+		this.registry.start();
+
+		this.properties = new DockerValidatorProperties();
+		this.properties.setDockerAuthUrl(baseUrl() + "/v2/users/login/");
+		this.properties.setDockerRegistryUrl(baseUrl() + "/v2/repositories");
+		this.properties.setUserName("user");
+		this.properties.setPassword("secret");
+		this.validator = new DockerRegistryValidator(this.properties);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		this.validator.close();
+		this.registry.stop(0);
+	}
+
+	@Test
+	public void testImageFoundOnSecondPage() {
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:2.0.1.RELEASE"))).isTrue();
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:2.0.2.RELEASE"))).isFalse();
+	}
+
+	@Test
+	public void testUnknownRepository() {
+		assertThat(this.validator.isImagePresent(new DockerResource("springcloudstream/unknown:latest"))).isFalse();
+	}
+
+	@Test
+	public void testPagingStopsAtFirstMatch() {
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:latest"))).isTrue();
+		assertThat(this.tagRequests.get("/v2/repositories/springcloudstream/log-sink-rabbit/tags/").get())
+				.isEqualTo(1);
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:2.0.1.RELEASE"))).isTrue();
+		assertThat(this.tagRequests.get("/v2/repositories/springcloudstream/log-sink-rabbit/tags/").get())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void testTagsCacheIsBounded() {
+		this.properties.setTagsCacheMaxSize(1);
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:latest"))).isTrue();
+		assertThat(this.validator.isImagePresent(new DockerResource("springcloudstream/unknown:latest"))).isFalse();
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:latest"))).isTrue();
+		assertThat(this.tagRequests.get("/v2/repositories/springcloudstream/log-sink-rabbit/tags/").get())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void testTokenAndTagsAreCached() {
+		for (int i = 0; i < 5; i++) {
+			assertThat(this.validator.isImagePresent(
+					new DockerResource("springcloudstream/log-sink-rabbit:latest"))).isTrue();
+		}
+		assertThat(this.loginRequests.get()).isEqualTo(1);
+		assertThat(this.tagRequests.get("/v2/repositories/springcloudstream/log-sink-rabbit/tags/").get())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void testExpiredCachesAreRefreshed() {
+		this.properties.setAuthTokenTtlInSeconds(0);
+		this.properties.setTagsCacheTtlInSeconds(0);
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:latest"))).isTrue();
+		assertThat(this.validator.isImagePresent(
+				new DockerResource("springcloudstream/log-sink-rabbit:latest"))).isTrue();
+		assertThat(this.loginRequests.get()).isEqualTo(2);
+		assertThat(this.tagRequests.get("/v2/repositories/springcloudstream/log-sink-rabbit/tags/").get())
+				.isEqualTo(2);
+	}
+
+	private String baseUrl() {
+		return "http://localhost:" + this.registry.getAddress().getPort();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(bytes);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.rest.SkipperStream;
+import org.springframework.cloud.skipper.domain.ConfigValues;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.PackageMetadata;
+import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.cloud.skipper.io.DefaultPackageWriter;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryPackageWriterTests {
+
+	@Test
+	public void testSameContentAsDefaultPackageWriter() throws IOException {
+		for (int apps : new int[] { 0, 2, 20 }) {
+			Package pkg = streamPackage(apps);
+			Map<String, String> inMemory = entries(new ByteArrayInputStream(new InMemoryPackageWriter().write(pkg)));
+			Map<String, String> onDisk = writeToDisk(pkg);
+			assertThat(inMemory).isEqualTo(onDisk);
+			assertThat(inMemory).containsKey("ticktock-1.0.0/package.yml");
+			assertThat(inMemory.keySet().stream().filter(name -> name.endsWith("/values.yml"))).hasSize(apps);
+		}
+	}
+
+	@Test
+	public void testConcurrentWrites() throws Exception {
+		Package pkg = streamPackage(20);
+		byte[] expected = new InMemoryPackageWriter().write(pkg);
+		List<Thread> threads = new ArrayList<>();
+		List<byte[]> results = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 20; j++) {
+					results.add(new InMemoryPackageWriter().write(pkg));
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(results).hasSize(160);
+		for (byte[] result : results) {
+			assertThat(entries(new ByteArrayInputStream(result)))
+					.isEqualTo(entries(new ByteArrayInputStream(expected)));
+		}
+	}
+
+	static Package streamPackage(int apps) {
+		Package pkg = new Package();
+		pkg.setMetadata(metadata("ticktock"));
+		List<Package> dependencies = new ArrayList<>();
+		for (int i = 0; i < apps; i++) {
+			Package dependency = new Package();
+			dependency.setMetadata(metadata("app" + i));
+			ConfigValues configValues = new ConfigValues();
+			configValues.setRaw("\"metadata\":\n  \"name\": \"app" + i + "\"\n\"spec\":\n  \"resource\": "
+					+ "\"maven://org.springframework.cloud.stream.app:app" + i + "-rabbit\"\n  \"version\": \"2.1.0\"\n");
+			dependency.setConfigValues(configValues);
+			Template template = new Template();
+			template.setName("template.yml");
+			dependency.setTemplates(Collections.singletonList(template));
+			dependencies.add(dependency);
+		}
+		pkg.setDependencies(dependencies);
+		return pkg;
+	}
+
+	private static PackageMetadata metadata(String name) {
+		PackageMetadata packageMetadata = new PackageMetadata();
+		packageMetadata.setApiVersion(SkipperStream.SKIPPER_DEFAULT_API_VERSION);
+		packageMetadata.setKind(SkipperStream.SKIPPER_DEFAULT_KIND);
+		packageMetadata.setName(name);
+		packageMetadata.setVersion("1.0.0");
+		packageMetadata.setMaintainer(SkipperStream.SKIPPER_DEFAULT_MAINTAINER);
+		return packageMetadata;
+	}
+
+	private static Map<String, String> writeToDisk(Package pkg) throws IOException {
+		File directory = Files.createTempDirectory("streampackages").toFile();
+		try (InputStream inputStream = new FileInputStream(new DefaultPackageWriter().write(pkg, directory))) {
+			return entries(inputStream);
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	private static Map<String, String> entries(InputStream inputStream) throws IOException {
+		Map<String, String> entries = new TreeMap<>();
+		try (ZipInputStream zip = new ZipInputStream(inputStream)) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				if (!entry.isDirectory()) {
+					entries.put(entry.getName(), StreamUtils.copyToString(zip, StandardCharsets.UTF_8));
+				}
+			}
+		}
+		return entries;
+	}
+}
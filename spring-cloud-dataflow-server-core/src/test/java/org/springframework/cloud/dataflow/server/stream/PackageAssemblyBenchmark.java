@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Test;
+
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.io.DefaultPackageWriter;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Compares assembling the Skipper package of 2-app and 20-app streams in memory with
+ * writing it to a temp directory and reading the zip back, as deployments used to do, and
+ * logs the results. Not run as part of the build, run it with
+ * {@code mvn test -pl spring-cloud-dataflow-server-core -Dtest=PackageAssemblyBenchmark}.
+ * The system property {@code benchmark.iterations} changes the default of 200 packages
+ * assembled per stream size.
+ */
+public class PackageAssemblyBenchmark {
+
+	private static final Log logger = LogFactory.getLog(PackageAssemblyBenchmark.class);
+
+	private final int iterations = Integer.getInteger("benchmark.iterations", 200);
+
+	@Test
+	public void benchmarkPackageAssembly() throws IOException {
+		for (int apps : new int[] { 2, 20 }) {
+			Package pkg = InMemoryPackageWriterTests.streamPackage(apps);
+			// warm up both writers before measuring
+			for (int i = 0; i < this.iterations / 10; i++) {
+				new InMemoryPackageWriter().write(pkg);
+				writeWithDefaultPackageWriter(pkg);
+			}
+			long start = System.nanoTime();
+			for (int i = 0; i < this.iterations; i++) {
+				new InMemoryPackageWriter().write(pkg);
+			}
+			long inMemory = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < this.iterations; i++) {
+				writeWithDefaultPackageWriter(pkg);
+			}
+			long onDisk = System.nanoTime() - start;
+			logger.info(String.format("%d-app stream package: in memory %d us/op, temp directory %d us/op", apps,
+					inMemory / this.iterations / 1000, onDisk / this.iterations / 1000));
+		}
+	}
+
+	private static byte[] writeWithDefaultPackageWriter(Package pkg) throws IOException {
+		File directory = Files.createTempDirectory("streampackages").toFile();
+		try {
+			return Files.readAllBytes(new DefaultPackageWriter().write(pkg, directory).toPath());
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.client.SkipperClient;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SkipperCatalogTests {
+
+	private final SkipperClient skipperClient = mock(SkipperClient.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Before
+	public void setup() {
+		when(this.skipperClient.listDeployers()).thenReturn(new Resources<>(Arrays.asList(
+				new Deployer("local", "local", mock(AppDeployer.class)),
+				new Deployer("k8s", "kubernetes", mock(AppDeployer.class))), new Link[0]));
+		when(this.skipperClient.getSpringCloudDeployerApplicationTemplate()).thenReturn(new Template());
+	}
+
+	@Test
+	public void testEntriesAreCachedUntilRefresh() {
+		SkipperCatalog catalog = new SkipperCatalog(this.skipperClient, 300, this.meterRegistry);
+		assertThat(catalog.getDeployers()).extracting(Deployer::getName).containsExactly("local", "k8s");
+		assertThat(catalog.getDefaultPlatformName()).isEqualTo("local");
+		assertThat(catalog.getApplicationTemplate()).isNotNull();
+		assertThat(catalog.getApplicationTemplate()).isNotNull();
+		verify(this.skipperClient, times(1)).listDeployers();
+		verify(this.skipperClient, times(1)).getSpringCloudDeployerApplicationTemplate();
+		assertThat(this.meterRegistry.get(SkipperCatalog.SKIPPER_CATALOG_METER)
+				.tags("entry", "deployers", "result", "hit").counter().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get(SkipperCatalog.SKIPPER_CATALOG_METER)
+				.tags("entry", "deployers", "result", "miss").counter().count()).isEqualTo(1);
+
+		catalog.refresh();
+		catalog.getDeployers();
+		catalog.getApplicationTemplate();
+		verify(this.skipperClient, times(2)).listDeployers();
+		verify(this.skipperClient, times(2)).getSpringCloudDeployerApplicationTemplate();
+	}
+
+	@Test
+	public void testNoCachingWithoutTtl() {
+		SkipperCatalog catalog = new SkipperCatalog(this.skipperClient);
+		catalog.getDeployers();
+		catalog.getDeployers();
+		verify(this.skipperClient, times(2)).listDeployers();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoPlatformsConfigured() {
+		when(this.skipperClient.listDeployers()).thenReturn(new Resources<>(Collections.emptyList(), new Link[0]));
+		new SkipperCatalog(this.skipperClient, 300).getDefaultPlatformName();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.net.URI;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SkipperClientHttpRequestFactoryTests {
+
+	private static final String BASE = "http://localhost:7577/api";
+
+	private SkipperClientHttpProperties properties;
+
+	private SkipperClientHttpRequestFactory requestFactory;
+
+	@Before
+	public void setup() {
+		this.properties = new SkipperClientHttpProperties();
+		this.properties.setReadTimeoutInMillis(30000);
+		this.properties.setStatusReadTimeoutInMillis(2000);
+		this.properties.setInstallReadTimeoutInMillis(120000);
+		this.requestFactory = new SkipperClientHttpRequestFactory(this.properties);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		this.requestFactory.destroy();
+	}
+
+	@Test
+	public void testOperations() {
+		assertThat(operation(HttpMethod.GET, "/release/status/ticktock")).isEqualTo("status");
+		assertThat(operation(HttpMethod.GET, "/release/status/ticktock/2")).isEqualTo("status");
+		assertThat(operation(HttpMethod.POST, "/package/install")).isEqualTo("install");
+		assertThat(operation(HttpMethod.POST, "/release/upgrade")).isEqualTo("upgrade");
+		assertThat(operation(HttpMethod.GET, "/release/manifest/ticktock")).isEqualTo("manifest");
+		assertThat(operation(HttpMethod.GET, "/release/list/ticktock")).isEqualTo("list");
+		assertThat(operation(HttpMethod.POST, "/release/rollback")).isEqualTo("rollback");
+		assertThat(operation(HttpMethod.DELETE, "/release/ticktock/package")).isEqualTo("delete");
+		assertThat(operation(HttpMethod.DELETE, "/package/ticktock")).isEqualTo("packageDelete");
+		assertThat(operation(HttpMethod.GET, "/releases/search/findByName?name=ticktock")).isEqualTo("history");
+		assertThat(operation(HttpMethod.GET, "/deployers?size=2000")).isEqualTo("deployers");
+		assertThat(operation(HttpMethod.GET, "/about")).isEqualTo("info");
+		assertThat(operation(HttpMethod.GET, "/unknown")).isEqualTo("other");
+	}
+
+	@Test
+	public void testPerOperationReadTimeouts() {
+		assertThat(readTimeout(HttpMethod.GET, "/release/status/ticktock")).isEqualTo(2000);
+		assertThat(readTimeout(HttpMethod.POST, "/package/install")).isEqualTo(120000);
+		assertThat(this.requestFactory.createHttpContext(HttpMethod.POST, URI.create(BASE + "/release/upgrade")))
+				.isNull();
+		assertThat(this.requestFactory.createHttpContext(HttpMethod.GET, URI.create(BASE + "/about"))).isNull();
+	}
+
+	@Test
+	public void testMetricsInterceptorRecordsOperationLatency() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SkipperClientMetricsInterceptor interceptor = new SkipperClientMetricsInterceptor(meterRegistry);
+		ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+		ClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+		when(execution.execute(any(), any())).thenReturn(response);
+
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+				URI.create(BASE + "/release/status/ticktock"));
+		interceptor.intercept(request, new byte[0], execution);
+		interceptor.intercept(request, new byte[0], execution);
+
+		Timer timer = meterRegistry.find(SkipperClientMetricsInterceptor.SKIPPER_CLIENT_TIMER)
+				.tags("operation", "status", "method", "GET", "status", "200").timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isEqualTo(2);
+	}
+
+	private static String operation(HttpMethod method, String path) {
+		return SkipperClientHttpRequestFactory.operation(method, URI.create(BASE + path));
+	}
+
+	private int readTimeout(HttpMethod method, String path) {
+		HttpClientContext context = (HttpClientContext) this.requestFactory.createHttpContext(method,
+				URI.create(BASE + path));
+		assertThat(context.getRequestConfig().getConnectTimeout())
+				.isEqualTo(this.properties.getConnectTimeoutInMillis());
+		return context.getRequestConfig().getSocketTimeout();
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,13 +20,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.dataflow.rest.client.RuntimeOperations;
 import org.springframework.cloud.dataflow.rest.resource.AppInstanceStatusResource;
 import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamRuntimeStatusResource;
 import org.springframework.cloud.dataflow.shell.command.support.OpsType;
 import org.springframework.cloud.dataflow.shell.command.support.RoleType;
 import org.springframework.cloud.dataflow.shell.config.DataFlowShell;
@@ -76,7 +79,8 @@ public class RuntimeCommands implements CommandMarker {
 	public Table list(
 			@CliOption(key = "summary", help = "whether to hide app instance details", unspecifiedDefaultValue = "false", specifiedDefaultValue = "true") boolean summary,
 			@CliOption(key = { "appId",
-					"appIds" }, help = "app id(s) to display, also supports '<group>.*' pattern") String[] appIds) {
+					"appIds" }, help = "app id(s) to display, also supports '<group>.*' pattern") String[] appIds,
+			@CliOption(key = "streams", help = "the name(s) of the streams to display the apps of") String[] streams) {
 
 		Set<String> filter = null;
 		if (appIds != null) {
@@ -100,7 +104,21 @@ public class RuntimeCommands implements CommandMarker {
 		// the server
 		// than client side filtering
 		Iterable<AppStatusResource> statuses;
-		if (filter != null && filter.size() == 1 && !filter.iterator().next().endsWith(".*")) {
+		// Only the given streams are resolved by the server, the app ids still filter
+		// their apps
+		Map<String, String> streamErrors = new LinkedHashMap<>();
+		if (streams != null) {
+			List<AppStatusResource> streamStatuses = new ArrayList<>();
+			for (StreamRuntimeStatusResource.StreamStatus streamStatus : runtimeOperations()
+					.streamStatus(Arrays.asList(streams), null).getStreams()) {
+				streamStatuses.addAll(streamStatus.getApplications());
+				if (streamStatus.getError() != null) {
+					streamErrors.put(streamStatus.getName(), streamStatus.getError());
+				}
+			}
+			statuses = streamStatuses;
+		}
+		else if (filter != null && filter.size() == 1 && !filter.iterator().next().endsWith(".*")) {
 			statuses = Collections.singleton(runtimeOperations().status(filter.iterator().next()));
 		}
 		else {
@@ -123,6 +141,11 @@ public class RuntimeCommands implements CommandMarker {
 				}
 			}
 		}
+		for (Map.Entry<String, String> streamError : streamErrors.entrySet()) {
+			modelBuilder.addRow().addValue(streamError.getKey()).addValue("error").addValue(streamError.getValue());
+			splits.add(line);
+			line++;
+		}
 
 		TableModel model = modelBuilder.build();
 		final TableBuilder builder = new TableBuilder(model);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.cloud.dataflow.shell.command;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -32,12 +33,15 @@ import org.springframework.cloud.dataflow.rest.client.DataFlowOperations;
 import org.springframework.cloud.dataflow.rest.client.RuntimeOperations;
 import org.springframework.cloud.dataflow.rest.resource.AppInstanceStatusResource;
 import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
+import org.springframework.cloud.dataflow.rest.resource.StreamRuntimeStatusResource;
 import org.springframework.cloud.dataflow.shell.config.DataFlowShell;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.shell.table.TableModel;
 
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -116,7 +120,7 @@ public class RuntimeCommandsTests {
 		when(runtimeOperations.status()).thenReturn(result);
 		Object[][] expected = new String[][] { { "1", "deployed", "2" }, { "2", "undeployed", "0" },
 				{ "3", "failed", "0" } };
-		TableModel model = runtimeCommands.list(true, null).getModel();
+		TableModel model = runtimeCommands.list(true, null, null).getModel();
 		for (int row = 0; row < expected.length; row++) {
 			for (int col = 0; col < expected[row].length; col++) {
 				assertThat(String.valueOf(model.getValue(row + 1, col)), Matchers.is(expected[row][col]));
@@ -134,7 +138,7 @@ public class RuntimeCommandsTests {
 		when(runtimeOperations.status()).thenReturn(result);
 		Object[][] expected = new String[][] { { "1", "deployed", "2" }, { "10", "deployed" }, { "20", "deployed" },
 				{ "2", "undeployed", "0" } };
-		TableModel model = runtimeCommands.list(false, null).getModel();
+		TableModel model = runtimeCommands.list(false, null, null).getModel();
 		for (int row = 0; row < expected.length; row++) {
 			for (int col = 0; col < expected[row].length; col++) {
 				assertThat(String.valueOf(model.getValue(row + 1, col)), Matchers.is(expected[row][col]));
@@ -146,7 +150,7 @@ public class RuntimeCommandsTests {
 	public void testStatusByModuleId() {
 		when(runtimeOperations.status("1")).thenReturn(appStatusResource1);
 		Object[][] expected = new String[][] { { "1", "deployed", "2" }, { "10", "deployed" }, { "20", "deployed" } };
-		TableModel model = runtimeCommands.list(false, new String[] { "1" }).getModel();
+		TableModel model = runtimeCommands.list(false, new String[] { "1" }, null).getModel();
 		assertTrue(model.getRowCount() == 4);
 		for (int row = 0; row < expected.length; row++) {
 			for (int col = 0; col < expected[row].length; col++) {
@@ -155,4 +159,22 @@ public class RuntimeCommandsTests {
 		}
 	}
 
+	@Test
+	public void testStatusByStreams() {
+		StreamRuntimeStatusResource result = new StreamRuntimeStatusResource(Arrays.asList(
+				new StreamRuntimeStatusResource.StreamStatus("s1", Arrays.asList(appStatusResource1, appStatusResource2),
+						null),
+				new StreamRuntimeStatusResource.StreamStatus("s2", new ArrayList<>(), "skipper down")));
+		when(runtimeOperations.streamStatus(Arrays.asList("s1", "s2"), null)).thenReturn(result);
+		Object[][] expected = new String[][] { { "1", "deployed", "2" }, { "2", "undeployed", "0" },
+				{ "s2", "error", "skipper down" } };
+		TableModel model = runtimeCommands.list(true, null, new String[] { "s1", "s2" }).getModel();
+		assertTrue(model.getRowCount() == 4);
+		for (int row = 0; row < expected.length; row++) {
+			for (int col = 0; col < expected[row].length; col++) {
+				assertThat(String.valueOf(model.getValue(row + 1, col)), Matchers.is(expected[row][col]));
+			}
+		}
+		verify(runtimeOperations, never()).status();
+	}
 }